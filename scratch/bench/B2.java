@@ -0,0 +1,22 @@
+package bits.fft;
+public class B2 {
+  static int IO; static int SKIP=Integer.getInteger("skip",0); public static void main(String[] a){ IO=Integer.parseInt(a[1]);
+    for(int bits: new int[]{Integer.parseInt(a[0])}){
+    int dim=1<<bits; double[] t=TwiddleTable.forBits(bits);
+    double[] x=new double[dim*2], re=new double[dim], im=new double[dim+40];
+    java.util.Random r=new java.util.Random(1);
+    for(int i=0;i<dim*2;i++)x[i]=r.nextDouble();
+    for(int i=0;i<dim;i++){re[i]=r.nextDouble();im[i]=r.nextDouble();}
+    int reps=(1<<24)/dim;
+    for(int k=0;k<30;k++){
+      long t0=System.nanoTime();
+      for(int i=0;i<reps;i++){if(SKIP==0)VectorKernel.transformRadix4(x,0,dim,(i&1)==1,t);}
+      long t1=System.nanoTime();
+      for(int i=0;i<reps;i++){VectorKernel.transformRadix4Split(re,0,im,IO,dim,(i&1)==1,t);}
+      long t2=System.nanoTime();
+      for(int i=0;i<reps;i++){FastFourierTransform.transformRadix4Split(re,0,im,IO,dim,(i&1)==1,t);}
+      long t3=System.nanoTime();
+      if(k>=28)System.out.printf("%d inter %.0f split %.0f scalarsplit %.0f%n",bits,(t1-t0)/(double)reps,(t2-t1)/(double)reps,(t3-t2)/(double)reps);
+    }}
+  }
+}
@@ -0,0 +1,10 @@
+package bits.fft;
+public class C { public static void main(String[] a){
+ int dim=512,len=dim*dim; java.util.Random r=new java.util.Random(0);
+ double[] x=new double[len*2],o=new double[len*2],re=new double[len],im=new double[len],or=new double[len],oi=new double[len];
+ for(int i=0;i<len;i++){re[i]=r.nextDouble();im[i]=r.nextDouble();x[2*i]=re[i];x[2*i+1]=im[i];}
+ FastFourierTransform2d t=new FastFourierTransform2d(dim);
+ for(int k=0;k<6;k++){ long t0=System.nanoTime(); for(int i=0;i<16;i++)t.applyComplex(x,0,false,o,0);
+ long t1=System.nanoTime(); for(int i=0;i<16;i++)t.applyComplexSplit(re,0,im,0,false,or,0,oi,0);
+ long t2=System.nanoTime(); System.out.printf("inter %.3f split %.3f%n",(t1-t0)/1e9,(t2-t1)/1e9);}
+}}
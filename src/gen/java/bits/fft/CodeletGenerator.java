@@ -0,0 +1,353 @@
+/*
+ * Copyright (c) 2014, Massachusetts Institute of Technology
+ * Released under the BSD 2-Clause License
+ * http://opensource.org/licenses/BSD-2-Clause
+ */
+package bits.fft;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+
+
+/**
+ * Writes <tt>Codelets.java</tt> and <tt>CodeletsF.java</tt>, which hold straight-line transforms
+ * of bit-reversed complex vectors for sizes <tt>2</tt> through <tt>1 &lt;&lt; MAX_BITS</tt>, in double
+ * and single precision. Run by the <tt>codelets</tt> target in <tt>build.xml</tt>, with the two
+ * output paths as arguments.
+ * <p>
+ * Codelets follow the split-radix decomposition of <tt>FastFourierTransform.transformSplitRadix</tt>,
+ * with every loop unrolled and every twiddle a constant. Multiplications by
+ * <tt>1</tt> are dropped, and multiplications by <tt>exp( -i * PI / 4 )</tt> and
+ * <tt>exp( -3i * PI / 4 )</tt> take two real multiplies instead of four. Values stay in
+ * local variables between stages, so each element is read and written once.
+ * <p>
+ * Inverse codelets conjugate on load and on store, and otherwise run the forward code.
+ * Negation is exact, so this gives the same result as conjugated twiddles.
+ * <p>
+ * Single-precision codelets compute twiddles in double precision and round them once,
+ * as <tt>TwiddleTable.floatsForBits</tt> does.
+ * <p>
+ * Sizes above <tt>1 &lt;&lt; STRAIGHT_BITS</tt> call smaller codelets for their sub-transforms,
+ * then run the final combine in straight-line code. This keeps each method under
+ * the 8000 bytecode limit above which HotSpot will not compile a method.
+ */
+public final class CodeletGenerator {
+
+    static final int MAX_BITS      = 6;
+    static final int STRAIGHT_BITS = 5;
+
+
+    public static void main( String[] args ) throws IOException {
+        if( args.length != 2 ) {
+            System.err.println( "Usage: CodeletGenerator <Codelets.java> <CodeletsF.java>" );
+            System.exit( 1 );
+        }
+
+        write( new CodeletGenerator( false ).generate(), new File( args[0] ) );
+        write( new CodeletGenerator( true ).generate(), new File( args[1] ) );
+    }
+
+
+    private static void write( String src, File file ) throws IOException {
+        Writer out = new OutputStreamWriter( new FileOutputStream( file ), "UTF-8" );
+        try {
+            out.write( src );
+        } finally {
+            out.close();
+        }
+    }
+
+
+    private final boolean mSingle;
+    private final String mType;
+    private final String mOne;
+    private final StringBuilder mOut = new StringBuilder();
+    private int mTemp;
+    private String[] mRe;
+    private String[] mIm;
+
+
+    /**
+     * @param single Set to true to generate <tt>CodeletsF</tt>, for <tt>float[]</tt> data.
+     */
+    CodeletGenerator( boolean single ) {
+        mSingle = single;
+        mType   = single ? "float" : "double";
+        mOne    = single ? "1.0f" : "1.0";
+    }
+
+
+    String generate() {
+        final String name = mSingle ? "CodeletsF" : "Codelets";
+
+        mOut.setLength( 0 );
+        line( 0, "/*" );
+        line( 0, " * Copyright (c) 2014, Massachusetts Institute of Technology" );
+        line( 0, " * Released under the BSD 2-Clause License" );
+        line( 0, " * http://opensource.org/licenses/BSD-2-Clause" );
+        line( 0, " */" );
+        line( 0, "package bits.fft;" );
+        line( 0, "" );
+        line( 0, "" );
+        line( 0, "/**" );
+        line( 0, " * Straight-line transforms of bit-reversed complex vectors of " + ( 1 << MAX_BITS ) + " elements or fewer." );
+        if( mSingle ) {
+            line( 0, " * Single-precision version of {@link Codelets}." );
+        } else {
+            line( 0, " * Each produces the same transform as <tt>FastFourierTransform.transformSplitRadix</tt>." );
+        }
+        line( 0, " * <p>" );
+        line( 0, " * GENERATED by <tt>src/gen/java/bits/fft/CodeletGenerator.java</tt>. Do not edit;" );
+        line( 0, " * change the generator and run <tt>ant codelets</tt>." );
+        line( 0, " * <p>" );
+        line( 0, " * This class is thread-safe." );
+        line( 0, " */" );
+        line( 0, "final class " + name + " {" );
+        line( 0, "" );
+        line( 1, "static final int MAX_BITS = " + MAX_BITS + ";" );
+        line( 1, "static final int MAX_LEN  = 1 << MAX_BITS;" );
+        line( 0, "" );
+        line( 0, "" );
+        line( 1, "/**" );
+        line( 1, " * Transforms bit-reversed complex vector in place." );
+        line( 1, " *" );
+        line( 1, " * @param len   Number of complex elements. Must be a power-of-two from 2 to {@link #MAX_LEN}." );
+        line( 1, " * @param scale Multiplies output." );
+        line( 1, " */" );
+        line( 1, "static void apply( " + mType + "[] x, int off, int len, boolean inverse, " + mType + " scale ) {" );
+        line( 2, "switch( len ) {" );
+        for( int bits = 1; bits <= MAX_BITS; bits++ ) {
+            int n = 1 << bits;
+            line( 2, "case " + n + ":" );
+            line( 3, "if( inverse ) {" );
+            line( 4, "inverse" + n + "( x, off, scale );" );
+            line( 3, "} else {" );
+            line( 4, "forward" + n + "( x, off, scale );" );
+            line( 3, "}" );
+            line( 3, "return;" );
+        }
+        line( 2, "default:" );
+        line( 3, "throw new IllegalArgumentException( \"Unsupported codelet size: \" + len );" );
+        line( 2, "}" );
+        line( 1, "}" );
+
+        for( int bits = 1; bits <= MAX_BITS; bits++ ) {
+            for( int k = 0; k < 2; k++ ) {
+                line( 0, "" );
+                line( 0, "" );
+                if( bits <= STRAIGHT_BITS ) {
+                    straight( 1 << bits, k == 1 );
+                } else {
+                    composite( 1 << bits, k == 1 );
+                }
+            }
+        }
+
+        line( 0, "" );
+        line( 0, "" );
+        line( 1, "private " + name + "() {}" );
+        line( 0, "" );
+        line( 0, "}" );
+        return mOut.toString();
+    }
+
+
+    private void straight( int len, boolean inverse ) {
+        final String name = ( inverse ? "inverse" : "forward" ) + len;
+        line( 1, "static void " + name + "( " + mType + "[] x, int off, " + mType + " scale ) {" );
+
+        mTemp = 0;
+        mRe = new String[len];
+        mIm = new String[len];
+        for( int k = 0; k < len; k++ ) {
+            mRe[k] = "r" + k;
+            mIm[k] = "i" + k;
+            line( 2, "final " + mType + " r" + k + " = x[" + index( k * 2 ) + "];" );
+            line( 2, "final " + mType + " i" + k + " = " + ( inverse ? "-" : "" ) + "x[" + index( k * 2 + 1 ) + "];" );
+        }
+
+        splitRadix( 0, len );
+        store( 0, len, inverse );
+        line( 1, "}" );
+    }
+
+
+    private void composite( int len, boolean inverse ) {
+        final String prefix = inverse ? "inverse" : "forward";
+        final int q = len / 4;
+        line( 1, "static void " + prefix + len + "( " + mType + "[] x, int off, " + mType + " scale ) {" );
+        line( 2, prefix + ( len / 2 ) + "( x, off, " + mOne + " );" );
+        line( 2, prefix + q + "( x, off + " + ( len ) + ", " + mOne + " );" );
+        line( 2, prefix + q + "( x, off + " + ( len * 3 / 2 ) + ", " + mOne + " );" );
+
+        mTemp = 0;
+        mRe = new String[len];
+        mIm = new String[len];
+        for( int n = 0; n < q; n++ ) {
+            for( int j = n; j < len; j += q ) {
+                mRe[j] = let( "x[" + index( j * 2 ) + "]" );
+                mIm[j] = let( ( inverse ? "-" : "" ) + "x[" + index( j * 2 + 1 ) + "]" );
+            }
+            combine( 0, len, n );
+            for( int j = n; j < len; j += q ) {
+                line( 2, "x[" + index( j * 2 ) + "] = " + mRe[j] + ";" );
+                line( 2, "x[" + index( j * 2 + 1 ) + "] = " + ( inverse ? "-" : "" ) + mIm[j] + ";" );
+            }
+        }
+
+        line( 2, "if( scale != " + mOne + " ) {" );
+        line( 3, "for( int i = off; i < off + " + ( len * 2 ) + "; i++ ) {" );
+        line( 4, "x[i] *= scale;" );
+        line( 3, "}" );
+        line( 2, "}" );
+        line( 1, "}" );
+    }
+
+
+    private void splitRadix( int base, int len ) {
+        if( len == 1 ) {
+            return;
+        }
+        if( len == 2 ) {
+            final String ar = mRe[base], ai = mIm[base];
+            final String br = mRe[base + 1], bi = mIm[base + 1];
+            mRe[base]     = let( ar + " + " + br );
+            mIm[base]     = let( ai + " + " + bi );
+            mRe[base + 1] = let( ar + " - " + br );
+            mIm[base + 1] = let( ai + " - " + bi );
+            return;
+        }
+
+        final int q = len / 4;
+        splitRadix( base, len / 2 );
+        splitRadix( base + q * 2, q );
+        splitRadix( base + q * 3, q );
+        for( int n = 0; n < q; n++ ) {
+            combine( base, len, n );
+        }
+    }
+
+    /**
+     * One butterfly of the split-radix combine, matching <tt>FastFourierTransform.transformSplitRadix</tt>
+     * for a forward transform.
+     */
+    private void combine( int base, int len, int n ) {
+        final int q  = len / 4;
+        final int j0 = base + n;
+        final int j1 = j0 + q;
+        final int j2 = j1 + q;
+        final int j3 = j2 + q;
+
+        final String[] a = twiddle( mRe[j2], mIm[j2], n, len );
+        final String[] b = twiddle( mRe[j3], mIm[j3], n * 3, len );
+
+        final String sr = let( a[0] + " + " + b[0] );
+        final String si = let( a[1] + " + " + b[1] );
+        // Multiply (a - b) by W4 = -i.
+        final String dr = let( a[1] + " - " + b[1] );
+        final String di = let( b[0] + " - " + a[0] );
+
+        final String u0r = mRe[j0], u0i = mIm[j0];
+        final String u1r = mRe[j1], u1i = mIm[j1];
+        mRe[j0] = let( u0r + " + " + sr );
+        mIm[j0] = let( u0i + " + " + si );
+        mRe[j2] = let( u0r + " - " + sr );
+        mIm[j2] = let( u0i + " - " + si );
+        mRe[j1] = let( u1r + " + " + dr );
+        mIm[j1] = let( u1i + " + " + di );
+        mRe[j3] = let( u1r + " - " + dr );
+        mIm[j3] = let( u1i + " - " + di );
+    }
+
+    /**
+     * @return real and imaginary parts of <tt>( re + i * im ) * exp( -2i * PI * k / len )</tt>.
+     */
+    private String[] twiddle( String re, String im, int k, int len ) {
+        if( k == 0 ) {
+            return new String[]{ re, im };
+        }
+
+        final double c = Math.sqrt( 0.5 );
+        if( k * 8 == len ) {
+            // w = c - ic
+            return new String[]{ let( lit( c ) + " * ( " + re + " + " + im + " )" ),
+                                 let( lit( c ) + " * ( " + im + " - " + re + " )" ) };
+        }
+        if( k * 8 == len * 3 ) {
+            // w = -c - ic
+            return new String[]{ let( lit( c ) + " * ( " + im + " - " + re + " )" ),
+                                 let( "-" + lit( c ) + " * ( " + re + " + " + im + " )" ) };
+        }
+
+        // Same values as TwiddleTable, including use of W^k = -W^(k - len/2) for k >= len/2.
+        final int half = len / 2;
+        final double wr;
+        final double ws;
+        if( k < half ) {
+            wr = Math.cos( Math.PI * k / half );
+            ws = Math.sin( Math.PI * k / half );
+        } else {
+            wr = -Math.cos( Math.PI * ( k - half ) / half );
+            ws = -Math.sin( Math.PI * ( k - half ) / half );
+        }
+
+        // ( re + i * im ) * ( wr - i * ws )
+        return new String[]{ let( sum( wr, re, ws, im ) ),
+                             let( sum( wr, im, -ws, re ) ) };
+    }
+
+
+    private void store( int base, int len, boolean inverse ) {
+        line( 2, "if( scale == " + mOne + " ) {" );
+        for( int k = 0; k < len; k++ ) {
+            line( 3, "x[" + index( ( base + k ) * 2 ) + "] = " + mRe[base + k] + ";" );
+            line( 3, "x[" + index( ( base + k ) * 2 + 1 ) + "] = " + ( inverse ? "-" : "" ) + mIm[base + k] + ";" );
+        }
+        line( 2, "} else {" );
+        if( inverse ) {
+            line( 3, "final " + mType + " iscale = -scale;" );
+        }
+        for( int k = 0; k < len; k++ ) {
+            line( 3, "x[" + index( ( base + k ) * 2 ) + "] = " + mRe[base + k] + " * scale;" );
+            line( 3, "x[" + index( ( base + k ) * 2 + 1 ) + "] = " + mIm[base + k] + ( inverse ? " * iscale;" : " * scale;" ) );
+        }
+        line( 2, "}" );
+    }
+
+
+    private String let( String expr ) {
+        final String name = "t" + mTemp++;
+        line( 2, "final " + mType + " " + name + " = " + expr + ";" );
+        return name;
+    }
+
+    /**
+     * @return expression for <tt>p * a + q * b</tt>.
+     */
+    private String sum( double p, String a, double q, String b ) {
+        return ( p < 0 ? "-" : "" ) + lit( Math.abs( p ) ) + " * " + a +
+               ( q < 0 ? " - " : " + " ) + lit( Math.abs( q ) ) + " * " + b;
+    }
+
+
+    private String lit( double v ) {
+        return mSingle ? Float.toString( (float)v ) + "f" : Double.toString( v );
+    }
+
+
+    private static String index( int i ) {
+        return i == 0 ? "off" : "off + " + i;
+    }
+
+
+    private void line( int depth, String s ) {
+        for( int i = 0; i < depth; i++ ) {
+            mOut.append( "    " );
+        }
+        mOut.append( s ).append( '\n' );
+    }
+
+}
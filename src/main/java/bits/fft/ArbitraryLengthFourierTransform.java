@@ -0,0 +1,533 @@
+/*
+ * Copyright (c) 2014, Massachusetts Institute of Technology
+ * Released under the BSD 2-Clause License
+ * http://opensource.org/licenses/BSD-2-Clause
+ */
+package bits.fft;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+
+/**
+ * Performs a Fast Fourier Transform on vectors of any length, including primes.
+ * Compatible with both real and complex valued inputs.
+ * Outputs are always complex, and in the same format as {@link FastFourierTransform}.
+ * <p>
+ * The method is chosen by length: <br>
+ * 1. Powers of two use {@link FastFourierTransform}. <br>
+ * 2. Lengths with no prime factors other than 2, 3, 5 and 7 use {@link MixedRadixFourierTransform}. <br>
+ * 3. Primes <tt>p</tt> where <tt>p - 1</tt> has only those factors use Rader's algorithm,
+ *    which computes the transform as a cyclic convolution of length <tt>p - 1</tt>. <br>
+ * 4. All other lengths use Bluestein's chirp-z algorithm, which computes the transform
+ *    as a convolution with three power-of-two transforms of at least <tt>2 * dim - 1</tt> points. <br>
+ * <p>
+ * The chirp and filter spectra used by methods 3 and 4 are computed once per length
+ * and shared by all instances, so each call only pays for the inner transforms.
+ * <p>
+ * Methods 1 and 2 need no work buffer, and are thread safe. Methods 3 and 4 need two work
+ * vectors of the inner transform length. Methods that take a {@link Workspace} are thread safe
+ * as long as each thread passes its own workspace. If constructed with a {@link WorkspacePool},
+ * all methods are thread safe. Otherwise, the remaining methods share a work buffer owned by
+ * the instance, and are not thread safe.
+ */
+public class ArbitraryLengthFourierTransform {
+
+    private static final ConcurrentHashMap<Integer,Bluestein> BLUESTEIN_CACHE = new ConcurrentHashMap<Integer,Bluestein>();
+    private static final ConcurrentHashMap<Integer,Rader>     RADER_CACHE     = new ConcurrentHashMap<Integer,Rader>();
+
+
+    private final int mDim;
+
+    private final FastFourierTransform mPow2;
+    private final MixedRadixFourierTransform mMixed;
+    private final Rader mRader;
+    private final Bluestein mBluestein;
+
+    /**
+     * Length of each of the two work vectors, in array elements. Zero if none are needed.
+     */
+    private final int mWorkLen;
+    private final WorkspacePool mPool;
+
+    private Workspace mWorkspace = null;
+
+
+    /**
+     * @param dim Size of vector on which the transform operates. Must be positive.
+     * @throws IllegalArgumentException if dim is not positive, or so large that the
+     *         required power-of-two transform cannot be allocated.
+     */
+    public ArbitraryLengthFourierTransform( int dim ) {
+        this( dim, null );
+    }
+
+    /**
+     * Creates a transform that borrows work buffers from <tt>pool</tt> on each call that
+     * is not given a {@link Workspace}, so that one instance may be shared by many threads.
+     *
+     * @param dim  Size of vector on which the transform operates. Must be positive.
+     * @param pool Source of work buffers. May be null, in which case the instance owns one.
+     * @throws IllegalArgumentException if dim is not positive, or so large that the
+     *         required power-of-two transform cannot be allocated.
+     */
+    public ArbitraryLengthFourierTransform( int dim, WorkspacePool pool ) {
+        if( dim <= 0 ) {
+            throw new IllegalArgumentException( "Dimension must be positive" );
+        }
+
+        mDim = dim;
+
+        FastFourierTransform pow2 = null;
+        MixedRadixFourierTransform mixed = null;
+        Rader rader = null;
+        Bluestein bluestein = null;
+        int workLen = 0;
+
+        if( dim > 1 && ( dim & ( dim - 1 ) ) == 0 ) {
+            pow2 = new FastFourierTransform( dim, FastFourierTransform.Kernel.AUTO );
+        } else if( MixedRadixFourierTransform.isSupported( dim ) ) {
+            mixed = new MixedRadixFourierTransform( dim );
+        } else if( isPrime( dim ) && MixedRadixFourierTransform.isSupported( dim - 1 ) ) {
+            rader = raderFor( dim );
+            workLen = ( dim - 1 ) * 2;
+        } else {
+            bluestein = bluesteinFor( dim );
+            workLen = bluestein.mSize * 2;
+        }
+
+        mPow2      = pow2;
+        mMixed     = mixed;
+        mRader     = rader;
+        mBluestein = bluestein;
+        mWorkLen   = workLen;
+        mPool      = pool;
+    }
+
+
+    /**
+     * @return size of vectors on which this transform operates.
+     */
+    public int size() {
+        return mDim;
+    }
+
+    /**
+     * Performs a Fast Fourier Transform on a vector of complex values.
+     * Samples are stored in the tightly packed format used by {@link FastFourierTransform#applyComplex}.
+     *
+     * @param x       Input array of complex samples: <b>NOTE:</b> <tt>x.length &gt= dim * 2 + xOff</tt>.
+     * @param xOff    Start position of data in the input array.
+     * @param inverse Set to false for normal FFT, true for inverse FFT.
+     * @param out     Output array where transformed, complex elements are stored: <b>NOTE:</b> <tt>out.length &gt= dim * 2 + outOff</tt>.
+     *                Must not overlap input.
+     * @param outOff  Start position into output array.
+     */
+    public void applyComplex( double[] x, int xOff, boolean inverse, double[] out, int outOff ) {
+        if( mWorkLen == 0 ) {
+            applyComplex( x, xOff, inverse, out, outOff, null );
+            return;
+        }
+
+        Workspace ws = borrow();
+        try {
+            applyComplex( x, xOff, inverse, out, outOff, ws );
+        } finally {
+            giveBack( ws );
+        }
+    }
+
+    /**
+     * Same as {@link #applyComplex(double[], int, boolean, double[], int)}, but uses work buffers
+     * from <tt>ws</tt>. Only the second buffer of <tt>ws</tt> is used, so callers within this
+     * package may keep data in the first.
+     *
+     * @param ws Work buffers. May be null for powers of two and lengths handled by
+     *           {@link MixedRadixFourierTransform}, which need none.
+     */
+    public void applyComplex( double[] x, int xOff, boolean inverse, double[] out, int outOff, Workspace ws ) {
+        if( mPow2 != null ) {
+            mPow2.applyComplex( x, xOff, inverse, out, outOff );
+        } else if( mMixed != null ) {
+            mMixed.applyComplex( x, xOff, inverse, out, outOff );
+        } else if( mRader != null ) {
+            applyRader( x, xOff, 2, inverse, out, outOff, ws.b( mWorkLen * 2 ) );
+        } else {
+            applyBluestein( x, xOff, 2, inverse, out, outOff, ws.b( mWorkLen * 2 ) );
+        }
+    }
+
+    /**
+     * Performs a Fast Fourier Transform on an array of real values.
+     * Note that the output samples are complex, so the output array
+     * will need to hold twice as many double values as the input array.
+     *
+     * @param x       Input array of real-valued samples: <b>NOTE:</b> <tt>x.length &gt= dim + xOff</tt>.
+     * @param xOff    Start position of data in the input array.
+     * @param inverse Set to false for normal FFT, true for inverse FFT.
+     * @param out     Output array where transformed, complex samples are stored: <b>NOTE:</b> <tt>out.length &gt= dim * 2 + outOff</tt>
+     *                Must not overlap input.
+     * @param outOff  Start position into output array.
+     */
+    public void applyReal( double[] x, int xOff, boolean inverse, double[] out, int outOff ) {
+        if( mWorkLen == 0 ) {
+            applyReal( x, xOff, inverse, out, outOff, null );
+            return;
+        }
+
+        Workspace ws = borrow();
+        try {
+            applyReal( x, xOff, inverse, out, outOff, ws );
+        } finally {
+            giveBack( ws );
+        }
+    }
+
+    /**
+     * Same as {@link #applyReal(double[], int, boolean, double[], int)}, but uses work buffers
+     * from <tt>ws</tt>, as {@link #applyComplex(double[], int, boolean, double[], int, Workspace)} does.
+     *
+     * @param ws Work buffers. May be null for powers of two and lengths handled by
+     *           {@link MixedRadixFourierTransform}, which need none.
+     */
+    public void applyReal( double[] x, int xOff, boolean inverse, double[] out, int outOff, Workspace ws ) {
+        if( mPow2 != null ) {
+            mPow2.applyReal( x, xOff, inverse, out, outOff );
+        } else if( mMixed != null ) {
+            mMixed.applyReal( x, xOff, inverse, out, outOff );
+        } else if( mRader != null ) {
+            applyRader( x, xOff, 1, inverse, out, outOff, ws.b( mWorkLen * 2 ) );
+        } else {
+            applyBluestein( x, xOff, 1, inverse, out, outOff, ws.b( mWorkLen * 2 ) );
+        }
+    }
+
+
+
+    private Workspace borrow() {
+        if( mPool != null ) {
+            return mPool.acquire();
+        }
+        if( mWorkspace == null ) {
+            mWorkspace = new Workspace();
+        }
+        return mWorkspace;
+    }
+
+
+    private void giveBack( Workspace ws ) {
+        if( mPool != null ) {
+            mPool.release( ws );
+        }
+    }
+
+    /**
+     * @param xUnit Array elements per input sample; 2 for complex, 1 for real.
+     * @param work  Holds two work vectors of <tt>mWorkLen</tt> elements each.
+     */
+    private void applyBluestein( double[] x, int xOff, int xUnit, boolean inverse, double[] out, int outOff, double[] work ) {
+        final Bluestein b  = mBluestein;
+        final int dim      = mDim;
+        final int m        = b.mSize;
+        final double sign  = inverse ? -1.0 : 1.0;
+        final double[] c   = b.mChirp;
+        final double[] f   = inverse ? b.mInvFilter : b.mFilter;
+        final double[] w   = work;
+        final int wb       = mWorkLen;
+
+        // a[n] = x[n] * c[n], zero padded to m.
+        for( int n = 0; n < dim; n++ ) {
+            final int ii = xOff + n * xUnit;
+            final double xr = x[ii];
+            final double xi = xUnit == 2 ? x[ii + 1] : 0.0;
+            final double cr = c[n * 2];
+            final double ci = c[n * 2 + 1] * sign;
+            w[n * 2    ] = xr * cr - xi * ci;
+            w[n * 2 + 1] = xr * ci + xi * cr;
+        }
+        Arrays.fill( w, dim * 2, m * 2, 0.0 );
+
+        // Convolve with filter.
+        b.mFft.applyComplex( w, 0, false, w, wb );
+        for( int k = 0; k < m * 2; k += 2 ) {
+            final double ar = w[wb + k];
+            final double ai = w[wb + k + 1];
+            w[wb + k    ] = ar * f[k] - ai * f[k + 1];
+            w[wb + k + 1] = ar * f[k + 1] + ai * f[k];
+        }
+        b.mFft.applyComplex( w, wb, true, w, 0 );
+
+        // X[k] = c[k] * conv[k]
+        final double scale = inverse ? 1.0 / dim : 1.0;
+        for( int k = 0; k < dim; k++ ) {
+            final double ar = w[k * 2];
+            final double ai = w[k * 2 + 1];
+            final double cr = c[k * 2] * scale;
+            final double ci = c[k * 2 + 1] * sign * scale;
+            out[outOff + k * 2    ] = ar * cr - ai * ci;
+            out[outOff + k * 2 + 1] = ar * ci + ai * cr;
+        }
+    }
+
+    /**
+     * @param xUnit Array elements per input sample; 2 for complex, 1 for real.
+     * @param work  Holds two work vectors of <tt>mWorkLen</tt> elements each.
+     */
+    private void applyRader( double[] x, int xOff, int xUnit, boolean inverse, double[] out, int outOff, double[] work ) {
+        final Rader r     = mRader;
+        final int len     = mDim - 1;
+        final int[] gpow  = r.mPow;
+        final int[] ginv  = r.mInvPow;
+        final double[] f  = inverse ? r.mInvFilter : r.mFilter;
+        final double[] w  = work;
+        final int wb      = mWorkLen;
+
+        final double x0r = x[xOff];
+        final double x0i = xUnit == 2 ? x[xOff + 1] : 0.0;
+        double sumr = x0r;
+        double sumi = x0i;
+
+        // a[q] = x[g^q]
+        for( int q = 0; q < len; q++ ) {
+            final int ii = xOff + gpow[q] * xUnit;
+            final double vr = x[ii];
+            final double vi = xUnit == 2 ? x[ii + 1] : 0.0;
+            w[q * 2    ] = vr;
+            w[q * 2 + 1] = vi;
+            sumr += vr;
+            sumi += vi;
+        }
+
+        // Cyclic convolution with W^(g^-q).
+        r.mFft.applyComplex( w, 0, false, w, wb );
+        for( int k = 0; k < len * 2; k += 2 ) {
+            final double ar = w[wb + k];
+            final double ai = w[wb + k + 1];
+            w[wb + k    ] = ar * f[k] - ai * f[k + 1];
+            w[wb + k + 1] = ar * f[k + 1] + ai * f[k];
+        }
+        r.mFft.applyComplex( w, wb, true, w, 0 );
+
+        // X[g^-r] = x[0] + conv[r]
+        final double scale = inverse ? 1.0 / mDim : 1.0;
+        out[outOff    ] = sumr * scale;
+        out[outOff + 1] = sumi * scale;
+        for( int q = 0; q < len; q++ ) {
+            final int jj = outOff + ginv[q] * 2;
+            out[jj    ] = ( x0r + w[q * 2    ] ) * scale;
+            out[jj + 1] = ( x0i + w[q * 2 + 1] ) * scale;
+        }
+    }
+
+
+
+    private static Bluestein bluesteinFor( int dim ) {
+        Bluestein ret = BLUESTEIN_CACHE.get( dim );
+        if( ret == null ) {
+            ret = new Bluestein( dim );
+            Bluestein prev = BLUESTEIN_CACHE.putIfAbsent( dim, ret );
+            if( prev != null ) {
+                ret = prev;
+            }
+        }
+        return ret;
+    }
+
+
+    private static Rader raderFor( int dim ) {
+        Rader ret = RADER_CACHE.get( dim );
+        if( ret == null ) {
+            ret = new Rader( dim );
+            Rader prev = RADER_CACHE.putIfAbsent( dim, ret );
+            if( prev != null ) {
+                ret = prev;
+            }
+        }
+        return ret;
+    }
+
+
+    static boolean isPrime( int n ) {
+        if( n < 2 ) {
+            return false;
+        }
+        if( n % 2 == 0 ) {
+            return n == 2;
+        }
+        for( int d = 3; (long)d * d <= n; d += 2 ) {
+            if( n % d == 0 ) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+
+    private static int primitiveRoot( int p ) {
+        // Collect distinct prime factors of p - 1.
+        int[] factors = new int[32];
+        int count = 0;
+        int n = p - 1;
+        for( int d = 2; (long)d * d <= n; d++ ) {
+            if( n % d == 0 ) {
+                factors[count++] = d;
+                while( n % d == 0 ) {
+                    n /= d;
+                }
+            }
+        }
+        if( n > 1 ) {
+            factors[count++] = n;
+        }
+
+        search:
+        for( int g = 2; g < p; g++ ) {
+            for( int i = 0; i < count; i++ ) {
+                if( modPow( g, ( p - 1 ) / factors[i], p ) == 1 ) {
+                    continue search;
+                }
+            }
+            return g;
+        }
+
+        return 1;
+    }
+
+
+    private static int modPow( long base, int exp, int mod ) {
+        long ret = 1;
+        base %= mod;
+        while( exp > 0 ) {
+            if( ( exp & 1 ) != 0 ) {
+                ret = ret * base % mod;
+            }
+            base = base * base % mod;
+            exp >>= 1;
+        }
+        return (int)ret;
+    }
+
+
+    /**
+     * Given the spectrum of a sequence, computes the spectrum of its conjugate, which is
+     * the filter needed for the inverse transform.
+     */
+    private static void conjugateSpectrum( double[] fwd, double[] outInv, int len ) {
+        // FFT( conj( s ) )[k] = conj( FFT( s )[-k] )
+        for( int k = 0; k < len; k++ ) {
+            final int j = ( ( len - k ) % len ) * 2;
+            outInv[k * 2    ] =  fwd[j];
+            outInv[k * 2 + 1] = -fwd[j + 1];
+        }
+    }
+
+
+    /**
+     * Per-length data for Bluestein's algorithm.
+     */
+    private static final class Bluestein {
+
+        final int mSize;
+        final FastFourierTransform mFft;
+
+        /** Forward chirp, c[n] = exp( -i * PI * n^2 / dim ). */
+        final double[] mChirp;
+
+        /** Spectrum of conj( c ), wrapped to length of mFft. */
+        final double[] mFilter;
+
+        /** Spectrum of c, wrapped to length of mFft. */
+        final double[] mInvFilter;
+
+
+        Bluestein( int dim ) {
+            int m = Integer.highestOneBit( dim * 2 - 1 );
+            if( m < dim * 2 - 1 ) {
+                m <<= 1;
+            }
+
+            mSize  = m;
+            mFft   = new FastFourierTransform( m, FastFourierTransform.Kernel.AUTO );
+            mChirp = new double[dim * 2];
+
+            final long mod = dim * 2L;
+            for( int n = 0; n < dim; n++ ) {
+                // Reduce n^2 before scaling to keep angle accurate for large n.
+                double angle = Math.PI * ( (long)n * n % mod ) / dim;
+                mChirp[n * 2    ] =  Math.cos( angle );
+                mChirp[n * 2 + 1] = -Math.sin( angle );
+            }
+
+            double[] seq = new double[m * 2];
+            for( int n = 0; n < dim; n++ ) {
+                seq[n * 2    ] =  mChirp[n * 2    ];
+                seq[n * 2 + 1] = -mChirp[n * 2 + 1];
+                if( n > 0 ) {
+                    seq[( m - n ) * 2    ] = seq[n * 2    ];
+                    seq[( m - n ) * 2 + 1] = seq[n * 2 + 1];
+                }
+            }
+
+            mFilter    = new double[m * 2];
+            mInvFilter = new double[m * 2];
+            mFft.applyComplex( seq, 0, false, mFilter, 0 );
+            conjugateSpectrum( mFilter, mInvFilter, m );
+        }
+
+    }
+
+
+    /**
+     * Per-length data for Rader's algorithm.
+     */
+    private static final class Rader {
+
+        final MixedRadixFourierTransform mFft;
+
+        /** mPow[q] = g^q mod p */
+        final int[] mPow;
+
+        /** mInvPow[q] = g^-q mod p */
+        final int[] mInvPow;
+
+        /** Spectrum of b[q] = W^(g^-q) */
+        final double[] mFilter;
+
+        /** Spectrum of conj( b ) */
+        final double[] mInvFilter;
+
+
+        Rader( int p ) {
+            final int len = p - 1;
+            final int g   = primitiveRoot( p );
+            final int gi  = modPow( g, p - 2, p );
+
+            mFft    = new MixedRadixFourierTransform( len );
+            mPow    = new int[len];
+            mInvPow = new int[len];
+
+            long a = 1;
+            long b = 1;
+            for( int q = 0; q < len; q++ ) {
+                mPow[q]    = (int)a;
+                mInvPow[q] = (int)b;
+                a = a * g % p;
+                b = b * gi % p;
+            }
+
+            double[] seq = new double[len * 2];
+            for( int q = 0; q < len; q++ ) {
+                double angle = 2.0 * Math.PI * mInvPow[q] / p;
+                seq[q * 2    ] =  Math.cos( angle );
+                seq[q * 2 + 1] = -Math.sin( angle );
+            }
+
+            mFilter    = new double[len * 2];
+            mInvFilter = new double[len * 2];
+            mFft.applyComplex( seq, 0, false, mFilter, 0 );
+            conjugateSpectrum( mFilter, mInvFilter, len );
+        }
+
+    }
+
+}
@@ -0,0 +1,3117 @@
+/*
+ * Copyright (c) 2014, Massachusetts Institute of Technology
+ * Released under the BSD 2-Clause License
+ * http://opensource.org/licenses/BSD-2-Clause
+ */
+package bits.fft;
+
+
+/**
+ * Straight-line transforms of bit-reversed complex vectors of 64 elements or fewer.
+ * Each produces the same transform as <tt>FastFourierTransform.transformSplitRadix</tt>.
+ * <p>
+ * GENERATED by <tt>src/gen/java/bits/fft/CodeletGenerator.java</tt>. Do not edit;
+ * change the generator and run <tt>ant codelets</tt>.
+ * <p>
+ * This class is thread-safe.
+ */
+final class Codelets {
+
+    static final int MAX_BITS = 6;
+    static final int MAX_LEN  = 1 << MAX_BITS;
+
+
+    /**
+     * Transforms bit-reversed complex vector in place.
+     *
+     * @param len   Number of complex elements. Must be a power-of-two from 2 to {@link #MAX_LEN}.
+     * @param scale Multiplies output.
+     */
+    static void apply( double[] x, int off, int len, boolean inverse, double scale ) {
+        switch( len ) {
+        case 2:
+            if( inverse ) {
+                inverse2( x, off, scale );
+            } else {
+                forward2( x, off, scale );
+            }
+            return;
+        case 4:
+            if( inverse ) {
+                inverse4( x, off, scale );
+            } else {
+                forward4( x, off, scale );
+            }
+            return;
+        case 8:
+            if( inverse ) {
+                inverse8( x, off, scale );
+            } else {
+                forward8( x, off, scale );
+            }
+            return;
+        case 16:
+            if( inverse ) {
+                inverse16( x, off, scale );
+            } else {
+                forward16( x, off, scale );
+            }
+            return;
+        case 32:
+            if( inverse ) {
+                inverse32( x, off, scale );
+            } else {
+                forward32( x, off, scale );
+            }
+            return;
+        case 64:
+            if( inverse ) {
+                inverse64( x, off, scale );
+            } else {
+                forward64( x, off, scale );
+            }
+            return;
+        default:
+            throw new IllegalArgumentException( "Unsupported codelet size: " + len );
+        }
+    }
+
+
+    static void forward2( double[] x, int off, double scale ) {
+        final double r0 = x[off];
+        final double i0 = x[off + 1];
+        final double r1 = x[off + 2];
+        final double i1 = x[off + 3];
+        final double t0 = r0 + r1;
+        final double t1 = i0 + i1;
+        final double t2 = r0 - r1;
+        final double t3 = i0 - i1;
+        if( scale == 1.0 ) {
+            x[off] = t0;
+            x[off + 1] = t1;
+            x[off + 2] = t2;
+            x[off + 3] = t3;
+        } else {
+            x[off] = t0 * scale;
+            x[off + 1] = t1 * scale;
+            x[off + 2] = t2 * scale;
+            x[off + 3] = t3 * scale;
+        }
+    }
+
+
+    static void inverse2( double[] x, int off, double scale ) {
+        final double r0 = x[off];
+        final double i0 = -x[off + 1];
+        final double r1 = x[off + 2];
+        final double i1 = -x[off + 3];
+        final double t0 = r0 + r1;
+        final double t1 = i0 + i1;
+        final double t2 = r0 - r1;
+        final double t3 = i0 - i1;
+        if( scale == 1.0 ) {
+            x[off] = t0;
+            x[off + 1] = -t1;
+            x[off + 2] = t2;
+            x[off + 3] = -t3;
+        } else {
+            final double iscale = -scale;
+            x[off] = t0 * scale;
+            x[off + 1] = t1 * iscale;
+            x[off + 2] = t2 * scale;
+            x[off + 3] = t3 * iscale;
+        }
+    }
+
+
+    static void forward4( double[] x, int off, double scale ) {
+        final double r0 = x[off];
+        final double i0 = x[off + 1];
+        final double r1 = x[off + 2];
+        final double i1 = x[off + 3];
+        final double r2 = x[off + 4];
+        final double i2 = x[off + 5];
+        final double r3 = x[off + 6];
+        final double i3 = x[off + 7];
+        final double t0 = r0 + r1;
+        final double t1 = i0 + i1;
+        final double t2 = r0 - r1;
+        final double t3 = i0 - i1;
+        final double t4 = r2 + r3;
+        final double t5 = i2 + i3;
+        final double t6 = i2 - i3;
+        final double t7 = r3 - r2;
+        final double t8 = t0 + t4;
+        final double t9 = t1 + t5;
+        final double t10 = t0 - t4;
+        final double t11 = t1 - t5;
+        final double t12 = t2 + t6;
+        final double t13 = t3 + t7;
+        final double t14 = t2 - t6;
+        final double t15 = t3 - t7;
+        if( scale == 1.0 ) {
+            x[off] = t8;
+            x[off + 1] = t9;
+            x[off + 2] = t12;
+            x[off + 3] = t13;
+            x[off + 4] = t10;
+            x[off + 5] = t11;
+            x[off + 6] = t14;
+            x[off + 7] = t15;
+        } else {
+            x[off] = t8 * scale;
+            x[off + 1] = t9 * scale;
+            x[off + 2] = t12 * scale;
+            x[off + 3] = t13 * scale;
+            x[off + 4] = t10 * scale;
+            x[off + 5] = t11 * scale;
+            x[off + 6] = t14 * scale;
+            x[off + 7] = t15 * scale;
+        }
+    }
+
+
+    static void inverse4( double[] x, int off, double scale ) {
+        final double r0 = x[off];
+        final double i0 = -x[off + 1];
+        final double r1 = x[off + 2];
+        final double i1 = -x[off + 3];
+        final double r2 = x[off + 4];
+        final double i2 = -x[off + 5];
+        final double r3 = x[off + 6];
+        final double i3 = -x[off + 7];
+        final double t0 = r0 + r1;
+        final double t1 = i0 + i1;
+        final double t2 = r0 - r1;
+        final double t3 = i0 - i1;
+        final double t4 = r2 + r3;
+        final double t5 = i2 + i3;
+        final double t6 = i2 - i3;
+        final double t7 = r3 - r2;
+        final double t8 = t0 + t4;
+        final double t9 = t1 + t5;
+        final double t10 = t0 - t4;
+        final double t11 = t1 - t5;
+        final double t12 = t2 + t6;
+        final double t13 = t3 + t7;
+        final double t14 = t2 - t6;
+        final double t15 = t3 - t7;
+        if( scale == 1.0 ) {
+            x[off] = t8;
+            x[off + 1] = -t9;
+            x[off + 2] = t12;
+            x[off + 3] = -t13;
+            x[off + 4] = t10;
+            x[off + 5] = -t11;
+            x[off + 6] = t14;
+            x[off + 7] = -t15;
+        } else {
+            final double iscale = -scale;
+            x[off] = t8 * scale;
+            x[off + 1] = t9 * iscale;
+            x[off + 2] = t12 * scale;
+            x[off + 3] = t13 * iscale;
+            x[off + 4] = t10 * scale;
+            x[off + 5] = t11 * iscale;
+            x[off + 6] = t14 * scale;
+            x[off + 7] = t15 * iscale;
+        }
+    }
+
+
+    static void forward8( double[] x, int off, double scale ) {
+        final double r0 = x[off];
+        final double i0 = x[off + 1];
+        final double r1 = x[off + 2];
+        final double i1 = x[off + 3];
+        final double r2 = x[off + 4];
+        final double i2 = x[off + 5];
+        final double r3 = x[off + 6];
+        final double i3 = x[off + 7];
+        final double r4 = x[off + 8];
+        final double i4 = x[off + 9];
+        final double r5 = x[off + 10];
+        final double i5 = x[off + 11];
+        final double r6 = x[off + 12];
+        final double i6 = x[off + 13];
+        final double r7 = x[off + 14];
+        final double i7 = x[off + 15];
+        final double t0 = r0 + r1;
+        final double t1 = i0 + i1;
+        final double t2 = r0 - r1;
+        final double t3 = i0 - i1;
+        final double t4 = r2 + r3;
+        final double t5 = i2 + i3;
+        final double t6 = i2 - i3;
+        final double t7 = r3 - r2;
+        final double t8 = t0 + t4;
+        final double t9 = t1 + t5;
+        final double t10 = t0 - t4;
+        final double t11 = t1 - t5;
+        final double t12 = t2 + t6;
+        final double t13 = t3 + t7;
+        final double t14 = t2 - t6;
+        final double t15 = t3 - t7;
+        final double t16 = r4 + r5;
+        final double t17 = i4 + i5;
+        final double t18 = r4 - r5;
+        final double t19 = i4 - i5;
+        final double t20 = r6 + r7;
+        final double t21 = i6 + i7;
+        final double t22 = r6 - r7;
+        final double t23 = i6 - i7;
+        final double t24 = t16 + t20;
+        final double t25 = t17 + t21;
+        final double t26 = t17 - t21;
+        final double t27 = t20 - t16;
+        final double t28 = t8 + t24;
+        final double t29 = t9 + t25;
+        final double t30 = t8 - t24;
+        final double t31 = t9 - t25;
+        final double t32 = t10 + t26;
+        final double t33 = t11 + t27;
+        final double t34 = t10 - t26;
+        final double t35 = t11 - t27;
+        final double t36 = 0.7071067811865476 * ( t18 + t19 );
+        final double t37 = 0.7071067811865476 * ( t19 - t18 );
+        final double t38 = 0.7071067811865476 * ( t23 - t22 );
+        final double t39 = -0.7071067811865476 * ( t22 + t23 );
+        final double t40 = t36 + t38;
+        final double t41 = t37 + t39;
+        final double t42 = t37 - t39;
+        final double t43 = t38 - t36;
+        final double t44 = t12 + t40;
+        final double t45 = t13 + t41;
+        final double t46 = t12 - t40;
+        final double t47 = t13 - t41;
+        final double t48 = t14 + t42;
+        final double t49 = t15 + t43;
+        final double t50 = t14 - t42;
+        final double t51 = t15 - t43;
+        if( scale == 1.0 ) {
+            x[off] = t28;
+            x[off + 1] = t29;
+            x[off + 2] = t44;
+            x[off + 3] = t45;
+            x[off + 4] = t32;
+            x[off + 5] = t33;
+            x[off + 6] = t48;
+            x[off + 7] = t49;
+            x[off + 8] = t30;
+            x[off + 9] = t31;
+            x[off + 10] = t46;
+            x[off + 11] = t47;
+            x[off + 12] = t34;
+            x[off + 13] = t35;
+            x[off + 14] = t50;
+            x[off + 15] = t51;
+        } else {
+            x[off] = t28 * scale;
+            x[off + 1] = t29 * scale;
+            x[off + 2] = t44 * scale;
+            x[off + 3] = t45 * scale;
+            x[off + 4] = t32 * scale;
+            x[off + 5] = t33 * scale;
+            x[off + 6] = t48 * scale;
+            x[off + 7] = t49 * scale;
+            x[off + 8] = t30 * scale;
+            x[off + 9] = t31 * scale;
+            x[off + 10] = t46 * scale;
+            x[off + 11] = t47 * scale;
+            x[off + 12] = t34 * scale;
+            x[off + 13] = t35 * scale;
+            x[off + 14] = t50 * scale;
+            x[off + 15] = t51 * scale;
+        }
+    }
+
+
+    static void inverse8( double[] x, int off, double scale ) {
+        final double r0 = x[off];
+        final double i0 = -x[off + 1];
+        final double r1 = x[off + 2];
+        final double i1 = -x[off + 3];
+        final double r2 = x[off + 4];
+        final double i2 = -x[off + 5];
+        final double r3 = x[off + 6];
+        final double i3 = -x[off + 7];
+        final double r4 = x[off + 8];
+        final double i4 = -x[off + 9];
+        final double r5 = x[off + 10];
+        final double i5 = -x[off + 11];
+        final double r6 = x[off + 12];
+        final double i6 = -x[off + 13];
+        final double r7 = x[off + 14];
+        final double i7 = -x[off + 15];
+        final double t0 = r0 + r1;
+        final double t1 = i0 + i1;
+        final double t2 = r0 - r1;
+        final double t3 = i0 - i1;
+        final double t4 = r2 + r3;
+        final double t5 = i2 + i3;
+        final double t6 = i2 - i3;
+        final double t7 = r3 - r2;
+        final double t8 = t0 + t4;
+        final double t9 = t1 + t5;
+        final double t10 = t0 - t4;
+        final double t11 = t1 - t5;
+        final double t12 = t2 + t6;
+        final double t13 = t3 + t7;
+        final double t14 = t2 - t6;
+        final double t15 = t3 - t7;
+        final double t16 = r4 + r5;
+        final double t17 = i4 + i5;
+        final double t18 = r4 - r5;
+        final double t19 = i4 - i5;
+        final double t20 = r6 + r7;
+        final double t21 = i6 + i7;
+        final double t22 = r6 - r7;
+        final double t23 = i6 - i7;
+        final double t24 = t16 + t20;
+        final double t25 = t17 + t21;
+        final double t26 = t17 - t21;
+        final double t27 = t20 - t16;
+        final double t28 = t8 + t24;
+        final double t29 = t9 + t25;
+        final double t30 = t8 - t24;
+        final double t31 = t9 - t25;
+        final double t32 = t10 + t26;
+        final double t33 = t11 + t27;
+        final double t34 = t10 - t26;
+        final double t35 = t11 - t27;
+        final double t36 = 0.7071067811865476 * ( t18 + t19 );
+        final double t37 = 0.7071067811865476 * ( t19 - t18 );
+        final double t38 = 0.7071067811865476 * ( t23 - t22 );
+        final double t39 = -0.7071067811865476 * ( t22 + t23 );
+        final double t40 = t36 + t38;
+        final double t41 = t37 + t39;
+        final double t42 = t37 - t39;
+        final double t43 = t38 - t36;
+        final double t44 = t12 + t40;
+        final double t45 = t13 + t41;
+        final double t46 = t12 - t40;
+        final double t47 = t13 - t41;
+        final double t48 = t14 + t42;
+        final double t49 = t15 + t43;
+        final double t50 = t14 - t42;
+        final double t51 = t15 - t43;
+        if( scale == 1.0 ) {
+            x[off] = t28;
+            x[off + 1] = -t29;
+            x[off + 2] = t44;
+            x[off + 3] = -t45;
+            x[off + 4] = t32;
+            x[off + 5] = -t33;
+            x[off + 6] = t48;
+            x[off + 7] = -t49;
+            x[off + 8] = t30;
+            x[off + 9] = -t31;
+            x[off + 10] = t46;
+            x[off + 11] = -t47;
+            x[off + 12] = t34;
+            x[off + 13] = -t35;
+            x[off + 14] = t50;
+            x[off + 15] = -t51;
+        } else {
+            final double iscale = -scale;
+            x[off] = t28 * scale;
+            x[off + 1] = t29 * iscale;
+            x[off + 2] = t44 * scale;
+            x[off + 3] = t45 * iscale;
+            x[off + 4] = t32 * scale;
+            x[off + 5] = t33 * iscale;
+            x[off + 6] = t48 * scale;
+            x[off + 7] = t49 * iscale;
+            x[off + 8] = t30 * scale;
+            x[off + 9] = t31 * iscale;
+            x[off + 10] = t46 * scale;
+            x[off + 11] = t47 * iscale;
+            x[off + 12] = t34 * scale;
+            x[off + 13] = t35 * iscale;
+            x[off + 14] = t50 * scale;
+            x[off + 15] = t51 * iscale;
+        }
+    }
+
+
+    static void forward16( double[] x, int off, double scale ) {
+        final double r0 = x[off];
+        final double i0 = x[off + 1];
+        final double r1 = x[off + 2];
+        final double i1 = x[off + 3];
+        final double r2 = x[off + 4];
+        final double i2 = x[off + 5];
+        final double r3 = x[off + 6];
+        final double i3 = x[off + 7];
+        final double r4 = x[off + 8];
+        final double i4 = x[off + 9];
+        final double r5 = x[off + 10];
+        final double i5 = x[off + 11];
+        final double r6 = x[off + 12];
+        final double i6 = x[off + 13];
+        final double r7 = x[off + 14];
+        final double i7 = x[off + 15];
+        final double r8 = x[off + 16];
+        final double i8 = x[off + 17];
+        final double r9 = x[off + 18];
+        final double i9 = x[off + 19];
+        final double r10 = x[off + 20];
+        final double i10 = x[off + 21];
+        final double r11 = x[off + 22];
+        final double i11 = x[off + 23];
+        final double r12 = x[off + 24];
+        final double i12 = x[off + 25];
+        final double r13 = x[off + 26];
+        final double i13 = x[off + 27];
+        final double r14 = x[off + 28];
+        final double i14 = x[off + 29];
+        final double r15 = x[off + 30];
+        final double i15 = x[off + 31];
+        final double t0 = r0 + r1;
+        final double t1 = i0 + i1;
+        final double t2 = r0 - r1;
+        final double t3 = i0 - i1;
+        final double t4 = r2 + r3;
+        final double t5 = i2 + i3;
+        final double t6 = i2 - i3;
+        final double t7 = r3 - r2;
+        final double t8 = t0 + t4;
+        final double t9 = t1 + t5;
+        final double t10 = t0 - t4;
+        final double t11 = t1 - t5;
+        final double t12 = t2 + t6;
+        final double t13 = t3 + t7;
+        final double t14 = t2 - t6;
+        final double t15 = t3 - t7;
+        final double t16 = r4 + r5;
+        final double t17 = i4 + i5;
+        final double t18 = r4 - r5;
+        final double t19 = i4 - i5;
+        final double t20 = r6 + r7;
+        final double t21 = i6 + i7;
+        final double t22 = r6 - r7;
+        final double t23 = i6 - i7;
+        final double t24 = t16 + t20;
+        final double t25 = t17 + t21;
+        final double t26 = t17 - t21;
+        final double t27 = t20 - t16;
+        final double t28 = t8 + t24;
+        final double t29 = t9 + t25;
+        final double t30 = t8 - t24;
+        final double t31 = t9 - t25;
+        final double t32 = t10 + t26;
+        final double t33 = t11 + t27;
+        final double t34 = t10 - t26;
+        final double t35 = t11 - t27;
+        final double t36 = 0.7071067811865476 * ( t18 + t19 );
+        final double t37 = 0.7071067811865476 * ( t19 - t18 );
+        final double t38 = 0.7071067811865476 * ( t23 - t22 );
+        final double t39 = -0.7071067811865476 * ( t22 + t23 );
+        final double t40 = t36 + t38;
+        final double t41 = t37 + t39;
+        final double t42 = t37 - t39;
+        final double t43 = t38 - t36;
+        final double t44 = t12 + t40;
+        final double t45 = t13 + t41;
+        final double t46 = t12 - t40;
+        final double t47 = t13 - t41;
+        final double t48 = t14 + t42;
+        final double t49 = t15 + t43;
+        final double t50 = t14 - t42;
+        final double t51 = t15 - t43;
+        final double t52 = r8 + r9;
+        final double t53 = i8 + i9;
+        final double t54 = r8 - r9;
+        final double t55 = i8 - i9;
+        final double t56 = r10 + r11;
+        final double t57 = i10 + i11;
+        final double t58 = i10 - i11;
+        final double t59 = r11 - r10;
+        final double t60 = t52 + t56;
+        final double t61 = t53 + t57;
+        final double t62 = t52 - t56;
+        final double t63 = t53 - t57;
+        final double t64 = t54 + t58;
+        final double t65 = t55 + t59;
+        final double t66 = t54 - t58;
+        final double t67 = t55 - t59;
+        final double t68 = r12 + r13;
+        final double t69 = i12 + i13;
+        final double t70 = r12 - r13;
+        final double t71 = i12 - i13;
+        final double t72 = r14 + r15;
+        final double t73 = i14 + i15;
+        final double t74 = i14 - i15;
+        final double t75 = r15 - r14;
+        final double t76 = t68 + t72;
+        final double t77 = t69 + t73;
+        final double t78 = t68 - t72;
+        final double t79 = t69 - t73;
+        final double t80 = t70 + t74;
+        final double t81 = t71 + t75;
+        final double t82 = t70 - t74;
+        final double t83 = t71 - t75;
+        final double t84 = t60 + t76;
+        final double t85 = t61 + t77;
+        final double t86 = t61 - t77;
+        final double t87 = t76 - t60;
+        final double t88 = t28 + t84;
+        final double t89 = t29 + t85;
+        final double t90 = t28 - t84;
+        final double t91 = t29 - t85;
+        final double t92 = t30 + t86;
+        final double t93 = t31 + t87;
+        final double t94 = t30 - t86;
+        final double t95 = t31 - t87;
+        final double t96 = 0.9238795325112867 * t64 + 0.3826834323650898 * t65;
+        final double t97 = 0.9238795325112867 * t65 - 0.3826834323650898 * t64;
+        final double t98 = 0.38268343236508984 * t80 + 0.9238795325112867 * t81;
+        final double t99 = 0.38268343236508984 * t81 - 0.9238795325112867 * t80;
+        final double t100 = t96 + t98;
+        final double t101 = t97 + t99;
+        final double t102 = t97 - t99;
+        final double t103 = t98 - t96;
+        final double t104 = t44 + t100;
+        final double t105 = t45 + t101;
+        final double t106 = t44 - t100;
+        final double t107 = t45 - t101;
+        final double t108 = t46 + t102;
+        final double t109 = t47 + t103;
+        final double t110 = t46 - t102;
+        final double t111 = t47 - t103;
+        final double t112 = 0.7071067811865476 * ( t62 + t63 );
+        final double t113 = 0.7071067811865476 * ( t63 - t62 );
+        final double t114 = 0.7071067811865476 * ( t79 - t78 );
+        final double t115 = -0.7071067811865476 * ( t78 + t79 );
+        final double t116 = t112 + t114;
+        final double t117 = t113 + t115;
+        final double t118 = t113 - t115;
+        final double t119 = t114 - t112;
+        final double t120 = t32 + t116;
+        final double t121 = t33 + t117;
+        final double t122 = t32 - t116;
+        final double t123 = t33 - t117;
+        final double t124 = t34 + t118;
+        final double t125 = t35 + t119;
+        final double t126 = t34 - t118;
+        final double t127 = t35 - t119;
+        final double t128 = 0.38268343236508984 * t66 + 0.9238795325112867 * t67;
+        final double t129 = 0.38268343236508984 * t67 - 0.9238795325112867 * t66;
+        final double t130 = -0.9238795325112867 * t82 - 0.3826834323650898 * t83;
+        final double t131 = -0.9238795325112867 * t83 + 0.3826834323650898 * t82;
+        final double t132 = t128 + t130;
+        final double t133 = t129 + t131;
+        final double t134 = t129 - t131;
+        final double t135 = t130 - t128;
+        final double t136 = t48 + t132;
+        final double t137 = t49 + t133;
+        final double t138 = t48 - t132;
+        final double t139 = t49 - t133;
+        final double t140 = t50 + t134;
+        final double t141 = t51 + t135;
+        final double t142 = t50 - t134;
+        final double t143 = t51 - t135;
+        if( scale == 1.0 ) {
+            x[off] = t88;
+            x[off + 1] = t89;
+            x[off + 2] = t104;
+            x[off + 3] = t105;
+            x[off + 4] = t120;
+            x[off + 5] = t121;
+            x[off + 6] = t136;
+            x[off + 7] = t137;
+            x[off + 8] = t92;
+            x[off + 9] = t93;
+            x[off + 10] = t108;
+            x[off + 11] = t109;
+            x[off + 12] = t124;
+            x[off + 13] = t125;
+            x[off + 14] = t140;
+            x[off + 15] = t141;
+            x[off + 16] = t90;
+            x[off + 17] = t91;
+            x[off + 18] = t106;
+            x[off + 19] = t107;
+            x[off + 20] = t122;
+            x[off + 21] = t123;
+            x[off + 22] = t138;
+            x[off + 23] = t139;
+            x[off + 24] = t94;
+            x[off + 25] = t95;
+            x[off + 26] = t110;
+            x[off + 27] = t111;
+            x[off + 28] = t126;
+            x[off + 29] = t127;
+            x[off + 30] = t142;
+            x[off + 31] = t143;
+        } else {
+            x[off] = t88 * scale;
+            x[off + 1] = t89 * scale;
+            x[off + 2] = t104 * scale;
+            x[off + 3] = t105 * scale;
+            x[off + 4] = t120 * scale;
+            x[off + 5] = t121 * scale;
+            x[off + 6] = t136 * scale;
+            x[off + 7] = t137 * scale;
+            x[off + 8] = t92 * scale;
+            x[off + 9] = t93 * scale;
+            x[off + 10] = t108 * scale;
+            x[off + 11] = t109 * scale;
+            x[off + 12] = t124 * scale;
+            x[off + 13] = t125 * scale;
+            x[off + 14] = t140 * scale;
+            x[off + 15] = t141 * scale;
+            x[off + 16] = t90 * scale;
+            x[off + 17] = t91 * scale;
+            x[off + 18] = t106 * scale;
+            x[off + 19] = t107 * scale;
+            x[off + 20] = t122 * scale;
+            x[off + 21] = t123 * scale;
+            x[off + 22] = t138 * scale;
+            x[off + 23] = t139 * scale;
+            x[off + 24] = t94 * scale;
+            x[off + 25] = t95 * scale;
+            x[off + 26] = t110 * scale;
+            x[off + 27] = t111 * scale;
+            x[off + 28] = t126 * scale;
+            x[off + 29] = t127 * scale;
+            x[off + 30] = t142 * scale;
+            x[off + 31] = t143 * scale;
+        }
+    }
+
+
+    static void inverse16( double[] x, int off, double scale ) {
+        final double r0 = x[off];
+        final double i0 = -x[off + 1];
+        final double r1 = x[off + 2];
+        final double i1 = -x[off + 3];
+        final double r2 = x[off + 4];
+        final double i2 = -x[off + 5];
+        final double r3 = x[off + 6];
+        final double i3 = -x[off + 7];
+        final double r4 = x[off + 8];
+        final double i4 = -x[off + 9];
+        final double r5 = x[off + 10];
+        final double i5 = -x[off + 11];
+        final double r6 = x[off + 12];
+        final double i6 = -x[off + 13];
+        final double r7 = x[off + 14];
+        final double i7 = -x[off + 15];
+        final double r8 = x[off + 16];
+        final double i8 = -x[off + 17];
+        final double r9 = x[off + 18];
+        final double i9 = -x[off + 19];
+        final double r10 = x[off + 20];
+        final double i10 = -x[off + 21];
+        final double r11 = x[off + 22];
+        final double i11 = -x[off + 23];
+        final double r12 = x[off + 24];
+        final double i12 = -x[off + 25];
+        final double r13 = x[off + 26];
+        final double i13 = -x[off + 27];
+        final double r14 = x[off + 28];
+        final double i14 = -x[off + 29];
+        final double r15 = x[off + 30];
+        final double i15 = -x[off + 31];
+        final double t0 = r0 + r1;
+        final double t1 = i0 + i1;
+        final double t2 = r0 - r1;
+        final double t3 = i0 - i1;
+        final double t4 = r2 + r3;
+        final double t5 = i2 + i3;
+        final double t6 = i2 - i3;
+        final double t7 = r3 - r2;
+        final double t8 = t0 + t4;
+        final double t9 = t1 + t5;
+        final double t10 = t0 - t4;
+        final double t11 = t1 - t5;
+        final double t12 = t2 + t6;
+        final double t13 = t3 + t7;
+        final double t14 = t2 - t6;
+        final double t15 = t3 - t7;
+        final double t16 = r4 + r5;
+        final double t17 = i4 + i5;
+        final double t18 = r4 - r5;
+        final double t19 = i4 - i5;
+        final double t20 = r6 + r7;
+        final double t21 = i6 + i7;
+        final double t22 = r6 - r7;
+        final double t23 = i6 - i7;
+        final double t24 = t16 + t20;
+        final double t25 = t17 + t21;
+        final double t26 = t17 - t21;
+        final double t27 = t20 - t16;
+        final double t28 = t8 + t24;
+        final double t29 = t9 + t25;
+        final double t30 = t8 - t24;
+        final double t31 = t9 - t25;
+        final double t32 = t10 + t26;
+        final double t33 = t11 + t27;
+        final double t34 = t10 - t26;
+        final double t35 = t11 - t27;
+        final double t36 = 0.7071067811865476 * ( t18 + t19 );
+        final double t37 = 0.7071067811865476 * ( t19 - t18 );
+        final double t38 = 0.7071067811865476 * ( t23 - t22 );
+        final double t39 = -0.7071067811865476 * ( t22 + t23 );
+        final double t40 = t36 + t38;
+        final double t41 = t37 + t39;
+        final double t42 = t37 - t39;
+        final double t43 = t38 - t36;
+        final double t44 = t12 + t40;
+        final double t45 = t13 + t41;
+        final double t46 = t12 - t40;
+        final double t47 = t13 - t41;
+        final double t48 = t14 + t42;
+        final double t49 = t15 + t43;
+        final double t50 = t14 - t42;
+        final double t51 = t15 - t43;
+        final double t52 = r8 + r9;
+        final double t53 = i8 + i9;
+        final double t54 = r8 - r9;
+        final double t55 = i8 - i9;
+        final double t56 = r10 + r11;
+        final double t57 = i10 + i11;
+        final double t58 = i10 - i11;
+        final double t59 = r11 - r10;
+        final double t60 = t52 + t56;
+        final double t61 = t53 + t57;
+        final double t62 = t52 - t56;
+        final double t63 = t53 - t57;
+        final double t64 = t54 + t58;
+        final double t65 = t55 + t59;
+        final double t66 = t54 - t58;
+        final double t67 = t55 - t59;
+        final double t68 = r12 + r13;
+        final double t69 = i12 + i13;
+        final double t70 = r12 - r13;
+        final double t71 = i12 - i13;
+        final double t72 = r14 + r15;
+        final double t73 = i14 + i15;
+        final double t74 = i14 - i15;
+        final double t75 = r15 - r14;
+        final double t76 = t68 + t72;
+        final double t77 = t69 + t73;
+        final double t78 = t68 - t72;
+        final double t79 = t69 - t73;
+        final double t80 = t70 + t74;
+        final double t81 = t71 + t75;
+        final double t82 = t70 - t74;
+        final double t83 = t71 - t75;
+        final double t84 = t60 + t76;
+        final double t85 = t61 + t77;
+        final double t86 = t61 - t77;
+        final double t87 = t76 - t60;
+        final double t88 = t28 + t84;
+        final double t89 = t29 + t85;
+        final double t90 = t28 - t84;
+        final double t91 = t29 - t85;
+        final double t92 = t30 + t86;
+        final double t93 = t31 + t87;
+        final double t94 = t30 - t86;
+        final double t95 = t31 - t87;
+        final double t96 = 0.9238795325112867 * t64 + 0.3826834323650898 * t65;
+        final double t97 = 0.9238795325112867 * t65 - 0.3826834323650898 * t64;
+        final double t98 = 0.38268343236508984 * t80 + 0.9238795325112867 * t81;
+        final double t99 = 0.38268343236508984 * t81 - 0.9238795325112867 * t80;
+        final double t100 = t96 + t98;
+        final double t101 = t97 + t99;
+        final double t102 = t97 - t99;
+        final double t103 = t98 - t96;
+        final double t104 = t44 + t100;
+        final double t105 = t45 + t101;
+        final double t106 = t44 - t100;
+        final double t107 = t45 - t101;
+        final double t108 = t46 + t102;
+        final double t109 = t47 + t103;
+        final double t110 = t46 - t102;
+        final double t111 = t47 - t103;
+        final double t112 = 0.7071067811865476 * ( t62 + t63 );
+        final double t113 = 0.7071067811865476 * ( t63 - t62 );
+        final double t114 = 0.7071067811865476 * ( t79 - t78 );
+        final double t115 = -0.7071067811865476 * ( t78 + t79 );
+        final double t116 = t112 + t114;
+        final double t117 = t113 + t115;
+        final double t118 = t113 - t115;
+        final double t119 = t114 - t112;
+        final double t120 = t32 + t116;
+        final double t121 = t33 + t117;
+        final double t122 = t32 - t116;
+        final double t123 = t33 - t117;
+        final double t124 = t34 + t118;
+        final double t125 = t35 + t119;
+        final double t126 = t34 - t118;
+        final double t127 = t35 - t119;
+        final double t128 = 0.38268343236508984 * t66 + 0.9238795325112867 * t67;
+        final double t129 = 0.38268343236508984 * t67 - 0.9238795325112867 * t66;
+        final double t130 = -0.9238795325112867 * t82 - 0.3826834323650898 * t83;
+        final double t131 = -0.9238795325112867 * t83 + 0.3826834323650898 * t82;
+        final double t132 = t128 + t130;
+        final double t133 = t129 + t131;
+        final double t134 = t129 - t131;
+        final double t135 = t130 - t128;
+        final double t136 = t48 + t132;
+        final double t137 = t49 + t133;
+        final double t138 = t48 - t132;
+        final double t139 = t49 - t133;
+        final double t140 = t50 + t134;
+        final double t141 = t51 + t135;
+        final double t142 = t50 - t134;
+        final double t143 = t51 - t135;
+        if( scale == 1.0 ) {
+            x[off] = t88;
+            x[off + 1] = -t89;
+            x[off + 2] = t104;
+            x[off + 3] = -t105;
+            x[off + 4] = t120;
+            x[off + 5] = -t121;
+            x[off + 6] = t136;
+            x[off + 7] = -t137;
+            x[off + 8] = t92;
+            x[off + 9] = -t93;
+            x[off + 10] = t108;
+            x[off + 11] = -t109;
+            x[off + 12] = t124;
+            x[off + 13] = -t125;
+            x[off + 14] = t140;
+            x[off + 15] = -t141;
+            x[off + 16] = t90;
+            x[off + 17] = -t91;
+            x[off + 18] = t106;
+            x[off + 19] = -t107;
+            x[off + 20] = t122;
+            x[off + 21] = -t123;
+            x[off + 22] = t138;
+            x[off + 23] = -t139;
+            x[off + 24] = t94;
+            x[off + 25] = -t95;
+            x[off + 26] = t110;
+            x[off + 27] = -t111;
+            x[off + 28] = t126;
+            x[off + 29] = -t127;
+            x[off + 30] = t142;
+            x[off + 31] = -t143;
+        } else {
+            final double iscale = -scale;
+            x[off] = t88 * scale;
+            x[off + 1] = t89 * iscale;
+            x[off + 2] = t104 * scale;
+            x[off + 3] = t105 * iscale;
+            x[off + 4] = t120 * scale;
+            x[off + 5] = t121 * iscale;
+            x[off + 6] = t136 * scale;
+            x[off + 7] = t137 * iscale;
+            x[off + 8] = t92 * scale;
+            x[off + 9] = t93 * iscale;
+            x[off + 10] = t108 * scale;
+            x[off + 11] = t109 * iscale;
+            x[off + 12] = t124 * scale;
+            x[off + 13] = t125 * iscale;
+            x[off + 14] = t140 * scale;
+            x[off + 15] = t141 * iscale;
+            x[off + 16] = t90 * scale;
+            x[off + 17] = t91 * iscale;
+            x[off + 18] = t106 * scale;
+            x[off + 19] = t107 * iscale;
+            x[off + 20] = t122 * scale;
+            x[off + 21] = t123 * iscale;
+            x[off + 22] = t138 * scale;
+            x[off + 23] = t139 * iscale;
+            x[off + 24] = t94 * scale;
+            x[off + 25] = t95 * iscale;
+            x[off + 26] = t110 * scale;
+            x[off + 27] = t111 * iscale;
+            x[off + 28] = t126 * scale;
+            x[off + 29] = t127 * iscale;
+            x[off + 30] = t142 * scale;
+            x[off + 31] = t143 * iscale;
+        }
+    }
+
+
+    static void forward32( double[] x, int off, double scale ) {
+        final double r0 = x[off];
+        final double i0 = x[off + 1];
+        final double r1 = x[off + 2];
+        final double i1 = x[off + 3];
+        final double r2 = x[off + 4];
+        final double i2 = x[off + 5];
+        final double r3 = x[off + 6];
+        final double i3 = x[off + 7];
+        final double r4 = x[off + 8];
+        final double i4 = x[off + 9];
+        final double r5 = x[off + 10];
+        final double i5 = x[off + 11];
+        final double r6 = x[off + 12];
+        final double i6 = x[off + 13];
+        final double r7 = x[off + 14];
+        final double i7 = x[off + 15];
+        final double r8 = x[off + 16];
+        final double i8 = x[off + 17];
+        final double r9 = x[off + 18];
+        final double i9 = x[off + 19];
+        final double r10 = x[off + 20];
+        final double i10 = x[off + 21];
+        final double r11 = x[off + 22];
+        final double i11 = x[off + 23];
+        final double r12 = x[off + 24];
+        final double i12 = x[off + 25];
+        final double r13 = x[off + 26];
+        final double i13 = x[off + 27];
+        final double r14 = x[off + 28];
+        final double i14 = x[off + 29];
+        final double r15 = x[off + 30];
+        final double i15 = x[off + 31];
+        final double r16 = x[off + 32];
+        final double i16 = x[off + 33];
+        final double r17 = x[off + 34];
+        final double i17 = x[off + 35];
+        final double r18 = x[off + 36];
+        final double i18 = x[off + 37];
+        final double r19 = x[off + 38];
+        final double i19 = x[off + 39];
+        final double r20 = x[off + 40];
+        final double i20 = x[off + 41];
+        final double r21 = x[off + 42];
+        final double i21 = x[off + 43];
+        final double r22 = x[off + 44];
+        final double i22 = x[off + 45];
+        final double r23 = x[off + 46];
+        final double i23 = x[off + 47];
+        final double r24 = x[off + 48];
+        final double i24 = x[off + 49];
+        final double r25 = x[off + 50];
+        final double i25 = x[off + 51];
+        final double r26 = x[off + 52];
+        final double i26 = x[off + 53];
+        final double r27 = x[off + 54];
+        final double i27 = x[off + 55];
+        final double r28 = x[off + 56];
+        final double i28 = x[off + 57];
+        final double r29 = x[off + 58];
+        final double i29 = x[off + 59];
+        final double r30 = x[off + 60];
+        final double i30 = x[off + 61];
+        final double r31 = x[off + 62];
+        final double i31 = x[off + 63];
+        final double t0 = r0 + r1;
+        final double t1 = i0 + i1;
+        final double t2 = r0 - r1;
+        final double t3 = i0 - i1;
+        final double t4 = r2 + r3;
+        final double t5 = i2 + i3;
+        final double t6 = i2 - i3;
+        final double t7 = r3 - r2;
+        final double t8 = t0 + t4;
+        final double t9 = t1 + t5;
+        final double t10 = t0 - t4;
+        final double t11 = t1 - t5;
+        final double t12 = t2 + t6;
+        final double t13 = t3 + t7;
+        final double t14 = t2 - t6;
+        final double t15 = t3 - t7;
+        final double t16 = r4 + r5;
+        final double t17 = i4 + i5;
+        final double t18 = r4 - r5;
+        final double t19 = i4 - i5;
+        final double t20 = r6 + r7;
+        final double t21 = i6 + i7;
+        final double t22 = r6 - r7;
+        final double t23 = i6 - i7;
+        final double t24 = t16 + t20;
+        final double t25 = t17 + t21;
+        final double t26 = t17 - t21;
+        final double t27 = t20 - t16;
+        final double t28 = t8 + t24;
+        final double t29 = t9 + t25;
+        final double t30 = t8 - t24;
+        final double t31 = t9 - t25;
+        final double t32 = t10 + t26;
+        final double t33 = t11 + t27;
+        final double t34 = t10 - t26;
+        final double t35 = t11 - t27;
+        final double t36 = 0.7071067811865476 * ( t18 + t19 );
+        final double t37 = 0.7071067811865476 * ( t19 - t18 );
+        final double t38 = 0.7071067811865476 * ( t23 - t22 );
+        final double t39 = -0.7071067811865476 * ( t22 + t23 );
+        final double t40 = t36 + t38;
+        final double t41 = t37 + t39;
+        final double t42 = t37 - t39;
+        final double t43 = t38 - t36;
+        final double t44 = t12 + t40;
+        final double t45 = t13 + t41;
+        final double t46 = t12 - t40;
+        final double t47 = t13 - t41;
+        final double t48 = t14 + t42;
+        final double t49 = t15 + t43;
+        final double t50 = t14 - t42;
+        final double t51 = t15 - t43;
+        final double t52 = r8 + r9;
+        final double t53 = i8 + i9;
+        final double t54 = r8 - r9;
+        final double t55 = i8 - i9;
+        final double t56 = r10 + r11;
+        final double t57 = i10 + i11;
+        final double t58 = i10 - i11;
+        final double t59 = r11 - r10;
+        final double t60 = t52 + t56;
+        final double t61 = t53 + t57;
+        final double t62 = t52 - t56;
+        final double t63 = t53 - t57;
+        final double t64 = t54 + t58;
+        final double t65 = t55 + t59;
+        final double t66 = t54 - t58;
+        final double t67 = t55 - t59;
+        final double t68 = r12 + r13;
+        final double t69 = i12 + i13;
+        final double t70 = r12 - r13;
+        final double t71 = i12 - i13;
+        final double t72 = r14 + r15;
+        final double t73 = i14 + i15;
+        final double t74 = i14 - i15;
+        final double t75 = r15 - r14;
+        final double t76 = t68 + t72;
+        final double t77 = t69 + t73;
+        final double t78 = t68 - t72;
+        final double t79 = t69 - t73;
+        final double t80 = t70 + t74;
+        final double t81 = t71 + t75;
+        final double t82 = t70 - t74;
+        final double t83 = t71 - t75;
+        final double t84 = t60 + t76;
+        final double t85 = t61 + t77;
+        final double t86 = t61 - t77;
+        final double t87 = t76 - t60;
+        final double t88 = t28 + t84;
+        final double t89 = t29 + t85;
+        final double t90 = t28 - t84;
+        final double t91 = t29 - t85;
+        final double t92 = t30 + t86;
+        final double t93 = t31 + t87;
+        final double t94 = t30 - t86;
+        final double t95 = t31 - t87;
+        final double t96 = 0.9238795325112867 * t64 + 0.3826834323650898 * t65;
+        final double t97 = 0.9238795325112867 * t65 - 0.3826834323650898 * t64;
+        final double t98 = 0.38268343236508984 * t80 + 0.9238795325112867 * t81;
+        final double t99 = 0.38268343236508984 * t81 - 0.9238795325112867 * t80;
+        final double t100 = t96 + t98;
+        final double t101 = t97 + t99;
+        final double t102 = t97 - t99;
+        final double t103 = t98 - t96;
+        final double t104 = t44 + t100;
+        final double t105 = t45 + t101;
+        final double t106 = t44 - t100;
+        final double t107 = t45 - t101;
+        final double t108 = t46 + t102;
+        final double t109 = t47 + t103;
+        final double t110 = t46 - t102;
+        final double t111 = t47 - t103;
+        final double t112 = 0.7071067811865476 * ( t62 + t63 );
+        final double t113 = 0.7071067811865476 * ( t63 - t62 );
+        final double t114 = 0.7071067811865476 * ( t79 - t78 );
+        final double t115 = -0.7071067811865476 * ( t78 + t79 );
+        final double t116 = t112 + t114;
+        final double t117 = t113 + t115;
+        final double t118 = t113 - t115;
+        final double t119 = t114 - t112;
+        final double t120 = t32 + t116;
+        final double t121 = t33 + t117;
+        final double t122 = t32 - t116;
+        final double t123 = t33 - t117;
+        final double t124 = t34 + t118;
+        final double t125 = t35 + t119;
+        final double t126 = t34 - t118;
+        final double t127 = t35 - t119;
+        final double t128 = 0.38268343236508984 * t66 + 0.9238795325112867 * t67;
+        final double t129 = 0.38268343236508984 * t67 - 0.9238795325112867 * t66;
+        final double t130 = -0.9238795325112867 * t82 - 0.3826834323650898 * t83;
+        final double t131 = -0.9238795325112867 * t83 + 0.3826834323650898 * t82;
+        final double t132 = t128 + t130;
+        final double t133 = t129 + t131;
+        final double t134 = t129 - t131;
+        final double t135 = t130 - t128;
+        final double t136 = t48 + t132;
+        final double t137 = t49 + t133;
+        final double t138 = t48 - t132;
+        final double t139 = t49 - t133;
+        final double t140 = t50 + t134;
+        final double t141 = t51 + t135;
+        final double t142 = t50 - t134;
+        final double t143 = t51 - t135;
+        final double t144 = r16 + r17;
+        final double t145 = i16 + i17;
+        final double t146 = r16 - r17;
+        final double t147 = i16 - i17;
+        final double t148 = r18 + r19;
+        final double t149 = i18 + i19;
+        final double t150 = i18 - i19;
+        final double t151 = r19 - r18;
+        final double t152 = t144 + t148;
+        final double t153 = t145 + t149;
+        final double t154 = t144 - t148;
+        final double t155 = t145 - t149;
+        final double t156 = t146 + t150;
+        final double t157 = t147 + t151;
+        final double t158 = t146 - t150;
+        final double t159 = t147 - t151;
+        final double t160 = r20 + r21;
+        final double t161 = i20 + i21;
+        final double t162 = r20 - r21;
+        final double t163 = i20 - i21;
+        final double t164 = r22 + r23;
+        final double t165 = i22 + i23;
+        final double t166 = r22 - r23;
+        final double t167 = i22 - i23;
+        final double t168 = t160 + t164;
+        final double t169 = t161 + t165;
+        final double t170 = t161 - t165;
+        final double t171 = t164 - t160;
+        final double t172 = t152 + t168;
+        final double t173 = t153 + t169;
+        final double t174 = t152 - t168;
+        final double t175 = t153 - t169;
+        final double t176 = t154 + t170;
+        final double t177 = t155 + t171;
+        final double t178 = t154 - t170;
+        final double t179 = t155 - t171;
+        final double t180 = 0.7071067811865476 * ( t162 + t163 );
+        final double t181 = 0.7071067811865476 * ( t163 - t162 );
+        final double t182 = 0.7071067811865476 * ( t167 - t166 );
+        final double t183 = -0.7071067811865476 * ( t166 + t167 );
+        final double t184 = t180 + t182;
+        final double t185 = t181 + t183;
+        final double t186 = t181 - t183;
+        final double t187 = t182 - t180;
+        final double t188 = t156 + t184;
+        final double t189 = t157 + t185;
+        final double t190 = t156 - t184;
+        final double t191 = t157 - t185;
+        final double t192 = t158 + t186;
+        final double t193 = t159 + t187;
+        final double t194 = t158 - t186;
+        final double t195 = t159 - t187;
+        final double t196 = r24 + r25;
+        final double t197 = i24 + i25;
+        final double t198 = r24 - r25;
+        final double t199 = i24 - i25;
+        final double t200 = r26 + r27;
+        final double t201 = i26 + i27;
+        final double t202 = i26 - i27;
+        final double t203 = r27 - r26;
+        final double t204 = t196 + t200;
+        final double t205 = t197 + t201;
+        final double t206 = t196 - t200;
+        final double t207 = t197 - t201;
+        final double t208 = t198 + t202;
+        final double t209 = t199 + t203;
+        final double t210 = t198 - t202;
+        final double t211 = t199 - t203;
+        final double t212 = r28 + r29;
+        final double t213 = i28 + i29;
+        final double t214 = r28 - r29;
+        final double t215 = i28 - i29;
+        final double t216 = r30 + r31;
+        final double t217 = i30 + i31;
+        final double t218 = r30 - r31;
+        final double t219 = i30 - i31;
+        final double t220 = t212 + t216;
+        final double t221 = t213 + t217;
+        final double t222 = t213 - t217;
+        final double t223 = t216 - t212;
+        final double t224 = t204 + t220;
+        final double t225 = t205 + t221;
+        final double t226 = t204 - t220;
+        final double t227 = t205 - t221;
+        final double t228 = t206 + t222;
+        final double t229 = t207 + t223;
+        final double t230 = t206 - t222;
+        final double t231 = t207 - t223;
+        final double t232 = 0.7071067811865476 * ( t214 + t215 );
+        final double t233 = 0.7071067811865476 * ( t215 - t214 );
+        final double t234 = 0.7071067811865476 * ( t219 - t218 );
+        final double t235 = -0.7071067811865476 * ( t218 + t219 );
+        final double t236 = t232 + t234;
+        final double t237 = t233 + t235;
+        final double t238 = t233 - t235;
+        final double t239 = t234 - t232;
+        final double t240 = t208 + t236;
+        final double t241 = t209 + t237;
+        final double t242 = t208 - t236;
+        final double t243 = t209 - t237;
+        final double t244 = t210 + t238;
+        final double t245 = t211 + t239;
+        final double t246 = t210 - t238;
+        final double t247 = t211 - t239;
+        final double t248 = t172 + t224;
+        final double t249 = t173 + t225;
+        final double t250 = t173 - t225;
+        final double t251 = t224 - t172;
+        final double t252 = t88 + t248;
+        final double t253 = t89 + t249;
+        final double t254 = t88 - t248;
+        final double t255 = t89 - t249;
+        final double t256 = t90 + t250;
+        final double t257 = t91 + t251;
+        final double t258 = t90 - t250;
+        final double t259 = t91 - t251;
+        final double t260 = 0.9807852804032304 * t188 + 0.19509032201612825 * t189;
+        final double t261 = 0.9807852804032304 * t189 - 0.19509032201612825 * t188;
+        final double t262 = 0.8314696123025452 * t240 + 0.5555702330196022 * t241;
+        final double t263 = 0.8314696123025452 * t241 - 0.5555702330196022 * t240;
+        final double t264 = t260 + t262;
+        final double t265 = t261 + t263;
+        final double t266 = t261 - t263;
+        final double t267 = t262 - t260;
+        final double t268 = t104 + t264;
+        final double t269 = t105 + t265;
+        final double t270 = t104 - t264;
+        final double t271 = t105 - t265;
+        final double t272 = t106 + t266;
+        final double t273 = t107 + t267;
+        final double t274 = t106 - t266;
+        final double t275 = t107 - t267;
+        final double t276 = 0.9238795325112867 * t176 + 0.3826834323650898 * t177;
+        final double t277 = 0.9238795325112867 * t177 - 0.3826834323650898 * t176;
+        final double t278 = 0.38268343236508984 * t228 + 0.9238795325112867 * t229;
+        final double t279 = 0.38268343236508984 * t229 - 0.9238795325112867 * t228;
+        final double t280 = t276 + t278;
+        final double t281 = t277 + t279;
+        final double t282 = t277 - t279;
+        final double t283 = t278 - t276;
+        final double t284 = t120 + t280;
+        final double t285 = t121 + t281;
+        final double t286 = t120 - t280;
+        final double t287 = t121 - t281;
+        final double t288 = t122 + t282;
+        final double t289 = t123 + t283;
+        final double t290 = t122 - t282;
+        final double t291 = t123 - t283;
+        final double t292 = 0.8314696123025452 * t192 + 0.5555702330196022 * t193;
+        final double t293 = 0.8314696123025452 * t193 - 0.5555702330196022 * t192;
+        final double t294 = -0.1950903220161282 * t244 + 0.9807852804032304 * t245;
+        final double t295 = -0.1950903220161282 * t245 - 0.9807852804032304 * t244;
+        final double t296 = t292 + t294;
+        final double t297 = t293 + t295;
+        final double t298 = t293 - t295;
+        final double t299 = t294 - t292;
+        final double t300 = t136 + t296;
+        final double t301 = t137 + t297;
+        final double t302 = t136 - t296;
+        final double t303 = t137 - t297;
+        final double t304 = t138 + t298;
+        final double t305 = t139 + t299;
+        final double t306 = t138 - t298;
+        final double t307 = t139 - t299;
+        final double t308 = 0.7071067811865476 * ( t174 + t175 );
+        final double t309 = 0.7071067811865476 * ( t175 - t174 );
+        final double t310 = 0.7071067811865476 * ( t227 - t226 );
+        final double t311 = -0.7071067811865476 * ( t226 + t227 );
+        final double t312 = t308 + t310;
+        final double t313 = t309 + t311;
+        final double t314 = t309 - t311;
+        final double t315 = t310 - t308;
+        final double t316 = t92 + t312;
+        final double t317 = t93 + t313;
+        final double t318 = t92 - t312;
+        final double t319 = t93 - t313;
+        final double t320 = t94 + t314;
+        final double t321 = t95 + t315;
+        final double t322 = t94 - t314;
+        final double t323 = t95 - t315;
+        final double t324 = 0.5555702330196023 * t190 + 0.8314696123025452 * t191;
+        final double t325 = 0.5555702330196023 * t191 - 0.8314696123025452 * t190;
+        final double t326 = -0.9807852804032304 * t242 + 0.1950903220161286 * t243;
+        final double t327 = -0.9807852804032304 * t243 - 0.1950903220161286 * t242;
+        final double t328 = t324 + t326;
+        final double t329 = t325 + t327;
+        final double t330 = t325 - t327;
+        final double t331 = t326 - t324;
+        final double t332 = t108 + t328;
+        final double t333 = t109 + t329;
+        final double t334 = t108 - t328;
+        final double t335 = t109 - t329;
+        final double t336 = t110 + t330;
+        final double t337 = t111 + t331;
+        final double t338 = t110 - t330;
+        final double t339 = t111 - t331;
+        final double t340 = 0.38268343236508984 * t178 + 0.9238795325112867 * t179;
+        final double t341 = 0.38268343236508984 * t179 - 0.9238795325112867 * t178;
+        final double t342 = -0.9238795325112867 * t230 - 0.3826834323650898 * t231;
+        final double t343 = -0.9238795325112867 * t231 + 0.3826834323650898 * t230;
+        final double t344 = t340 + t342;
+        final double t345 = t341 + t343;
+        final double t346 = t341 - t343;
+        final double t347 = t342 - t340;
+        final double t348 = t124 + t344;
+        final double t349 = t125 + t345;
+        final double t350 = t124 - t344;
+        final double t351 = t125 - t345;
+        final double t352 = t126 + t346;
+        final double t353 = t127 + t347;
+        final double t354 = t126 - t346;
+        final double t355 = t127 - t347;
+        final double t356 = 0.19509032201612833 * t194 + 0.9807852804032304 * t195;
+        final double t357 = 0.19509032201612833 * t195 - 0.9807852804032304 * t194;
+        final double t358 = -0.5555702330196023 * t246 - 0.8314696123025452 * t247;
+        final double t359 = -0.5555702330196023 * t247 + 0.8314696123025452 * t246;
+        final double t360 = t356 + t358;
+        final double t361 = t357 + t359;
+        final double t362 = t357 - t359;
+        final double t363 = t358 - t356;
+        final double t364 = t140 + t360;
+        final double t365 = t141 + t361;
+        final double t366 = t140 - t360;
+        final double t367 = t141 - t361;
+        final double t368 = t142 + t362;
+        final double t369 = t143 + t363;
+        final double t370 = t142 - t362;
+        final double t371 = t143 - t363;
+        if( scale == 1.0 ) {
+            x[off] = t252;
+            x[off + 1] = t253;
+            x[off + 2] = t268;
+            x[off + 3] = t269;
+            x[off + 4] = t284;
+            x[off + 5] = t285;
+            x[off + 6] = t300;
+            x[off + 7] = t301;
+            x[off + 8] = t316;
+            x[off + 9] = t317;
+            x[off + 10] = t332;
+            x[off + 11] = t333;
+            x[off + 12] = t348;
+            x[off + 13] = t349;
+            x[off + 14] = t364;
+            x[off + 15] = t365;
+            x[off + 16] = t256;
+            x[off + 17] = t257;
+            x[off + 18] = t272;
+            x[off + 19] = t273;
+            x[off + 20] = t288;
+            x[off + 21] = t289;
+            x[off + 22] = t304;
+            x[off + 23] = t305;
+            x[off + 24] = t320;
+            x[off + 25] = t321;
+            x[off + 26] = t336;
+            x[off + 27] = t337;
+            x[off + 28] = t352;
+            x[off + 29] = t353;
+            x[off + 30] = t368;
+            x[off + 31] = t369;
+            x[off + 32] = t254;
+            x[off + 33] = t255;
+            x[off + 34] = t270;
+            x[off + 35] = t271;
+            x[off + 36] = t286;
+            x[off + 37] = t287;
+            x[off + 38] = t302;
+            x[off + 39] = t303;
+            x[off + 40] = t318;
+            x[off + 41] = t319;
+            x[off + 42] = t334;
+            x[off + 43] = t335;
+            x[off + 44] = t350;
+            x[off + 45] = t351;
+            x[off + 46] = t366;
+            x[off + 47] = t367;
+            x[off + 48] = t258;
+            x[off + 49] = t259;
+            x[off + 50] = t274;
+            x[off + 51] = t275;
+            x[off + 52] = t290;
+            x[off + 53] = t291;
+            x[off + 54] = t306;
+            x[off + 55] = t307;
+            x[off + 56] = t322;
+            x[off + 57] = t323;
+            x[off + 58] = t338;
+            x[off + 59] = t339;
+            x[off + 60] = t354;
+            x[off + 61] = t355;
+            x[off + 62] = t370;
+            x[off + 63] = t371;
+        } else {
+            x[off] = t252 * scale;
+            x[off + 1] = t253 * scale;
+            x[off + 2] = t268 * scale;
+            x[off + 3] = t269 * scale;
+            x[off + 4] = t284 * scale;
+            x[off + 5] = t285 * scale;
+            x[off + 6] = t300 * scale;
+            x[off + 7] = t301 * scale;
+            x[off + 8] = t316 * scale;
+            x[off + 9] = t317 * scale;
+            x[off + 10] = t332 * scale;
+            x[off + 11] = t333 * scale;
+            x[off + 12] = t348 * scale;
+            x[off + 13] = t349 * scale;
+            x[off + 14] = t364 * scale;
+            x[off + 15] = t365 * scale;
+            x[off + 16] = t256 * scale;
+            x[off + 17] = t257 * scale;
+            x[off + 18] = t272 * scale;
+            x[off + 19] = t273 * scale;
+            x[off + 20] = t288 * scale;
+            x[off + 21] = t289 * scale;
+            x[off + 22] = t304 * scale;
+            x[off + 23] = t305 * scale;
+            x[off + 24] = t320 * scale;
+            x[off + 25] = t321 * scale;
+            x[off + 26] = t336 * scale;
+            x[off + 27] = t337 * scale;
+            x[off + 28] = t352 * scale;
+            x[off + 29] = t353 * scale;
+            x[off + 30] = t368 * scale;
+            x[off + 31] = t369 * scale;
+            x[off + 32] = t254 * scale;
+            x[off + 33] = t255 * scale;
+            x[off + 34] = t270 * scale;
+            x[off + 35] = t271 * scale;
+            x[off + 36] = t286 * scale;
+            x[off + 37] = t287 * scale;
+            x[off + 38] = t302 * scale;
+            x[off + 39] = t303 * scale;
+            x[off + 40] = t318 * scale;
+            x[off + 41] = t319 * scale;
+            x[off + 42] = t334 * scale;
+            x[off + 43] = t335 * scale;
+            x[off + 44] = t350 * scale;
+            x[off + 45] = t351 * scale;
+            x[off + 46] = t366 * scale;
+            x[off + 47] = t367 * scale;
+            x[off + 48] = t258 * scale;
+            x[off + 49] = t259 * scale;
+            x[off + 50] = t274 * scale;
+            x[off + 51] = t275 * scale;
+            x[off + 52] = t290 * scale;
+            x[off + 53] = t291 * scale;
+            x[off + 54] = t306 * scale;
+            x[off + 55] = t307 * scale;
+            x[off + 56] = t322 * scale;
+            x[off + 57] = t323 * scale;
+            x[off + 58] = t338 * scale;
+            x[off + 59] = t339 * scale;
+            x[off + 60] = t354 * scale;
+            x[off + 61] = t355 * scale;
+            x[off + 62] = t370 * scale;
+            x[off + 63] = t371 * scale;
+        }
+    }
+
+
+    static void inverse32( double[] x, int off, double scale ) {
+        final double r0 = x[off];
+        final double i0 = -x[off + 1];
+        final double r1 = x[off + 2];
+        final double i1 = -x[off + 3];
+        final double r2 = x[off + 4];
+        final double i2 = -x[off + 5];
+        final double r3 = x[off + 6];
+        final double i3 = -x[off + 7];
+        final double r4 = x[off + 8];
+        final double i4 = -x[off + 9];
+        final double r5 = x[off + 10];
+        final double i5 = -x[off + 11];
+        final double r6 = x[off + 12];
+        final double i6 = -x[off + 13];
+        final double r7 = x[off + 14];
+        final double i7 = -x[off + 15];
+        final double r8 = x[off + 16];
+        final double i8 = -x[off + 17];
+        final double r9 = x[off + 18];
+        final double i9 = -x[off + 19];
+        final double r10 = x[off + 20];
+        final double i10 = -x[off + 21];
+        final double r11 = x[off + 22];
+        final double i11 = -x[off + 23];
+        final double r12 = x[off + 24];
+        final double i12 = -x[off + 25];
+        final double r13 = x[off + 26];
+        final double i13 = -x[off + 27];
+        final double r14 = x[off + 28];
+        final double i14 = -x[off + 29];
+        final double r15 = x[off + 30];
+        final double i15 = -x[off + 31];
+        final double r16 = x[off + 32];
+        final double i16 = -x[off + 33];
+        final double r17 = x[off + 34];
+        final double i17 = -x[off + 35];
+        final double r18 = x[off + 36];
+        final double i18 = -x[off + 37];
+        final double r19 = x[off + 38];
+        final double i19 = -x[off + 39];
+        final double r20 = x[off + 40];
+        final double i20 = -x[off + 41];
+        final double r21 = x[off + 42];
+        final double i21 = -x[off + 43];
+        final double r22 = x[off + 44];
+        final double i22 = -x[off + 45];
+        final double r23 = x[off + 46];
+        final double i23 = -x[off + 47];
+        final double r24 = x[off + 48];
+        final double i24 = -x[off + 49];
+        final double r25 = x[off + 50];
+        final double i25 = -x[off + 51];
+        final double r26 = x[off + 52];
+        final double i26 = -x[off + 53];
+        final double r27 = x[off + 54];
+        final double i27 = -x[off + 55];
+        final double r28 = x[off + 56];
+        final double i28 = -x[off + 57];
+        final double r29 = x[off + 58];
+        final double i29 = -x[off + 59];
+        final double r30 = x[off + 60];
+        final double i30 = -x[off + 61];
+        final double r31 = x[off + 62];
+        final double i31 = -x[off + 63];
+        final double t0 = r0 + r1;
+        final double t1 = i0 + i1;
+        final double t2 = r0 - r1;
+        final double t3 = i0 - i1;
+        final double t4 = r2 + r3;
+        final double t5 = i2 + i3;
+        final double t6 = i2 - i3;
+        final double t7 = r3 - r2;
+        final double t8 = t0 + t4;
+        final double t9 = t1 + t5;
+        final double t10 = t0 - t4;
+        final double t11 = t1 - t5;
+        final double t12 = t2 + t6;
+        final double t13 = t3 + t7;
+        final double t14 = t2 - t6;
+        final double t15 = t3 - t7;
+        final double t16 = r4 + r5;
+        final double t17 = i4 + i5;
+        final double t18 = r4 - r5;
+        final double t19 = i4 - i5;
+        final double t20 = r6 + r7;
+        final double t21 = i6 + i7;
+        final double t22 = r6 - r7;
+        final double t23 = i6 - i7;
+        final double t24 = t16 + t20;
+        final double t25 = t17 + t21;
+        final double t26 = t17 - t21;
+        final double t27 = t20 - t16;
+        final double t28 = t8 + t24;
+        final double t29 = t9 + t25;
+        final double t30 = t8 - t24;
+        final double t31 = t9 - t25;
+        final double t32 = t10 + t26;
+        final double t33 = t11 + t27;
+        final double t34 = t10 - t26;
+        final double t35 = t11 - t27;
+        final double t36 = 0.7071067811865476 * ( t18 + t19 );
+        final double t37 = 0.7071067811865476 * ( t19 - t18 );
+        final double t38 = 0.7071067811865476 * ( t23 - t22 );
+        final double t39 = -0.7071067811865476 * ( t22 + t23 );
+        final double t40 = t36 + t38;
+        final double t41 = t37 + t39;
+        final double t42 = t37 - t39;
+        final double t43 = t38 - t36;
+        final double t44 = t12 + t40;
+        final double t45 = t13 + t41;
+        final double t46 = t12 - t40;
+        final double t47 = t13 - t41;
+        final double t48 = t14 + t42;
+        final double t49 = t15 + t43;
+        final double t50 = t14 - t42;
+        final double t51 = t15 - t43;
+        final double t52 = r8 + r9;
+        final double t53 = i8 + i9;
+        final double t54 = r8 - r9;
+        final double t55 = i8 - i9;
+        final double t56 = r10 + r11;
+        final double t57 = i10 + i11;
+        final double t58 = i10 - i11;
+        final double t59 = r11 - r10;
+        final double t60 = t52 + t56;
+        final double t61 = t53 + t57;
+        final double t62 = t52 - t56;
+        final double t63 = t53 - t57;
+        final double t64 = t54 + t58;
+        final double t65 = t55 + t59;
+        final double t66 = t54 - t58;
+        final double t67 = t55 - t59;
+        final double t68 = r12 + r13;
+        final double t69 = i12 + i13;
+        final double t70 = r12 - r13;
+        final double t71 = i12 - i13;
+        final double t72 = r14 + r15;
+        final double t73 = i14 + i15;
+        final double t74 = i14 - i15;
+        final double t75 = r15 - r14;
+        final double t76 = t68 + t72;
+        final double t77 = t69 + t73;
+        final double t78 = t68 - t72;
+        final double t79 = t69 - t73;
+        final double t80 = t70 + t74;
+        final double t81 = t71 + t75;
+        final double t82 = t70 - t74;
+        final double t83 = t71 - t75;
+        final double t84 = t60 + t76;
+        final double t85 = t61 + t77;
+        final double t86 = t61 - t77;
+        final double t87 = t76 - t60;
+        final double t88 = t28 + t84;
+        final double t89 = t29 + t85;
+        final double t90 = t28 - t84;
+        final double t91 = t29 - t85;
+        final double t92 = t30 + t86;
+        final double t93 = t31 + t87;
+        final double t94 = t30 - t86;
+        final double t95 = t31 - t87;
+        final double t96 = 0.9238795325112867 * t64 + 0.3826834323650898 * t65;
+        final double t97 = 0.9238795325112867 * t65 - 0.3826834323650898 * t64;
+        final double t98 = 0.38268343236508984 * t80 + 0.9238795325112867 * t81;
+        final double t99 = 0.38268343236508984 * t81 - 0.9238795325112867 * t80;
+        final double t100 = t96 + t98;
+        final double t101 = t97 + t99;
+        final double t102 = t97 - t99;
+        final double t103 = t98 - t96;
+        final double t104 = t44 + t100;
+        final double t105 = t45 + t101;
+        final double t106 = t44 - t100;
+        final double t107 = t45 - t101;
+        final double t108 = t46 + t102;
+        final double t109 = t47 + t103;
+        final double t110 = t46 - t102;
+        final double t111 = t47 - t103;
+        final double t112 = 0.7071067811865476 * ( t62 + t63 );
+        final double t113 = 0.7071067811865476 * ( t63 - t62 );
+        final double t114 = 0.7071067811865476 * ( t79 - t78 );
+        final double t115 = -0.7071067811865476 * ( t78 + t79 );
+        final double t116 = t112 + t114;
+        final double t117 = t113 + t115;
+        final double t118 = t113 - t115;
+        final double t119 = t114 - t112;
+        final double t120 = t32 + t116;
+        final double t121 = t33 + t117;
+        final double t122 = t32 - t116;
+        final double t123 = t33 - t117;
+        final double t124 = t34 + t118;
+        final double t125 = t35 + t119;
+        final double t126 = t34 - t118;
+        final double t127 = t35 - t119;
+        final double t128 = 0.38268343236508984 * t66 + 0.9238795325112867 * t67;
+        final double t129 = 0.38268343236508984 * t67 - 0.9238795325112867 * t66;
+        final double t130 = -0.9238795325112867 * t82 - 0.3826834323650898 * t83;
+        final double t131 = -0.9238795325112867 * t83 + 0.3826834323650898 * t82;
+        final double t132 = t128 + t130;
+        final double t133 = t129 + t131;
+        final double t134 = t129 - t131;
+        final double t135 = t130 - t128;
+        final double t136 = t48 + t132;
+        final double t137 = t49 + t133;
+        final double t138 = t48 - t132;
+        final double t139 = t49 - t133;
+        final double t140 = t50 + t134;
+        final double t141 = t51 + t135;
+        final double t142 = t50 - t134;
+        final double t143 = t51 - t135;
+        final double t144 = r16 + r17;
+        final double t145 = i16 + i17;
+        final double t146 = r16 - r17;
+        final double t147 = i16 - i17;
+        final double t148 = r18 + r19;
+        final double t149 = i18 + i19;
+        final double t150 = i18 - i19;
+        final double t151 = r19 - r18;
+        final double t152 = t144 + t148;
+        final double t153 = t145 + t149;
+        final double t154 = t144 - t148;
+        final double t155 = t145 - t149;
+        final double t156 = t146 + t150;
+        final double t157 = t147 + t151;
+        final double t158 = t146 - t150;
+        final double t159 = t147 - t151;
+        final double t160 = r20 + r21;
+        final double t161 = i20 + i21;
+        final double t162 = r20 - r21;
+        final double t163 = i20 - i21;
+        final double t164 = r22 + r23;
+        final double t165 = i22 + i23;
+        final double t166 = r22 - r23;
+        final double t167 = i22 - i23;
+        final double t168 = t160 + t164;
+        final double t169 = t161 + t165;
+        final double t170 = t161 - t165;
+        final double t171 = t164 - t160;
+        final double t172 = t152 + t168;
+        final double t173 = t153 + t169;
+        final double t174 = t152 - t168;
+        final double t175 = t153 - t169;
+        final double t176 = t154 + t170;
+        final double t177 = t155 + t171;
+        final double t178 = t154 - t170;
+        final double t179 = t155 - t171;
+        final double t180 = 0.7071067811865476 * ( t162 + t163 );
+        final double t181 = 0.7071067811865476 * ( t163 - t162 );
+        final double t182 = 0.7071067811865476 * ( t167 - t166 );
+        final double t183 = -0.7071067811865476 * ( t166 + t167 );
+        final double t184 = t180 + t182;
+        final double t185 = t181 + t183;
+        final double t186 = t181 - t183;
+        final double t187 = t182 - t180;
+        final double t188 = t156 + t184;
+        final double t189 = t157 + t185;
+        final double t190 = t156 - t184;
+        final double t191 = t157 - t185;
+        final double t192 = t158 + t186;
+        final double t193 = t159 + t187;
+        final double t194 = t158 - t186;
+        final double t195 = t159 - t187;
+        final double t196 = r24 + r25;
+        final double t197 = i24 + i25;
+        final double t198 = r24 - r25;
+        final double t199 = i24 - i25;
+        final double t200 = r26 + r27;
+        final double t201 = i26 + i27;
+        final double t202 = i26 - i27;
+        final double t203 = r27 - r26;
+        final double t204 = t196 + t200;
+        final double t205 = t197 + t201;
+        final double t206 = t196 - t200;
+        final double t207 = t197 - t201;
+        final double t208 = t198 + t202;
+        final double t209 = t199 + t203;
+        final double t210 = t198 - t202;
+        final double t211 = t199 - t203;
+        final double t212 = r28 + r29;
+        final double t213 = i28 + i29;
+        final double t214 = r28 - r29;
+        final double t215 = i28 - i29;
+        final double t216 = r30 + r31;
+        final double t217 = i30 + i31;
+        final double t218 = r30 - r31;
+        final double t219 = i30 - i31;
+        final double t220 = t212 + t216;
+        final double t221 = t213 + t217;
+        final double t222 = t213 - t217;
+        final double t223 = t216 - t212;
+        final double t224 = t204 + t220;
+        final double t225 = t205 + t221;
+        final double t226 = t204 - t220;
+        final double t227 = t205 - t221;
+        final double t228 = t206 + t222;
+        final double t229 = t207 + t223;
+        final double t230 = t206 - t222;
+        final double t231 = t207 - t223;
+        final double t232 = 0.7071067811865476 * ( t214 + t215 );
+        final double t233 = 0.7071067811865476 * ( t215 - t214 );
+        final double t234 = 0.7071067811865476 * ( t219 - t218 );
+        final double t235 = -0.7071067811865476 * ( t218 + t219 );
+        final double t236 = t232 + t234;
+        final double t237 = t233 + t235;
+        final double t238 = t233 - t235;
+        final double t239 = t234 - t232;
+        final double t240 = t208 + t236;
+        final double t241 = t209 + t237;
+        final double t242 = t208 - t236;
+        final double t243 = t209 - t237;
+        final double t244 = t210 + t238;
+        final double t245 = t211 + t239;
+        final double t246 = t210 - t238;
+        final double t247 = t211 - t239;
+        final double t248 = t172 + t224;
+        final double t249 = t173 + t225;
+        final double t250 = t173 - t225;
+        final double t251 = t224 - t172;
+        final double t252 = t88 + t248;
+        final double t253 = t89 + t249;
+        final double t254 = t88 - t248;
+        final double t255 = t89 - t249;
+        final double t256 = t90 + t250;
+        final double t257 = t91 + t251;
+        final double t258 = t90 - t250;
+        final double t259 = t91 - t251;
+        final double t260 = 0.9807852804032304 * t188 + 0.19509032201612825 * t189;
+        final double t261 = 0.9807852804032304 * t189 - 0.19509032201612825 * t188;
+        final double t262 = 0.8314696123025452 * t240 + 0.5555702330196022 * t241;
+        final double t263 = 0.8314696123025452 * t241 - 0.5555702330196022 * t240;
+        final double t264 = t260 + t262;
+        final double t265 = t261 + t263;
+        final double t266 = t261 - t263;
+        final double t267 = t262 - t260;
+        final double t268 = t104 + t264;
+        final double t269 = t105 + t265;
+        final double t270 = t104 - t264;
+        final double t271 = t105 - t265;
+        final double t272 = t106 + t266;
+        final double t273 = t107 + t267;
+        final double t274 = t106 - t266;
+        final double t275 = t107 - t267;
+        final double t276 = 0.9238795325112867 * t176 + 0.3826834323650898 * t177;
+        final double t277 = 0.9238795325112867 * t177 - 0.3826834323650898 * t176;
+        final double t278 = 0.38268343236508984 * t228 + 0.9238795325112867 * t229;
+        final double t279 = 0.38268343236508984 * t229 - 0.9238795325112867 * t228;
+        final double t280 = t276 + t278;
+        final double t281 = t277 + t279;
+        final double t282 = t277 - t279;
+        final double t283 = t278 - t276;
+        final double t284 = t120 + t280;
+        final double t285 = t121 + t281;
+        final double t286 = t120 - t280;
+        final double t287 = t121 - t281;
+        final double t288 = t122 + t282;
+        final double t289 = t123 + t283;
+        final double t290 = t122 - t282;
+        final double t291 = t123 - t283;
+        final double t292 = 0.8314696123025452 * t192 + 0.5555702330196022 * t193;
+        final double t293 = 0.8314696123025452 * t193 - 0.5555702330196022 * t192;
+        final double t294 = -0.1950903220161282 * t244 + 0.9807852804032304 * t245;
+        final double t295 = -0.1950903220161282 * t245 - 0.9807852804032304 * t244;
+        final double t296 = t292 + t294;
+        final double t297 = t293 + t295;
+        final double t298 = t293 - t295;
+        final double t299 = t294 - t292;
+        final double t300 = t136 + t296;
+        final double t301 = t137 + t297;
+        final double t302 = t136 - t296;
+        final double t303 = t137 - t297;
+        final double t304 = t138 + t298;
+        final double t305 = t139 + t299;
+        final double t306 = t138 - t298;
+        final double t307 = t139 - t299;
+        final double t308 = 0.7071067811865476 * ( t174 + t175 );
+        final double t309 = 0.7071067811865476 * ( t175 - t174 );
+        final double t310 = 0.7071067811865476 * ( t227 - t226 );
+        final double t311 = -0.7071067811865476 * ( t226 + t227 );
+        final double t312 = t308 + t310;
+        final double t313 = t309 + t311;
+        final double t314 = t309 - t311;
+        final double t315 = t310 - t308;
+        final double t316 = t92 + t312;
+        final double t317 = t93 + t313;
+        final double t318 = t92 - t312;
+        final double t319 = t93 - t313;
+        final double t320 = t94 + t314;
+        final double t321 = t95 + t315;
+        final double t322 = t94 - t314;
+        final double t323 = t95 - t315;
+        final double t324 = 0.5555702330196023 * t190 + 0.8314696123025452 * t191;
+        final double t325 = 0.5555702330196023 * t191 - 0.8314696123025452 * t190;
+        final double t326 = -0.9807852804032304 * t242 + 0.1950903220161286 * t243;
+        final double t327 = -0.9807852804032304 * t243 - 0.1950903220161286 * t242;
+        final double t328 = t324 + t326;
+        final double t329 = t325 + t327;
+        final double t330 = t325 - t327;
+        final double t331 = t326 - t324;
+        final double t332 = t108 + t328;
+        final double t333 = t109 + t329;
+        final double t334 = t108 - t328;
+        final double t335 = t109 - t329;
+        final double t336 = t110 + t330;
+        final double t337 = t111 + t331;
+        final double t338 = t110 - t330;
+        final double t339 = t111 - t331;
+        final double t340 = 0.38268343236508984 * t178 + 0.9238795325112867 * t179;
+        final double t341 = 0.38268343236508984 * t179 - 0.9238795325112867 * t178;
+        final double t342 = -0.9238795325112867 * t230 - 0.3826834323650898 * t231;
+        final double t343 = -0.9238795325112867 * t231 + 0.3826834323650898 * t230;
+        final double t344 = t340 + t342;
+        final double t345 = t341 + t343;
+        final double t346 = t341 - t343;
+        final double t347 = t342 - t340;
+        final double t348 = t124 + t344;
+        final double t349 = t125 + t345;
+        final double t350 = t124 - t344;
+        final double t351 = t125 - t345;
+        final double t352 = t126 + t346;
+        final double t353 = t127 + t347;
+        final double t354 = t126 - t346;
+        final double t355 = t127 - t347;
+        final double t356 = 0.19509032201612833 * t194 + 0.9807852804032304 * t195;
+        final double t357 = 0.19509032201612833 * t195 - 0.9807852804032304 * t194;
+        final double t358 = -0.5555702330196023 * t246 - 0.8314696123025452 * t247;
+        final double t359 = -0.5555702330196023 * t247 + 0.8314696123025452 * t246;
+        final double t360 = t356 + t358;
+        final double t361 = t357 + t359;
+        final double t362 = t357 - t359;
+        final double t363 = t358 - t356;
+        final double t364 = t140 + t360;
+        final double t365 = t141 + t361;
+        final double t366 = t140 - t360;
+        final double t367 = t141 - t361;
+        final double t368 = t142 + t362;
+        final double t369 = t143 + t363;
+        final double t370 = t142 - t362;
+        final double t371 = t143 - t363;
+        if( scale == 1.0 ) {
+            x[off] = t252;
+            x[off + 1] = -t253;
+            x[off + 2] = t268;
+            x[off + 3] = -t269;
+            x[off + 4] = t284;
+            x[off + 5] = -t285;
+            x[off + 6] = t300;
+            x[off + 7] = -t301;
+            x[off + 8] = t316;
+            x[off + 9] = -t317;
+            x[off + 10] = t332;
+            x[off + 11] = -t333;
+            x[off + 12] = t348;
+            x[off + 13] = -t349;
+            x[off + 14] = t364;
+            x[off + 15] = -t365;
+            x[off + 16] = t256;
+            x[off + 17] = -t257;
+            x[off + 18] = t272;
+            x[off + 19] = -t273;
+            x[off + 20] = t288;
+            x[off + 21] = -t289;
+            x[off + 22] = t304;
+            x[off + 23] = -t305;
+            x[off + 24] = t320;
+            x[off + 25] = -t321;
+            x[off + 26] = t336;
+            x[off + 27] = -t337;
+            x[off + 28] = t352;
+            x[off + 29] = -t353;
+            x[off + 30] = t368;
+            x[off + 31] = -t369;
+            x[off + 32] = t254;
+            x[off + 33] = -t255;
+            x[off + 34] = t270;
+            x[off + 35] = -t271;
+            x[off + 36] = t286;
+            x[off + 37] = -t287;
+            x[off + 38] = t302;
+            x[off + 39] = -t303;
+            x[off + 40] = t318;
+            x[off + 41] = -t319;
+            x[off + 42] = t334;
+            x[off + 43] = -t335;
+            x[off + 44] = t350;
+            x[off + 45] = -t351;
+            x[off + 46] = t366;
+            x[off + 47] = -t367;
+            x[off + 48] = t258;
+            x[off + 49] = -t259;
+            x[off + 50] = t274;
+            x[off + 51] = -t275;
+            x[off + 52] = t290;
+            x[off + 53] = -t291;
+            x[off + 54] = t306;
+            x[off + 55] = -t307;
+            x[off + 56] = t322;
+            x[off + 57] = -t323;
+            x[off + 58] = t338;
+            x[off + 59] = -t339;
+            x[off + 60] = t354;
+            x[off + 61] = -t355;
+            x[off + 62] = t370;
+            x[off + 63] = -t371;
+        } else {
+            final double iscale = -scale;
+            x[off] = t252 * scale;
+            x[off + 1] = t253 * iscale;
+            x[off + 2] = t268 * scale;
+            x[off + 3] = t269 * iscale;
+            x[off + 4] = t284 * scale;
+            x[off + 5] = t285 * iscale;
+            x[off + 6] = t300 * scale;
+            x[off + 7] = t301 * iscale;
+            x[off + 8] = t316 * scale;
+            x[off + 9] = t317 * iscale;
+            x[off + 10] = t332 * scale;
+            x[off + 11] = t333 * iscale;
+            x[off + 12] = t348 * scale;
+            x[off + 13] = t349 * iscale;
+            x[off + 14] = t364 * scale;
+            x[off + 15] = t365 * iscale;
+            x[off + 16] = t256 * scale;
+            x[off + 17] = t257 * iscale;
+            x[off + 18] = t272 * scale;
+            x[off + 19] = t273 * iscale;
+            x[off + 20] = t288 * scale;
+            x[off + 21] = t289 * iscale;
+            x[off + 22] = t304 * scale;
+            x[off + 23] = t305 * iscale;
+            x[off + 24] = t320 * scale;
+            x[off + 25] = t321 * iscale;
+            x[off + 26] = t336 * scale;
+            x[off + 27] = t337 * iscale;
+            x[off + 28] = t352 * scale;
+            x[off + 29] = t353 * iscale;
+            x[off + 30] = t368 * scale;
+            x[off + 31] = t369 * iscale;
+            x[off + 32] = t254 * scale;
+            x[off + 33] = t255 * iscale;
+            x[off + 34] = t270 * scale;
+            x[off + 35] = t271 * iscale;
+            x[off + 36] = t286 * scale;
+            x[off + 37] = t287 * iscale;
+            x[off + 38] = t302 * scale;
+            x[off + 39] = t303 * iscale;
+            x[off + 40] = t318 * scale;
+            x[off + 41] = t319 * iscale;
+            x[off + 42] = t334 * scale;
+            x[off + 43] = t335 * iscale;
+            x[off + 44] = t350 * scale;
+            x[off + 45] = t351 * iscale;
+            x[off + 46] = t366 * scale;
+            x[off + 47] = t367 * iscale;
+            x[off + 48] = t258 * scale;
+            x[off + 49] = t259 * iscale;
+            x[off + 50] = t274 * scale;
+            x[off + 51] = t275 * iscale;
+            x[off + 52] = t290 * scale;
+            x[off + 53] = t291 * iscale;
+            x[off + 54] = t306 * scale;
+            x[off + 55] = t307 * iscale;
+            x[off + 56] = t322 * scale;
+            x[off + 57] = t323 * iscale;
+            x[off + 58] = t338 * scale;
+            x[off + 59] = t339 * iscale;
+            x[off + 60] = t354 * scale;
+            x[off + 61] = t355 * iscale;
+            x[off + 62] = t370 * scale;
+            x[off + 63] = t371 * iscale;
+        }
+    }
+
+
+    static void forward64( double[] x, int off, double scale ) {
+        forward32( x, off, 1.0 );
+        forward16( x, off + 64, 1.0 );
+        forward16( x, off + 96, 1.0 );
+        final double t0 = x[off];
+        final double t1 = x[off + 1];
+        final double t2 = x[off + 32];
+        final double t3 = x[off + 33];
+        final double t4 = x[off + 64];
+        final double t5 = x[off + 65];
+        final double t6 = x[off + 96];
+        final double t7 = x[off + 97];
+        final double t8 = t4 + t6;
+        final double t9 = t5 + t7;
+        final double t10 = t5 - t7;
+        final double t11 = t6 - t4;
+        final double t12 = t0 + t8;
+        final double t13 = t1 + t9;
+        final double t14 = t0 - t8;
+        final double t15 = t1 - t9;
+        final double t16 = t2 + t10;
+        final double t17 = t3 + t11;
+        final double t18 = t2 - t10;
+        final double t19 = t3 - t11;
+        x[off] = t12;
+        x[off + 1] = t13;
+        x[off + 32] = t16;
+        x[off + 33] = t17;
+        x[off + 64] = t14;
+        x[off + 65] = t15;
+        x[off + 96] = t18;
+        x[off + 97] = t19;
+        final double t20 = x[off + 2];
+        final double t21 = x[off + 3];
+        final double t22 = x[off + 34];
+        final double t23 = x[off + 35];
+        final double t24 = x[off + 66];
+        final double t25 = x[off + 67];
+        final double t26 = x[off + 98];
+        final double t27 = x[off + 99];
+        final double t28 = 0.9951847266721969 * t24 + 0.0980171403295606 * t25;
+        final double t29 = 0.9951847266721969 * t25 - 0.0980171403295606 * t24;
+        final double t30 = 0.9569403357322088 * t26 + 0.29028467725446233 * t27;
+        final double t31 = 0.9569403357322088 * t27 - 0.29028467725446233 * t26;
+        final double t32 = t28 + t30;
+        final double t33 = t29 + t31;
+        final double t34 = t29 - t31;
+        final double t35 = t30 - t28;
+        final double t36 = t20 + t32;
+        final double t37 = t21 + t33;
+        final double t38 = t20 - t32;
+        final double t39 = t21 - t33;
+        final double t40 = t22 + t34;
+        final double t41 = t23 + t35;
+        final double t42 = t22 - t34;
+        final double t43 = t23 - t35;
+        x[off + 2] = t36;
+        x[off + 3] = t37;
+        x[off + 34] = t40;
+        x[off + 35] = t41;
+        x[off + 66] = t38;
+        x[off + 67] = t39;
+        x[off + 98] = t42;
+        x[off + 99] = t43;
+        final double t44 = x[off + 4];
+        final double t45 = x[off + 5];
+        final double t46 = x[off + 36];
+        final double t47 = x[off + 37];
+        final double t48 = x[off + 68];
+        final double t49 = x[off + 69];
+        final double t50 = x[off + 100];
+        final double t51 = x[off + 101];
+        final double t52 = 0.9807852804032304 * t48 + 0.19509032201612825 * t49;
+        final double t53 = 0.9807852804032304 * t49 - 0.19509032201612825 * t48;
+        final double t54 = 0.8314696123025452 * t50 + 0.5555702330196022 * t51;
+        final double t55 = 0.8314696123025452 * t51 - 0.5555702330196022 * t50;
+        final double t56 = t52 + t54;
+        final double t57 = t53 + t55;
+        final double t58 = t53 - t55;
+        final double t59 = t54 - t52;
+        final double t60 = t44 + t56;
+        final double t61 = t45 + t57;
+        final double t62 = t44 - t56;
+        final double t63 = t45 - t57;
+        final double t64 = t46 + t58;
+        final double t65 = t47 + t59;
+        final double t66 = t46 - t58;
+        final double t67 = t47 - t59;
+        x[off + 4] = t60;
+        x[off + 5] = t61;
+        x[off + 36] = t64;
+        x[off + 37] = t65;
+        x[off + 68] = t62;
+        x[off + 69] = t63;
+        x[off + 100] = t66;
+        x[off + 101] = t67;
+        final double t68 = x[off + 6];
+        final double t69 = x[off + 7];
+        final double t70 = x[off + 38];
+        final double t71 = x[off + 39];
+        final double t72 = x[off + 70];
+        final double t73 = x[off + 71];
+        final double t74 = x[off + 102];
+        final double t75 = x[off + 103];
+        final double t76 = 0.9569403357322088 * t72 + 0.29028467725446233 * t73;
+        final double t77 = 0.9569403357322088 * t73 - 0.29028467725446233 * t72;
+        final double t78 = 0.6343932841636455 * t74 + 0.773010453362737 * t75;
+        final double t79 = 0.6343932841636455 * t75 - 0.773010453362737 * t74;
+        final double t80 = t76 + t78;
+        final double t81 = t77 + t79;
+        final double t82 = t77 - t79;
+        final double t83 = t78 - t76;
+        final double t84 = t68 + t80;
+        final double t85 = t69 + t81;
+        final double t86 = t68 - t80;
+        final double t87 = t69 - t81;
+        final double t88 = t70 + t82;
+        final double t89 = t71 + t83;
+        final double t90 = t70 - t82;
+        final double t91 = t71 - t83;
+        x[off + 6] = t84;
+        x[off + 7] = t85;
+        x[off + 38] = t88;
+        x[off + 39] = t89;
+        x[off + 70] = t86;
+        x[off + 71] = t87;
+        x[off + 102] = t90;
+        x[off + 103] = t91;
+        final double t92 = x[off + 8];
+        final double t93 = x[off + 9];
+        final double t94 = x[off + 40];
+        final double t95 = x[off + 41];
+        final double t96 = x[off + 72];
+        final double t97 = x[off + 73];
+        final double t98 = x[off + 104];
+        final double t99 = x[off + 105];
+        final double t100 = 0.9238795325112867 * t96 + 0.3826834323650898 * t97;
+        final double t101 = 0.9238795325112867 * t97 - 0.3826834323650898 * t96;
+        final double t102 = 0.38268343236508984 * t98 + 0.9238795325112867 * t99;
+        final double t103 = 0.38268343236508984 * t99 - 0.9238795325112867 * t98;
+        final double t104 = t100 + t102;
+        final double t105 = t101 + t103;
+        final double t106 = t101 - t103;
+        final double t107 = t102 - t100;
+        final double t108 = t92 + t104;
+        final double t109 = t93 + t105;
+        final double t110 = t92 - t104;
+        final double t111 = t93 - t105;
+        final double t112 = t94 + t106;
+        final double t113 = t95 + t107;
+        final double t114 = t94 - t106;
+        final double t115 = t95 - t107;
+        x[off + 8] = t108;
+        x[off + 9] = t109;
+        x[off + 40] = t112;
+        x[off + 41] = t113;
+        x[off + 72] = t110;
+        x[off + 73] = t111;
+        x[off + 104] = t114;
+        x[off + 105] = t115;
+        final double t116 = x[off + 10];
+        final double t117 = x[off + 11];
+        final double t118 = x[off + 42];
+        final double t119 = x[off + 43];
+        final double t120 = x[off + 74];
+        final double t121 = x[off + 75];
+        final double t122 = x[off + 106];
+        final double t123 = x[off + 107];
+        final double t124 = 0.881921264348355 * t120 + 0.47139673682599764 * t121;
+        final double t125 = 0.881921264348355 * t121 - 0.47139673682599764 * t120;
+        final double t126 = 0.09801714032956077 * t122 + 0.9951847266721968 * t123;
+        final double t127 = 0.09801714032956077 * t123 - 0.9951847266721968 * t122;
+        final double t128 = t124 + t126;
+        final double t129 = t125 + t127;
+        final double t130 = t125 - t127;
+        final double t131 = t126 - t124;
+        final double t132 = t116 + t128;
+        final double t133 = t117 + t129;
+        final double t134 = t116 - t128;
+        final double t135 = t117 - t129;
+        final double t136 = t118 + t130;
+        final double t137 = t119 + t131;
+        final double t138 = t118 - t130;
+        final double t139 = t119 - t131;
+        x[off + 10] = t132;
+        x[off + 11] = t133;
+        x[off + 42] = t136;
+        x[off + 43] = t137;
+        x[off + 74] = t134;
+        x[off + 75] = t135;
+        x[off + 106] = t138;
+        x[off + 107] = t139;
+        final double t140 = x[off + 12];
+        final double t141 = x[off + 13];
+        final double t142 = x[off + 44];
+        final double t143 = x[off + 45];
+        final double t144 = x[off + 76];
+        final double t145 = x[off + 77];
+        final double t146 = x[off + 108];
+        final double t147 = x[off + 109];
+        final double t148 = 0.8314696123025452 * t144 + 0.5555702330196022 * t145;
+        final double t149 = 0.8314696123025452 * t145 - 0.5555702330196022 * t144;
+        final double t150 = -0.1950903220161282 * t146 + 0.9807852804032304 * t147;
+        final double t151 = -0.1950903220161282 * t147 - 0.9807852804032304 * t146;
+        final double t152 = t148 + t150;
+        final double t153 = t149 + t151;
+        final double t154 = t149 - t151;
+        final double t155 = t150 - t148;
+        final double t156 = t140 + t152;
+        final double t157 = t141 + t153;
+        final double t158 = t140 - t152;
+        final double t159 = t141 - t153;
+        final double t160 = t142 + t154;
+        final double t161 = t143 + t155;
+        final double t162 = t142 - t154;
+        final double t163 = t143 - t155;
+        x[off + 12] = t156;
+        x[off + 13] = t157;
+        x[off + 44] = t160;
+        x[off + 45] = t161;
+        x[off + 76] = t158;
+        x[off + 77] = t159;
+        x[off + 108] = t162;
+        x[off + 109] = t163;
+        final double t164 = x[off + 14];
+        final double t165 = x[off + 15];
+        final double t166 = x[off + 46];
+        final double t167 = x[off + 47];
+        final double t168 = x[off + 78];
+        final double t169 = x[off + 79];
+        final double t170 = x[off + 110];
+        final double t171 = x[off + 111];
+        final double t172 = 0.773010453362737 * t168 + 0.6343932841636455 * t169;
+        final double t173 = 0.773010453362737 * t169 - 0.6343932841636455 * t168;
+        final double t174 = -0.4713967368259977 * t170 + 0.881921264348355 * t171;
+        final double t175 = -0.4713967368259977 * t171 - 0.881921264348355 * t170;
+        final double t176 = t172 + t174;
+        final double t177 = t173 + t175;
+        final double t178 = t173 - t175;
+        final double t179 = t174 - t172;
+        final double t180 = t164 + t176;
+        final double t181 = t165 + t177;
+        final double t182 = t164 - t176;
+        final double t183 = t165 - t177;
+        final double t184 = t166 + t178;
+        final double t185 = t167 + t179;
+        final double t186 = t166 - t178;
+        final double t187 = t167 - t179;
+        x[off + 14] = t180;
+        x[off + 15] = t181;
+        x[off + 46] = t184;
+        x[off + 47] = t185;
+        x[off + 78] = t182;
+        x[off + 79] = t183;
+        x[off + 110] = t186;
+        x[off + 111] = t187;
+        final double t188 = x[off + 16];
+        final double t189 = x[off + 17];
+        final double t190 = x[off + 48];
+        final double t191 = x[off + 49];
+        final double t192 = x[off + 80];
+        final double t193 = x[off + 81];
+        final double t194 = x[off + 112];
+        final double t195 = x[off + 113];
+        final double t196 = 0.7071067811865476 * ( t192 + t193 );
+        final double t197 = 0.7071067811865476 * ( t193 - t192 );
+        final double t198 = 0.7071067811865476 * ( t195 - t194 );
+        final double t199 = -0.7071067811865476 * ( t194 + t195 );
+        final double t200 = t196 + t198;
+        final double t201 = t197 + t199;
+        final double t202 = t197 - t199;
+        final double t203 = t198 - t196;
+        final double t204 = t188 + t200;
+        final double t205 = t189 + t201;
+        final double t206 = t188 - t200;
+        final double t207 = t189 - t201;
+        final double t208 = t190 + t202;
+        final double t209 = t191 + t203;
+        final double t210 = t190 - t202;
+        final double t211 = t191 - t203;
+        x[off + 16] = t204;
+        x[off + 17] = t205;
+        x[off + 48] = t208;
+        x[off + 49] = t209;
+        x[off + 80] = t206;
+        x[off + 81] = t207;
+        x[off + 112] = t210;
+        x[off + 113] = t211;
+        final double t212 = x[off + 18];
+        final double t213 = x[off + 19];
+        final double t214 = x[off + 50];
+        final double t215 = x[off + 51];
+        final double t216 = x[off + 82];
+        final double t217 = x[off + 83];
+        final double t218 = x[off + 114];
+        final double t219 = x[off + 115];
+        final double t220 = 0.6343932841636455 * t216 + 0.773010453362737 * t217;
+        final double t221 = 0.6343932841636455 * t217 - 0.773010453362737 * t216;
+        final double t222 = -0.8819212643483549 * t218 + 0.47139673682599786 * t219;
+        final double t223 = -0.8819212643483549 * t219 - 0.47139673682599786 * t218;
+        final double t224 = t220 + t222;
+        final double t225 = t221 + t223;
+        final double t226 = t221 - t223;
+        final double t227 = t222 - t220;
+        final double t228 = t212 + t224;
+        final double t229 = t213 + t225;
+        final double t230 = t212 - t224;
+        final double t231 = t213 - t225;
+        final double t232 = t214 + t226;
+        final double t233 = t215 + t227;
+        final double t234 = t214 - t226;
+        final double t235 = t215 - t227;
+        x[off + 18] = t228;
+        x[off + 19] = t229;
+        x[off + 50] = t232;
+        x[off + 51] = t233;
+        x[off + 82] = t230;
+        x[off + 83] = t231;
+        x[off + 114] = t234;
+        x[off + 115] = t235;
+        final double t236 = x[off + 20];
+        final double t237 = x[off + 21];
+        final double t238 = x[off + 52];
+        final double t239 = x[off + 53];
+        final double t240 = x[off + 84];
+        final double t241 = x[off + 85];
+        final double t242 = x[off + 116];
+        final double t243 = x[off + 117];
+        final double t244 = 0.5555702330196023 * t240 + 0.8314696123025452 * t241;
+        final double t245 = 0.5555702330196023 * t241 - 0.8314696123025452 * t240;
+        final double t246 = -0.9807852804032304 * t242 + 0.1950903220161286 * t243;
+        final double t247 = -0.9807852804032304 * t243 - 0.1950903220161286 * t242;
+        final double t248 = t244 + t246;
+        final double t249 = t245 + t247;
+        final double t250 = t245 - t247;
+        final double t251 = t246 - t244;
+        final double t252 = t236 + t248;
+        final double t253 = t237 + t249;
+        final double t254 = t236 - t248;
+        final double t255 = t237 - t249;
+        final double t256 = t238 + t250;
+        final double t257 = t239 + t251;
+        final double t258 = t238 - t250;
+        final double t259 = t239 - t251;
+        x[off + 20] = t252;
+        x[off + 21] = t253;
+        x[off + 52] = t256;
+        x[off + 53] = t257;
+        x[off + 84] = t254;
+        x[off + 85] = t255;
+        x[off + 116] = t258;
+        x[off + 117] = t259;
+        final double t260 = x[off + 22];
+        final double t261 = x[off + 23];
+        final double t262 = x[off + 54];
+        final double t263 = x[off + 55];
+        final double t264 = x[off + 86];
+        final double t265 = x[off + 87];
+        final double t266 = x[off + 118];
+        final double t267 = x[off + 119];
+        final double t268 = 0.4713967368259978 * t264 + 0.8819212643483549 * t265;
+        final double t269 = 0.4713967368259978 * t265 - 0.8819212643483549 * t264;
+        final double t270 = -0.9951847266721969 * t266 - 0.0980171403295606 * t267;
+        final double t271 = -0.9951847266721969 * t267 + 0.0980171403295606 * t266;
+        final double t272 = t268 + t270;
+        final double t273 = t269 + t271;
+        final double t274 = t269 - t271;
+        final double t275 = t270 - t268;
+        final double t276 = t260 + t272;
+        final double t277 = t261 + t273;
+        final double t278 = t260 - t272;
+        final double t279 = t261 - t273;
+        final double t280 = t262 + t274;
+        final double t281 = t263 + t275;
+        final double t282 = t262 - t274;
+        final double t283 = t263 - t275;
+        x[off + 22] = t276;
+        x[off + 23] = t277;
+        x[off + 54] = t280;
+        x[off + 55] = t281;
+        x[off + 86] = t278;
+        x[off + 87] = t279;
+        x[off + 118] = t282;
+        x[off + 119] = t283;
+        final double t284 = x[off + 24];
+        final double t285 = x[off + 25];
+        final double t286 = x[off + 56];
+        final double t287 = x[off + 57];
+        final double t288 = x[off + 88];
+        final double t289 = x[off + 89];
+        final double t290 = x[off + 120];
+        final double t291 = x[off + 121];
+        final double t292 = 0.38268343236508984 * t288 + 0.9238795325112867 * t289;
+        final double t293 = 0.38268343236508984 * t289 - 0.9238795325112867 * t288;
+        final double t294 = -0.9238795325112867 * t290 - 0.3826834323650898 * t291;
+        final double t295 = -0.9238795325112867 * t291 + 0.3826834323650898 * t290;
+        final double t296 = t292 + t294;
+        final double t297 = t293 + t295;
+        final double t298 = t293 - t295;
+        final double t299 = t294 - t292;
+        final double t300 = t284 + t296;
+        final double t301 = t285 + t297;
+        final double t302 = t284 - t296;
+        final double t303 = t285 - t297;
+        final double t304 = t286 + t298;
+        final double t305 = t287 + t299;
+        final double t306 = t286 - t298;
+        final double t307 = t287 - t299;
+        x[off + 24] = t300;
+        x[off + 25] = t301;
+        x[off + 56] = t304;
+        x[off + 57] = t305;
+        x[off + 88] = t302;
+        x[off + 89] = t303;
+        x[off + 120] = t306;
+        x[off + 121] = t307;
+        final double t308 = x[off + 26];
+        final double t309 = x[off + 27];
+        final double t310 = x[off + 58];
+        final double t311 = x[off + 59];
+        final double t312 = x[off + 90];
+        final double t313 = x[off + 91];
+        final double t314 = x[off + 122];
+        final double t315 = x[off + 123];
+        final double t316 = 0.29028467725446233 * t312 + 0.9569403357322089 * t313;
+        final double t317 = 0.29028467725446233 * t313 - 0.9569403357322089 * t312;
+        final double t318 = -0.773010453362737 * t314 - 0.6343932841636455 * t315;
+        final double t319 = -0.773010453362737 * t315 + 0.6343932841636455 * t314;
+        final double t320 = t316 + t318;
+        final double t321 = t317 + t319;
+        final double t322 = t317 - t319;
+        final double t323 = t318 - t316;
+        final double t324 = t308 + t320;
+        final double t325 = t309 + t321;
+        final double t326 = t308 - t320;
+        final double t327 = t309 - t321;
+        final double t328 = t310 + t322;
+        final double t329 = t311 + t323;
+        final double t330 = t310 - t322;
+        final double t331 = t311 - t323;
+        x[off + 26] = t324;
+        x[off + 27] = t325;
+        x[off + 58] = t328;
+        x[off + 59] = t329;
+        x[off + 90] = t326;
+        x[off + 91] = t327;
+        x[off + 122] = t330;
+        x[off + 123] = t331;
+        final double t332 = x[off + 28];
+        final double t333 = x[off + 29];
+        final double t334 = x[off + 60];
+        final double t335 = x[off + 61];
+        final double t336 = x[off + 92];
+        final double t337 = x[off + 93];
+        final double t338 = x[off + 124];
+        final double t339 = x[off + 125];
+        final double t340 = 0.19509032201612833 * t336 + 0.9807852804032304 * t337;
+        final double t341 = 0.19509032201612833 * t337 - 0.9807852804032304 * t336;
+        final double t342 = -0.5555702330196023 * t338 - 0.8314696123025452 * t339;
+        final double t343 = -0.5555702330196023 * t339 + 0.8314696123025452 * t338;
+        final double t344 = t340 + t342;
+        final double t345 = t341 + t343;
+        final double t346 = t341 - t343;
+        final double t347 = t342 - t340;
+        final double t348 = t332 + t344;
+        final double t349 = t333 + t345;
+        final double t350 = t332 - t344;
+        final double t351 = t333 - t345;
+        final double t352 = t334 + t346;
+        final double t353 = t335 + t347;
+        final double t354 = t334 - t346;
+        final double t355 = t335 - t347;
+        x[off + 28] = t348;
+        x[off + 29] = t349;
+        x[off + 60] = t352;
+        x[off + 61] = t353;
+        x[off + 92] = t350;
+        x[off + 93] = t351;
+        x[off + 124] = t354;
+        x[off + 125] = t355;
+        final double t356 = x[off + 30];
+        final double t357 = x[off + 31];
+        final double t358 = x[off + 62];
+        final double t359 = x[off + 63];
+        final double t360 = x[off + 94];
+        final double t361 = x[off + 95];
+        final double t362 = x[off + 126];
+        final double t363 = x[off + 127];
+        final double t364 = 0.09801714032956077 * t360 + 0.9951847266721968 * t361;
+        final double t365 = 0.09801714032956077 * t361 - 0.9951847266721968 * t360;
+        final double t366 = -0.29028467725446233 * t362 - 0.9569403357322089 * t363;
+        final double t367 = -0.29028467725446233 * t363 + 0.9569403357322089 * t362;
+        final double t368 = t364 + t366;
+        final double t369 = t365 + t367;
+        final double t370 = t365 - t367;
+        final double t371 = t366 - t364;
+        final double t372 = t356 + t368;
+        final double t373 = t357 + t369;
+        final double t374 = t356 - t368;
+        final double t375 = t357 - t369;
+        final double t376 = t358 + t370;
+        final double t377 = t359 + t371;
+        final double t378 = t358 - t370;
+        final double t379 = t359 - t371;
+        x[off + 30] = t372;
+        x[off + 31] = t373;
+        x[off + 62] = t376;
+        x[off + 63] = t377;
+        x[off + 94] = t374;
+        x[off + 95] = t375;
+        x[off + 126] = t378;
+        x[off + 127] = t379;
+        if( scale != 1.0 ) {
+            for( int i = off; i < off + 128; i++ ) {
+                x[i] *= scale;
+            }
+        }
+    }
+
+
+    static void inverse64( double[] x, int off, double scale ) {
+        inverse32( x, off, 1.0 );
+        inverse16( x, off + 64, 1.0 );
+        inverse16( x, off + 96, 1.0 );
+        final double t0 = x[off];
+        final double t1 = -x[off + 1];
+        final double t2 = x[off + 32];
+        final double t3 = -x[off + 33];
+        final double t4 = x[off + 64];
+        final double t5 = -x[off + 65];
+        final double t6 = x[off + 96];
+        final double t7 = -x[off + 97];
+        final double t8 = t4 + t6;
+        final double t9 = t5 + t7;
+        final double t10 = t5 - t7;
+        final double t11 = t6 - t4;
+        final double t12 = t0 + t8;
+        final double t13 = t1 + t9;
+        final double t14 = t0 - t8;
+        final double t15 = t1 - t9;
+        final double t16 = t2 + t10;
+        final double t17 = t3 + t11;
+        final double t18 = t2 - t10;
+        final double t19 = t3 - t11;
+        x[off] = t12;
+        x[off + 1] = -t13;
+        x[off + 32] = t16;
+        x[off + 33] = -t17;
+        x[off + 64] = t14;
+        x[off + 65] = -t15;
+        x[off + 96] = t18;
+        x[off + 97] = -t19;
+        final double t20 = x[off + 2];
+        final double t21 = -x[off + 3];
+        final double t22 = x[off + 34];
+        final double t23 = -x[off + 35];
+        final double t24 = x[off + 66];
+        final double t25 = -x[off + 67];
+        final double t26 = x[off + 98];
+        final double t27 = -x[off + 99];
+        final double t28 = 0.9951847266721969 * t24 + 0.0980171403295606 * t25;
+        final double t29 = 0.9951847266721969 * t25 - 0.0980171403295606 * t24;
+        final double t30 = 0.9569403357322088 * t26 + 0.29028467725446233 * t27;
+        final double t31 = 0.9569403357322088 * t27 - 0.29028467725446233 * t26;
+        final double t32 = t28 + t30;
+        final double t33 = t29 + t31;
+        final double t34 = t29 - t31;
+        final double t35 = t30 - t28;
+        final double t36 = t20 + t32;
+        final double t37 = t21 + t33;
+        final double t38 = t20 - t32;
+        final double t39 = t21 - t33;
+        final double t40 = t22 + t34;
+        final double t41 = t23 + t35;
+        final double t42 = t22 - t34;
+        final double t43 = t23 - t35;
+        x[off + 2] = t36;
+        x[off + 3] = -t37;
+        x[off + 34] = t40;
+        x[off + 35] = -t41;
+        x[off + 66] = t38;
+        x[off + 67] = -t39;
+        x[off + 98] = t42;
+        x[off + 99] = -t43;
+        final double t44 = x[off + 4];
+        final double t45 = -x[off + 5];
+        final double t46 = x[off + 36];
+        final double t47 = -x[off + 37];
+        final double t48 = x[off + 68];
+        final double t49 = -x[off + 69];
+        final double t50 = x[off + 100];
+        final double t51 = -x[off + 101];
+        final double t52 = 0.9807852804032304 * t48 + 0.19509032201612825 * t49;
+        final double t53 = 0.9807852804032304 * t49 - 0.19509032201612825 * t48;
+        final double t54 = 0.8314696123025452 * t50 + 0.5555702330196022 * t51;
+        final double t55 = 0.8314696123025452 * t51 - 0.5555702330196022 * t50;
+        final double t56 = t52 + t54;
+        final double t57 = t53 + t55;
+        final double t58 = t53 - t55;
+        final double t59 = t54 - t52;
+        final double t60 = t44 + t56;
+        final double t61 = t45 + t57;
+        final double t62 = t44 - t56;
+        final double t63 = t45 - t57;
+        final double t64 = t46 + t58;
+        final double t65 = t47 + t59;
+        final double t66 = t46 - t58;
+        final double t67 = t47 - t59;
+        x[off + 4] = t60;
+        x[off + 5] = -t61;
+        x[off + 36] = t64;
+        x[off + 37] = -t65;
+        x[off + 68] = t62;
+        x[off + 69] = -t63;
+        x[off + 100] = t66;
+        x[off + 101] = -t67;
+        final double t68 = x[off + 6];
+        final double t69 = -x[off + 7];
+        final double t70 = x[off + 38];
+        final double t71 = -x[off + 39];
+        final double t72 = x[off + 70];
+        final double t73 = -x[off + 71];
+        final double t74 = x[off + 102];
+        final double t75 = -x[off + 103];
+        final double t76 = 0.9569403357322088 * t72 + 0.29028467725446233 * t73;
+        final double t77 = 0.9569403357322088 * t73 - 0.29028467725446233 * t72;
+        final double t78 = 0.6343932841636455 * t74 + 0.773010453362737 * t75;
+        final double t79 = 0.6343932841636455 * t75 - 0.773010453362737 * t74;
+        final double t80 = t76 + t78;
+        final double t81 = t77 + t79;
+        final double t82 = t77 - t79;
+        final double t83 = t78 - t76;
+        final double t84 = t68 + t80;
+        final double t85 = t69 + t81;
+        final double t86 = t68 - t80;
+        final double t87 = t69 - t81;
+        final double t88 = t70 + t82;
+        final double t89 = t71 + t83;
+        final double t90 = t70 - t82;
+        final double t91 = t71 - t83;
+        x[off + 6] = t84;
+        x[off + 7] = -t85;
+        x[off + 38] = t88;
+        x[off + 39] = -t89;
+        x[off + 70] = t86;
+        x[off + 71] = -t87;
+        x[off + 102] = t90;
+        x[off + 103] = -t91;
+        final double t92 = x[off + 8];
+        final double t93 = -x[off + 9];
+        final double t94 = x[off + 40];
+        final double t95 = -x[off + 41];
+        final double t96 = x[off + 72];
+        final double t97 = -x[off + 73];
+        final double t98 = x[off + 104];
+        final double t99 = -x[off + 105];
+        final double t100 = 0.9238795325112867 * t96 + 0.3826834323650898 * t97;
+        final double t101 = 0.9238795325112867 * t97 - 0.3826834323650898 * t96;
+        final double t102 = 0.38268343236508984 * t98 + 0.9238795325112867 * t99;
+        final double t103 = 0.38268343236508984 * t99 - 0.9238795325112867 * t98;
+        final double t104 = t100 + t102;
+        final double t105 = t101 + t103;
+        final double t106 = t101 - t103;
+        final double t107 = t102 - t100;
+        final double t108 = t92 + t104;
+        final double t109 = t93 + t105;
+        final double t110 = t92 - t104;
+        final double t111 = t93 - t105;
+        final double t112 = t94 + t106;
+        final double t113 = t95 + t107;
+        final double t114 = t94 - t106;
+        final double t115 = t95 - t107;
+        x[off + 8] = t108;
+        x[off + 9] = -t109;
+        x[off + 40] = t112;
+        x[off + 41] = -t113;
+        x[off + 72] = t110;
+        x[off + 73] = -t111;
+        x[off + 104] = t114;
+        x[off + 105] = -t115;
+        final double t116 = x[off + 10];
+        final double t117 = -x[off + 11];
+        final double t118 = x[off + 42];
+        final double t119 = -x[off + 43];
+        final double t120 = x[off + 74];
+        final double t121 = -x[off + 75];
+        final double t122 = x[off + 106];
+        final double t123 = -x[off + 107];
+        final double t124 = 0.881921264348355 * t120 + 0.47139673682599764 * t121;
+        final double t125 = 0.881921264348355 * t121 - 0.47139673682599764 * t120;
+        final double t126 = 0.09801714032956077 * t122 + 0.9951847266721968 * t123;
+        final double t127 = 0.09801714032956077 * t123 - 0.9951847266721968 * t122;
+        final double t128 = t124 + t126;
+        final double t129 = t125 + t127;
+        final double t130 = t125 - t127;
+        final double t131 = t126 - t124;
+        final double t132 = t116 + t128;
+        final double t133 = t117 + t129;
+        final double t134 = t116 - t128;
+        final double t135 = t117 - t129;
+        final double t136 = t118 + t130;
+        final double t137 = t119 + t131;
+        final double t138 = t118 - t130;
+        final double t139 = t119 - t131;
+        x[off + 10] = t132;
+        x[off + 11] = -t133;
+        x[off + 42] = t136;
+        x[off + 43] = -t137;
+        x[off + 74] = t134;
+        x[off + 75] = -t135;
+        x[off + 106] = t138;
+        x[off + 107] = -t139;
+        final double t140 = x[off + 12];
+        final double t141 = -x[off + 13];
+        final double t142 = x[off + 44];
+        final double t143 = -x[off + 45];
+        final double t144 = x[off + 76];
+        final double t145 = -x[off + 77];
+        final double t146 = x[off + 108];
+        final double t147 = -x[off + 109];
+        final double t148 = 0.8314696123025452 * t144 + 0.5555702330196022 * t145;
+        final double t149 = 0.8314696123025452 * t145 - 0.5555702330196022 * t144;
+        final double t150 = -0.1950903220161282 * t146 + 0.9807852804032304 * t147;
+        final double t151 = -0.1950903220161282 * t147 - 0.9807852804032304 * t146;
+        final double t152 = t148 + t150;
+        final double t153 = t149 + t151;
+        final double t154 = t149 - t151;
+        final double t155 = t150 - t148;
+        final double t156 = t140 + t152;
+        final double t157 = t141 + t153;
+        final double t158 = t140 - t152;
+        final double t159 = t141 - t153;
+        final double t160 = t142 + t154;
+        final double t161 = t143 + t155;
+        final double t162 = t142 - t154;
+        final double t163 = t143 - t155;
+        x[off + 12] = t156;
+        x[off + 13] = -t157;
+        x[off + 44] = t160;
+        x[off + 45] = -t161;
+        x[off + 76] = t158;
+        x[off + 77] = -t159;
+        x[off + 108] = t162;
+        x[off + 109] = -t163;
+        final double t164 = x[off + 14];
+        final double t165 = -x[off + 15];
+        final double t166 = x[off + 46];
+        final double t167 = -x[off + 47];
+        final double t168 = x[off + 78];
+        final double t169 = -x[off + 79];
+        final double t170 = x[off + 110];
+        final double t171 = -x[off + 111];
+        final double t172 = 0.773010453362737 * t168 + 0.6343932841636455 * t169;
+        final double t173 = 0.773010453362737 * t169 - 0.6343932841636455 * t168;
+        final double t174 = -0.4713967368259977 * t170 + 0.881921264348355 * t171;
+        final double t175 = -0.4713967368259977 * t171 - 0.881921264348355 * t170;
+        final double t176 = t172 + t174;
+        final double t177 = t173 + t175;
+        final double t178 = t173 - t175;
+        final double t179 = t174 - t172;
+        final double t180 = t164 + t176;
+        final double t181 = t165 + t177;
+        final double t182 = t164 - t176;
+        final double t183 = t165 - t177;
+        final double t184 = t166 + t178;
+        final double t185 = t167 + t179;
+        final double t186 = t166 - t178;
+        final double t187 = t167 - t179;
+        x[off + 14] = t180;
+        x[off + 15] = -t181;
+        x[off + 46] = t184;
+        x[off + 47] = -t185;
+        x[off + 78] = t182;
+        x[off + 79] = -t183;
+        x[off + 110] = t186;
+        x[off + 111] = -t187;
+        final double t188 = x[off + 16];
+        final double t189 = -x[off + 17];
+        final double t190 = x[off + 48];
+        final double t191 = -x[off + 49];
+        final double t192 = x[off + 80];
+        final double t193 = -x[off + 81];
+        final double t194 = x[off + 112];
+        final double t195 = -x[off + 113];
+        final double t196 = 0.7071067811865476 * ( t192 + t193 );
+        final double t197 = 0.7071067811865476 * ( t193 - t192 );
+        final double t198 = 0.7071067811865476 * ( t195 - t194 );
+        final double t199 = -0.7071067811865476 * ( t194 + t195 );
+        final double t200 = t196 + t198;
+        final double t201 = t197 + t199;
+        final double t202 = t197 - t199;
+        final double t203 = t198 - t196;
+        final double t204 = t188 + t200;
+        final double t205 = t189 + t201;
+        final double t206 = t188 - t200;
+        final double t207 = t189 - t201;
+        final double t208 = t190 + t202;
+        final double t209 = t191 + t203;
+        final double t210 = t190 - t202;
+        final double t211 = t191 - t203;
+        x[off + 16] = t204;
+        x[off + 17] = -t205;
+        x[off + 48] = t208;
+        x[off + 49] = -t209;
+        x[off + 80] = t206;
+        x[off + 81] = -t207;
+        x[off + 112] = t210;
+        x[off + 113] = -t211;
+        final double t212 = x[off + 18];
+        final double t213 = -x[off + 19];
+        final double t214 = x[off + 50];
+        final double t215 = -x[off + 51];
+        final double t216 = x[off + 82];
+        final double t217 = -x[off + 83];
+        final double t218 = x[off + 114];
+        final double t219 = -x[off + 115];
+        final double t220 = 0.6343932841636455 * t216 + 0.773010453362737 * t217;
+        final double t221 = 0.6343932841636455 * t217 - 0.773010453362737 * t216;
+        final double t222 = -0.8819212643483549 * t218 + 0.47139673682599786 * t219;
+        final double t223 = -0.8819212643483549 * t219 - 0.47139673682599786 * t218;
+        final double t224 = t220 + t222;
+        final double t225 = t221 + t223;
+        final double t226 = t221 - t223;
+        final double t227 = t222 - t220;
+        final double t228 = t212 + t224;
+        final double t229 = t213 + t225;
+        final double t230 = t212 - t224;
+        final double t231 = t213 - t225;
+        final double t232 = t214 + t226;
+        final double t233 = t215 + t227;
+        final double t234 = t214 - t226;
+        final double t235 = t215 - t227;
+        x[off + 18] = t228;
+        x[off + 19] = -t229;
+        x[off + 50] = t232;
+        x[off + 51] = -t233;
+        x[off + 82] = t230;
+        x[off + 83] = -t231;
+        x[off + 114] = t234;
+        x[off + 115] = -t235;
+        final double t236 = x[off + 20];
+        final double t237 = -x[off + 21];
+        final double t238 = x[off + 52];
+        final double t239 = -x[off + 53];
+        final double t240 = x[off + 84];
+        final double t241 = -x[off + 85];
+        final double t242 = x[off + 116];
+        final double t243 = -x[off + 117];
+        final double t244 = 0.5555702330196023 * t240 + 0.8314696123025452 * t241;
+        final double t245 = 0.5555702330196023 * t241 - 0.8314696123025452 * t240;
+        final double t246 = -0.9807852804032304 * t242 + 0.1950903220161286 * t243;
+        final double t247 = -0.9807852804032304 * t243 - 0.1950903220161286 * t242;
+        final double t248 = t244 + t246;
+        final double t249 = t245 + t247;
+        final double t250 = t245 - t247;
+        final double t251 = t246 - t244;
+        final double t252 = t236 + t248;
+        final double t253 = t237 + t249;
+        final double t254 = t236 - t248;
+        final double t255 = t237 - t249;
+        final double t256 = t238 + t250;
+        final double t257 = t239 + t251;
+        final double t258 = t238 - t250;
+        final double t259 = t239 - t251;
+        x[off + 20] = t252;
+        x[off + 21] = -t253;
+        x[off + 52] = t256;
+        x[off + 53] = -t257;
+        x[off + 84] = t254;
+        x[off + 85] = -t255;
+        x[off + 116] = t258;
+        x[off + 117] = -t259;
+        final double t260 = x[off + 22];
+        final double t261 = -x[off + 23];
+        final double t262 = x[off + 54];
+        final double t263 = -x[off + 55];
+        final double t264 = x[off + 86];
+        final double t265 = -x[off + 87];
+        final double t266 = x[off + 118];
+        final double t267 = -x[off + 119];
+        final double t268 = 0.4713967368259978 * t264 + 0.8819212643483549 * t265;
+        final double t269 = 0.4713967368259978 * t265 - 0.8819212643483549 * t264;
+        final double t270 = -0.9951847266721969 * t266 - 0.0980171403295606 * t267;
+        final double t271 = -0.9951847266721969 * t267 + 0.0980171403295606 * t266;
+        final double t272 = t268 + t270;
+        final double t273 = t269 + t271;
+        final double t274 = t269 - t271;
+        final double t275 = t270 - t268;
+        final double t276 = t260 + t272;
+        final double t277 = t261 + t273;
+        final double t278 = t260 - t272;
+        final double t279 = t261 - t273;
+        final double t280 = t262 + t274;
+        final double t281 = t263 + t275;
+        final double t282 = t262 - t274;
+        final double t283 = t263 - t275;
+        x[off + 22] = t276;
+        x[off + 23] = -t277;
+        x[off + 54] = t280;
+        x[off + 55] = -t281;
+        x[off + 86] = t278;
+        x[off + 87] = -t279;
+        x[off + 118] = t282;
+        x[off + 119] = -t283;
+        final double t284 = x[off + 24];
+        final double t285 = -x[off + 25];
+        final double t286 = x[off + 56];
+        final double t287 = -x[off + 57];
+        final double t288 = x[off + 88];
+        final double t289 = -x[off + 89];
+        final double t290 = x[off + 120];
+        final double t291 = -x[off + 121];
+        final double t292 = 0.38268343236508984 * t288 + 0.9238795325112867 * t289;
+        final double t293 = 0.38268343236508984 * t289 - 0.9238795325112867 * t288;
+        final double t294 = -0.9238795325112867 * t290 - 0.3826834323650898 * t291;
+        final double t295 = -0.9238795325112867 * t291 + 0.3826834323650898 * t290;
+        final double t296 = t292 + t294;
+        final double t297 = t293 + t295;
+        final double t298 = t293 - t295;
+        final double t299 = t294 - t292;
+        final double t300 = t284 + t296;
+        final double t301 = t285 + t297;
+        final double t302 = t284 - t296;
+        final double t303 = t285 - t297;
+        final double t304 = t286 + t298;
+        final double t305 = t287 + t299;
+        final double t306 = t286 - t298;
+        final double t307 = t287 - t299;
+        x[off + 24] = t300;
+        x[off + 25] = -t301;
+        x[off + 56] = t304;
+        x[off + 57] = -t305;
+        x[off + 88] = t302;
+        x[off + 89] = -t303;
+        x[off + 120] = t306;
+        x[off + 121] = -t307;
+        final double t308 = x[off + 26];
+        final double t309 = -x[off + 27];
+        final double t310 = x[off + 58];
+        final double t311 = -x[off + 59];
+        final double t312 = x[off + 90];
+        final double t313 = -x[off + 91];
+        final double t314 = x[off + 122];
+        final double t315 = -x[off + 123];
+        final double t316 = 0.29028467725446233 * t312 + 0.9569403357322089 * t313;
+        final double t317 = 0.29028467725446233 * t313 - 0.9569403357322089 * t312;
+        final double t318 = -0.773010453362737 * t314 - 0.6343932841636455 * t315;
+        final double t319 = -0.773010453362737 * t315 + 0.6343932841636455 * t314;
+        final double t320 = t316 + t318;
+        final double t321 = t317 + t319;
+        final double t322 = t317 - t319;
+        final double t323 = t318 - t316;
+        final double t324 = t308 + t320;
+        final double t325 = t309 + t321;
+        final double t326 = t308 - t320;
+        final double t327 = t309 - t321;
+        final double t328 = t310 + t322;
+        final double t329 = t311 + t323;
+        final double t330 = t310 - t322;
+        final double t331 = t311 - t323;
+        x[off + 26] = t324;
+        x[off + 27] = -t325;
+        x[off + 58] = t328;
+        x[off + 59] = -t329;
+        x[off + 90] = t326;
+        x[off + 91] = -t327;
+        x[off + 122] = t330;
+        x[off + 123] = -t331;
+        final double t332 = x[off + 28];
+        final double t333 = -x[off + 29];
+        final double t334 = x[off + 60];
+        final double t335 = -x[off + 61];
+        final double t336 = x[off + 92];
+        final double t337 = -x[off + 93];
+        final double t338 = x[off + 124];
+        final double t339 = -x[off + 125];
+        final double t340 = 0.19509032201612833 * t336 + 0.9807852804032304 * t337;
+        final double t341 = 0.19509032201612833 * t337 - 0.9807852804032304 * t336;
+        final double t342 = -0.5555702330196023 * t338 - 0.8314696123025452 * t339;
+        final double t343 = -0.5555702330196023 * t339 + 0.8314696123025452 * t338;
+        final double t344 = t340 + t342;
+        final double t345 = t341 + t343;
+        final double t346 = t341 - t343;
+        final double t347 = t342 - t340;
+        final double t348 = t332 + t344;
+        final double t349 = t333 + t345;
+        final double t350 = t332 - t344;
+        final double t351 = t333 - t345;
+        final double t352 = t334 + t346;
+        final double t353 = t335 + t347;
+        final double t354 = t334 - t346;
+        final double t355 = t335 - t347;
+        x[off + 28] = t348;
+        x[off + 29] = -t349;
+        x[off + 60] = t352;
+        x[off + 61] = -t353;
+        x[off + 92] = t350;
+        x[off + 93] = -t351;
+        x[off + 124] = t354;
+        x[off + 125] = -t355;
+        final double t356 = x[off + 30];
+        final double t357 = -x[off + 31];
+        final double t358 = x[off + 62];
+        final double t359 = -x[off + 63];
+        final double t360 = x[off + 94];
+        final double t361 = -x[off + 95];
+        final double t362 = x[off + 126];
+        final double t363 = -x[off + 127];
+        final double t364 = 0.09801714032956077 * t360 + 0.9951847266721968 * t361;
+        final double t365 = 0.09801714032956077 * t361 - 0.9951847266721968 * t360;
+        final double t366 = -0.29028467725446233 * t362 - 0.9569403357322089 * t363;
+        final double t367 = -0.29028467725446233 * t363 + 0.9569403357322089 * t362;
+        final double t368 = t364 + t366;
+        final double t369 = t365 + t367;
+        final double t370 = t365 - t367;
+        final double t371 = t366 - t364;
+        final double t372 = t356 + t368;
+        final double t373 = t357 + t369;
+        final double t374 = t356 - t368;
+        final double t375 = t357 - t369;
+        final double t376 = t358 + t370;
+        final double t377 = t359 + t371;
+        final double t378 = t358 - t370;
+        final double t379 = t359 - t371;
+        x[off + 30] = t372;
+        x[off + 31] = -t373;
+        x[off + 62] = t376;
+        x[off + 63] = -t377;
+        x[off + 94] = t374;
+        x[off + 95] = -t375;
+        x[off + 126] = t378;
+        x[off + 127] = -t379;
+        if( scale != 1.0 ) {
+            for( int i = off; i < off + 128; i++ ) {
+                x[i] *= scale;
+            }
+        }
+    }
+
+
+    private Codelets() {}
+
+}
@@ -0,0 +1,3117 @@
+/*
+ * Copyright (c) 2014, Massachusetts Institute of Technology
+ * Released under the BSD 2-Clause License
+ * http://opensource.org/licenses/BSD-2-Clause
+ */
+package bits.fft;
+
+
+/**
+ * Straight-line transforms of bit-reversed complex vectors of 64 elements or fewer.
+ * Single-precision version of {@link Codelets}.
+ * <p>
+ * GENERATED by <tt>src/gen/java/bits/fft/CodeletGenerator.java</tt>. Do not edit;
+ * change the generator and run <tt>ant codelets</tt>.
+ * <p>
+ * This class is thread-safe.
+ */
+final class CodeletsF {
+
+    static final int MAX_BITS = 6;
+    static final int MAX_LEN  = 1 << MAX_BITS;
+
+
+    /**
+     * Transforms bit-reversed complex vector in place.
+     *
+     * @param len   Number of complex elements. Must be a power-of-two from 2 to {@link #MAX_LEN}.
+     * @param scale Multiplies output.
+     */
+    static void apply( float[] x, int off, int len, boolean inverse, float scale ) {
+        switch( len ) {
+        case 2:
+            if( inverse ) {
+                inverse2( x, off, scale );
+            } else {
+                forward2( x, off, scale );
+            }
+            return;
+        case 4:
+            if( inverse ) {
+                inverse4( x, off, scale );
+            } else {
+                forward4( x, off, scale );
+            }
+            return;
+        case 8:
+            if( inverse ) {
+                inverse8( x, off, scale );
+            } else {
+                forward8( x, off, scale );
+            }
+            return;
+        case 16:
+            if( inverse ) {
+                inverse16( x, off, scale );
+            } else {
+                forward16( x, off, scale );
+            }
+            return;
+        case 32:
+            if( inverse ) {
+                inverse32( x, off, scale );
+            } else {
+                forward32( x, off, scale );
+            }
+            return;
+        case 64:
+            if( inverse ) {
+                inverse64( x, off, scale );
+            } else {
+                forward64( x, off, scale );
+            }
+            return;
+        default:
+            throw new IllegalArgumentException( "Unsupported codelet size: " + len );
+        }
+    }
+
+
+    static void forward2( float[] x, int off, float scale ) {
+        final float r0 = x[off];
+        final float i0 = x[off + 1];
+        final float r1 = x[off + 2];
+        final float i1 = x[off + 3];
+        final float t0 = r0 + r1;
+        final float t1 = i0 + i1;
+        final float t2 = r0 - r1;
+        final float t3 = i0 - i1;
+        if( scale == 1.0f ) {
+            x[off] = t0;
+            x[off + 1] = t1;
+            x[off + 2] = t2;
+            x[off + 3] = t3;
+        } else {
+            x[off] = t0 * scale;
+            x[off + 1] = t1 * scale;
+            x[off + 2] = t2 * scale;
+            x[off + 3] = t3 * scale;
+        }
+    }
+
+
+    static void inverse2( float[] x, int off, float scale ) {
+        final float r0 = x[off];
+        final float i0 = -x[off + 1];
+        final float r1 = x[off + 2];
+        final float i1 = -x[off + 3];
+        final float t0 = r0 + r1;
+        final float t1 = i0 + i1;
+        final float t2 = r0 - r1;
+        final float t3 = i0 - i1;
+        if( scale == 1.0f ) {
+            x[off] = t0;
+            x[off + 1] = -t1;
+            x[off + 2] = t2;
+            x[off + 3] = -t3;
+        } else {
+            final float iscale = -scale;
+            x[off] = t0 * scale;
+            x[off + 1] = t1 * iscale;
+            x[off + 2] = t2 * scale;
+            x[off + 3] = t3 * iscale;
+        }
+    }
+
+
+    static void forward4( float[] x, int off, float scale ) {
+        final float r0 = x[off];
+        final float i0 = x[off + 1];
+        final float r1 = x[off + 2];
+        final float i1 = x[off + 3];
+        final float r2 = x[off + 4];
+        final float i2 = x[off + 5];
+        final float r3 = x[off + 6];
+        final float i3 = x[off + 7];
+        final float t0 = r0 + r1;
+        final float t1 = i0 + i1;
+        final float t2 = r0 - r1;
+        final float t3 = i0 - i1;
+        final float t4 = r2 + r3;
+        final float t5 = i2 + i3;
+        final float t6 = i2 - i3;
+        final float t7 = r3 - r2;
+        final float t8 = t0 + t4;
+        final float t9 = t1 + t5;
+        final float t10 = t0 - t4;
+        final float t11 = t1 - t5;
+        final float t12 = t2 + t6;
+        final float t13 = t3 + t7;
+        final float t14 = t2 - t6;
+        final float t15 = t3 - t7;
+        if( scale == 1.0f ) {
+            x[off] = t8;
+            x[off + 1] = t9;
+            x[off + 2] = t12;
+            x[off + 3] = t13;
+            x[off + 4] = t10;
+            x[off + 5] = t11;
+            x[off + 6] = t14;
+            x[off + 7] = t15;
+        } else {
+            x[off] = t8 * scale;
+            x[off + 1] = t9 * scale;
+            x[off + 2] = t12 * scale;
+            x[off + 3] = t13 * scale;
+            x[off + 4] = t10 * scale;
+            x[off + 5] = t11 * scale;
+            x[off + 6] = t14 * scale;
+            x[off + 7] = t15 * scale;
+        }
+    }
+
+
+    static void inverse4( float[] x, int off, float scale ) {
+        final float r0 = x[off];
+        final float i0 = -x[off + 1];
+        final float r1 = x[off + 2];
+        final float i1 = -x[off + 3];
+        final float r2 = x[off + 4];
+        final float i2 = -x[off + 5];
+        final float r3 = x[off + 6];
+        final float i3 = -x[off + 7];
+        final float t0 = r0 + r1;
+        final float t1 = i0 + i1;
+        final float t2 = r0 - r1;
+        final float t3 = i0 - i1;
+        final float t4 = r2 + r3;
+        final float t5 = i2 + i3;
+        final float t6 = i2 - i3;
+        final float t7 = r3 - r2;
+        final float t8 = t0 + t4;
+        final float t9 = t1 + t5;
+        final float t10 = t0 - t4;
+        final float t11 = t1 - t5;
+        final float t12 = t2 + t6;
+        final float t13 = t3 + t7;
+        final float t14 = t2 - t6;
+        final float t15 = t3 - t7;
+        if( scale == 1.0f ) {
+            x[off] = t8;
+            x[off + 1] = -t9;
+            x[off + 2] = t12;
+            x[off + 3] = -t13;
+            x[off + 4] = t10;
+            x[off + 5] = -t11;
+            x[off + 6] = t14;
+            x[off + 7] = -t15;
+        } else {
+            final float iscale = -scale;
+            x[off] = t8 * scale;
+            x[off + 1] = t9 * iscale;
+            x[off + 2] = t12 * scale;
+            x[off + 3] = t13 * iscale;
+            x[off + 4] = t10 * scale;
+            x[off + 5] = t11 * iscale;
+            x[off + 6] = t14 * scale;
+            x[off + 7] = t15 * iscale;
+        }
+    }
+
+
+    static void forward8( float[] x, int off, float scale ) {
+        final float r0 = x[off];
+        final float i0 = x[off + 1];
+        final float r1 = x[off + 2];
+        final float i1 = x[off + 3];
+        final float r2 = x[off + 4];
+        final float i2 = x[off + 5];
+        final float r3 = x[off + 6];
+        final float i3 = x[off + 7];
+        final float r4 = x[off + 8];
+        final float i4 = x[off + 9];
+        final float r5 = x[off + 10];
+        final float i5 = x[off + 11];
+        final float r6 = x[off + 12];
+        final float i6 = x[off + 13];
+        final float r7 = x[off + 14];
+        final float i7 = x[off + 15];
+        final float t0 = r0 + r1;
+        final float t1 = i0 + i1;
+        final float t2 = r0 - r1;
+        final float t3 = i0 - i1;
+        final float t4 = r2 + r3;
+        final float t5 = i2 + i3;
+        final float t6 = i2 - i3;
+        final float t7 = r3 - r2;
+        final float t8 = t0 + t4;
+        final float t9 = t1 + t5;
+        final float t10 = t0 - t4;
+        final float t11 = t1 - t5;
+        final float t12 = t2 + t6;
+        final float t13 = t3 + t7;
+        final float t14 = t2 - t6;
+        final float t15 = t3 - t7;
+        final float t16 = r4 + r5;
+        final float t17 = i4 + i5;
+        final float t18 = r4 - r5;
+        final float t19 = i4 - i5;
+        final float t20 = r6 + r7;
+        final float t21 = i6 + i7;
+        final float t22 = r6 - r7;
+        final float t23 = i6 - i7;
+        final float t24 = t16 + t20;
+        final float t25 = t17 + t21;
+        final float t26 = t17 - t21;
+        final float t27 = t20 - t16;
+        final float t28 = t8 + t24;
+        final float t29 = t9 + t25;
+        final float t30 = t8 - t24;
+        final float t31 = t9 - t25;
+        final float t32 = t10 + t26;
+        final float t33 = t11 + t27;
+        final float t34 = t10 - t26;
+        final float t35 = t11 - t27;
+        final float t36 = 0.70710677f * ( t18 + t19 );
+        final float t37 = 0.70710677f * ( t19 - t18 );
+        final float t38 = 0.70710677f * ( t23 - t22 );
+        final float t39 = -0.70710677f * ( t22 + t23 );
+        final float t40 = t36 + t38;
+        final float t41 = t37 + t39;
+        final float t42 = t37 - t39;
+        final float t43 = t38 - t36;
+        final float t44 = t12 + t40;
+        final float t45 = t13 + t41;
+        final float t46 = t12 - t40;
+        final float t47 = t13 - t41;
+        final float t48 = t14 + t42;
+        final float t49 = t15 + t43;
+        final float t50 = t14 - t42;
+        final float t51 = t15 - t43;
+        if( scale == 1.0f ) {
+            x[off] = t28;
+            x[off + 1] = t29;
+            x[off + 2] = t44;
+            x[off + 3] = t45;
+            x[off + 4] = t32;
+            x[off + 5] = t33;
+            x[off + 6] = t48;
+            x[off + 7] = t49;
+            x[off + 8] = t30;
+            x[off + 9] = t31;
+            x[off + 10] = t46;
+            x[off + 11] = t47;
+            x[off + 12] = t34;
+            x[off + 13] = t35;
+            x[off + 14] = t50;
+            x[off + 15] = t51;
+        } else {
+            x[off] = t28 * scale;
+            x[off + 1] = t29 * scale;
+            x[off + 2] = t44 * scale;
+            x[off + 3] = t45 * scale;
+            x[off + 4] = t32 * scale;
+            x[off + 5] = t33 * scale;
+            x[off + 6] = t48 * scale;
+            x[off + 7] = t49 * scale;
+            x[off + 8] = t30 * scale;
+            x[off + 9] = t31 * scale;
+            x[off + 10] = t46 * scale;
+            x[off + 11] = t47 * scale;
+            x[off + 12] = t34 * scale;
+            x[off + 13] = t35 * scale;
+            x[off + 14] = t50 * scale;
+            x[off + 15] = t51 * scale;
+        }
+    }
+
+
+    static void inverse8( float[] x, int off, float scale ) {
+        final float r0 = x[off];
+        final float i0 = -x[off + 1];
+        final float r1 = x[off + 2];
+        final float i1 = -x[off + 3];
+        final float r2 = x[off + 4];
+        final float i2 = -x[off + 5];
+        final float r3 = x[off + 6];
+        final float i3 = -x[off + 7];
+        final float r4 = x[off + 8];
+        final float i4 = -x[off + 9];
+        final float r5 = x[off + 10];
+        final float i5 = -x[off + 11];
+        final float r6 = x[off + 12];
+        final float i6 = -x[off + 13];
+        final float r7 = x[off + 14];
+        final float i7 = -x[off + 15];
+        final float t0 = r0 + r1;
+        final float t1 = i0 + i1;
+        final float t2 = r0 - r1;
+        final float t3 = i0 - i1;
+        final float t4 = r2 + r3;
+        final float t5 = i2 + i3;
+        final float t6 = i2 - i3;
+        final float t7 = r3 - r2;
+        final float t8 = t0 + t4;
+        final float t9 = t1 + t5;
+        final float t10 = t0 - t4;
+        final float t11 = t1 - t5;
+        final float t12 = t2 + t6;
+        final float t13 = t3 + t7;
+        final float t14 = t2 - t6;
+        final float t15 = t3 - t7;
+        final float t16 = r4 + r5;
+        final float t17 = i4 + i5;
+        final float t18 = r4 - r5;
+        final float t19 = i4 - i5;
+        final float t20 = r6 + r7;
+        final float t21 = i6 + i7;
+        final float t22 = r6 - r7;
+        final float t23 = i6 - i7;
+        final float t24 = t16 + t20;
+        final float t25 = t17 + t21;
+        final float t26 = t17 - t21;
+        final float t27 = t20 - t16;
+        final float t28 = t8 + t24;
+        final float t29 = t9 + t25;
+        final float t30 = t8 - t24;
+        final float t31 = t9 - t25;
+        final float t32 = t10 + t26;
+        final float t33 = t11 + t27;
+        final float t34 = t10 - t26;
+        final float t35 = t11 - t27;
+        final float t36 = 0.70710677f * ( t18 + t19 );
+        final float t37 = 0.70710677f * ( t19 - t18 );
+        final float t38 = 0.70710677f * ( t23 - t22 );
+        final float t39 = -0.70710677f * ( t22 + t23 );
+        final float t40 = t36 + t38;
+        final float t41 = t37 + t39;
+        final float t42 = t37 - t39;
+        final float t43 = t38 - t36;
+        final float t44 = t12 + t40;
+        final float t45 = t13 + t41;
+        final float t46 = t12 - t40;
+        final float t47 = t13 - t41;
+        final float t48 = t14 + t42;
+        final float t49 = t15 + t43;
+        final float t50 = t14 - t42;
+        final float t51 = t15 - t43;
+        if( scale == 1.0f ) {
+            x[off] = t28;
+            x[off + 1] = -t29;
+            x[off + 2] = t44;
+            x[off + 3] = -t45;
+            x[off + 4] = t32;
+            x[off + 5] = -t33;
+            x[off + 6] = t48;
+            x[off + 7] = -t49;
+            x[off + 8] = t30;
+            x[off + 9] = -t31;
+            x[off + 10] = t46;
+            x[off + 11] = -t47;
+            x[off + 12] = t34;
+            x[off + 13] = -t35;
+            x[off + 14] = t50;
+            x[off + 15] = -t51;
+        } else {
+            final float iscale = -scale;
+            x[off] = t28 * scale;
+            x[off + 1] = t29 * iscale;
+            x[off + 2] = t44 * scale;
+            x[off + 3] = t45 * iscale;
+            x[off + 4] = t32 * scale;
+            x[off + 5] = t33 * iscale;
+            x[off + 6] = t48 * scale;
+            x[off + 7] = t49 * iscale;
+            x[off + 8] = t30 * scale;
+            x[off + 9] = t31 * iscale;
+            x[off + 10] = t46 * scale;
+            x[off + 11] = t47 * iscale;
+            x[off + 12] = t34 * scale;
+            x[off + 13] = t35 * iscale;
+            x[off + 14] = t50 * scale;
+            x[off + 15] = t51 * iscale;
+        }
+    }
+
+
+    static void forward16( float[] x, int off, float scale ) {
+        final float r0 = x[off];
+        final float i0 = x[off + 1];
+        final float r1 = x[off + 2];
+        final float i1 = x[off + 3];
+        final float r2 = x[off + 4];
+        final float i2 = x[off + 5];
+        final float r3 = x[off + 6];
+        final float i3 = x[off + 7];
+        final float r4 = x[off + 8];
+        final float i4 = x[off + 9];
+        final float r5 = x[off + 10];
+        final float i5 = x[off + 11];
+        final float r6 = x[off + 12];
+        final float i6 = x[off + 13];
+        final float r7 = x[off + 14];
+        final float i7 = x[off + 15];
+        final float r8 = x[off + 16];
+        final float i8 = x[off + 17];
+        final float r9 = x[off + 18];
+        final float i9 = x[off + 19];
+        final float r10 = x[off + 20];
+        final float i10 = x[off + 21];
+        final float r11 = x[off + 22];
+        final float i11 = x[off + 23];
+        final float r12 = x[off + 24];
+        final float i12 = x[off + 25];
+        final float r13 = x[off + 26];
+        final float i13 = x[off + 27];
+        final float r14 = x[off + 28];
+        final float i14 = x[off + 29];
+        final float r15 = x[off + 30];
+        final float i15 = x[off + 31];
+        final float t0 = r0 + r1;
+        final float t1 = i0 + i1;
+        final float t2 = r0 - r1;
+        final float t3 = i0 - i1;
+        final float t4 = r2 + r3;
+        final float t5 = i2 + i3;
+        final float t6 = i2 - i3;
+        final float t7 = r3 - r2;
+        final float t8 = t0 + t4;
+        final float t9 = t1 + t5;
+        final float t10 = t0 - t4;
+        final float t11 = t1 - t5;
+        final float t12 = t2 + t6;
+        final float t13 = t3 + t7;
+        final float t14 = t2 - t6;
+        final float t15 = t3 - t7;
+        final float t16 = r4 + r5;
+        final float t17 = i4 + i5;
+        final float t18 = r4 - r5;
+        final float t19 = i4 - i5;
+        final float t20 = r6 + r7;
+        final float t21 = i6 + i7;
+        final float t22 = r6 - r7;
+        final float t23 = i6 - i7;
+        final float t24 = t16 + t20;
+        final float t25 = t17 + t21;
+        final float t26 = t17 - t21;
+        final float t27 = t20 - t16;
+        final float t28 = t8 + t24;
+        final float t29 = t9 + t25;
+        final float t30 = t8 - t24;
+        final float t31 = t9 - t25;
+        final float t32 = t10 + t26;
+        final float t33 = t11 + t27;
+        final float t34 = t10 - t26;
+        final float t35 = t11 - t27;
+        final float t36 = 0.70710677f * ( t18 + t19 );
+        final float t37 = 0.70710677f * ( t19 - t18 );
+        final float t38 = 0.70710677f * ( t23 - t22 );
+        final float t39 = -0.70710677f * ( t22 + t23 );
+        final float t40 = t36 + t38;
+        final float t41 = t37 + t39;
+        final float t42 = t37 - t39;
+        final float t43 = t38 - t36;
+        final float t44 = t12 + t40;
+        final float t45 = t13 + t41;
+        final float t46 = t12 - t40;
+        final float t47 = t13 - t41;
+        final float t48 = t14 + t42;
+        final float t49 = t15 + t43;
+        final float t50 = t14 - t42;
+        final float t51 = t15 - t43;
+        final float t52 = r8 + r9;
+        final float t53 = i8 + i9;
+        final float t54 = r8 - r9;
+        final float t55 = i8 - i9;
+        final float t56 = r10 + r11;
+        final float t57 = i10 + i11;
+        final float t58 = i10 - i11;
+        final float t59 = r11 - r10;
+        final float t60 = t52 + t56;
+        final float t61 = t53 + t57;
+        final float t62 = t52 - t56;
+        final float t63 = t53 - t57;
+        final float t64 = t54 + t58;
+        final float t65 = t55 + t59;
+        final float t66 = t54 - t58;
+        final float t67 = t55 - t59;
+        final float t68 = r12 + r13;
+        final float t69 = i12 + i13;
+        final float t70 = r12 - r13;
+        final float t71 = i12 - i13;
+        final float t72 = r14 + r15;
+        final float t73 = i14 + i15;
+        final float t74 = i14 - i15;
+        final float t75 = r15 - r14;
+        final float t76 = t68 + t72;
+        final float t77 = t69 + t73;
+        final float t78 = t68 - t72;
+        final float t79 = t69 - t73;
+        final float t80 = t70 + t74;
+        final float t81 = t71 + t75;
+        final float t82 = t70 - t74;
+        final float t83 = t71 - t75;
+        final float t84 = t60 + t76;
+        final float t85 = t61 + t77;
+        final float t86 = t61 - t77;
+        final float t87 = t76 - t60;
+        final float t88 = t28 + t84;
+        final float t89 = t29 + t85;
+        final float t90 = t28 - t84;
+        final float t91 = t29 - t85;
+        final float t92 = t30 + t86;
+        final float t93 = t31 + t87;
+        final float t94 = t30 - t86;
+        final float t95 = t31 - t87;
+        final float t96 = 0.9238795f * t64 + 0.38268343f * t65;
+        final float t97 = 0.9238795f * t65 - 0.38268343f * t64;
+        final float t98 = 0.38268343f * t80 + 0.9238795f * t81;
+        final float t99 = 0.38268343f * t81 - 0.9238795f * t80;
+        final float t100 = t96 + t98;
+        final float t101 = t97 + t99;
+        final float t102 = t97 - t99;
+        final float t103 = t98 - t96;
+        final float t104 = t44 + t100;
+        final float t105 = t45 + t101;
+        final float t106 = t44 - t100;
+        final float t107 = t45 - t101;
+        final float t108 = t46 + t102;
+        final float t109 = t47 + t103;
+        final float t110 = t46 - t102;
+        final float t111 = t47 - t103;
+        final float t112 = 0.70710677f * ( t62 + t63 );
+        final float t113 = 0.70710677f * ( t63 - t62 );
+        final float t114 = 0.70710677f * ( t79 - t78 );
+        final float t115 = -0.70710677f * ( t78 + t79 );
+        final float t116 = t112 + t114;
+        final float t117 = t113 + t115;
+        final float t118 = t113 - t115;
+        final float t119 = t114 - t112;
+        final float t120 = t32 + t116;
+        final float t121 = t33 + t117;
+        final float t122 = t32 - t116;
+        final float t123 = t33 - t117;
+        final float t124 = t34 + t118;
+        final float t125 = t35 + t119;
+        final float t126 = t34 - t118;
+        final float t127 = t35 - t119;
+        final float t128 = 0.38268343f * t66 + 0.9238795f * t67;
+        final float t129 = 0.38268343f * t67 - 0.9238795f * t66;
+        final float t130 = -0.9238795f * t82 - 0.38268343f * t83;
+        final float t131 = -0.9238795f * t83 + 0.38268343f * t82;
+        final float t132 = t128 + t130;
+        final float t133 = t129 + t131;
+        final float t134 = t129 - t131;
+        final float t135 = t130 - t128;
+        final float t136 = t48 + t132;
+        final float t137 = t49 + t133;
+        final float t138 = t48 - t132;
+        final float t139 = t49 - t133;
+        final float t140 = t50 + t134;
+        final float t141 = t51 + t135;
+        final float t142 = t50 - t134;
+        final float t143 = t51 - t135;
+        if( scale == 1.0f ) {
+            x[off] = t88;
+            x[off + 1] = t89;
+            x[off + 2] = t104;
+            x[off + 3] = t105;
+            x[off + 4] = t120;
+            x[off + 5] = t121;
+            x[off + 6] = t136;
+            x[off + 7] = t137;
+            x[off + 8] = t92;
+            x[off + 9] = t93;
+            x[off + 10] = t108;
+            x[off + 11] = t109;
+            x[off + 12] = t124;
+            x[off + 13] = t125;
+            x[off + 14] = t140;
+            x[off + 15] = t141;
+            x[off + 16] = t90;
+            x[off + 17] = t91;
+            x[off + 18] = t106;
+            x[off + 19] = t107;
+            x[off + 20] = t122;
+            x[off + 21] = t123;
+            x[off + 22] = t138;
+            x[off + 23] = t139;
+            x[off + 24] = t94;
+            x[off + 25] = t95;
+            x[off + 26] = t110;
+            x[off + 27] = t111;
+            x[off + 28] = t126;
+            x[off + 29] = t127;
+            x[off + 30] = t142;
+            x[off + 31] = t143;
+        } else {
+            x[off] = t88 * scale;
+            x[off + 1] = t89 * scale;
+            x[off + 2] = t104 * scale;
+            x[off + 3] = t105 * scale;
+            x[off + 4] = t120 * scale;
+            x[off + 5] = t121 * scale;
+            x[off + 6] = t136 * scale;
+            x[off + 7] = t137 * scale;
+            x[off + 8] = t92 * scale;
+            x[off + 9] = t93 * scale;
+            x[off + 10] = t108 * scale;
+            x[off + 11] = t109 * scale;
+            x[off + 12] = t124 * scale;
+            x[off + 13] = t125 * scale;
+            x[off + 14] = t140 * scale;
+            x[off + 15] = t141 * scale;
+            x[off + 16] = t90 * scale;
+            x[off + 17] = t91 * scale;
+            x[off + 18] = t106 * scale;
+            x[off + 19] = t107 * scale;
+            x[off + 20] = t122 * scale;
+            x[off + 21] = t123 * scale;
+            x[off + 22] = t138 * scale;
+            x[off + 23] = t139 * scale;
+            x[off + 24] = t94 * scale;
+            x[off + 25] = t95 * scale;
+            x[off + 26] = t110 * scale;
+            x[off + 27] = t111 * scale;
+            x[off + 28] = t126 * scale;
+            x[off + 29] = t127 * scale;
+            x[off + 30] = t142 * scale;
+            x[off + 31] = t143 * scale;
+        }
+    }
+
+
+    static void inverse16( float[] x, int off, float scale ) {
+        final float r0 = x[off];
+        final float i0 = -x[off + 1];
+        final float r1 = x[off + 2];
+        final float i1 = -x[off + 3];
+        final float r2 = x[off + 4];
+        final float i2 = -x[off + 5];
+        final float r3 = x[off + 6];
+        final float i3 = -x[off + 7];
+        final float r4 = x[off + 8];
+        final float i4 = -x[off + 9];
+        final float r5 = x[off + 10];
+        final float i5 = -x[off + 11];
+        final float r6 = x[off + 12];
+        final float i6 = -x[off + 13];
+        final float r7 = x[off + 14];
+        final float i7 = -x[off + 15];
+        final float r8 = x[off + 16];
+        final float i8 = -x[off + 17];
+        final float r9 = x[off + 18];
+        final float i9 = -x[off + 19];
+        final float r10 = x[off + 20];
+        final float i10 = -x[off + 21];
+        final float r11 = x[off + 22];
+        final float i11 = -x[off + 23];
+        final float r12 = x[off + 24];
+        final float i12 = -x[off + 25];
+        final float r13 = x[off + 26];
+        final float i13 = -x[off + 27];
+        final float r14 = x[off + 28];
+        final float i14 = -x[off + 29];
+        final float r15 = x[off + 30];
+        final float i15 = -x[off + 31];
+        final float t0 = r0 + r1;
+        final float t1 = i0 + i1;
+        final float t2 = r0 - r1;
+        final float t3 = i0 - i1;
+        final float t4 = r2 + r3;
+        final float t5 = i2 + i3;
+        final float t6 = i2 - i3;
+        final float t7 = r3 - r2;
+        final float t8 = t0 + t4;
+        final float t9 = t1 + t5;
+        final float t10 = t0 - t4;
+        final float t11 = t1 - t5;
+        final float t12 = t2 + t6;
+        final float t13 = t3 + t7;
+        final float t14 = t2 - t6;
+        final float t15 = t3 - t7;
+        final float t16 = r4 + r5;
+        final float t17 = i4 + i5;
+        final float t18 = r4 - r5;
+        final float t19 = i4 - i5;
+        final float t20 = r6 + r7;
+        final float t21 = i6 + i7;
+        final float t22 = r6 - r7;
+        final float t23 = i6 - i7;
+        final float t24 = t16 + t20;
+        final float t25 = t17 + t21;
+        final float t26 = t17 - t21;
+        final float t27 = t20 - t16;
+        final float t28 = t8 + t24;
+        final float t29 = t9 + t25;
+        final float t30 = t8 - t24;
+        final float t31 = t9 - t25;
+        final float t32 = t10 + t26;
+        final float t33 = t11 + t27;
+        final float t34 = t10 - t26;
+        final float t35 = t11 - t27;
+        final float t36 = 0.70710677f * ( t18 + t19 );
+        final float t37 = 0.70710677f * ( t19 - t18 );
+        final float t38 = 0.70710677f * ( t23 - t22 );
+        final float t39 = -0.70710677f * ( t22 + t23 );
+        final float t40 = t36 + t38;
+        final float t41 = t37 + t39;
+        final float t42 = t37 - t39;
+        final float t43 = t38 - t36;
+        final float t44 = t12 + t40;
+        final float t45 = t13 + t41;
+        final float t46 = t12 - t40;
+        final float t47 = t13 - t41;
+        final float t48 = t14 + t42;
+        final float t49 = t15 + t43;
+        final float t50 = t14 - t42;
+        final float t51 = t15 - t43;
+        final float t52 = r8 + r9;
+        final float t53 = i8 + i9;
+        final float t54 = r8 - r9;
+        final float t55 = i8 - i9;
+        final float t56 = r10 + r11;
+        final float t57 = i10 + i11;
+        final float t58 = i10 - i11;
+        final float t59 = r11 - r10;
+        final float t60 = t52 + t56;
+        final float t61 = t53 + t57;
+        final float t62 = t52 - t56;
+        final float t63 = t53 - t57;
+        final float t64 = t54 + t58;
+        final float t65 = t55 + t59;
+        final float t66 = t54 - t58;
+        final float t67 = t55 - t59;
+        final float t68 = r12 + r13;
+        final float t69 = i12 + i13;
+        final float t70 = r12 - r13;
+        final float t71 = i12 - i13;
+        final float t72 = r14 + r15;
+        final float t73 = i14 + i15;
+        final float t74 = i14 - i15;
+        final float t75 = r15 - r14;
+        final float t76 = t68 + t72;
+        final float t77 = t69 + t73;
+        final float t78 = t68 - t72;
+        final float t79 = t69 - t73;
+        final float t80 = t70 + t74;
+        final float t81 = t71 + t75;
+        final float t82 = t70 - t74;
+        final float t83 = t71 - t75;
+        final float t84 = t60 + t76;
+        final float t85 = t61 + t77;
+        final float t86 = t61 - t77;
+        final float t87 = t76 - t60;
+        final float t88 = t28 + t84;
+        final float t89 = t29 + t85;
+        final float t90 = t28 - t84;
+        final float t91 = t29 - t85;
+        final float t92 = t30 + t86;
+        final float t93 = t31 + t87;
+        final float t94 = t30 - t86;
+        final float t95 = t31 - t87;
+        final float t96 = 0.9238795f * t64 + 0.38268343f * t65;
+        final float t97 = 0.9238795f * t65 - 0.38268343f * t64;
+        final float t98 = 0.38268343f * t80 + 0.9238795f * t81;
+        final float t99 = 0.38268343f * t81 - 0.9238795f * t80;
+        final float t100 = t96 + t98;
+        final float t101 = t97 + t99;
+        final float t102 = t97 - t99;
+        final float t103 = t98 - t96;
+        final float t104 = t44 + t100;
+        final float t105 = t45 + t101;
+        final float t106 = t44 - t100;
+        final float t107 = t45 - t101;
+        final float t108 = t46 + t102;
+        final float t109 = t47 + t103;
+        final float t110 = t46 - t102;
+        final float t111 = t47 - t103;
+        final float t112 = 0.70710677f * ( t62 + t63 );
+        final float t113 = 0.70710677f * ( t63 - t62 );
+        final float t114 = 0.70710677f * ( t79 - t78 );
+        final float t115 = -0.70710677f * ( t78 + t79 );
+        final float t116 = t112 + t114;
+        final float t117 = t113 + t115;
+        final float t118 = t113 - t115;
+        final float t119 = t114 - t112;
+        final float t120 = t32 + t116;
+        final float t121 = t33 + t117;
+        final float t122 = t32 - t116;
+        final float t123 = t33 - t117;
+        final float t124 = t34 + t118;
+        final float t125 = t35 + t119;
+        final float t126 = t34 - t118;
+        final float t127 = t35 - t119;
+        final float t128 = 0.38268343f * t66 + 0.9238795f * t67;
+        final float t129 = 0.38268343f * t67 - 0.9238795f * t66;
+        final float t130 = -0.9238795f * t82 - 0.38268343f * t83;
+        final float t131 = -0.9238795f * t83 + 0.38268343f * t82;
+        final float t132 = t128 + t130;
+        final float t133 = t129 + t131;
+        final float t134 = t129 - t131;
+        final float t135 = t130 - t128;
+        final float t136 = t48 + t132;
+        final float t137 = t49 + t133;
+        final float t138 = t48 - t132;
+        final float t139 = t49 - t133;
+        final float t140 = t50 + t134;
+        final float t141 = t51 + t135;
+        final float t142 = t50 - t134;
+        final float t143 = t51 - t135;
+        if( scale == 1.0f ) {
+            x[off] = t88;
+            x[off + 1] = -t89;
+            x[off + 2] = t104;
+            x[off + 3] = -t105;
+            x[off + 4] = t120;
+            x[off + 5] = -t121;
+            x[off + 6] = t136;
+            x[off + 7] = -t137;
+            x[off + 8] = t92;
+            x[off + 9] = -t93;
+            x[off + 10] = t108;
+            x[off + 11] = -t109;
+            x[off + 12] = t124;
+            x[off + 13] = -t125;
+            x[off + 14] = t140;
+            x[off + 15] = -t141;
+            x[off + 16] = t90;
+            x[off + 17] = -t91;
+            x[off + 18] = t106;
+            x[off + 19] = -t107;
+            x[off + 20] = t122;
+            x[off + 21] = -t123;
+            x[off + 22] = t138;
+            x[off + 23] = -t139;
+            x[off + 24] = t94;
+            x[off + 25] = -t95;
+            x[off + 26] = t110;
+            x[off + 27] = -t111;
+            x[off + 28] = t126;
+            x[off + 29] = -t127;
+            x[off + 30] = t142;
+            x[off + 31] = -t143;
+        } else {
+            final float iscale = -scale;
+            x[off] = t88 * scale;
+            x[off + 1] = t89 * iscale;
+            x[off + 2] = t104 * scale;
+            x[off + 3] = t105 * iscale;
+            x[off + 4] = t120 * scale;
+            x[off + 5] = t121 * iscale;
+            x[off + 6] = t136 * scale;
+            x[off + 7] = t137 * iscale;
+            x[off + 8] = t92 * scale;
+            x[off + 9] = t93 * iscale;
+            x[off + 10] = t108 * scale;
+            x[off + 11] = t109 * iscale;
+            x[off + 12] = t124 * scale;
+            x[off + 13] = t125 * iscale;
+            x[off + 14] = t140 * scale;
+            x[off + 15] = t141 * iscale;
+            x[off + 16] = t90 * scale;
+            x[off + 17] = t91 * iscale;
+            x[off + 18] = t106 * scale;
+            x[off + 19] = t107 * iscale;
+            x[off + 20] = t122 * scale;
+            x[off + 21] = t123 * iscale;
+            x[off + 22] = t138 * scale;
+            x[off + 23] = t139 * iscale;
+            x[off + 24] = t94 * scale;
+            x[off + 25] = t95 * iscale;
+            x[off + 26] = t110 * scale;
+            x[off + 27] = t111 * iscale;
+            x[off + 28] = t126 * scale;
+            x[off + 29] = t127 * iscale;
+            x[off + 30] = t142 * scale;
+            x[off + 31] = t143 * iscale;
+        }
+    }
+
+
+    static void forward32( float[] x, int off, float scale ) {
+        final float r0 = x[off];
+        final float i0 = x[off + 1];
+        final float r1 = x[off + 2];
+        final float i1 = x[off + 3];
+        final float r2 = x[off + 4];
+        final float i2 = x[off + 5];
+        final float r3 = x[off + 6];
+        final float i3 = x[off + 7];
+        final float r4 = x[off + 8];
+        final float i4 = x[off + 9];
+        final float r5 = x[off + 10];
+        final float i5 = x[off + 11];
+        final float r6 = x[off + 12];
+        final float i6 = x[off + 13];
+        final float r7 = x[off + 14];
+        final float i7 = x[off + 15];
+        final float r8 = x[off + 16];
+        final float i8 = x[off + 17];
+        final float r9 = x[off + 18];
+        final float i9 = x[off + 19];
+        final float r10 = x[off + 20];
+        final float i10 = x[off + 21];
+        final float r11 = x[off + 22];
+        final float i11 = x[off + 23];
+        final float r12 = x[off + 24];
+        final float i12 = x[off + 25];
+        final float r13 = x[off + 26];
+        final float i13 = x[off + 27];
+        final float r14 = x[off + 28];
+        final float i14 = x[off + 29];
+        final float r15 = x[off + 30];
+        final float i15 = x[off + 31];
+        final float r16 = x[off + 32];
+        final float i16 = x[off + 33];
+        final float r17 = x[off + 34];
+        final float i17 = x[off + 35];
+        final float r18 = x[off + 36];
+        final float i18 = x[off + 37];
+        final float r19 = x[off + 38];
+        final float i19 = x[off + 39];
+        final float r20 = x[off + 40];
+        final float i20 = x[off + 41];
+        final float r21 = x[off + 42];
+        final float i21 = x[off + 43];
+        final float r22 = x[off + 44];
+        final float i22 = x[off + 45];
+        final float r23 = x[off + 46];
+        final float i23 = x[off + 47];
+        final float r24 = x[off + 48];
+        final float i24 = x[off + 49];
+        final float r25 = x[off + 50];
+        final float i25 = x[off + 51];
+        final float r26 = x[off + 52];
+        final float i26 = x[off + 53];
+        final float r27 = x[off + 54];
+        final float i27 = x[off + 55];
+        final float r28 = x[off + 56];
+        final float i28 = x[off + 57];
+        final float r29 = x[off + 58];
+        final float i29 = x[off + 59];
+        final float r30 = x[off + 60];
+        final float i30 = x[off + 61];
+        final float r31 = x[off + 62];
+        final float i31 = x[off + 63];
+        final float t0 = r0 + r1;
+        final float t1 = i0 + i1;
+        final float t2 = r0 - r1;
+        final float t3 = i0 - i1;
+        final float t4 = r2 + r3;
+        final float t5 = i2 + i3;
+        final float t6 = i2 - i3;
+        final float t7 = r3 - r2;
+        final float t8 = t0 + t4;
+        final float t9 = t1 + t5;
+        final float t10 = t0 - t4;
+        final float t11 = t1 - t5;
+        final float t12 = t2 + t6;
+        final float t13 = t3 + t7;
+        final float t14 = t2 - t6;
+        final float t15 = t3 - t7;
+        final float t16 = r4 + r5;
+        final float t17 = i4 + i5;
+        final float t18 = r4 - r5;
+        final float t19 = i4 - i5;
+        final float t20 = r6 + r7;
+        final float t21 = i6 + i7;
+        final float t22 = r6 - r7;
+        final float t23 = i6 - i7;
+        final float t24 = t16 + t20;
+        final float t25 = t17 + t21;
+        final float t26 = t17 - t21;
+        final float t27 = t20 - t16;
+        final float t28 = t8 + t24;
+        final float t29 = t9 + t25;
+        final float t30 = t8 - t24;
+        final float t31 = t9 - t25;
+        final float t32 = t10 + t26;
+        final float t33 = t11 + t27;
+        final float t34 = t10 - t26;
+        final float t35 = t11 - t27;
+        final float t36 = 0.70710677f * ( t18 + t19 );
+        final float t37 = 0.70710677f * ( t19 - t18 );
+        final float t38 = 0.70710677f * ( t23 - t22 );
+        final float t39 = -0.70710677f * ( t22 + t23 );
+        final float t40 = t36 + t38;
+        final float t41 = t37 + t39;
+        final float t42 = t37 - t39;
+        final float t43 = t38 - t36;
+        final float t44 = t12 + t40;
+        final float t45 = t13 + t41;
+        final float t46 = t12 - t40;
+        final float t47 = t13 - t41;
+        final float t48 = t14 + t42;
+        final float t49 = t15 + t43;
+        final float t50 = t14 - t42;
+        final float t51 = t15 - t43;
+        final float t52 = r8 + r9;
+        final float t53 = i8 + i9;
+        final float t54 = r8 - r9;
+        final float t55 = i8 - i9;
+        final float t56 = r10 + r11;
+        final float t57 = i10 + i11;
+        final float t58 = i10 - i11;
+        final float t59 = r11 - r10;
+        final float t60 = t52 + t56;
+        final float t61 = t53 + t57;
+        final float t62 = t52 - t56;
+        final float t63 = t53 - t57;
+        final float t64 = t54 + t58;
+        final float t65 = t55 + t59;
+        final float t66 = t54 - t58;
+        final float t67 = t55 - t59;
+        final float t68 = r12 + r13;
+        final float t69 = i12 + i13;
+        final float t70 = r12 - r13;
+        final float t71 = i12 - i13;
+        final float t72 = r14 + r15;
+        final float t73 = i14 + i15;
+        final float t74 = i14 - i15;
+        final float t75 = r15 - r14;
+        final float t76 = t68 + t72;
+        final float t77 = t69 + t73;
+        final float t78 = t68 - t72;
+        final float t79 = t69 - t73;
+        final float t80 = t70 + t74;
+        final float t81 = t71 + t75;
+        final float t82 = t70 - t74;
+        final float t83 = t71 - t75;
+        final float t84 = t60 + t76;
+        final float t85 = t61 + t77;
+        final float t86 = t61 - t77;
+        final float t87 = t76 - t60;
+        final float t88 = t28 + t84;
+        final float t89 = t29 + t85;
+        final float t90 = t28 - t84;
+        final float t91 = t29 - t85;
+        final float t92 = t30 + t86;
+        final float t93 = t31 + t87;
+        final float t94 = t30 - t86;
+        final float t95 = t31 - t87;
+        final float t96 = 0.9238795f * t64 + 0.38268343f * t65;
+        final float t97 = 0.9238795f * t65 - 0.38268343f * t64;
+        final float t98 = 0.38268343f * t80 + 0.9238795f * t81;
+        final float t99 = 0.38268343f * t81 - 0.9238795f * t80;
+        final float t100 = t96 + t98;
+        final float t101 = t97 + t99;
+        final float t102 = t97 - t99;
+        final float t103 = t98 - t96;
+        final float t104 = t44 + t100;
+        final float t105 = t45 + t101;
+        final float t106 = t44 - t100;
+        final float t107 = t45 - t101;
+        final float t108 = t46 + t102;
+        final float t109 = t47 + t103;
+        final float t110 = t46 - t102;
+        final float t111 = t47 - t103;
+        final float t112 = 0.70710677f * ( t62 + t63 );
+        final float t113 = 0.70710677f * ( t63 - t62 );
+        final float t114 = 0.70710677f * ( t79 - t78 );
+        final float t115 = -0.70710677f * ( t78 + t79 );
+        final float t116 = t112 + t114;
+        final float t117 = t113 + t115;
+        final float t118 = t113 - t115;
+        final float t119 = t114 - t112;
+        final float t120 = t32 + t116;
+        final float t121 = t33 + t117;
+        final float t122 = t32 - t116;
+        final float t123 = t33 - t117;
+        final float t124 = t34 + t118;
+        final float t125 = t35 + t119;
+        final float t126 = t34 - t118;
+        final float t127 = t35 - t119;
+        final float t128 = 0.38268343f * t66 + 0.9238795f * t67;
+        final float t129 = 0.38268343f * t67 - 0.9238795f * t66;
+        final float t130 = -0.9238795f * t82 - 0.38268343f * t83;
+        final float t131 = -0.9238795f * t83 + 0.38268343f * t82;
+        final float t132 = t128 + t130;
+        final float t133 = t129 + t131;
+        final float t134 = t129 - t131;
+        final float t135 = t130 - t128;
+        final float t136 = t48 + t132;
+        final float t137 = t49 + t133;
+        final float t138 = t48 - t132;
+        final float t139 = t49 - t133;
+        final float t140 = t50 + t134;
+        final float t141 = t51 + t135;
+        final float t142 = t50 - t134;
+        final float t143 = t51 - t135;
+        final float t144 = r16 + r17;
+        final float t145 = i16 + i17;
+        final float t146 = r16 - r17;
+        final float t147 = i16 - i17;
+        final float t148 = r18 + r19;
+        final float t149 = i18 + i19;
+        final float t150 = i18 - i19;
+        final float t151 = r19 - r18;
+        final float t152 = t144 + t148;
+        final float t153 = t145 + t149;
+        final float t154 = t144 - t148;
+        final float t155 = t145 - t149;
+        final float t156 = t146 + t150;
+        final float t157 = t147 + t151;
+        final float t158 = t146 - t150;
+        final float t159 = t147 - t151;
+        final float t160 = r20 + r21;
+        final float t161 = i20 + i21;
+        final float t162 = r20 - r21;
+        final float t163 = i20 - i21;
+        final float t164 = r22 + r23;
+        final float t165 = i22 + i23;
+        final float t166 = r22 - r23;
+        final float t167 = i22 - i23;
+        final float t168 = t160 + t164;
+        final float t169 = t161 + t165;
+        final float t170 = t161 - t165;
+        final float t171 = t164 - t160;
+        final float t172 = t152 + t168;
+        final float t173 = t153 + t169;
+        final float t174 = t152 - t168;
+        final float t175 = t153 - t169;
+        final float t176 = t154 + t170;
+        final float t177 = t155 + t171;
+        final float t178 = t154 - t170;
+        final float t179 = t155 - t171;
+        final float t180 = 0.70710677f * ( t162 + t163 );
+        final float t181 = 0.70710677f * ( t163 - t162 );
+        final float t182 = 0.70710677f * ( t167 - t166 );
+        final float t183 = -0.70710677f * ( t166 + t167 );
+        final float t184 = t180 + t182;
+        final float t185 = t181 + t183;
+        final float t186 = t181 - t183;
+        final float t187 = t182 - t180;
+        final float t188 = t156 + t184;
+        final float t189 = t157 + t185;
+        final float t190 = t156 - t184;
+        final float t191 = t157 - t185;
+        final float t192 = t158 + t186;
+        final float t193 = t159 + t187;
+        final float t194 = t158 - t186;
+        final float t195 = t159 - t187;
+        final float t196 = r24 + r25;
+        final float t197 = i24 + i25;
+        final float t198 = r24 - r25;
+        final float t199 = i24 - i25;
+        final float t200 = r26 + r27;
+        final float t201 = i26 + i27;
+        final float t202 = i26 - i27;
+        final float t203 = r27 - r26;
+        final float t204 = t196 + t200;
+        final float t205 = t197 + t201;
+        final float t206 = t196 - t200;
+        final float t207 = t197 - t201;
+        final float t208 = t198 + t202;
+        final float t209 = t199 + t203;
+        final float t210 = t198 - t202;
+        final float t211 = t199 - t203;
+        final float t212 = r28 + r29;
+        final float t213 = i28 + i29;
+        final float t214 = r28 - r29;
+        final float t215 = i28 - i29;
+        final float t216 = r30 + r31;
+        final float t217 = i30 + i31;
+        final float t218 = r30 - r31;
+        final float t219 = i30 - i31;
+        final float t220 = t212 + t216;
+        final float t221 = t213 + t217;
+        final float t222 = t213 - t217;
+        final float t223 = t216 - t212;
+        final float t224 = t204 + t220;
+        final float t225 = t205 + t221;
+        final float t226 = t204 - t220;
+        final float t227 = t205 - t221;
+        final float t228 = t206 + t222;
+        final float t229 = t207 + t223;
+        final float t230 = t206 - t222;
+        final float t231 = t207 - t223;
+        final float t232 = 0.70710677f * ( t214 + t215 );
+        final float t233 = 0.70710677f * ( t215 - t214 );
+        final float t234 = 0.70710677f * ( t219 - t218 );
+        final float t235 = -0.70710677f * ( t218 + t219 );
+        final float t236 = t232 + t234;
+        final float t237 = t233 + t235;
+        final float t238 = t233 - t235;
+        final float t239 = t234 - t232;
+        final float t240 = t208 + t236;
+        final float t241 = t209 + t237;
+        final float t242 = t208 - t236;
+        final float t243 = t209 - t237;
+        final float t244 = t210 + t238;
+        final float t245 = t211 + t239;
+        final float t246 = t210 - t238;
+        final float t247 = t211 - t239;
+        final float t248 = t172 + t224;
+        final float t249 = t173 + t225;
+        final float t250 = t173 - t225;
+        final float t251 = t224 - t172;
+        final float t252 = t88 + t248;
+        final float t253 = t89 + t249;
+        final float t254 = t88 - t248;
+        final float t255 = t89 - t249;
+        final float t256 = t90 + t250;
+        final float t257 = t91 + t251;
+        final float t258 = t90 - t250;
+        final float t259 = t91 - t251;
+        final float t260 = 0.98078525f * t188 + 0.19509032f * t189;
+        final float t261 = 0.98078525f * t189 - 0.19509032f * t188;
+        final float t262 = 0.8314696f * t240 + 0.55557024f * t241;
+        final float t263 = 0.8314696f * t241 - 0.55557024f * t240;
+        final float t264 = t260 + t262;
+        final float t265 = t261 + t263;
+        final float t266 = t261 - t263;
+        final float t267 = t262 - t260;
+        final float t268 = t104 + t264;
+        final float t269 = t105 + t265;
+        final float t270 = t104 - t264;
+        final float t271 = t105 - t265;
+        final float t272 = t106 + t266;
+        final float t273 = t107 + t267;
+        final float t274 = t106 - t266;
+        final float t275 = t107 - t267;
+        final float t276 = 0.9238795f * t176 + 0.38268343f * t177;
+        final float t277 = 0.9238795f * t177 - 0.38268343f * t176;
+        final float t278 = 0.38268343f * t228 + 0.9238795f * t229;
+        final float t279 = 0.38268343f * t229 - 0.9238795f * t228;
+        final float t280 = t276 + t278;
+        final float t281 = t277 + t279;
+        final float t282 = t277 - t279;
+        final float t283 = t278 - t276;
+        final float t284 = t120 + t280;
+        final float t285 = t121 + t281;
+        final float t286 = t120 - t280;
+        final float t287 = t121 - t281;
+        final float t288 = t122 + t282;
+        final float t289 = t123 + t283;
+        final float t290 = t122 - t282;
+        final float t291 = t123 - t283;
+        final float t292 = 0.8314696f * t192 + 0.55557024f * t193;
+        final float t293 = 0.8314696f * t193 - 0.55557024f * t192;
+        final float t294 = -0.19509032f * t244 + 0.98078525f * t245;
+        final float t295 = -0.19509032f * t245 - 0.98078525f * t244;
+        final float t296 = t292 + t294;
+        final float t297 = t293 + t295;
+        final float t298 = t293 - t295;
+        final float t299 = t294 - t292;
+        final float t300 = t136 + t296;
+        final float t301 = t137 + t297;
+        final float t302 = t136 - t296;
+        final float t303 = t137 - t297;
+        final float t304 = t138 + t298;
+        final float t305 = t139 + t299;
+        final float t306 = t138 - t298;
+        final float t307 = t139 - t299;
+        final float t308 = 0.70710677f * ( t174 + t175 );
+        final float t309 = 0.70710677f * ( t175 - t174 );
+        final float t310 = 0.70710677f * ( t227 - t226 );
+        final float t311 = -0.70710677f * ( t226 + t227 );
+        final float t312 = t308 + t310;
+        final float t313 = t309 + t311;
+        final float t314 = t309 - t311;
+        final float t315 = t310 - t308;
+        final float t316 = t92 + t312;
+        final float t317 = t93 + t313;
+        final float t318 = t92 - t312;
+        final float t319 = t93 - t313;
+        final float t320 = t94 + t314;
+        final float t321 = t95 + t315;
+        final float t322 = t94 - t314;
+        final float t323 = t95 - t315;
+        final float t324 = 0.55557024f * t190 + 0.8314696f * t191;
+        final float t325 = 0.55557024f * t191 - 0.8314696f * t190;
+        final float t326 = -0.98078525f * t242 + 0.19509032f * t243;
+        final float t327 = -0.98078525f * t243 - 0.19509032f * t242;
+        final float t328 = t324 + t326;
+        final float t329 = t325 + t327;
+        final float t330 = t325 - t327;
+        final float t331 = t326 - t324;
+        final float t332 = t108 + t328;
+        final float t333 = t109 + t329;
+        final float t334 = t108 - t328;
+        final float t335 = t109 - t329;
+        final float t336 = t110 + t330;
+        final float t337 = t111 + t331;
+        final float t338 = t110 - t330;
+        final float t339 = t111 - t331;
+        final float t340 = 0.38268343f * t178 + 0.9238795f * t179;
+        final float t341 = 0.38268343f * t179 - 0.9238795f * t178;
+        final float t342 = -0.9238795f * t230 - 0.38268343f * t231;
+        final float t343 = -0.9238795f * t231 + 0.38268343f * t230;
+        final float t344 = t340 + t342;
+        final float t345 = t341 + t343;
+        final float t346 = t341 - t343;
+        final float t347 = t342 - t340;
+        final float t348 = t124 + t344;
+        final float t349 = t125 + t345;
+        final float t350 = t124 - t344;
+        final float t351 = t125 - t345;
+        final float t352 = t126 + t346;
+        final float t353 = t127 + t347;
+        final float t354 = t126 - t346;
+        final float t355 = t127 - t347;
+        final float t356 = 0.19509032f * t194 + 0.98078525f * t195;
+        final float t357 = 0.19509032f * t195 - 0.98078525f * t194;
+        final float t358 = -0.55557024f * t246 - 0.8314696f * t247;
+        final float t359 = -0.55557024f * t247 + 0.8314696f * t246;
+        final float t360 = t356 + t358;
+        final float t361 = t357 + t359;
+        final float t362 = t357 - t359;
+        final float t363 = t358 - t356;
+        final float t364 = t140 + t360;
+        final float t365 = t141 + t361;
+        final float t366 = t140 - t360;
+        final float t367 = t141 - t361;
+        final float t368 = t142 + t362;
+        final float t369 = t143 + t363;
+        final float t370 = t142 - t362;
+        final float t371 = t143 - t363;
+        if( scale == 1.0f ) {
+            x[off] = t252;
+            x[off + 1] = t253;
+            x[off + 2] = t268;
+            x[off + 3] = t269;
+            x[off + 4] = t284;
+            x[off + 5] = t285;
+            x[off + 6] = t300;
+            x[off + 7] = t301;
+            x[off + 8] = t316;
+            x[off + 9] = t317;
+            x[off + 10] = t332;
+            x[off + 11] = t333;
+            x[off + 12] = t348;
+            x[off + 13] = t349;
+            x[off + 14] = t364;
+            x[off + 15] = t365;
+            x[off + 16] = t256;
+            x[off + 17] = t257;
+            x[off + 18] = t272;
+            x[off + 19] = t273;
+            x[off + 20] = t288;
+            x[off + 21] = t289;
+            x[off + 22] = t304;
+            x[off + 23] = t305;
+            x[off + 24] = t320;
+            x[off + 25] = t321;
+            x[off + 26] = t336;
+            x[off + 27] = t337;
+            x[off + 28] = t352;
+            x[off + 29] = t353;
+            x[off + 30] = t368;
+            x[off + 31] = t369;
+            x[off + 32] = t254;
+            x[off + 33] = t255;
+            x[off + 34] = t270;
+            x[off + 35] = t271;
+            x[off + 36] = t286;
+            x[off + 37] = t287;
+            x[off + 38] = t302;
+            x[off + 39] = t303;
+            x[off + 40] = t318;
+            x[off + 41] = t319;
+            x[off + 42] = t334;
+            x[off + 43] = t335;
+            x[off + 44] = t350;
+            x[off + 45] = t351;
+            x[off + 46] = t366;
+            x[off + 47] = t367;
+            x[off + 48] = t258;
+            x[off + 49] = t259;
+            x[off + 50] = t274;
+            x[off + 51] = t275;
+            x[off + 52] = t290;
+            x[off + 53] = t291;
+            x[off + 54] = t306;
+            x[off + 55] = t307;
+            x[off + 56] = t322;
+            x[off + 57] = t323;
+            x[off + 58] = t338;
+            x[off + 59] = t339;
+            x[off + 60] = t354;
+            x[off + 61] = t355;
+            x[off + 62] = t370;
+            x[off + 63] = t371;
+        } else {
+            x[off] = t252 * scale;
+            x[off + 1] = t253 * scale;
+            x[off + 2] = t268 * scale;
+            x[off + 3] = t269 * scale;
+            x[off + 4] = t284 * scale;
+            x[off + 5] = t285 * scale;
+            x[off + 6] = t300 * scale;
+            x[off + 7] = t301 * scale;
+            x[off + 8] = t316 * scale;
+            x[off + 9] = t317 * scale;
+            x[off + 10] = t332 * scale;
+            x[off + 11] = t333 * scale;
+            x[off + 12] = t348 * scale;
+            x[off + 13] = t349 * scale;
+            x[off + 14] = t364 * scale;
+            x[off + 15] = t365 * scale;
+            x[off + 16] = t256 * scale;
+            x[off + 17] = t257 * scale;
+            x[off + 18] = t272 * scale;
+            x[off + 19] = t273 * scale;
+            x[off + 20] = t288 * scale;
+            x[off + 21] = t289 * scale;
+            x[off + 22] = t304 * scale;
+            x[off + 23] = t305 * scale;
+            x[off + 24] = t320 * scale;
+            x[off + 25] = t321 * scale;
+            x[off + 26] = t336 * scale;
+            x[off + 27] = t337 * scale;
+            x[off + 28] = t352 * scale;
+            x[off + 29] = t353 * scale;
+            x[off + 30] = t368 * scale;
+            x[off + 31] = t369 * scale;
+            x[off + 32] = t254 * scale;
+            x[off + 33] = t255 * scale;
+            x[off + 34] = t270 * scale;
+            x[off + 35] = t271 * scale;
+            x[off + 36] = t286 * scale;
+            x[off + 37] = t287 * scale;
+            x[off + 38] = t302 * scale;
+            x[off + 39] = t303 * scale;
+            x[off + 40] = t318 * scale;
+            x[off + 41] = t319 * scale;
+            x[off + 42] = t334 * scale;
+            x[off + 43] = t335 * scale;
+            x[off + 44] = t350 * scale;
+            x[off + 45] = t351 * scale;
+            x[off + 46] = t366 * scale;
+            x[off + 47] = t367 * scale;
+            x[off + 48] = t258 * scale;
+            x[off + 49] = t259 * scale;
+            x[off + 50] = t274 * scale;
+            x[off + 51] = t275 * scale;
+            x[off + 52] = t290 * scale;
+            x[off + 53] = t291 * scale;
+            x[off + 54] = t306 * scale;
+            x[off + 55] = t307 * scale;
+            x[off + 56] = t322 * scale;
+            x[off + 57] = t323 * scale;
+            x[off + 58] = t338 * scale;
+            x[off + 59] = t339 * scale;
+            x[off + 60] = t354 * scale;
+            x[off + 61] = t355 * scale;
+            x[off + 62] = t370 * scale;
+            x[off + 63] = t371 * scale;
+        }
+    }
+
+
+    static void inverse32( float[] x, int off, float scale ) {
+        final float r0 = x[off];
+        final float i0 = -x[off + 1];
+        final float r1 = x[off + 2];
+        final float i1 = -x[off + 3];
+        final float r2 = x[off + 4];
+        final float i2 = -x[off + 5];
+        final float r3 = x[off + 6];
+        final float i3 = -x[off + 7];
+        final float r4 = x[off + 8];
+        final float i4 = -x[off + 9];
+        final float r5 = x[off + 10];
+        final float i5 = -x[off + 11];
+        final float r6 = x[off + 12];
+        final float i6 = -x[off + 13];
+        final float r7 = x[off + 14];
+        final float i7 = -x[off + 15];
+        final float r8 = x[off + 16];
+        final float i8 = -x[off + 17];
+        final float r9 = x[off + 18];
+        final float i9 = -x[off + 19];
+        final float r10 = x[off + 20];
+        final float i10 = -x[off + 21];
+        final float r11 = x[off + 22];
+        final float i11 = -x[off + 23];
+        final float r12 = x[off + 24];
+        final float i12 = -x[off + 25];
+        final float r13 = x[off + 26];
+        final float i13 = -x[off + 27];
+        final float r14 = x[off + 28];
+        final float i14 = -x[off + 29];
+        final float r15 = x[off + 30];
+        final float i15 = -x[off + 31];
+        final float r16 = x[off + 32];
+        final float i16 = -x[off + 33];
+        final float r17 = x[off + 34];
+        final float i17 = -x[off + 35];
+        final float r18 = x[off + 36];
+        final float i18 = -x[off + 37];
+        final float r19 = x[off + 38];
+        final float i19 = -x[off + 39];
+        final float r20 = x[off + 40];
+        final float i20 = -x[off + 41];
+        final float r21 = x[off + 42];
+        final float i21 = -x[off + 43];
+        final float r22 = x[off + 44];
+        final float i22 = -x[off + 45];
+        final float r23 = x[off + 46];
+        final float i23 = -x[off + 47];
+        final float r24 = x[off + 48];
+        final float i24 = -x[off + 49];
+        final float r25 = x[off + 50];
+        final float i25 = -x[off + 51];
+        final float r26 = x[off + 52];
+        final float i26 = -x[off + 53];
+        final float r27 = x[off + 54];
+        final float i27 = -x[off + 55];
+        final float r28 = x[off + 56];
+        final float i28 = -x[off + 57];
+        final float r29 = x[off + 58];
+        final float i29 = -x[off + 59];
+        final float r30 = x[off + 60];
+        final float i30 = -x[off + 61];
+        final float r31 = x[off + 62];
+        final float i31 = -x[off + 63];
+        final float t0 = r0 + r1;
+        final float t1 = i0 + i1;
+        final float t2 = r0 - r1;
+        final float t3 = i0 - i1;
+        final float t4 = r2 + r3;
+        final float t5 = i2 + i3;
+        final float t6 = i2 - i3;
+        final float t7 = r3 - r2;
+        final float t8 = t0 + t4;
+        final float t9 = t1 + t5;
+        final float t10 = t0 - t4;
+        final float t11 = t1 - t5;
+        final float t12 = t2 + t6;
+        final float t13 = t3 + t7;
+        final float t14 = t2 - t6;
+        final float t15 = t3 - t7;
+        final float t16 = r4 + r5;
+        final float t17 = i4 + i5;
+        final float t18 = r4 - r5;
+        final float t19 = i4 - i5;
+        final float t20 = r6 + r7;
+        final float t21 = i6 + i7;
+        final float t22 = r6 - r7;
+        final float t23 = i6 - i7;
+        final float t24 = t16 + t20;
+        final float t25 = t17 + t21;
+        final float t26 = t17 - t21;
+        final float t27 = t20 - t16;
+        final float t28 = t8 + t24;
+        final float t29 = t9 + t25;
+        final float t30 = t8 - t24;
+        final float t31 = t9 - t25;
+        final float t32 = t10 + t26;
+        final float t33 = t11 + t27;
+        final float t34 = t10 - t26;
+        final float t35 = t11 - t27;
+        final float t36 = 0.70710677f * ( t18 + t19 );
+        final float t37 = 0.70710677f * ( t19 - t18 );
+        final float t38 = 0.70710677f * ( t23 - t22 );
+        final float t39 = -0.70710677f * ( t22 + t23 );
+        final float t40 = t36 + t38;
+        final float t41 = t37 + t39;
+        final float t42 = t37 - t39;
+        final float t43 = t38 - t36;
+        final float t44 = t12 + t40;
+        final float t45 = t13 + t41;
+        final float t46 = t12 - t40;
+        final float t47 = t13 - t41;
+        final float t48 = t14 + t42;
+        final float t49 = t15 + t43;
+        final float t50 = t14 - t42;
+        final float t51 = t15 - t43;
+        final float t52 = r8 + r9;
+        final float t53 = i8 + i9;
+        final float t54 = r8 - r9;
+        final float t55 = i8 - i9;
+        final float t56 = r10 + r11;
+        final float t57 = i10 + i11;
+        final float t58 = i10 - i11;
+        final float t59 = r11 - r10;
+        final float t60 = t52 + t56;
+        final float t61 = t53 + t57;
+        final float t62 = t52 - t56;
+        final float t63 = t53 - t57;
+        final float t64 = t54 + t58;
+        final float t65 = t55 + t59;
+        final float t66 = t54 - t58;
+        final float t67 = t55 - t59;
+        final float t68 = r12 + r13;
+        final float t69 = i12 + i13;
+        final float t70 = r12 - r13;
+        final float t71 = i12 - i13;
+        final float t72 = r14 + r15;
+        final float t73 = i14 + i15;
+        final float t74 = i14 - i15;
+        final float t75 = r15 - r14;
+        final float t76 = t68 + t72;
+        final float t77 = t69 + t73;
+        final float t78 = t68 - t72;
+        final float t79 = t69 - t73;
+        final float t80 = t70 + t74;
+        final float t81 = t71 + t75;
+        final float t82 = t70 - t74;
+        final float t83 = t71 - t75;
+        final float t84 = t60 + t76;
+        final float t85 = t61 + t77;
+        final float t86 = t61 - t77;
+        final float t87 = t76 - t60;
+        final float t88 = t28 + t84;
+        final float t89 = t29 + t85;
+        final float t90 = t28 - t84;
+        final float t91 = t29 - t85;
+        final float t92 = t30 + t86;
+        final float t93 = t31 + t87;
+        final float t94 = t30 - t86;
+        final float t95 = t31 - t87;
+        final float t96 = 0.9238795f * t64 + 0.38268343f * t65;
+        final float t97 = 0.9238795f * t65 - 0.38268343f * t64;
+        final float t98 = 0.38268343f * t80 + 0.9238795f * t81;
+        final float t99 = 0.38268343f * t81 - 0.9238795f * t80;
+        final float t100 = t96 + t98;
+        final float t101 = t97 + t99;
+        final float t102 = t97 - t99;
+        final float t103 = t98 - t96;
+        final float t104 = t44 + t100;
+        final float t105 = t45 + t101;
+        final float t106 = t44 - t100;
+        final float t107 = t45 - t101;
+        final float t108 = t46 + t102;
+        final float t109 = t47 + t103;
+        final float t110 = t46 - t102;
+        final float t111 = t47 - t103;
+        final float t112 = 0.70710677f * ( t62 + t63 );
+        final float t113 = 0.70710677f * ( t63 - t62 );
+        final float t114 = 0.70710677f * ( t79 - t78 );
+        final float t115 = -0.70710677f * ( t78 + t79 );
+        final float t116 = t112 + t114;
+        final float t117 = t113 + t115;
+        final float t118 = t113 - t115;
+        final float t119 = t114 - t112;
+        final float t120 = t32 + t116;
+        final float t121 = t33 + t117;
+        final float t122 = t32 - t116;
+        final float t123 = t33 - t117;
+        final float t124 = t34 + t118;
+        final float t125 = t35 + t119;
+        final float t126 = t34 - t118;
+        final float t127 = t35 - t119;
+        final float t128 = 0.38268343f * t66 + 0.9238795f * t67;
+        final float t129 = 0.38268343f * t67 - 0.9238795f * t66;
+        final float t130 = -0.9238795f * t82 - 0.38268343f * t83;
+        final float t131 = -0.9238795f * t83 + 0.38268343f * t82;
+        final float t132 = t128 + t130;
+        final float t133 = t129 + t131;
+        final float t134 = t129 - t131;
+        final float t135 = t130 - t128;
+        final float t136 = t48 + t132;
+        final float t137 = t49 + t133;
+        final float t138 = t48 - t132;
+        final float t139 = t49 - t133;
+        final float t140 = t50 + t134;
+        final float t141 = t51 + t135;
+        final float t142 = t50 - t134;
+        final float t143 = t51 - t135;
+        final float t144 = r16 + r17;
+        final float t145 = i16 + i17;
+        final float t146 = r16 - r17;
+        final float t147 = i16 - i17;
+        final float t148 = r18 + r19;
+        final float t149 = i18 + i19;
+        final float t150 = i18 - i19;
+        final float t151 = r19 - r18;
+        final float t152 = t144 + t148;
+        final float t153 = t145 + t149;
+        final float t154 = t144 - t148;
+        final float t155 = t145 - t149;
+        final float t156 = t146 + t150;
+        final float t157 = t147 + t151;
+        final float t158 = t146 - t150;
+        final float t159 = t147 - t151;
+        final float t160 = r20 + r21;
+        final float t161 = i20 + i21;
+        final float t162 = r20 - r21;
+        final float t163 = i20 - i21;
+        final float t164 = r22 + r23;
+        final float t165 = i22 + i23;
+        final float t166 = r22 - r23;
+        final float t167 = i22 - i23;
+        final float t168 = t160 + t164;
+        final float t169 = t161 + t165;
+        final float t170 = t161 - t165;
+        final float t171 = t164 - t160;
+        final float t172 = t152 + t168;
+        final float t173 = t153 + t169;
+        final float t174 = t152 - t168;
+        final float t175 = t153 - t169;
+        final float t176 = t154 + t170;
+        final float t177 = t155 + t171;
+        final float t178 = t154 - t170;
+        final float t179 = t155 - t171;
+        final float t180 = 0.70710677f * ( t162 + t163 );
+        final float t181 = 0.70710677f * ( t163 - t162 );
+        final float t182 = 0.70710677f * ( t167 - t166 );
+        final float t183 = -0.70710677f * ( t166 + t167 );
+        final float t184 = t180 + t182;
+        final float t185 = t181 + t183;
+        final float t186 = t181 - t183;
+        final float t187 = t182 - t180;
+        final float t188 = t156 + t184;
+        final float t189 = t157 + t185;
+        final float t190 = t156 - t184;
+        final float t191 = t157 - t185;
+        final float t192 = t158 + t186;
+        final float t193 = t159 + t187;
+        final float t194 = t158 - t186;
+        final float t195 = t159 - t187;
+        final float t196 = r24 + r25;
+        final float t197 = i24 + i25;
+        final float t198 = r24 - r25;
+        final float t199 = i24 - i25;
+        final float t200 = r26 + r27;
+        final float t201 = i26 + i27;
+        final float t202 = i26 - i27;
+        final float t203 = r27 - r26;
+        final float t204 = t196 + t200;
+        final float t205 = t197 + t201;
+        final float t206 = t196 - t200;
+        final float t207 = t197 - t201;
+        final float t208 = t198 + t202;
+        final float t209 = t199 + t203;
+        final float t210 = t198 - t202;
+        final float t211 = t199 - t203;
+        final float t212 = r28 + r29;
+        final float t213 = i28 + i29;
+        final float t214 = r28 - r29;
+        final float t215 = i28 - i29;
+        final float t216 = r30 + r31;
+        final float t217 = i30 + i31;
+        final float t218 = r30 - r31;
+        final float t219 = i30 - i31;
+        final float t220 = t212 + t216;
+        final float t221 = t213 + t217;
+        final float t222 = t213 - t217;
+        final float t223 = t216 - t212;
+        final float t224 = t204 + t220;
+        final float t225 = t205 + t221;
+        final float t226 = t204 - t220;
+        final float t227 = t205 - t221;
+        final float t228 = t206 + t222;
+        final float t229 = t207 + t223;
+        final float t230 = t206 - t222;
+        final float t231 = t207 - t223;
+        final float t232 = 0.70710677f * ( t214 + t215 );
+        final float t233 = 0.70710677f * ( t215 - t214 );
+        final float t234 = 0.70710677f * ( t219 - t218 );
+        final float t235 = -0.70710677f * ( t218 + t219 );
+        final float t236 = t232 + t234;
+        final float t237 = t233 + t235;
+        final float t238 = t233 - t235;
+        final float t239 = t234 - t232;
+        final float t240 = t208 + t236;
+        final float t241 = t209 + t237;
+        final float t242 = t208 - t236;
+        final float t243 = t209 - t237;
+        final float t244 = t210 + t238;
+        final float t245 = t211 + t239;
+        final float t246 = t210 - t238;
+        final float t247 = t211 - t239;
+        final float t248 = t172 + t224;
+        final float t249 = t173 + t225;
+        final float t250 = t173 - t225;
+        final float t251 = t224 - t172;
+        final float t252 = t88 + t248;
+        final float t253 = t89 + t249;
+        final float t254 = t88 - t248;
+        final float t255 = t89 - t249;
+        final float t256 = t90 + t250;
+        final float t257 = t91 + t251;
+        final float t258 = t90 - t250;
+        final float t259 = t91 - t251;
+        final float t260 = 0.98078525f * t188 + 0.19509032f * t189;
+        final float t261 = 0.98078525f * t189 - 0.19509032f * t188;
+        final float t262 = 0.8314696f * t240 + 0.55557024f * t241;
+        final float t263 = 0.8314696f * t241 - 0.55557024f * t240;
+        final float t264 = t260 + t262;
+        final float t265 = t261 + t263;
+        final float t266 = t261 - t263;
+        final float t267 = t262 - t260;
+        final float t268 = t104 + t264;
+        final float t269 = t105 + t265;
+        final float t270 = t104 - t264;
+        final float t271 = t105 - t265;
+        final float t272 = t106 + t266;
+        final float t273 = t107 + t267;
+        final float t274 = t106 - t266;
+        final float t275 = t107 - t267;
+        final float t276 = 0.9238795f * t176 + 0.38268343f * t177;
+        final float t277 = 0.9238795f * t177 - 0.38268343f * t176;
+        final float t278 = 0.38268343f * t228 + 0.9238795f * t229;
+        final float t279 = 0.38268343f * t229 - 0.9238795f * t228;
+        final float t280 = t276 + t278;
+        final float t281 = t277 + t279;
+        final float t282 = t277 - t279;
+        final float t283 = t278 - t276;
+        final float t284 = t120 + t280;
+        final float t285 = t121 + t281;
+        final float t286 = t120 - t280;
+        final float t287 = t121 - t281;
+        final float t288 = t122 + t282;
+        final float t289 = t123 + t283;
+        final float t290 = t122 - t282;
+        final float t291 = t123 - t283;
+        final float t292 = 0.8314696f * t192 + 0.55557024f * t193;
+        final float t293 = 0.8314696f * t193 - 0.55557024f * t192;
+        final float t294 = -0.19509032f * t244 + 0.98078525f * t245;
+        final float t295 = -0.19509032f * t245 - 0.98078525f * t244;
+        final float t296 = t292 + t294;
+        final float t297 = t293 + t295;
+        final float t298 = t293 - t295;
+        final float t299 = t294 - t292;
+        final float t300 = t136 + t296;
+        final float t301 = t137 + t297;
+        final float t302 = t136 - t296;
+        final float t303 = t137 - t297;
+        final float t304 = t138 + t298;
+        final float t305 = t139 + t299;
+        final float t306 = t138 - t298;
+        final float t307 = t139 - t299;
+        final float t308 = 0.70710677f * ( t174 + t175 );
+        final float t309 = 0.70710677f * ( t175 - t174 );
+        final float t310 = 0.70710677f * ( t227 - t226 );
+        final float t311 = -0.70710677f * ( t226 + t227 );
+        final float t312 = t308 + t310;
+        final float t313 = t309 + t311;
+        final float t314 = t309 - t311;
+        final float t315 = t310 - t308;
+        final float t316 = t92 + t312;
+        final float t317 = t93 + t313;
+        final float t318 = t92 - t312;
+        final float t319 = t93 - t313;
+        final float t320 = t94 + t314;
+        final float t321 = t95 + t315;
+        final float t322 = t94 - t314;
+        final float t323 = t95 - t315;
+        final float t324 = 0.55557024f * t190 + 0.8314696f * t191;
+        final float t325 = 0.55557024f * t191 - 0.8314696f * t190;
+        final float t326 = -0.98078525f * t242 + 0.19509032f * t243;
+        final float t327 = -0.98078525f * t243 - 0.19509032f * t242;
+        final float t328 = t324 + t326;
+        final float t329 = t325 + t327;
+        final float t330 = t325 - t327;
+        final float t331 = t326 - t324;
+        final float t332 = t108 + t328;
+        final float t333 = t109 + t329;
+        final float t334 = t108 - t328;
+        final float t335 = t109 - t329;
+        final float t336 = t110 + t330;
+        final float t337 = t111 + t331;
+        final float t338 = t110 - t330;
+        final float t339 = t111 - t331;
+        final float t340 = 0.38268343f * t178 + 0.9238795f * t179;
+        final float t341 = 0.38268343f * t179 - 0.9238795f * t178;
+        final float t342 = -0.9238795f * t230 - 0.38268343f * t231;
+        final float t343 = -0.9238795f * t231 + 0.38268343f * t230;
+        final float t344 = t340 + t342;
+        final float t345 = t341 + t343;
+        final float t346 = t341 - t343;
+        final float t347 = t342 - t340;
+        final float t348 = t124 + t344;
+        final float t349 = t125 + t345;
+        final float t350 = t124 - t344;
+        final float t351 = t125 - t345;
+        final float t352 = t126 + t346;
+        final float t353 = t127 + t347;
+        final float t354 = t126 - t346;
+        final float t355 = t127 - t347;
+        final float t356 = 0.19509032f * t194 + 0.98078525f * t195;
+        final float t357 = 0.19509032f * t195 - 0.98078525f * t194;
+        final float t358 = -0.55557024f * t246 - 0.8314696f * t247;
+        final float t359 = -0.55557024f * t247 + 0.8314696f * t246;
+        final float t360 = t356 + t358;
+        final float t361 = t357 + t359;
+        final float t362 = t357 - t359;
+        final float t363 = t358 - t356;
+        final float t364 = t140 + t360;
+        final float t365 = t141 + t361;
+        final float t366 = t140 - t360;
+        final float t367 = t141 - t361;
+        final float t368 = t142 + t362;
+        final float t369 = t143 + t363;
+        final float t370 = t142 - t362;
+        final float t371 = t143 - t363;
+        if( scale == 1.0f ) {
+            x[off] = t252;
+            x[off + 1] = -t253;
+            x[off + 2] = t268;
+            x[off + 3] = -t269;
+            x[off + 4] = t284;
+            x[off + 5] = -t285;
+            x[off + 6] = t300;
+            x[off + 7] = -t301;
+            x[off + 8] = t316;
+            x[off + 9] = -t317;
+            x[off + 10] = t332;
+            x[off + 11] = -t333;
+            x[off + 12] = t348;
+            x[off + 13] = -t349;
+            x[off + 14] = t364;
+            x[off + 15] = -t365;
+            x[off + 16] = t256;
+            x[off + 17] = -t257;
+            x[off + 18] = t272;
+            x[off + 19] = -t273;
+            x[off + 20] = t288;
+            x[off + 21] = -t289;
+            x[off + 22] = t304;
+            x[off + 23] = -t305;
+            x[off + 24] = t320;
+            x[off + 25] = -t321;
+            x[off + 26] = t336;
+            x[off + 27] = -t337;
+            x[off + 28] = t352;
+            x[off + 29] = -t353;
+            x[off + 30] = t368;
+            x[off + 31] = -t369;
+            x[off + 32] = t254;
+            x[off + 33] = -t255;
+            x[off + 34] = t270;
+            x[off + 35] = -t271;
+            x[off + 36] = t286;
+            x[off + 37] = -t287;
+            x[off + 38] = t302;
+            x[off + 39] = -t303;
+            x[off + 40] = t318;
+            x[off + 41] = -t319;
+            x[off + 42] = t334;
+            x[off + 43] = -t335;
+            x[off + 44] = t350;
+            x[off + 45] = -t351;
+            x[off + 46] = t366;
+            x[off + 47] = -t367;
+            x[off + 48] = t258;
+            x[off + 49] = -t259;
+            x[off + 50] = t274;
+            x[off + 51] = -t275;
+            x[off + 52] = t290;
+            x[off + 53] = -t291;
+            x[off + 54] = t306;
+            x[off + 55] = -t307;
+            x[off + 56] = t322;
+            x[off + 57] = -t323;
+            x[off + 58] = t338;
+            x[off + 59] = -t339;
+            x[off + 60] = t354;
+            x[off + 61] = -t355;
+            x[off + 62] = t370;
+            x[off + 63] = -t371;
+        } else {
+            final float iscale = -scale;
+            x[off] = t252 * scale;
+            x[off + 1] = t253 * iscale;
+            x[off + 2] = t268 * scale;
+            x[off + 3] = t269 * iscale;
+            x[off + 4] = t284 * scale;
+            x[off + 5] = t285 * iscale;
+            x[off + 6] = t300 * scale;
+            x[off + 7] = t301 * iscale;
+            x[off + 8] = t316 * scale;
+            x[off + 9] = t317 * iscale;
+            x[off + 10] = t332 * scale;
+            x[off + 11] = t333 * iscale;
+            x[off + 12] = t348 * scale;
+            x[off + 13] = t349 * iscale;
+            x[off + 14] = t364 * scale;
+            x[off + 15] = t365 * iscale;
+            x[off + 16] = t256 * scale;
+            x[off + 17] = t257 * iscale;
+            x[off + 18] = t272 * scale;
+            x[off + 19] = t273 * iscale;
+            x[off + 20] = t288 * scale;
+            x[off + 21] = t289 * iscale;
+            x[off + 22] = t304 * scale;
+            x[off + 23] = t305 * iscale;
+            x[off + 24] = t320 * scale;
+            x[off + 25] = t321 * iscale;
+            x[off + 26] = t336 * scale;
+            x[off + 27] = t337 * iscale;
+            x[off + 28] = t352 * scale;
+            x[off + 29] = t353 * iscale;
+            x[off + 30] = t368 * scale;
+            x[off + 31] = t369 * iscale;
+            x[off + 32] = t254 * scale;
+            x[off + 33] = t255 * iscale;
+            x[off + 34] = t270 * scale;
+            x[off + 35] = t271 * iscale;
+            x[off + 36] = t286 * scale;
+            x[off + 37] = t287 * iscale;
+            x[off + 38] = t302 * scale;
+            x[off + 39] = t303 * iscale;
+            x[off + 40] = t318 * scale;
+            x[off + 41] = t319 * iscale;
+            x[off + 42] = t334 * scale;
+            x[off + 43] = t335 * iscale;
+            x[off + 44] = t350 * scale;
+            x[off + 45] = t351 * iscale;
+            x[off + 46] = t366 * scale;
+            x[off + 47] = t367 * iscale;
+            x[off + 48] = t258 * scale;
+            x[off + 49] = t259 * iscale;
+            x[off + 50] = t274 * scale;
+            x[off + 51] = t275 * iscale;
+            x[off + 52] = t290 * scale;
+            x[off + 53] = t291 * iscale;
+            x[off + 54] = t306 * scale;
+            x[off + 55] = t307 * iscale;
+            x[off + 56] = t322 * scale;
+            x[off + 57] = t323 * iscale;
+            x[off + 58] = t338 * scale;
+            x[off + 59] = t339 * iscale;
+            x[off + 60] = t354 * scale;
+            x[off + 61] = t355 * iscale;
+            x[off + 62] = t370 * scale;
+            x[off + 63] = t371 * iscale;
+        }
+    }
+
+
+    static void forward64( float[] x, int off, float scale ) {
+        forward32( x, off, 1.0f );
+        forward16( x, off + 64, 1.0f );
+        forward16( x, off + 96, 1.0f );
+        final float t0 = x[off];
+        final float t1 = x[off + 1];
+        final float t2 = x[off + 32];
+        final float t3 = x[off + 33];
+        final float t4 = x[off + 64];
+        final float t5 = x[off + 65];
+        final float t6 = x[off + 96];
+        final float t7 = x[off + 97];
+        final float t8 = t4 + t6;
+        final float t9 = t5 + t7;
+        final float t10 = t5 - t7;
+        final float t11 = t6 - t4;
+        final float t12 = t0 + t8;
+        final float t13 = t1 + t9;
+        final float t14 = t0 - t8;
+        final float t15 = t1 - t9;
+        final float t16 = t2 + t10;
+        final float t17 = t3 + t11;
+        final float t18 = t2 - t10;
+        final float t19 = t3 - t11;
+        x[off] = t12;
+        x[off + 1] = t13;
+        x[off + 32] = t16;
+        x[off + 33] = t17;
+        x[off + 64] = t14;
+        x[off + 65] = t15;
+        x[off + 96] = t18;
+        x[off + 97] = t19;
+        final float t20 = x[off + 2];
+        final float t21 = x[off + 3];
+        final float t22 = x[off + 34];
+        final float t23 = x[off + 35];
+        final float t24 = x[off + 66];
+        final float t25 = x[off + 67];
+        final float t26 = x[off + 98];
+        final float t27 = x[off + 99];
+        final float t28 = 0.9951847f * t24 + 0.09801714f * t25;
+        final float t29 = 0.9951847f * t25 - 0.09801714f * t24;
+        final float t30 = 0.95694035f * t26 + 0.29028466f * t27;
+        final float t31 = 0.95694035f * t27 - 0.29028466f * t26;
+        final float t32 = t28 + t30;
+        final float t33 = t29 + t31;
+        final float t34 = t29 - t31;
+        final float t35 = t30 - t28;
+        final float t36 = t20 + t32;
+        final float t37 = t21 + t33;
+        final float t38 = t20 - t32;
+        final float t39 = t21 - t33;
+        final float t40 = t22 + t34;
+        final float t41 = t23 + t35;
+        final float t42 = t22 - t34;
+        final float t43 = t23 - t35;
+        x[off + 2] = t36;
+        x[off + 3] = t37;
+        x[off + 34] = t40;
+        x[off + 35] = t41;
+        x[off + 66] = t38;
+        x[off + 67] = t39;
+        x[off + 98] = t42;
+        x[off + 99] = t43;
+        final float t44 = x[off + 4];
+        final float t45 = x[off + 5];
+        final float t46 = x[off + 36];
+        final float t47 = x[off + 37];
+        final float t48 = x[off + 68];
+        final float t49 = x[off + 69];
+        final float t50 = x[off + 100];
+        final float t51 = x[off + 101];
+        final float t52 = 0.98078525f * t48 + 0.19509032f * t49;
+        final float t53 = 0.98078525f * t49 - 0.19509032f * t48;
+        final float t54 = 0.8314696f * t50 + 0.55557024f * t51;
+        final float t55 = 0.8314696f * t51 - 0.55557024f * t50;
+        final float t56 = t52 + t54;
+        final float t57 = t53 + t55;
+        final float t58 = t53 - t55;
+        final float t59 = t54 - t52;
+        final float t60 = t44 + t56;
+        final float t61 = t45 + t57;
+        final float t62 = t44 - t56;
+        final float t63 = t45 - t57;
+        final float t64 = t46 + t58;
+        final float t65 = t47 + t59;
+        final float t66 = t46 - t58;
+        final float t67 = t47 - t59;
+        x[off + 4] = t60;
+        x[off + 5] = t61;
+        x[off + 36] = t64;
+        x[off + 37] = t65;
+        x[off + 68] = t62;
+        x[off + 69] = t63;
+        x[off + 100] = t66;
+        x[off + 101] = t67;
+        final float t68 = x[off + 6];
+        final float t69 = x[off + 7];
+        final float t70 = x[off + 38];
+        final float t71 = x[off + 39];
+        final float t72 = x[off + 70];
+        final float t73 = x[off + 71];
+        final float t74 = x[off + 102];
+        final float t75 = x[off + 103];
+        final float t76 = 0.95694035f * t72 + 0.29028466f * t73;
+        final float t77 = 0.95694035f * t73 - 0.29028466f * t72;
+        final float t78 = 0.6343933f * t74 + 0.77301043f * t75;
+        final float t79 = 0.6343933f * t75 - 0.77301043f * t74;
+        final float t80 = t76 + t78;
+        final float t81 = t77 + t79;
+        final float t82 = t77 - t79;
+        final float t83 = t78 - t76;
+        final float t84 = t68 + t80;
+        final float t85 = t69 + t81;
+        final float t86 = t68 - t80;
+        final float t87 = t69 - t81;
+        final float t88 = t70 + t82;
+        final float t89 = t71 + t83;
+        final float t90 = t70 - t82;
+        final float t91 = t71 - t83;
+        x[off + 6] = t84;
+        x[off + 7] = t85;
+        x[off + 38] = t88;
+        x[off + 39] = t89;
+        x[off + 70] = t86;
+        x[off + 71] = t87;
+        x[off + 102] = t90;
+        x[off + 103] = t91;
+        final float t92 = x[off + 8];
+        final float t93 = x[off + 9];
+        final float t94 = x[off + 40];
+        final float t95 = x[off + 41];
+        final float t96 = x[off + 72];
+        final float t97 = x[off + 73];
+        final float t98 = x[off + 104];
+        final float t99 = x[off + 105];
+        final float t100 = 0.9238795f * t96 + 0.38268343f * t97;
+        final float t101 = 0.9238795f * t97 - 0.38268343f * t96;
+        final float t102 = 0.38268343f * t98 + 0.9238795f * t99;
+        final float t103 = 0.38268343f * t99 - 0.9238795f * t98;
+        final float t104 = t100 + t102;
+        final float t105 = t101 + t103;
+        final float t106 = t101 - t103;
+        final float t107 = t102 - t100;
+        final float t108 = t92 + t104;
+        final float t109 = t93 + t105;
+        final float t110 = t92 - t104;
+        final float t111 = t93 - t105;
+        final float t112 = t94 + t106;
+        final float t113 = t95 + t107;
+        final float t114 = t94 - t106;
+        final float t115 = t95 - t107;
+        x[off + 8] = t108;
+        x[off + 9] = t109;
+        x[off + 40] = t112;
+        x[off + 41] = t113;
+        x[off + 72] = t110;
+        x[off + 73] = t111;
+        x[off + 104] = t114;
+        x[off + 105] = t115;
+        final float t116 = x[off + 10];
+        final float t117 = x[off + 11];
+        final float t118 = x[off + 42];
+        final float t119 = x[off + 43];
+        final float t120 = x[off + 74];
+        final float t121 = x[off + 75];
+        final float t122 = x[off + 106];
+        final float t123 = x[off + 107];
+        final float t124 = 0.8819213f * t120 + 0.47139674f * t121;
+        final float t125 = 0.8819213f * t121 - 0.47139674f * t120;
+        final float t126 = 0.09801714f * t122 + 0.9951847f * t123;
+        final float t127 = 0.09801714f * t123 - 0.9951847f * t122;
+        final float t128 = t124 + t126;
+        final float t129 = t125 + t127;
+        final float t130 = t125 - t127;
+        final float t131 = t126 - t124;
+        final float t132 = t116 + t128;
+        final float t133 = t117 + t129;
+        final float t134 = t116 - t128;
+        final float t135 = t117 - t129;
+        final float t136 = t118 + t130;
+        final float t137 = t119 + t131;
+        final float t138 = t118 - t130;
+        final float t139 = t119 - t131;
+        x[off + 10] = t132;
+        x[off + 11] = t133;
+        x[off + 42] = t136;
+        x[off + 43] = t137;
+        x[off + 74] = t134;
+        x[off + 75] = t135;
+        x[off + 106] = t138;
+        x[off + 107] = t139;
+        final float t140 = x[off + 12];
+        final float t141 = x[off + 13];
+        final float t142 = x[off + 44];
+        final float t143 = x[off + 45];
+        final float t144 = x[off + 76];
+        final float t145 = x[off + 77];
+        final float t146 = x[off + 108];
+        final float t147 = x[off + 109];
+        final float t148 = 0.8314696f * t144 + 0.55557024f * t145;
+        final float t149 = 0.8314696f * t145 - 0.55557024f * t144;
+        final float t150 = -0.19509032f * t146 + 0.98078525f * t147;
+        final float t151 = -0.19509032f * t147 - 0.98078525f * t146;
+        final float t152 = t148 + t150;
+        final float t153 = t149 + t151;
+        final float t154 = t149 - t151;
+        final float t155 = t150 - t148;
+        final float t156 = t140 + t152;
+        final float t157 = t141 + t153;
+        final float t158 = t140 - t152;
+        final float t159 = t141 - t153;
+        final float t160 = t142 + t154;
+        final float t161 = t143 + t155;
+        final float t162 = t142 - t154;
+        final float t163 = t143 - t155;
+        x[off + 12] = t156;
+        x[off + 13] = t157;
+        x[off + 44] = t160;
+        x[off + 45] = t161;
+        x[off + 76] = t158;
+        x[off + 77] = t159;
+        x[off + 108] = t162;
+        x[off + 109] = t163;
+        final float t164 = x[off + 14];
+        final float t165 = x[off + 15];
+        final float t166 = x[off + 46];
+        final float t167 = x[off + 47];
+        final float t168 = x[off + 78];
+        final float t169 = x[off + 79];
+        final float t170 = x[off + 110];
+        final float t171 = x[off + 111];
+        final float t172 = 0.77301043f * t168 + 0.6343933f * t169;
+        final float t173 = 0.77301043f * t169 - 0.6343933f * t168;
+        final float t174 = -0.47139674f * t170 + 0.8819213f * t171;
+        final float t175 = -0.47139674f * t171 - 0.8819213f * t170;
+        final float t176 = t172 + t174;
+        final float t177 = t173 + t175;
+        final float t178 = t173 - t175;
+        final float t179 = t174 - t172;
+        final float t180 = t164 + t176;
+        final float t181 = t165 + t177;
+        final float t182 = t164 - t176;
+        final float t183 = t165 - t177;
+        final float t184 = t166 + t178;
+        final float t185 = t167 + t179;
+        final float t186 = t166 - t178;
+        final float t187 = t167 - t179;
+        x[off + 14] = t180;
+        x[off + 15] = t181;
+        x[off + 46] = t184;
+        x[off + 47] = t185;
+        x[off + 78] = t182;
+        x[off + 79] = t183;
+        x[off + 110] = t186;
+        x[off + 111] = t187;
+        final float t188 = x[off + 16];
+        final float t189 = x[off + 17];
+        final float t190 = x[off + 48];
+        final float t191 = x[off + 49];
+        final float t192 = x[off + 80];
+        final float t193 = x[off + 81];
+        final float t194 = x[off + 112];
+        final float t195 = x[off + 113];
+        final float t196 = 0.70710677f * ( t192 + t193 );
+        final float t197 = 0.70710677f * ( t193 - t192 );
+        final float t198 = 0.70710677f * ( t195 - t194 );
+        final float t199 = -0.70710677f * ( t194 + t195 );
+        final float t200 = t196 + t198;
+        final float t201 = t197 + t199;
+        final float t202 = t197 - t199;
+        final float t203 = t198 - t196;
+        final float t204 = t188 + t200;
+        final float t205 = t189 + t201;
+        final float t206 = t188 - t200;
+        final float t207 = t189 - t201;
+        final float t208 = t190 + t202;
+        final float t209 = t191 + t203;
+        final float t210 = t190 - t202;
+        final float t211 = t191 - t203;
+        x[off + 16] = t204;
+        x[off + 17] = t205;
+        x[off + 48] = t208;
+        x[off + 49] = t209;
+        x[off + 80] = t206;
+        x[off + 81] = t207;
+        x[off + 112] = t210;
+        x[off + 113] = t211;
+        final float t212 = x[off + 18];
+        final float t213 = x[off + 19];
+        final float t214 = x[off + 50];
+        final float t215 = x[off + 51];
+        final float t216 = x[off + 82];
+        final float t217 = x[off + 83];
+        final float t218 = x[off + 114];
+        final float t219 = x[off + 115];
+        final float t220 = 0.6343933f * t216 + 0.77301043f * t217;
+        final float t221 = 0.6343933f * t217 - 0.77301043f * t216;
+        final float t222 = -0.8819213f * t218 + 0.47139674f * t219;
+        final float t223 = -0.8819213f * t219 - 0.47139674f * t218;
+        final float t224 = t220 + t222;
+        final float t225 = t221 + t223;
+        final float t226 = t221 - t223;
+        final float t227 = t222 - t220;
+        final float t228 = t212 + t224;
+        final float t229 = t213 + t225;
+        final float t230 = t212 - t224;
+        final float t231 = t213 - t225;
+        final float t232 = t214 + t226;
+        final float t233 = t215 + t227;
+        final float t234 = t214 - t226;
+        final float t235 = t215 - t227;
+        x[off + 18] = t228;
+        x[off + 19] = t229;
+        x[off + 50] = t232;
+        x[off + 51] = t233;
+        x[off + 82] = t230;
+        x[off + 83] = t231;
+        x[off + 114] = t234;
+        x[off + 115] = t235;
+        final float t236 = x[off + 20];
+        final float t237 = x[off + 21];
+        final float t238 = x[off + 52];
+        final float t239 = x[off + 53];
+        final float t240 = x[off + 84];
+        final float t241 = x[off + 85];
+        final float t242 = x[off + 116];
+        final float t243 = x[off + 117];
+        final float t244 = 0.55557024f * t240 + 0.8314696f * t241;
+        final float t245 = 0.55557024f * t241 - 0.8314696f * t240;
+        final float t246 = -0.98078525f * t242 + 0.19509032f * t243;
+        final float t247 = -0.98078525f * t243 - 0.19509032f * t242;
+        final float t248 = t244 + t246;
+        final float t249 = t245 + t247;
+        final float t250 = t245 - t247;
+        final float t251 = t246 - t244;
+        final float t252 = t236 + t248;
+        final float t253 = t237 + t249;
+        final float t254 = t236 - t248;
+        final float t255 = t237 - t249;
+        final float t256 = t238 + t250;
+        final float t257 = t239 + t251;
+        final float t258 = t238 - t250;
+        final float t259 = t239 - t251;
+        x[off + 20] = t252;
+        x[off + 21] = t253;
+        x[off + 52] = t256;
+        x[off + 53] = t257;
+        x[off + 84] = t254;
+        x[off + 85] = t255;
+        x[off + 116] = t258;
+        x[off + 117] = t259;
+        final float t260 = x[off + 22];
+        final float t261 = x[off + 23];
+        final float t262 = x[off + 54];
+        final float t263 = x[off + 55];
+        final float t264 = x[off + 86];
+        final float t265 = x[off + 87];
+        final float t266 = x[off + 118];
+        final float t267 = x[off + 119];
+        final float t268 = 0.47139674f * t264 + 0.8819213f * t265;
+        final float t269 = 0.47139674f * t265 - 0.8819213f * t264;
+        final float t270 = -0.9951847f * t266 - 0.09801714f * t267;
+        final float t271 = -0.9951847f * t267 + 0.09801714f * t266;
+        final float t272 = t268 + t270;
+        final float t273 = t269 + t271;
+        final float t274 = t269 - t271;
+        final float t275 = t270 - t268;
+        final float t276 = t260 + t272;
+        final float t277 = t261 + t273;
+        final float t278 = t260 - t272;
+        final float t279 = t261 - t273;
+        final float t280 = t262 + t274;
+        final float t281 = t263 + t275;
+        final float t282 = t262 - t274;
+        final float t283 = t263 - t275;
+        x[off + 22] = t276;
+        x[off + 23] = t277;
+        x[off + 54] = t280;
+        x[off + 55] = t281;
+        x[off + 86] = t278;
+        x[off + 87] = t279;
+        x[off + 118] = t282;
+        x[off + 119] = t283;
+        final float t284 = x[off + 24];
+        final float t285 = x[off + 25];
+        final float t286 = x[off + 56];
+        final float t287 = x[off + 57];
+        final float t288 = x[off + 88];
+        final float t289 = x[off + 89];
+        final float t290 = x[off + 120];
+        final float t291 = x[off + 121];
+        final float t292 = 0.38268343f * t288 + 0.9238795f * t289;
+        final float t293 = 0.38268343f * t289 - 0.9238795f * t288;
+        final float t294 = -0.9238795f * t290 - 0.38268343f * t291;
+        final float t295 = -0.9238795f * t291 + 0.38268343f * t290;
+        final float t296 = t292 + t294;
+        final float t297 = t293 + t295;
+        final float t298 = t293 - t295;
+        final float t299 = t294 - t292;
+        final float t300 = t284 + t296;
+        final float t301 = t285 + t297;
+        final float t302 = t284 - t296;
+        final float t303 = t285 - t297;
+        final float t304 = t286 + t298;
+        final float t305 = t287 + t299;
+        final float t306 = t286 - t298;
+        final float t307 = t287 - t299;
+        x[off + 24] = t300;
+        x[off + 25] = t301;
+        x[off + 56] = t304;
+        x[off + 57] = t305;
+        x[off + 88] = t302;
+        x[off + 89] = t303;
+        x[off + 120] = t306;
+        x[off + 121] = t307;
+        final float t308 = x[off + 26];
+        final float t309 = x[off + 27];
+        final float t310 = x[off + 58];
+        final float t311 = x[off + 59];
+        final float t312 = x[off + 90];
+        final float t313 = x[off + 91];
+        final float t314 = x[off + 122];
+        final float t315 = x[off + 123];
+        final float t316 = 0.29028466f * t312 + 0.95694035f * t313;
+        final float t317 = 0.29028466f * t313 - 0.95694035f * t312;
+        final float t318 = -0.77301043f * t314 - 0.6343933f * t315;
+        final float t319 = -0.77301043f * t315 + 0.6343933f * t314;
+        final float t320 = t316 + t318;
+        final float t321 = t317 + t319;
+        final float t322 = t317 - t319;
+        final float t323 = t318 - t316;
+        final float t324 = t308 + t320;
+        final float t325 = t309 + t321;
+        final float t326 = t308 - t320;
+        final float t327 = t309 - t321;
+        final float t328 = t310 + t322;
+        final float t329 = t311 + t323;
+        final float t330 = t310 - t322;
+        final float t331 = t311 - t323;
+        x[off + 26] = t324;
+        x[off + 27] = t325;
+        x[off + 58] = t328;
+        x[off + 59] = t329;
+        x[off + 90] = t326;
+        x[off + 91] = t327;
+        x[off + 122] = t330;
+        x[off + 123] = t331;
+        final float t332 = x[off + 28];
+        final float t333 = x[off + 29];
+        final float t334 = x[off + 60];
+        final float t335 = x[off + 61];
+        final float t336 = x[off + 92];
+        final float t337 = x[off + 93];
+        final float t338 = x[off + 124];
+        final float t339 = x[off + 125];
+        final float t340 = 0.19509032f * t336 + 0.98078525f * t337;
+        final float t341 = 0.19509032f * t337 - 0.98078525f * t336;
+        final float t342 = -0.55557024f * t338 - 0.8314696f * t339;
+        final float t343 = -0.55557024f * t339 + 0.8314696f * t338;
+        final float t344 = t340 + t342;
+        final float t345 = t341 + t343;
+        final float t346 = t341 - t343;
+        final float t347 = t342 - t340;
+        final float t348 = t332 + t344;
+        final float t349 = t333 + t345;
+        final float t350 = t332 - t344;
+        final float t351 = t333 - t345;
+        final float t352 = t334 + t346;
+        final float t353 = t335 + t347;
+        final float t354 = t334 - t346;
+        final float t355 = t335 - t347;
+        x[off + 28] = t348;
+        x[off + 29] = t349;
+        x[off + 60] = t352;
+        x[off + 61] = t353;
+        x[off + 92] = t350;
+        x[off + 93] = t351;
+        x[off + 124] = t354;
+        x[off + 125] = t355;
+        final float t356 = x[off + 30];
+        final float t357 = x[off + 31];
+        final float t358 = x[off + 62];
+        final float t359 = x[off + 63];
+        final float t360 = x[off + 94];
+        final float t361 = x[off + 95];
+        final float t362 = x[off + 126];
+        final float t363 = x[off + 127];
+        final float t364 = 0.09801714f * t360 + 0.9951847f * t361;
+        final float t365 = 0.09801714f * t361 - 0.9951847f * t360;
+        final float t366 = -0.29028466f * t362 - 0.95694035f * t363;
+        final float t367 = -0.29028466f * t363 + 0.95694035f * t362;
+        final float t368 = t364 + t366;
+        final float t369 = t365 + t367;
+        final float t370 = t365 - t367;
+        final float t371 = t366 - t364;
+        final float t372 = t356 + t368;
+        final float t373 = t357 + t369;
+        final float t374 = t356 - t368;
+        final float t375 = t357 - t369;
+        final float t376 = t358 + t370;
+        final float t377 = t359 + t371;
+        final float t378 = t358 - t370;
+        final float t379 = t359 - t371;
+        x[off + 30] = t372;
+        x[off + 31] = t373;
+        x[off + 62] = t376;
+        x[off + 63] = t377;
+        x[off + 94] = t374;
+        x[off + 95] = t375;
+        x[off + 126] = t378;
+        x[off + 127] = t379;
+        if( scale != 1.0f ) {
+            for( int i = off; i < off + 128; i++ ) {
+                x[i] *= scale;
+            }
+        }
+    }
+
+
+    static void inverse64( float[] x, int off, float scale ) {
+        inverse32( x, off, 1.0f );
+        inverse16( x, off + 64, 1.0f );
+        inverse16( x, off + 96, 1.0f );
+        final float t0 = x[off];
+        final float t1 = -x[off + 1];
+        final float t2 = x[off + 32];
+        final float t3 = -x[off + 33];
+        final float t4 = x[off + 64];
+        final float t5 = -x[off + 65];
+        final float t6 = x[off + 96];
+        final float t7 = -x[off + 97];
+        final float t8 = t4 + t6;
+        final float t9 = t5 + t7;
+        final float t10 = t5 - t7;
+        final float t11 = t6 - t4;
+        final float t12 = t0 + t8;
+        final float t13 = t1 + t9;
+        final float t14 = t0 - t8;
+        final float t15 = t1 - t9;
+        final float t16 = t2 + t10;
+        final float t17 = t3 + t11;
+        final float t18 = t2 - t10;
+        final float t19 = t3 - t11;
+        x[off] = t12;
+        x[off + 1] = -t13;
+        x[off + 32] = t16;
+        x[off + 33] = -t17;
+        x[off + 64] = t14;
+        x[off + 65] = -t15;
+        x[off + 96] = t18;
+        x[off + 97] = -t19;
+        final float t20 = x[off + 2];
+        final float t21 = -x[off + 3];
+        final float t22 = x[off + 34];
+        final float t23 = -x[off + 35];
+        final float t24 = x[off + 66];
+        final float t25 = -x[off + 67];
+        final float t26 = x[off + 98];
+        final float t27 = -x[off + 99];
+        final float t28 = 0.9951847f * t24 + 0.09801714f * t25;
+        final float t29 = 0.9951847f * t25 - 0.09801714f * t24;
+        final float t30 = 0.95694035f * t26 + 0.29028466f * t27;
+        final float t31 = 0.95694035f * t27 - 0.29028466f * t26;
+        final float t32 = t28 + t30;
+        final float t33 = t29 + t31;
+        final float t34 = t29 - t31;
+        final float t35 = t30 - t28;
+        final float t36 = t20 + t32;
+        final float t37 = t21 + t33;
+        final float t38 = t20 - t32;
+        final float t39 = t21 - t33;
+        final float t40 = t22 + t34;
+        final float t41 = t23 + t35;
+        final float t42 = t22 - t34;
+        final float t43 = t23 - t35;
+        x[off + 2] = t36;
+        x[off + 3] = -t37;
+        x[off + 34] = t40;
+        x[off + 35] = -t41;
+        x[off + 66] = t38;
+        x[off + 67] = -t39;
+        x[off + 98] = t42;
+        x[off + 99] = -t43;
+        final float t44 = x[off + 4];
+        final float t45 = -x[off + 5];
+        final float t46 = x[off + 36];
+        final float t47 = -x[off + 37];
+        final float t48 = x[off + 68];
+        final float t49 = -x[off + 69];
+        final float t50 = x[off + 100];
+        final float t51 = -x[off + 101];
+        final float t52 = 0.98078525f * t48 + 0.19509032f * t49;
+        final float t53 = 0.98078525f * t49 - 0.19509032f * t48;
+        final float t54 = 0.8314696f * t50 + 0.55557024f * t51;
+        final float t55 = 0.8314696f * t51 - 0.55557024f * t50;
+        final float t56 = t52 + t54;
+        final float t57 = t53 + t55;
+        final float t58 = t53 - t55;
+        final float t59 = t54 - t52;
+        final float t60 = t44 + t56;
+        final float t61 = t45 + t57;
+        final float t62 = t44 - t56;
+        final float t63 = t45 - t57;
+        final float t64 = t46 + t58;
+        final float t65 = t47 + t59;
+        final float t66 = t46 - t58;
+        final float t67 = t47 - t59;
+        x[off + 4] = t60;
+        x[off + 5] = -t61;
+        x[off + 36] = t64;
+        x[off + 37] = -t65;
+        x[off + 68] = t62;
+        x[off + 69] = -t63;
+        x[off + 100] = t66;
+        x[off + 101] = -t67;
+        final float t68 = x[off + 6];
+        final float t69 = -x[off + 7];
+        final float t70 = x[off + 38];
+        final float t71 = -x[off + 39];
+        final float t72 = x[off + 70];
+        final float t73 = -x[off + 71];
+        final float t74 = x[off + 102];
+        final float t75 = -x[off + 103];
+        final float t76 = 0.95694035f * t72 + 0.29028466f * t73;
+        final float t77 = 0.95694035f * t73 - 0.29028466f * t72;
+        final float t78 = 0.6343933f * t74 + 0.77301043f * t75;
+        final float t79 = 0.6343933f * t75 - 0.77301043f * t74;
+        final float t80 = t76 + t78;
+        final float t81 = t77 + t79;
+        final float t82 = t77 - t79;
+        final float t83 = t78 - t76;
+        final float t84 = t68 + t80;
+        final float t85 = t69 + t81;
+        final float t86 = t68 - t80;
+        final float t87 = t69 - t81;
+        final float t88 = t70 + t82;
+        final float t89 = t71 + t83;
+        final float t90 = t70 - t82;
+        final float t91 = t71 - t83;
+        x[off + 6] = t84;
+        x[off + 7] = -t85;
+        x[off + 38] = t88;
+        x[off + 39] = -t89;
+        x[off + 70] = t86;
+        x[off + 71] = -t87;
+        x[off + 102] = t90;
+        x[off + 103] = -t91;
+        final float t92 = x[off + 8];
+        final float t93 = -x[off + 9];
+        final float t94 = x[off + 40];
+        final float t95 = -x[off + 41];
+        final float t96 = x[off + 72];
+        final float t97 = -x[off + 73];
+        final float t98 = x[off + 104];
+        final float t99 = -x[off + 105];
+        final float t100 = 0.9238795f * t96 + 0.38268343f * t97;
+        final float t101 = 0.9238795f * t97 - 0.38268343f * t96;
+        final float t102 = 0.38268343f * t98 + 0.9238795f * t99;
+        final float t103 = 0.38268343f * t99 - 0.9238795f * t98;
+        final float t104 = t100 + t102;
+        final float t105 = t101 + t103;
+        final float t106 = t101 - t103;
+        final float t107 = t102 - t100;
+        final float t108 = t92 + t104;
+        final float t109 = t93 + t105;
+        final float t110 = t92 - t104;
+        final float t111 = t93 - t105;
+        final float t112 = t94 + t106;
+        final float t113 = t95 + t107;
+        final float t114 = t94 - t106;
+        final float t115 = t95 - t107;
+        x[off + 8] = t108;
+        x[off + 9] = -t109;
+        x[off + 40] = t112;
+        x[off + 41] = -t113;
+        x[off + 72] = t110;
+        x[off + 73] = -t111;
+        x[off + 104] = t114;
+        x[off + 105] = -t115;
+        final float t116 = x[off + 10];
+        final float t117 = -x[off + 11];
+        final float t118 = x[off + 42];
+        final float t119 = -x[off + 43];
+        final float t120 = x[off + 74];
+        final float t121 = -x[off + 75];
+        final float t122 = x[off + 106];
+        final float t123 = -x[off + 107];
+        final float t124 = 0.8819213f * t120 + 0.47139674f * t121;
+        final float t125 = 0.8819213f * t121 - 0.47139674f * t120;
+        final float t126 = 0.09801714f * t122 + 0.9951847f * t123;
+        final float t127 = 0.09801714f * t123 - 0.9951847f * t122;
+        final float t128 = t124 + t126;
+        final float t129 = t125 + t127;
+        final float t130 = t125 - t127;
+        final float t131 = t126 - t124;
+        final float t132 = t116 + t128;
+        final float t133 = t117 + t129;
+        final float t134 = t116 - t128;
+        final float t135 = t117 - t129;
+        final float t136 = t118 + t130;
+        final float t137 = t119 + t131;
+        final float t138 = t118 - t130;
+        final float t139 = t119 - t131;
+        x[off + 10] = t132;
+        x[off + 11] = -t133;
+        x[off + 42] = t136;
+        x[off + 43] = -t137;
+        x[off + 74] = t134;
+        x[off + 75] = -t135;
+        x[off + 106] = t138;
+        x[off + 107] = -t139;
+        final float t140 = x[off + 12];
+        final float t141 = -x[off + 13];
+        final float t142 = x[off + 44];
+        final float t143 = -x[off + 45];
+        final float t144 = x[off + 76];
+        final float t145 = -x[off + 77];
+        final float t146 = x[off + 108];
+        final float t147 = -x[off + 109];
+        final float t148 = 0.8314696f * t144 + 0.55557024f * t145;
+        final float t149 = 0.8314696f * t145 - 0.55557024f * t144;
+        final float t150 = -0.19509032f * t146 + 0.98078525f * t147;
+        final float t151 = -0.19509032f * t147 - 0.98078525f * t146;
+        final float t152 = t148 + t150;
+        final float t153 = t149 + t151;
+        final float t154 = t149 - t151;
+        final float t155 = t150 - t148;
+        final float t156 = t140 + t152;
+        final float t157 = t141 + t153;
+        final float t158 = t140 - t152;
+        final float t159 = t141 - t153;
+        final float t160 = t142 + t154;
+        final float t161 = t143 + t155;
+        final float t162 = t142 - t154;
+        final float t163 = t143 - t155;
+        x[off + 12] = t156;
+        x[off + 13] = -t157;
+        x[off + 44] = t160;
+        x[off + 45] = -t161;
+        x[off + 76] = t158;
+        x[off + 77] = -t159;
+        x[off + 108] = t162;
+        x[off + 109] = -t163;
+        final float t164 = x[off + 14];
+        final float t165 = -x[off + 15];
+        final float t166 = x[off + 46];
+        final float t167 = -x[off + 47];
+        final float t168 = x[off + 78];
+        final float t169 = -x[off + 79];
+        final float t170 = x[off + 110];
+        final float t171 = -x[off + 111];
+        final float t172 = 0.77301043f * t168 + 0.6343933f * t169;
+        final float t173 = 0.77301043f * t169 - 0.6343933f * t168;
+        final float t174 = -0.47139674f * t170 + 0.8819213f * t171;
+        final float t175 = -0.47139674f * t171 - 0.8819213f * t170;
+        final float t176 = t172 + t174;
+        final float t177 = t173 + t175;
+        final float t178 = t173 - t175;
+        final float t179 = t174 - t172;
+        final float t180 = t164 + t176;
+        final float t181 = t165 + t177;
+        final float t182 = t164 - t176;
+        final float t183 = t165 - t177;
+        final float t184 = t166 + t178;
+        final float t185 = t167 + t179;
+        final float t186 = t166 - t178;
+        final float t187 = t167 - t179;
+        x[off + 14] = t180;
+        x[off + 15] = -t181;
+        x[off + 46] = t184;
+        x[off + 47] = -t185;
+        x[off + 78] = t182;
+        x[off + 79] = -t183;
+        x[off + 110] = t186;
+        x[off + 111] = -t187;
+        final float t188 = x[off + 16];
+        final float t189 = -x[off + 17];
+        final float t190 = x[off + 48];
+        final float t191 = -x[off + 49];
+        final float t192 = x[off + 80];
+        final float t193 = -x[off + 81];
+        final float t194 = x[off + 112];
+        final float t195 = -x[off + 113];
+        final float t196 = 0.70710677f * ( t192 + t193 );
+        final float t197 = 0.70710677f * ( t193 - t192 );
+        final float t198 = 0.70710677f * ( t195 - t194 );
+        final float t199 = -0.70710677f * ( t194 + t195 );
+        final float t200 = t196 + t198;
+        final float t201 = t197 + t199;
+        final float t202 = t197 - t199;
+        final float t203 = t198 - t196;
+        final float t204 = t188 + t200;
+        final float t205 = t189 + t201;
+        final float t206 = t188 - t200;
+        final float t207 = t189 - t201;
+        final float t208 = t190 + t202;
+        final float t209 = t191 + t203;
+        final float t210 = t190 - t202;
+        final float t211 = t191 - t203;
+        x[off + 16] = t204;
+        x[off + 17] = -t205;
+        x[off + 48] = t208;
+        x[off + 49] = -t209;
+        x[off + 80] = t206;
+        x[off + 81] = -t207;
+        x[off + 112] = t210;
+        x[off + 113] = -t211;
+        final float t212 = x[off + 18];
+        final float t213 = -x[off + 19];
+        final float t214 = x[off + 50];
+        final float t215 = -x[off + 51];
+        final float t216 = x[off + 82];
+        final float t217 = -x[off + 83];
+        final float t218 = x[off + 114];
+        final float t219 = -x[off + 115];
+        final float t220 = 0.6343933f * t216 + 0.77301043f * t217;
+        final float t221 = 0.6343933f * t217 - 0.77301043f * t216;
+        final float t222 = -0.8819213f * t218 + 0.47139674f * t219;
+        final float t223 = -0.8819213f * t219 - 0.47139674f * t218;
+        final float t224 = t220 + t222;
+        final float t225 = t221 + t223;
+        final float t226 = t221 - t223;
+        final float t227 = t222 - t220;
+        final float t228 = t212 + t224;
+        final float t229 = t213 + t225;
+        final float t230 = t212 - t224;
+        final float t231 = t213 - t225;
+        final float t232 = t214 + t226;
+        final float t233 = t215 + t227;
+        final float t234 = t214 - t226;
+        final float t235 = t215 - t227;
+        x[off + 18] = t228;
+        x[off + 19] = -t229;
+        x[off + 50] = t232;
+        x[off + 51] = -t233;
+        x[off + 82] = t230;
+        x[off + 83] = -t231;
+        x[off + 114] = t234;
+        x[off + 115] = -t235;
+        final float t236 = x[off + 20];
+        final float t237 = -x[off + 21];
+        final float t238 = x[off + 52];
+        final float t239 = -x[off + 53];
+        final float t240 = x[off + 84];
+        final float t241 = -x[off + 85];
+        final float t242 = x[off + 116];
+        final float t243 = -x[off + 117];
+        final float t244 = 0.55557024f * t240 + 0.8314696f * t241;
+        final float t245 = 0.55557024f * t241 - 0.8314696f * t240;
+        final float t246 = -0.98078525f * t242 + 0.19509032f * t243;
+        final float t247 = -0.98078525f * t243 - 0.19509032f * t242;
+        final float t248 = t244 + t246;
+        final float t249 = t245 + t247;
+        final float t250 = t245 - t247;
+        final float t251 = t246 - t244;
+        final float t252 = t236 + t248;
+        final float t253 = t237 + t249;
+        final float t254 = t236 - t248;
+        final float t255 = t237 - t249;
+        final float t256 = t238 + t250;
+        final float t257 = t239 + t251;
+        final float t258 = t238 - t250;
+        final float t259 = t239 - t251;
+        x[off + 20] = t252;
+        x[off + 21] = -t253;
+        x[off + 52] = t256;
+        x[off + 53] = -t257;
+        x[off + 84] = t254;
+        x[off + 85] = -t255;
+        x[off + 116] = t258;
+        x[off + 117] = -t259;
+        final float t260 = x[off + 22];
+        final float t261 = -x[off + 23];
+        final float t262 = x[off + 54];
+        final float t263 = -x[off + 55];
+        final float t264 = x[off + 86];
+        final float t265 = -x[off + 87];
+        final float t266 = x[off + 118];
+        final float t267 = -x[off + 119];
+        final float t268 = 0.47139674f * t264 + 0.8819213f * t265;
+        final float t269 = 0.47139674f * t265 - 0.8819213f * t264;
+        final float t270 = -0.9951847f * t266 - 0.09801714f * t267;
+        final float t271 = -0.9951847f * t267 + 0.09801714f * t266;
+        final float t272 = t268 + t270;
+        final float t273 = t269 + t271;
+        final float t274 = t269 - t271;
+        final float t275 = t270 - t268;
+        final float t276 = t260 + t272;
+        final float t277 = t261 + t273;
+        final float t278 = t260 - t272;
+        final float t279 = t261 - t273;
+        final float t280 = t262 + t274;
+        final float t281 = t263 + t275;
+        final float t282 = t262 - t274;
+        final float t283 = t263 - t275;
+        x[off + 22] = t276;
+        x[off + 23] = -t277;
+        x[off + 54] = t280;
+        x[off + 55] = -t281;
+        x[off + 86] = t278;
+        x[off + 87] = -t279;
+        x[off + 118] = t282;
+        x[off + 119] = -t283;
+        final float t284 = x[off + 24];
+        final float t285 = -x[off + 25];
+        final float t286 = x[off + 56];
+        final float t287 = -x[off + 57];
+        final float t288 = x[off + 88];
+        final float t289 = -x[off + 89];
+        final float t290 = x[off + 120];
+        final float t291 = -x[off + 121];
+        final float t292 = 0.38268343f * t288 + 0.9238795f * t289;
+        final float t293 = 0.38268343f * t289 - 0.9238795f * t288;
+        final float t294 = -0.9238795f * t290 - 0.38268343f * t291;
+        final float t295 = -0.9238795f * t291 + 0.38268343f * t290;
+        final float t296 = t292 + t294;
+        final float t297 = t293 + t295;
+        final float t298 = t293 - t295;
+        final float t299 = t294 - t292;
+        final float t300 = t284 + t296;
+        final float t301 = t285 + t297;
+        final float t302 = t284 - t296;
+        final float t303 = t285 - t297;
+        final float t304 = t286 + t298;
+        final float t305 = t287 + t299;
+        final float t306 = t286 - t298;
+        final float t307 = t287 - t299;
+        x[off + 24] = t300;
+        x[off + 25] = -t301;
+        x[off + 56] = t304;
+        x[off + 57] = -t305;
+        x[off + 88] = t302;
+        x[off + 89] = -t303;
+        x[off + 120] = t306;
+        x[off + 121] = -t307;
+        final float t308 = x[off + 26];
+        final float t309 = -x[off + 27];
+        final float t310 = x[off + 58];
+        final float t311 = -x[off + 59];
+        final float t312 = x[off + 90];
+        final float t313 = -x[off + 91];
+        final float t314 = x[off + 122];
+        final float t315 = -x[off + 123];
+        final float t316 = 0.29028466f * t312 + 0.95694035f * t313;
+        final float t317 = 0.29028466f * t313 - 0.95694035f * t312;
+        final float t318 = -0.77301043f * t314 - 0.6343933f * t315;
+        final float t319 = -0.77301043f * t315 + 0.6343933f * t314;
+        final float t320 = t316 + t318;
+        final float t321 = t317 + t319;
+        final float t322 = t317 - t319;
+        final float t323 = t318 - t316;
+        final float t324 = t308 + t320;
+        final float t325 = t309 + t321;
+        final float t326 = t308 - t320;
+        final float t327 = t309 - t321;
+        final float t328 = t310 + t322;
+        final float t329 = t311 + t323;
+        final float t330 = t310 - t322;
+        final float t331 = t311 - t323;
+        x[off + 26] = t324;
+        x[off + 27] = -t325;
+        x[off + 58] = t328;
+        x[off + 59] = -t329;
+        x[off + 90] = t326;
+        x[off + 91] = -t327;
+        x[off + 122] = t330;
+        x[off + 123] = -t331;
+        final float t332 = x[off + 28];
+        final float t333 = -x[off + 29];
+        final float t334 = x[off + 60];
+        final float t335 = -x[off + 61];
+        final float t336 = x[off + 92];
+        final float t337 = -x[off + 93];
+        final float t338 = x[off + 124];
+        final float t339 = -x[off + 125];
+        final float t340 = 0.19509032f * t336 + 0.98078525f * t337;
+        final float t341 = 0.19509032f * t337 - 0.98078525f * t336;
+        final float t342 = -0.55557024f * t338 - 0.8314696f * t339;
+        final float t343 = -0.55557024f * t339 + 0.8314696f * t338;
+        final float t344 = t340 + t342;
+        final float t345 = t341 + t343;
+        final float t346 = t341 - t343;
+        final float t347 = t342 - t340;
+        final float t348 = t332 + t344;
+        final float t349 = t333 + t345;
+        final float t350 = t332 - t344;
+        final float t351 = t333 - t345;
+        final float t352 = t334 + t346;
+        final float t353 = t335 + t347;
+        final float t354 = t334 - t346;
+        final float t355 = t335 - t347;
+        x[off + 28] = t348;
+        x[off + 29] = -t349;
+        x[off + 60] = t352;
+        x[off + 61] = -t353;
+        x[off + 92] = t350;
+        x[off + 93] = -t351;
+        x[off + 124] = t354;
+        x[off + 125] = -t355;
+        final float t356 = x[off + 30];
+        final float t357 = -x[off + 31];
+        final float t358 = x[off + 62];
+        final float t359 = -x[off + 63];
+        final float t360 = x[off + 94];
+        final float t361 = -x[off + 95];
+        final float t362 = x[off + 126];
+        final float t363 = -x[off + 127];
+        final float t364 = 0.09801714f * t360 + 0.9951847f * t361;
+        final float t365 = 0.09801714f * t361 - 0.9951847f * t360;
+        final float t366 = -0.29028466f * t362 - 0.95694035f * t363;
+        final float t367 = -0.29028466f * t363 + 0.95694035f * t362;
+        final float t368 = t364 + t366;
+        final float t369 = t365 + t367;
+        final float t370 = t365 - t367;
+        final float t371 = t366 - t364;
+        final float t372 = t356 + t368;
+        final float t373 = t357 + t369;
+        final float t374 = t356 - t368;
+        final float t375 = t357 - t369;
+        final float t376 = t358 + t370;
+        final float t377 = t359 + t371;
+        final float t378 = t358 - t370;
+        final float t379 = t359 - t371;
+        x[off + 30] = t372;
+        x[off + 31] = -t373;
+        x[off + 62] = t376;
+        x[off + 63] = -t377;
+        x[off + 94] = t374;
+        x[off + 95] = -t375;
+        x[off + 126] = t378;
+        x[off + 127] = -t379;
+        if( scale != 1.0f ) {
+            for( int i = off; i < off + 128; i++ ) {
+                x[i] *= scale;
+            }
+        }
+    }
+
+
+    private CodeletsF() {}
+
+}
@@ -8,7 +8,10 @@ package bits.fft;
 /**
  * Performs a Fast Discrete Cosine Transform on an array of real values.
  * <p>
- * Not thread safe.
+ * Methods that take a {@link Workspace} are thread safe as long as each thread passes its
+ * own workspace. If constructed with a {@link WorkspacePool}, all methods are thread safe.
+ * Otherwise, the remaining methods share a work buffer owned by the instance, and are
+ * not thread safe.
  *
  * @author Philip DeCamp
  */
@@ -19,7 +22,9 @@ public class FastCosineTransform {
 
     private final double[] mWeight;
     private final double[] mInvWeight;
-    private final double[] mWorkA;
+    private final WorkspacePool mPool;
+
+    private Workspace mWorkspace = null;
 
 
     /**
@@ -33,20 +38,30 @@ public class FastCosineTransform {
      * @throws IllegalArgumentException if dim is smaller than 2, too large, or not a power-of-two.
      */
     public FastCosineTransform( int dim ) {
+        this( dim, null );
+    }
+
+    /**
+     * Creates a transform that borrows work buffers from <tt>pool</tt> on each call that
+     * is not given a {@link Workspace}, so that one instance may be shared by many threads.
+     *
+     * @param dim  Size of vector on which this transform operates.  Must be power-of-two.
+     * @param pool Source of work buffers. May be null, in which case the instance owns one.
+     * @throws IllegalArgumentException if dim is smaller than 2, too large, or not a power-of-two.
+     */
+    public FastCosineTransform( int dim, WorkspacePool pool ) {
         mDim = dim;
         mBits = FastFourierTransform.computeBitNum( dim );
 
         mWeight = new double[dim * 2];
         mInvWeight = new double[dim * 2];
-        mWorkA = new double[dim * 2];
+        mPool = pool;
 
         computeWeightVectors( dim, mWeight, mInvWeight );
     }
 
     /**
      * Performs a Fast Discrete Cosine Transform on an array of real values.
-     * <p>
-     * Not thread safe.
      *
      * @param a       Input array of real values with size [dim].
      * @param aOff    Offset into array <tt>a</tt>
@@ -55,14 +70,73 @@ public class FastCosineTransform {
      * @param outOff  Offset into array <tt>out</tt>
      */
     public void apply( double[] a, int aOff, boolean inverse, double[] out, int outOff ) {
+        apply( a, aOff, 1, inverse, out, outOff, 1 );
+    }
+
+    /**
+     * Same as {@link #apply(double[], int, boolean, double[], int)}, but uses work buffers
+     * from <tt>ws</tt>.
+     */
+    public void apply( double[] a, int aOff, boolean inverse, double[] out, int outOff, Workspace ws ) {
+        apply( a, aOff, 1, inverse, out, outOff, 1, ws );
+    }
+
+    /**
+     * Performs a Fast Discrete Cosine Transform on an array of real values that are not
+     * stored contiguously. Value <tt>k</tt> is read from <tt>a[aOff + k * aStride]</tt>, and
+     * coefficient <tt>k</tt> is written to <tt>out[outOff + k * outStride]</tt>. This can be
+     * used to transform a column of a matrix, or one channel of interleaved data, in place of
+     * copying it out and back.
+     *
+     * @param a         Input array of real values.
+     * @param aOff      Offset into array <tt>a</tt>
+     * @param aStride   Distance between consecutive input values, in array elements. Must be positive.
+     * @param inverse   Set to <tt>true</tt> to perform inverse transform.
+     * @param out       Output array where DCT coeffs are stored.
+     * @param outOff    Offset into array <tt>out</tt>
+     * @param outStride Distance between consecutive output values, in array elements. Must be positive.
+     */
+    public void apply( double[] a, int aOff, int aStride, boolean inverse, double[] out, int outOff, int outStride ) {
+        Workspace ws = borrow();
+        try {
+            apply( a, aOff, aStride, inverse, out, outOff, outStride, ws );
+        } finally {
+            giveBack( ws );
+        }
+    }
+
+    /**
+     * Same as {@link #apply(double[], int, int, boolean, double[], int, int)}, but uses work buffers
+     * from <tt>ws</tt>.
+     */
+    public void apply( double[] a, int aOff, int aStride, boolean inverse, double[] out, int outOff, int outStride, Workspace ws ) {
+        final double[] work = ws.a( mDim * 2 );
         if( !inverse ) {
-            shuffle1( a, aOff, mDim, mBits, mWorkA );
-            FastFourierTransform.transform( mWorkA, 0, mDim, false );
-            shuffle2( mWorkA, mWeight, mDim, out, outOff );
+            shuffle1( a, aOff, aStride, mDim, mBits, work );
+            FastFourierTransform.transform( work, 0, mDim, false );
+            shuffle2( work, mWeight, mDim, out, outOff, outStride );
         } else {
-            invShuffle1( a, aOff, mInvWeight, mDim, mBits, mWorkA );
-            FastFourierTransform.transform( mWorkA, 0, mDim, true );
-            invShuffle2( mWorkA, mDim, out, outOff );
+            invShuffle1( a, aOff, aStride, mInvWeight, mDim, mBits, work );
+            FastFourierTransform.transform( work, 0, mDim, true );
+            invShuffle2( work, mDim, out, outOff, outStride );
+        }
+    }
+
+
+    private Workspace borrow() {
+        if( mPool != null ) {
+            return mPool.acquire();
+        }
+        if( mWorkspace == null ) {
+            mWorkspace = new Workspace();
+        }
+        return mWorkspace;
+    }
+
+
+    private void giveBack( Workspace ws ) {
+        if( mPool != null ) {
+            mPool.release( ws );
         }
     }
 
@@ -92,7 +166,7 @@ public class FastCosineTransform {
      * 2. Butterfly shuffle       <br>
      * 3. Reverse-bit shuffle     <br>
      */
-    private static void shuffle1( double[] a, int offA, int dim, int bits, double[] out ) {
+    private static void shuffle1( double[] a, int offA, int strideA, int dim, int bits, double[] out ) {
         final int shift = 30 - bits;
         final int dim2 = dim * 2;
 
@@ -102,7 +176,7 @@ public class FastCosineTransform {
 
             //Butterfly shuffle.
             rowIn = rowIn + (rowIn / dim) * (dim2 - 2 * rowIn - 1);
-            out[rowOut2] = a[rowIn + offA];
+            out[rowOut2] = a[rowIn * strideA + offA];
             out[rowOut2 + 1] = 0.0;
         }
     }
@@ -111,11 +185,12 @@ public class FastCosineTransform {
      * 1. Apply weight vector       <br>
      * 2. Drop imaginary components <br>
      */
-    private static void shuffle2( double[] a, double[] w, int dim, double[] out, int offOut ) {
+    private static void shuffle2( double[] a, double[] w, int dim, double[] out, int offOut, int strideOut ) {
         final int dim2 = 2 * dim;
 
         for( int y2 = 0; y2 < dim2; y2 += 2 ) {
-            out[offOut++] = a[y2] * w[y2] - a[y2 + 1] * w[y2 + 1];
+            out[offOut] = a[y2] * w[y2] - a[y2 + 1] * w[y2 + 1];
+            offOut += strideOut;
         }
     }
 
@@ -123,12 +198,12 @@ public class FastCosineTransform {
      * 1. Apply weights       <br>
      * 2. Reverse-bit shuffle <br>
      */
-    private static void invShuffle1( double[] a, int offA, double[] w, int dim, int bits, double[] out ) {
+    private static void invShuffle1( double[] a, int offA, int strideA, double[] w, int dim, int bits, double[] out ) {
         final int shift = 31 - bits;
 
         for( int rowIn = 0; rowIn < dim; rowIn++ ) {
             int rowOut2 = ( FastFourierTransform.reverse( rowIn ) >>> shift );
-            double v = a[offA + rowIn];
+            double v = a[offA + rowIn * strideA];
 
             out[rowOut2] = v * w[rowIn * 2];
             out[rowOut2 + 1] = v * w[rowIn * 2 + 1];
@@ -139,13 +214,13 @@ public class FastCosineTransform {
      * 1. Drop imaginary component   <br>
      * 2. Reverse butterfly shuffle  <br>
      */
-    private static void invShuffle2( double[] a, int dim, double[] out, int offOut ) {
+    private static void invShuffle2( double[] a, int dim, double[] out, int offOut, int strideOut ) {
         final int dim2 = dim * 2;
 
         for( int i2 = 0; i2 < dim2; i2 += 2 ) {
             //Reverse butterfly shuffle.
             final int rowO = i2 + (i2 / dim) * (dim2 - 1 - 2 * i2);
-            out[rowO + offOut] = a[i2];
+            out[rowO * strideOut + offOut] = a[i2];
         }
     }
 
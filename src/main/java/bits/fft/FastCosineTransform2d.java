@@ -8,7 +8,10 @@ package bits.fft;
 /**
  * Performs a Fast Discrete Cosine Transform on an square matrix of real values.
  * <p>
- * Not thread safe.
+ * Methods that take a {@link Workspace} are thread safe as long as each thread passes its
+ * own workspace. If constructed with a {@link WorkspacePool}, all methods are thread safe.
+ * Otherwise, the remaining methods share work buffers owned by the instance, and are
+ * not thread safe.
  *
  * @author Philip DeCamp
  */
@@ -19,8 +22,9 @@ public class FastCosineTransform2d {
 
     private final double[] mWeight;
     private final double[] mInvWeight;
-    private final double[] mWorkA;
-    private final double[] mWorkB;
+    private final WorkspacePool mPool;
+
+    private Workspace mWorkspace = null;
 
 
     /**
@@ -35,13 +39,25 @@ public class FastCosineTransform2d {
      * @throws IllegalArgumentException if dim is smaller than 2, too large, or not a power-of-two.
      */
     public FastCosineTransform2d( int dim ) {
+        this( dim, null );
+    }
+
+    /**
+     * Creates a transform that borrows work buffers from <tt>pool</tt> on each call that
+     * is not given a {@link Workspace}, so that one instance may be shared by many threads.
+     * The instance itself then holds only <tt>32 * dim</tt> bytes.
+     *
+     * @param dim  Size of one-side of square matrix on which this transform operates.  Must be power-of-two.
+     * @param pool Source of work buffers. May be null, in which case the instance owns them.
+     * @throws IllegalArgumentException if dim is smaller than 2, too large, or not a power-of-two.
+     */
+    public FastCosineTransform2d( int dim, WorkspacePool pool ) {
         mDim  = dim;
         mBits = FastFourierTransform2d.computeBitNum( dim );
 
         mWeight    = new double[dim * 2];
         mInvWeight = new double[dim * 2];
-        mWorkA     = new double[dim * dim * 2];
-        mWorkB     = new double[dim * dim * 2];
+        mPool      = pool;
 
         computeWeightVectors( dim, mWeight, mInvWeight );
     }
@@ -60,18 +76,53 @@ public class FastCosineTransform2d {
      * @param outOff  Offset into array<tt>out</tt>
      */
     public void apply( double[] a, int aOff, boolean inverse, double[] out, int outOff ) {
+        Workspace ws = borrow();
+        try {
+            apply( a, aOff, inverse, out, outOff, ws );
+        } finally {
+            giveBack( ws );
+        }
+    }
+
+    /**
+     * Same as {@link #apply(double[], int, boolean, double[], int)}, but uses work buffers
+     * from <tt>ws</tt>.
+     */
+    public void apply( double[] a, int aOff, boolean inverse, double[] out, int outOff, Workspace ws ) {
+        final int len = mDim * mDim * 2;
+        final double[] workA = ws.a( len );
+        final double[] workB = ws.b( len );
+
         if( !inverse ) {
-            shuffle1( a, aOff, mDim, mBits, mWorkA );
-            FastFourierTransform2d.transform( mWorkA, 0, mDim, false );
-            shuffle2( mWorkA, mWeight, mDim, mBits, mWorkB );
-            FastFourierTransform2d.transform( mWorkB, 0, mDim, false );
-            shuffle3( mWorkB, mWeight, mDim, out, outOff );
+            shuffle1( a, aOff, mDim, mBits, workA );
+            FastFourierTransform2d.transform( workA, 0, mDim, false );
+            shuffle2( workA, mWeight, mDim, mBits, workB );
+            FastFourierTransform2d.transform( workB, 0, mDim, false );
+            shuffle3( workB, mWeight, mDim, out, outOff );
         } else {
-            invShuffle1( a, aOff, mInvWeight, mDim, mBits, mWorkA );
-            FastFourierTransform2d.transform( mWorkA, 0, mDim, true );
-            invShuffle2( mWorkA, mInvWeight, mDim, mBits, mWorkB );
-            FastFourierTransform2d.transform( mWorkB, 0, mDim, true );
-            invShuffle3( mWorkB, mDim, out, outOff );
+            invShuffle1( a, aOff, mInvWeight, mDim, mBits, workA );
+            FastFourierTransform2d.transform( workA, 0, mDim, true );
+            invShuffle2( workA, mInvWeight, mDim, mBits, workB );
+            FastFourierTransform2d.transform( workB, 0, mDim, true );
+            invShuffle3( workB, mDim, out, outOff );
+        }
+    }
+
+
+    private Workspace borrow() {
+        if( mPool != null ) {
+            return mPool.acquire();
+        }
+        if( mWorkspace == null ) {
+            mWorkspace = new Workspace();
+        }
+        return mWorkspace;
+    }
+
+
+    private void giveBack( Workspace ws ) {
+        if( mPool != null ) {
+            mPool.release( ws );
         }
     }
 
@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2014, Massachusetts Institute of Technology
+ * Released under the BSD 2-Clause License
+ * http://opensource.org/licenses/BSD-2-Clause
+ */
+package bits.fft;
+
+/**
+ * Single-precision version of {@link FastCosineTransform}.
+ * Performs a Fast Discrete Cosine Transform on an array of real values.
+ * <p>
+ * Arithmetic is performed in single precision, but weights and
+ * twiddle factors are computed in double precision and rounded once.
+ * <p>
+ * Not thread safe.
+ */
+public class FastCosineTransformF {
+
+    private final int mDim;
+    private final int mBits;
+
+    private final float[] mWeight;
+    private final float[] mInvWeight;
+    private final float[] mWorkA;
+    private final float[] mTwiddle;
+
+
+    /**
+     * The sole argument, <tt>dim</tt> indicates the size
+     * of vectors on which the transform will operate.  This
+     * must be a power-of-two.
+     * <p>
+     * Memory footprint is a bit over 24 * dim bytes.
+     *
+     * @param dim Size of vector on which this transform operates.  Must be power-of-two.
+     * @throws IllegalArgumentException if dim is smaller than 2, too large, or not a power-of-two.
+     */
+    public FastCosineTransformF( int dim ) {
+        mDim = dim;
+        mBits = FastFourierTransform.computeBitNum( dim );
+
+        mWeight = new float[dim * 2];
+        mInvWeight = new float[dim * 2];
+        mWorkA = new float[dim * 2];
+        mTwiddle = TwiddleTable.floatsForBits( mBits );
+
+        computeWeightVectors( dim, mWeight, mInvWeight );
+    }
+
+    /**
+     * Performs a Fast Discrete Cosine Transform on an array of real values.
+     * <p>
+     * Not thread safe.
+     *
+     * @param a       Input array of real values with size [dim].
+     * @param aOff    Offset into array <tt>a</tt>
+     * @param inverse Set to <tt>true</tt> to perform inverse transform.
+     * @param out     Output matrix where DCT coeffs are stored.  Must have space for <tt>dim</tt> values.
+     * @param outOff  Offset into array <tt>out</tt>
+     */
+    public void apply( float[] a, int aOff, boolean inverse, float[] out, int outOff ) {
+        apply( a, aOff, 1, inverse, out, outOff, 1 );
+    }
+
+    /**
+     * Performs a Fast Discrete Cosine Transform on an array of real values that are not
+     * stored contiguously. Value <tt>k</tt> is read from <tt>a[aOff + k * aStride]</tt>, and
+     * coefficient <tt>k</tt> is written to <tt>out[outOff + k * outStride]</tt>. This can be
+     * used to transform a column of a matrix, or one channel of interleaved data, in place of
+     * copying it out and back.
+     * <p>
+     * Not thread safe.
+     *
+     * @param a         Input array of real values.
+     * @param aOff      Offset into array <tt>a</tt>
+     * @param aStride   Distance between consecutive input values, in array elements. Must be positive.
+     * @param inverse   Set to <tt>true</tt> to perform inverse transform.
+     * @param out       Output array where DCT coeffs are stored.
+     * @param outOff    Offset into array <tt>out</tt>
+     * @param outStride Distance between consecutive output values, in array elements. Must be positive.
+     */
+    public void apply( float[] a, int aOff, int aStride, boolean inverse, float[] out, int outOff, int outStride ) {
+        if( !inverse ) {
+            shuffle1( a, aOff, aStride, mDim, mBits, mWorkA );
+            FastFourierTransformF.transform( mWorkA, 0, mDim, false, mTwiddle );
+            shuffle2( mWorkA, mWeight, mDim, out, outOff, outStride );
+        } else {
+            invShuffle1( a, aOff, aStride, mInvWeight, mDim, mBits, mWorkA );
+            FastFourierTransformF.transform( mWorkA, 0, mDim, true, mTwiddle );
+            invShuffle2( mWorkA, mDim, out, outOff, outStride );
+        }
+    }
+
+
+
+    private static void computeWeightVectors( int dim, float[] out, float[] outInv ) {
+        final double s = 1.0 / dim;
+        out[0] = 1.0f;
+        out[1] = 0.0f;
+        outInv[0] = (float)s;
+        outInv[1] = 0.0f;
+
+        for( int i = 1; i < dim; i++ ) {
+            double cos = Math.cos(  i * Math.PI * 0.5 / dim );
+            double sin = Math.sqrt( 1.0 - cos * cos );
+
+            out[i*2  ] = (float)(  2.0 * cos );
+            out[i*2+1] = (float)( -2.0 * sin );
+
+            outInv[i*2  ] = (float)( s * cos );
+            outInv[i*2+1] = (float)( s * sin );
+        }
+    }
+
+    /**
+     * 1. Drop complex components <br>
+     * 2. Butterfly shuffle       <br>
+     * 3. Reverse-bit shuffle     <br>
+     */
+    private static void shuffle1( float[] a, int offA, int strideA, int dim, int bits, float[] out ) {
+        final int shift = 30 - bits;
+        final int dim2 = dim * 2;
+
+        for( int rowOut2 = 0; rowOut2 < dim2; rowOut2 += 2 ) {
+            //Bit reversal shuffle.
+            int rowIn = ( FastFourierTransform.reverse( rowOut2 ) >>> shift );
+
+            //Butterfly shuffle.
+            rowIn = rowIn + (rowIn / dim) * (dim2 - 2 * rowIn - 1);
+            out[rowOut2] = a[rowIn * strideA + offA];
+            out[rowOut2 + 1] = 0.0f;
+        }
+    }
+
+    /**
+     * 1. Apply weight vector       <br>
+     * 2. Drop imaginary components <br>
+     */
+    private static void shuffle2( float[] a, float[] w, int dim, float[] out, int offOut, int strideOut ) {
+        final int dim2 = 2 * dim;
+
+        for( int y2 = 0; y2 < dim2; y2 += 2 ) {
+            out[offOut] = a[y2] * w[y2] - a[y2 + 1] * w[y2 + 1];
+            offOut += strideOut;
+        }
+    }
+
+    /**
+     * 1. Apply weights       <br>
+     * 2. Reverse-bit shuffle <br>
+     */
+    private static void invShuffle1( float[] a, int offA, int strideA, float[] w, int dim, int bits, float[] out ) {
+        final int shift = 31 - bits;
+
+        for( int rowIn = 0; rowIn < dim; rowIn++ ) {
+            int rowOut2 = ( FastFourierTransform.reverse( rowIn ) >>> shift );
+            float v = a[offA + rowIn * strideA];
+
+            out[rowOut2] = v * w[rowIn * 2];
+            out[rowOut2 + 1] = v * w[rowIn * 2 + 1];
+        }
+    }
+
+    /**
+     * 1. Drop imaginary component   <br>
+     * 2. Reverse butterfly shuffle  <br>
+     */
+    private static void invShuffle2( float[] a, int dim, float[] out, int offOut, int strideOut ) {
+        final int dim2 = dim * 2;
+
+        for( int i2 = 0; i2 < dim2; i2 += 2 ) {
+            //Reverse butterfly shuffle.
+            final int rowO = i2 + (i2 / dim) * (dim2 - 1 - 2 * i2);
+            out[rowO * strideOut + offOut] = a[i2];
+        }
+    }
+
+}
\ No newline at end of file
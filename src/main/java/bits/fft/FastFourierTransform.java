@@ -5,6 +5,10 @@
  */
 package bits.fft;
 
+import java.nio.DoubleBuffer;
+import java.util.concurrent.ForkJoinPool;
+
+
 /**
  * Performs a Fast Fourier Transform on an array of values.
  * Compatible with both real and complex valued inputs.
@@ -16,7 +20,142 @@ package bits.fft;
  */
 public class FastFourierTransform {
 
+    /**
+     * Butterfly kernel used to compute transform.
+     */
+    public enum Kernel {
+        /**
+         * Selects a kernel automatically based on the transform size.
+         */
+        AUTO,
+
+        /**
+         * Radix-2, decimation in time. One pass over data per bit of <tt>dim</tt>.
+         */
+        RADIX2,
+
+        /**
+         * Radix-4, decimation in time. Makes half as many passes over data as
+         * {@link #RADIX2} and uses a quarter fewer complex multiplications.
+         * When <tt>dim</tt> is an odd power of two, a single radix-2 pass
+         * is used for the first stage. Always reads twiddles from a table.
+         * On Java 17 and later, runs with SIMD instructions when the
+         * <tt>jdk.incubator.vector</tt> module is added to the runtime.
+         */
+        RADIX4,
+
+        /**
+         * Split-radix, decimation in time. Computed recursively, depth first,
+         * which keeps sub-transforms in cache, and needs fewer multiplications
+         * than {@link #RADIX4}. Always reads twiddles from a table.
+         */
+        SPLIT_RADIX,
+
+        /**
+         * Straight-line codelets, generated at build time, with constant twiddles and
+         * no loops. Used directly when <tt>dim</tt> is at most 64. Larger sizes transform
+         * blocks of 32 or 64 elements with codelets, then finish with the stages of
+         * {@link #RADIX4}.
+         */
+        UNROLLED
+    }
+
+
+    /**
+     * Method used to produce twiddle factors for butterfly stages.
+     */
+    public enum Twiddle {
+        /**
+         * Twiddles are generated on the fly with a trig recurrence.
+         * Requires no memory, but costs a few extra operations per
+         * butterfly and accumulates some rounding error for large
+         * transforms.
+         */
+        RECURRENCE,
+
+        /**
+         * Twiddles are read from a precomputed table. Tables are computed
+         * once per size and shared by all instances, requiring
+         * about <tt>16 * dim</tt> bytes.
+         */
+        TABLE
+    }
+
+
+    /**
+     * Method used for the bit-reversal permutation of complex input.
+     * The COBRA methods copy tiles of elements through a small buffer, so that
+     * reads and writes both run in contiguous blocks. Larger tiles make longer
+     * runs but need more cache. A COBRA method that needs more elements than
+     * <tt>dim</tt> falls back to {@link #TABLE}.
+     */
+    public enum Shuffle {
+        /**
+         * Selects a method automatically based on the transform size.
+         */
+        AUTO,
+
+        /**
+         * Scatters elements to positions read from a precomputed table.
+         */
+        TABLE,
+
+        /**
+         * COBRA with tiles of 16 x 16 elements. Requires <tt>dim &gt;= 2^8</tt>.
+         */
+        COBRA16,
+
+        /**
+         * COBRA with tiles of 32 x 32 elements. Requires <tt>dim &gt;= 2^10</tt>.
+         */
+        COBRA32,
+
+        /**
+         * COBRA with tiles of 64 x 64 elements. Requires <tt>dim &gt;= 2^12</tt>.
+         */
+        COBRA64
+    }
+
+
+    /**
+     * Scaling applied to transform output.
+     */
+    public enum Normalization {
+        /**
+         * Inverse transforms are scaled by <tt>1 / dim</tt>, so an inverse transform undoes a
+         * forward transform. The scale is applied by the last butterfly stage, rather than by an
+         * extra pass over the output.
+         */
+        INVERSE,
+
+        /**
+         * No scaling. An inverse transform of a forward transform multiplies input by <tt>dim</tt>.
+         * Useful when the scale can be folded into a later operation, such as a filter
+         * multiplication or a final gain.
+         */
+        NONE
+    }
+
+
     private static final int MAX_BITS = 30;
+
+    /**
+     * Transforms smaller than this are always run serially, as
+     * task overhead would exceed any gain.
+     */
+    static final int PARALLEL_THRESHOLD = 1 << 15;
+
+    /**
+     * Batch transforms work on groups of at most this many vectors.
+     */
+    private static final int MAX_BATCH_GROUP = 16;
+
+    /**
+     * Groups are also limited to about this many complex values (256 KB),
+     * so that a group stays in L2 cache.
+     */
+    private static final int BATCH_GROUP_ELEMENTS = 1 << 14;
+
     private static final int REVERSE_TABLE[] = {
             0x00, 0x80, 0x40, 0xC0, 0x20, 0xA0, 0x60, 0xE0, 0x10, 0x90, 0x50, 0xD0, 0x30, 0xB0, 0x70, 0xF0,
             0x08, 0x88, 0x48, 0xC8, 0x28, 0xA8, 0x68, 0xE8, 0x18, 0x98, 0x58, 0xD8, 0x38, 0xB8, 0x78, 0xF8,
@@ -40,6 +179,12 @@ public class FastFourierTransform {
 
     private final int mDim;
     private final int mBits;
+    private final Kernel mKernel;
+    private final double[] mTwiddle;
+    private final Shuffle mShuffle;
+    private final int mCobraBits;
+    private final Normalization mNorm;
+    private final double mInverseScale;
 
 
     /**
@@ -53,8 +198,116 @@ public class FastFourierTransform {
      * @throws IllegalArgumentException if dim is smaller than 2, too large, or not a power-of-two.
      */
     public FastFourierTransform( int dim ) {
-        mDim = dim;
-        mBits = computeBitNum( dim );
+        this( dim, Twiddle.RECURRENCE );
+    }
+
+    /**
+     * @param dim     Size of vector on which the transform operates.  Must be power-of-two.
+     * @param twiddle Method used to produce twiddle factors. {@link Twiddle#TABLE} is
+     *                faster and more accurate for repeated transforms, at the cost of a
+     *                shared table of about <tt>16 * dim</tt> bytes.
+     * @throws IllegalArgumentException if dim is smaller than 2, too large, or not a power-of-two.
+     */
+    public FastFourierTransform( int dim, Twiddle twiddle ) {
+        this( dim, Kernel.RADIX2, twiddle );
+    }
+
+    /**
+     * @param dim    Size of vector on which the transform operates.  Must be power-of-two.
+     * @param kernel Butterfly kernel to use.
+     * @throws IllegalArgumentException if dim is smaller than 2, too large, or not a power-of-two.
+     */
+    public FastFourierTransform( int dim, Kernel kernel ) {
+        this( dim, kernel, Twiddle.TABLE );
+    }
+
+    /**
+     * @param dim     Size of vector on which the transform operates.  Must be power-of-two.
+     * @param kernel  Butterfly kernel to use.
+     * @param twiddle Method used to produce twiddle factors. Only {@link Kernel#RADIX2}
+     *                supports {@link Twiddle#RECURRENCE}; other kernels always use a table.
+     * @throws IllegalArgumentException if dim is smaller than 2, too large, or not a power-of-two.
+     */
+    public FastFourierTransform( int dim, Kernel kernel, Twiddle twiddle ) {
+        this( dim, kernel, twiddle, Shuffle.AUTO );
+    }
+
+    /**
+     * @param dim     Size of vector on which the transform operates.  Must be power-of-two.
+     * @param kernel  Butterfly kernel to use.
+     * @param twiddle Method used to produce twiddle factors. Only {@link Kernel#RADIX2}
+     *                supports {@link Twiddle#RECURRENCE}; other kernels always use a table.
+     * @param shuffle Bit-reversal method used by {@link #applyComplex(double[], int, boolean, double[], int)}.
+     * @throws IllegalArgumentException if dim is smaller than 2, too large, or not a power-of-two.
+     * @see FftPlanner
+     */
+    public FastFourierTransform( int dim, Kernel kernel, Twiddle twiddle, Shuffle shuffle ) {
+        this( dim, kernel, twiddle, shuffle, Normalization.INVERSE );
+    }
+
+    /**
+     * @param dim     Size of vector on which the transform operates.  Must be power-of-two.
+     * @param kernel  Butterfly kernel to use.
+     * @param twiddle Method used to produce twiddle factors. Only {@link Kernel#RADIX2}
+     *                supports {@link Twiddle#RECURRENCE}; other kernels always use a table.
+     * @param shuffle Bit-reversal method used by {@link #applyComplex(double[], int, boolean, double[], int)}.
+     * @param norm    Scaling applied to output.
+     * @throws IllegalArgumentException if dim is smaller than 2, too large, or not a power-of-two.
+     */
+    public FastFourierTransform( int dim, Kernel kernel, Twiddle twiddle, Shuffle shuffle, Normalization norm ) {
+        mDim    = dim;
+        mBits   = computeBitNum( dim );
+        mKernel = kernel == Kernel.AUTO ? selectKernel( mBits ) : kernel;
+
+        if( twiddle == Twiddle.TABLE || mKernel != Kernel.RADIX2 ) {
+            mTwiddle = TwiddleTable.forBits( mBits );
+        } else {
+            mTwiddle = null;
+        }
+
+        int cobraBits;
+        switch( shuffle ) {
+        case COBRA16:
+            cobraBits = 4;
+            break;
+        case COBRA32:
+            cobraBits = 5;
+            break;
+        case COBRA64:
+            cobraBits = 6;
+            break;
+        case TABLE:
+            cobraBits = 0;
+            break;
+        default:
+            cobraBits = mBits >= BitReversal.COBRA_MIN_BITS ? BitReversal.COBRA_TILE_BITS : 0;
+        }
+        mCobraBits = mBits >= cobraBits * 2 ? cobraBits : 0;
+        mShuffle   = shuffle;
+        mNorm      = norm;
+        mInverseScale = norm == Normalization.NONE ? 1.0 : 1.0 / dim;
+    }
+
+
+    /**
+     * @return kernel used by this transform. Never {@link Kernel#AUTO}.
+     */
+    public Kernel kernel() {
+        return mKernel;
+    }
+
+    /**
+     * @return bit-reversal method requested for this transform.
+     */
+    public Shuffle shuffle() {
+        return mShuffle;
+    }
+
+    /**
+     * @return scaling applied to output.
+     */
+    public Normalization normalization() {
+        return mNorm;
     }
 
 
@@ -71,21 +324,37 @@ public class FastFourierTransform {
      * @param xOff    Start position of data in the input array.
      * @param inverse Set to false for normal FFT, true for inverse FFT.
      * @param out     Output array where transformed, complex elements are stored: <b>NOTE:</b> <tt>out.length &gt= dim * 2 + outOff</tt>
+     *                May be <tt>x</tt> if <tt>outOff == xOff</tt>, in which case the transform is done in place.
      * @param outOff  Start position into output array.
      */
     public void applyComplex( double[] x, int xOff, boolean inverse, double[] out, int outOff ) {
-        // Bit-reverse the order of the data and copy into the output array.
-        reverseBitShuffle( x, xOff, out, outOff, mDim, mBits );
-        transform( out, outOff, mDim, inverse );
+        if( x == out && xOff == outOff ) {
+            applyComplex( out, outOff, inverse );
+            return;
+        }
 
-        //Perform scaling if this is an inverse transform.
-        if( inverse ) {
-            double scale = 1.0 / mDim;
-            int len2 = mDim * 2;
-            for( int i = 0; i < len2; i++ ) {
-                out[i + outOff] *= scale;
-            }
+        // Bit-reverse the order of the data and copy into the output array.
+        if( mCobraBits == 0 ) {
+            BitReversal.permuteTable( x, xOff, out, outOff, mBits );
+        } else {
+            BitReversal.permuteCobra( x, xOff, out, outOff, mBits, mCobraBits );
         }
+        runKernel( out, outOff, mDim, inverse );
+    }
+
+    /**
+     * Performs a Fast Fourier Transform in place on a vector of complex values,
+     * stored in the same format as {@link #applyComplex(double[], int, boolean, double[], int)}.
+     * No other buffer of size <tt>dim</tt> is used, so peak memory is half that of
+     * an out-of-place transform.
+     *
+     * @param a       Array of complex samples, replaced by their transform: <b>NOTE:</b> <tt>a.length &gt= dim * 2 + aOff</tt>.
+     * @param aOff    Start position of data in the array.
+     * @param inverse Set to false for normal FFT, true for inverse FFT.
+     */
+    public void applyComplex( double[] a, int aOff, boolean inverse ) {
+        BitReversal.permuteInPlace( a, aOff, mBits );
+        runKernel( a, aOff, mDim, inverse );
     }
 
     /**
@@ -106,31 +375,774 @@ public class FastFourierTransform {
      */
     public void applyReal( double[] x, int xOff, boolean inverse, double[] out, int outOff ) {
         // Bit-reverse the order of the data and copy into the output array.
-        final int shift = 31 - mBits;
+        final int[] rev = BitReversal.indices( mBits );
         final int dim   = mDim;
 
         for( int i = 0; i < dim; i++ ) {
             int ii = i + xOff;
-            int jj = (reverse( i ) >>> shift) + outOff;
+            int jj = rev[i] * 2 + outOff;
             out[jj    ] = x[ii];
             out[jj + 1] = 0;
         }
 
-        transform( out, outOff, mDim, inverse );
+        runKernel( out, outOff, mDim, inverse );
+    }
+
+
+    /**
+     * Performs a Fast Fourier Transform on a vector of complex values that are not stored
+     * contiguously. Sample <tt>k</tt> is read from <tt>x[xOff + k * xStride]</tt> (real) and
+     * <tt>x[xOff + k * xStride + 1]</tt> (imaginary), and written to the same positions of
+     * <tt>out</tt> using <tt>outOff</tt> and <tt>outStride</tt>. A stride of 2 is the packed
+     * format used by {@link #applyComplex(double[], int, boolean, double[], int)}.
+     * <p>
+     * Input is read directly by the bit-reversal shuffle. If output is packed, the transform
+     * runs in place in <tt>out</tt>. Otherwise it runs in a work buffer of <tt>dim * 2</tt>
+     * values, which one scatter pass then writes to <tt>out</tt>. This method allocates that
+     * buffer on each call; pass a {@link Workspace} to reuse one.
+     *
+     * @param x         Input array of complex samples.
+     * @param xOff      Start position of data in the input array.
+     * @param xStride   Distance between consecutive input samples, in array elements. Must be at least 2.
+     * @param inverse   Set to false for normal FFT, true for inverse FFT.
+     * @param out       Output array where transformed, complex elements are stored. Must not overlap input.
+     * @param outOff    Start position into output array.
+     * @param outStride Distance between consecutive output samples, in array elements. Must be at least 2.
+     */
+    public void applyComplex( double[] x, int xOff, int xStride, boolean inverse, double[] out, int outOff, int outStride ) {
+        applyStrided( x, xOff, 2, xStride, inverse, out, outOff, outStride, null );
+    }
+
+    /**
+     * Same as {@link #applyComplex(double[], int, int, boolean, double[], int, int)}, but runs
+     * in the first buffer of <tt>ws</tt> when output is not packed.
+     */
+    public void applyComplex( double[] x,
+                              int xOff,
+                              int xStride,
+                              boolean inverse,
+                              double[] out,
+                              int outOff,
+                              int outStride,
+                              Workspace ws )
+    {
+        applyStrided( x, xOff, 2, xStride, inverse, out, outOff, outStride, ws );
+    }
+
+    /**
+     * Performs a Fast Fourier Transform on a vector of real values that are not stored
+     * contiguously. Sample <tt>k</tt> is read from <tt>x[xOff + k * xStride]</tt>, and
+     * complex output is written as in {@link #applyComplex(double[], int, int, boolean, double[], int, int)}.
+     *
+     * @param x         Input array of real-valued samples.
+     * @param xOff      Start position of data in the input array.
+     * @param xStride   Distance between consecutive input samples, in array elements. Must be positive.
+     * @param inverse   Set to false for normal FFT, true for inverse FFT.
+     * @param out       Output array where transformed, complex samples are stored. Must not overlap input.
+     * @param outOff    Start position into output array.
+     * @param outStride Distance between consecutive output samples, in array elements. Must be at least 2.
+     */
+    public void applyReal( double[] x, int xOff, int xStride, boolean inverse, double[] out, int outOff, int outStride ) {
+        applyStrided( x, xOff, 1, xStride, inverse, out, outOff, outStride, null );
+    }
+
+    /**
+     * Same as {@link #applyReal(double[], int, int, boolean, double[], int, int)}, but runs
+     * in the first buffer of <tt>ws</tt> when output is not packed.
+     */
+    public void applyReal( double[] x,
+                           int xOff,
+                           int xStride,
+                           boolean inverse,
+                           double[] out,
+                           int outOff,
+                           int outStride,
+                           Workspace ws )
+    {
+        applyStrided( x, xOff, 1, xStride, inverse, out, outOff, outStride, ws );
+    }
+
+    /**
+     * Performs a Fast Fourier Transform on complex values read from a buffer, such as a
+     * direct buffer filled from a channel or a view of a memory-mapped file. Sample <tt>k</tt>
+     * is read from indices <tt>xOff + k * xStride</tt> (real) and <tt>xOff + k * xStride + 1</tt>
+     * (imaginary), and output is written to <tt>out</tt> in the packed format used by
+     * {@link #applyComplex(double[], int, boolean, double[], int)}. Values are read directly into
+     * <tt>out</tt>, with no intermediate copy.
+     * <p>
+     * Indices are absolute, and the position of <tt>x</tt> is neither used nor modified.
+     * Byte order is that of the buffer; for little-endian data, create the view with
+     * <tt>byteBuffer.order( ByteOrder.LITTLE_ENDIAN ).asDoubleBuffer()</tt>. There are no <tt>MemorySegment</tt>
+     * overloads; a Java 22 segment can be passed through <tt>segment.asByteBuffer()</tt>.
+     *
+     * @param x       Input buffer of complex samples.
+     * @param xOff    Index of first sample in <tt>x</tt>.
+     * @param xStride Distance between consecutive input samples, in elements. Must be at least 2.
+     * @param inverse Set to false for normal FFT, true for inverse FFT.
+     * @param out     Output array where transformed, complex elements are stored: <b>NOTE:</b> <tt>out.length &gt= dim * 2 + outOff</tt>
+     * @param outOff  Start position into output array.
+     */
+    public void applyComplex( DoubleBuffer x, int xOff, int xStride, boolean inverse, double[] out, int outOff ) {
+        applyBuffer( x, xOff, 2, xStride, inverse, out, outOff );
+    }
+
+    /**
+     * Performs a Fast Fourier Transform on real values read from a buffer. Sample <tt>k</tt>
+     * is read from index <tt>xOff + k * xStride</tt>. See
+     * {@link #applyComplex(DoubleBuffer, int, int, boolean, double[], int)} for details.
+     *
+     * @param x       Input buffer of real-valued samples.
+     * @param xOff    Index of first sample in <tt>x</tt>.
+     * @param xStride Distance between consecutive input samples, in elements. Must be positive.
+     * @param inverse Set to false for normal FFT, true for inverse FFT.
+     * @param out     Output array where transformed, complex samples are stored: <b>NOTE:</b> <tt>out.length &gt= dim * 2 + outOff</tt>
+     * @param outOff  Start position into output array.
+     */
+    public void applyReal( DoubleBuffer x, int xOff, int xStride, boolean inverse, double[] out, int outOff ) {
+        applyBuffer( x, xOff, 1, xStride, inverse, out, outOff );
+    }
+
+    /**
+     * Performs a Fast Fourier Transform on complex values read from one buffer, and writes
+     * the result to another. Sample <tt>k</tt> is read from indices <tt>xOff + k * xStride</tt>
+     * and <tt>xOff + k * xStride + 1</tt>, and written to indices <tt>outOff + k * outStride</tt>
+     * and <tt>outOff + k * outStride + 1</tt>.
+     * <p>
+     * If <tt>out</tt> is backed by an array that <tt>x</tt> does not share, and <tt>outStride == 2</tt>,
+     * the transform runs in place in that array. Otherwise it runs in a work array of
+     * <tt>dim * 2</tt> values, which one pass then writes to <tt>out</tt>. This method allocates
+     * that array on each call; pass a {@link Workspace} to reuse one. Positions of
+     * buffers are neither used nor modified. See
+     * {@link #applyComplex(DoubleBuffer, int, int, boolean, double[], int)} for details.
+     *
+     * @param x         Input buffer of complex samples.
+     * @param xOff      Index of first sample in <tt>x</tt>.
+     * @param xStride   Distance between consecutive input samples, in elements. Must be at least 2.
+     * @param inverse   Set to false for normal FFT, true for inverse FFT.
+     * @param out       Output buffer where transformed, complex elements are stored.
+     * @param outOff    Index of first output sample in <tt>out</tt>.
+     * @param outStride Distance between consecutive output samples, in elements. Must be at least 2.
+     */
+    public void applyComplex( DoubleBuffer x, int xOff, int xStride, boolean inverse, DoubleBuffer out, int outOff, int outStride ) {
+        transformBuffer( x, xOff, 2, xStride, inverse, out, outOff, outStride, null );
+    }
+
+    /**
+     * Same as {@link #applyComplex(DoubleBuffer, int, int, boolean, DoubleBuffer, int, int)}, but uses
+     * the first buffer of <tt>ws</tt> when it cannot run in place.
+     */
+    public void applyComplex( DoubleBuffer x,
+                              int xOff,
+                              int xStride,
+                              boolean inverse,
+                              DoubleBuffer out,
+                              int outOff,
+                              int outStride,
+                              Workspace ws )
+    {
+        transformBuffer( x, xOff, 2, xStride, inverse, out, outOff, outStride, ws );
+    }
+
+    /**
+     * Performs a Fast Fourier Transform on real values read from one buffer, and writes the
+     * complex result to another. See
+     * {@link #applyComplex(DoubleBuffer, int, int, boolean, DoubleBuffer, int, int)} for details.
+     *
+     * @param x         Input buffer of real-valued samples.
+     * @param xOff      Index of first sample in <tt>x</tt>.
+     * @param xStride   Distance between consecutive input samples, in elements. Must be positive.
+     * @param inverse   Set to false for normal FFT, true for inverse FFT.
+     * @param out       Output buffer where transformed, complex samples are stored.
+     * @param outOff    Index of first output sample in <tt>out</tt>.
+     * @param outStride Distance between consecutive output samples, in elements. Must be at least 2.
+     */
+    public void applyReal( DoubleBuffer x, int xOff, int xStride, boolean inverse, DoubleBuffer out, int outOff, int outStride ) {
+        transformBuffer( x, xOff, 1, xStride, inverse, out, outOff, outStride, null );
+    }
+
+    /**
+     * Same as {@link #applyReal(DoubleBuffer, int, int, boolean, DoubleBuffer, int, int)}, but uses
+     * the first buffer of <tt>ws</tt> when it cannot run in place.
+     */
+    public void applyReal( DoubleBuffer x,
+                           int xOff,
+                           int xStride,
+                           boolean inverse,
+                           DoubleBuffer out,
+                           int outOff,
+                           int outStride,
+                           Workspace ws )
+    {
+        transformBuffer( x, xOff, 1, xStride, inverse, out, outOff, outStride, ws );
+    }
+
+
+    /**
+     * Parallel version of {@link #applyComplex(double[], int, boolean, double[], int)}.
+     * Divides work between the threads of <tt>pool</tt>. Output is bit-identical to the
+     * serial method, regardless of the number of threads. Transforms of fewer than
+     * {@link #PARALLEL_THRESHOLD} elements, or with a pool of one thread, run serially
+     * on the calling thread.
+     *
+     * @param x       Input array of complex samples: <b>NOTE:</b> <tt>x.length &gt= dim * 2 + xOff</tt>.
+     * @param xOff    Start position of data in the input array.
+     * @param inverse Set to false for normal FFT, true for inverse FFT.
+     * @param out     Output array where transformed, complex elements are stored: <b>NOTE:</b> <tt>out.length &gt= dim * 2 + outOff</tt>
+     * @param outOff  Start position into output array.
+     * @param pool    Pool on which to run transform. May be null, which runs serially.
+     */
+    public void applyComplex( double[] x, int xOff, boolean inverse, double[] out, int outOff, ForkJoinPool pool ) {
+        if( !isParallel( pool ) ) {
+            applyComplex( x, xOff, inverse, out, outOff );
+            return;
+        }
+
+        ParallelKernel.shuffleComplex( pool, x, xOff, out, outOff, mDim, mBits );
+        ParallelKernel.transform( pool, mKernel, mTwiddle, out, outOff, mDim, inverse );
+        if( inverse && mInverseScale != 1.0 ) {
+            ParallelKernel.scale( pool, out, outOff, mDim * 2, mInverseScale );
+        }
+    }
+
+    /**
+     * Parallel version of {@link #applyReal(double[], int, boolean, double[], int)}.
+     * Divides work between the threads of <tt>pool</tt>. Output is bit-identical to the
+     * serial method, regardless of the number of threads. Transforms of fewer than
+     * {@link #PARALLEL_THRESHOLD} elements, or with a pool of one thread, run serially
+     * on the calling thread.
+     *
+     * @param x          Input array of real-valued samples: <b>NOTE:</b> <tt>x.length &gt= dim + xOff</tt>.
+     * @param xOff       Start position of data in the input array.
+     * @param inverse    Set to false for normal FFT, true for inverse FFT.
+     * @param out        Output array where transformed, complex samples are stored: <b>NOTE:</b> <tt>out.length &gt= numSamples * 2 + outOff</tt>
+     * @param outOff     Start position into output array.
+     * @param pool       Pool on which to run transform. May be null, which runs serially.
+     */
+    public void applyReal( double[] x, int xOff, boolean inverse, double[] out, int outOff, ForkJoinPool pool ) {
+        if( !isParallel( pool ) ) {
+            applyReal( x, xOff, inverse, out, outOff );
+            return;
+        }
+
+        ParallelKernel.shuffleReal( pool, x, xOff, out, outOff, mDim, mBits );
+        ParallelKernel.transform( pool, mKernel, mTwiddle, out, outOff, mDim, inverse );
+        if( inverse && mInverseScale != 1.0 ) {
+            ParallelKernel.scale( pool, out, outOff, mDim * 2, mInverseScale );
+        }
+    }
+
+
+    /**
+     * Performs a forward Fast Fourier Transform on an array of real values, producing only
+     * the <tt>dim / 2 + 1</tt> non-redundant output bins. The remaining bins are
+     * given by conjugate symmetry: <tt>X[dim - k] = conj( X[k] )</tt>.
+     * <p>
+     * The input is packed into a complex vector of half length, so this costs
+     * about half the time of {@link #applyReal} and writes about half the output.
+     * <p>
+     * Output is complex, stored in the same tightly packed format used by {@link #applyComplex}:<br>
+     * <tt>[... r0, i0, r1, i1, ... r(dim/2), i(dim/2) ...]</tt><br>
+     * The imaginary components of bins <tt>0</tt> and <tt>dim/2</tt> are always zero.
+     *
+     * @param x      Input array of real-valued samples: <b>NOTE:</b> <tt>x.length &gt= dim + xOff</tt>.
+     * @param xOff   Start position of data in the input array.
+     * @param out    Output array where complex bins are stored: <b>NOTE:</b> <tt>out.length &gt= dim + 2 + outOff</tt>
+     * @param outOff Start position into output array.
+     */
+    public void applyRealToComplex( double[] x, int xOff, double[] out, int outOff ) {
+        final int half  = mDim >> 1;
+        final int shift = 32 - mBits;
+
+        // Pack even samples into real components, odd samples into imaginary,
+        // and bit-reverse for a transform of size dim / 2.
+        for( int m = 0; m < half; m++ ) {
+            int ii = xOff + m * 2;
+            int jj = ( reverse( m ) >>> shift ) + outOff;
+            out[jj    ] = x[ii    ];
+            out[jj + 1] = x[ii + 1];
+        }
+
+        runKernel( out, outOff, half, false );
+
+        // Split spectrum of packed vector into spectra of even and odd samples, E and O,
+        // then combine: X[k] = E[k] + W^k * O[k].
+        final double[] table = mTwiddle != null ? mTwiddle : TwiddleTable.forBits( mBits );
+        final int tableOff   = TwiddleTable.stageOffset( half );
+
+        final double z0r = out[outOff    ];
+        final double z0i = out[outOff + 1];
+        out[outOff    ] = z0r + z0i;
+        out[outOff + 1] = 0.0;
+        out[outOff + mDim    ] = z0r - z0i;
+        out[outOff + mDim + 1] = 0.0;
+
+        for( int k = 1, m = half - 1; k <= m; k++, m-- ) {
+            final int jk = outOff + k * 2;
+            final int jm = outOff + m * 2;
+
+            final double ar = out[jk    ];
+            final double ai = out[jk + 1];
+            final double cr = out[jm    ];
+            final double ci = out[jm + 1];
+
+            // E = ( Z[k] + conj( Z[m] ) ) / 2
+            // O = ( Z[k] - conj( Z[m] ) ) / 2i
+            final double er = 0.5 * ( ar + cr );
+            final double ei = 0.5 * ( ai - ci );
+            final double or = 0.5 * ( ai + ci );
+            final double oi = 0.5 * ( cr - ar );
+
+            final double wr = table[tableOff + k * 2    ];
+            final double wi = table[tableOff + k * 2 + 1];
+            final double tr = wr * or - wi * oi;
+            final double ti = wr * oi + wi * or;
+
+            // X[k] = E + W^k O,  X[m] = conj( E - W^k O )
+            out[jk    ] =   er + tr;
+            out[jk + 1] =   ei + ti;
+            out[jm    ] =   er - tr;
+            out[jm + 1] = -( ei - ti );
+        }
+    }
+
+
+
+    /**
+     * Performs an inverse Fast Fourier Transform on the <tt>dim / 2 + 1</tt> non-redundant bins
+     * of a conjugate-symmetric spectrum, producing <tt>dim</tt> real values. This is the inverse of
+     * {@link #applyRealToComplex}, and is equivalent to calling <tt>applyComplex( ..., true, ... )</tt>
+     * on the full spectrum and dropping the imaginary components.
+     * <p>
+     * The transform runs on a complex vector of half length, and so costs about half
+     * the time of a full complex inverse.
+     *
+     * @param x      Input array of complex bins: <b>NOTE:</b> <tt>x.length &gt= dim + 2 + xOff</tt>.
+     *               The imaginary components of bins <tt>0</tt> and <tt>dim/2</tt> are ignored.
+     * @param xOff   Start position of data in the input array.
+     * @param out    Output array where real samples are stored: <b>NOTE:</b> <tt>out.length &gt= dim + outOff</tt>.
+     *               Must not overlap input.
+     * @param outOff Start position into output array.
+     */
+    public void applyComplexToReal( double[] x, int xOff, double[] out, int outOff ) {
+        final double[] table = mTwiddle != null ? mTwiddle : TwiddleTable.forBits( mBits );
+        packHermitian( x, xOff, 2, out, outOff, mBits, mInverseScale, table );
+        runKernel( out, outOff, mDim >> 1, true );
+    }
+
+
+    /**
+     * Performs a Fast Fourier Transform on each of <tt>count</tt> vectors of complex values.
+     * Vector <tt>v</tt> is read from <tt>x[xOff + v * xStride]</tt> and written to
+     * <tt>out[outOff + v * outStride]</tt>, each in the format used by {@link #applyComplex}.
+     * <p>
+     * Vectors are transformed in groups. Each group is gathered into a work buffer with
+     * elements interleaved, so that every twiddle is loaded once per group and butterflies
+     * run across the group in contiguous memory. Always uses the {@link Kernel#RADIX4}
+     * kernel, and output is identical to {@link #applyComplex} with that kernel.
+     * <p>
+     * The work buffer holds one group, of about 256 KB, or a single vector if that is larger.
+     * This method allocates it on each call; pass a {@link Workspace} to reuse one.
+     *
+     * @param x         Input array of complex samples.
+     * @param xOff      Start position of first vector in the input array.
+     * @param xStride   Distance between the starts of consecutive input vectors, in array elements. Must be at least <tt>dim * 2</tt>.
+     * @param inverse   Set to false for normal FFT, true for inverse FFT.
+     * @param out       Output array where transformed, complex elements are stored.
+     * @param outOff    Start position of first vector in the output array.
+     * @param outStride Distance between the starts of consecutive output vectors, in array elements. Must be at least <tt>dim * 2</tt>.
+     * @param count     Number of vectors to transform.
+     */
+    public void applyComplexBatch( double[] x,
+                                   int xOff,
+                                   int xStride,
+                                   boolean inverse,
+                                   double[] out,
+                                   int outOff,
+                                   int outStride,
+                                   int count )
+    {
+        transformBatch( x, xOff, 2, xStride, inverse, out, outOff, outStride, count, null );
+    }
+
+    /**
+     * Same as {@link #applyComplexBatch(double[], int, int, boolean, double[], int, int, int)},
+     * but gathers each group into the first buffer of <tt>ws</tt>.
+     */
+    public void applyComplexBatch( double[] x,
+                                   int xOff,
+                                   int xStride,
+                                   boolean inverse,
+                                   double[] out,
+                                   int outOff,
+                                   int outStride,
+                                   int count,
+                                   Workspace ws )
+    {
+        transformBatch( x, xOff, 2, xStride, inverse, out, outOff, outStride, count, ws );
+    }
 
-        // Perform scaling if this is an inverse transform.
-        if( inverse ) {
-            final double scale = 1.0 / mDim;
-            final int len2 = mDim * 2;
+    /**
+     * Performs a Fast Fourier Transform on each of <tt>count</tt> vectors of real values.
+     * Vector <tt>v</tt> is read from <tt>x[xOff + v * xStride]</tt>, in the format used by
+     * {@link #applyReal}, and its complex transform is written to <tt>out[outOff + v * outStride]</tt>.
+     * <p>
+     * See {@link #applyComplexBatch} for details.
+     *
+     * @param x         Input array of real-valued samples.
+     * @param xOff      Start position of first vector in the input array.
+     * @param xStride   Distance between the starts of consecutive input vectors, in array elements. Must be at least <tt>dim</tt>.
+     * @param inverse   Set to false for normal FFT, true for inverse FFT.
+     * @param out       Output array where transformed, complex samples are stored.
+     * @param outOff    Start position of first vector in the output array.
+     * @param outStride Distance between the starts of consecutive output vectors, in array elements. Must be at least <tt>dim * 2</tt>.
+     * @param count     Number of vectors to transform.
+     */
+    public void applyRealBatch( double[] x,
+                                int xOff,
+                                int xStride,
+                                boolean inverse,
+                                double[] out,
+                                int outOff,
+                                int outStride,
+                                int count )
+    {
+        transformBatch( x, xOff, 1, xStride, inverse, out, outOff, outStride, count, null );
+    }
 
-            for( int i = 0; i < len2; i++ ) {
-                out[i + outOff] *= scale;
+    /**
+     * Same as {@link #applyRealBatch(double[], int, int, boolean, double[], int, int, int)},
+     * but gathers each group into the first buffer of <tt>ws</tt>.
+     */
+    public void applyRealBatch( double[] x,
+                                int xOff,
+                                int xStride,
+                                boolean inverse,
+                                double[] out,
+                                int outOff,
+                                int outStride,
+                                int count,
+                                Workspace ws )
+    {
+        transformBatch( x, xOff, 1, xStride, inverse, out, outOff, outStride, count, ws );
+    }
+
+
+    /**
+     * Performs a Fast Fourier Transform on a vector of complex values stored in split format,
+     * with real components in one array and imaginary components in another: <br>
+     * <tt>re = [... r0, r1, r2 ...]</tt>, <tt>im = [... i0, i1, i2 ...]</tt>.
+     * <p>
+     * Always uses the {@link Kernel#RADIX4} kernel, written for split data, and output is
+     * identical to {@link #applyComplex} with that kernel.
+     *
+     * @param re       Input array of real components. <tt>re.length &gt= dim + reOff</tt>.
+     * @param reOff    Start position of real components.
+     * @param im       Input array of imaginary components. <tt>im.length &gt= dim + imOff</tt>.
+     * @param imOff    Start position of imaginary components.
+     * @param inverse  Set to false for normal FFT, true for inverse FFT.
+     * @param outRe    Output array for real components. <tt>outRe.length &gt= dim + outReOff</tt>.
+     * @param outReOff Start position into real output.
+     * @param outIm    Output array for imaginary components. <tt>outIm.length &gt= dim + outImOff</tt>.
+     * @param outImOff Start position into imaginary output.
+     */
+    public void applyComplexSplit( double[] re,
+                                   int reOff,
+                                   double[] im,
+                                   int imOff,
+                                   boolean inverse,
+                                   double[] outRe,
+                                   int outReOff,
+                                   double[] outIm,
+                                   int outImOff )
+    {
+        final int[] rev = BitReversal.indices( mBits );
+        final int dim   = mDim;
+        final double[] table = mTwiddle != null ? mTwiddle : TwiddleTable.forBits( mBits );
+
+        for( int i = 0; i < dim; i++ ) {
+            int jj = rev[i];
+            outRe[jj + outReOff] = re[i + reOff];
+            outIm[jj + outImOff] = im[i + imOff];
+        }
+
+        VectorKernel.transformRadix4Split( outRe, outReOff, outIm, outImOff, dim, inverse, table );
+
+        if( inverse && mInverseScale != 1.0 ) {
+            final double scale = mInverseScale;
+            for( int i = 0; i < dim; i++ ) {
+                outRe[i + outReOff] *= scale;
+                outIm[i + outImOff] *= scale;
+            }
+        }
+    }
+
+
+
+    /**
+     * Rebuilds the spectra of even and odd samples, E and O, from a half spectrum X and
+     * packs them into a complex vector <tt>Z = E + iO</tt> in bit-reversed order. An
+     * inverse transform of <tt>Z</tt> with length <tt>dim / 2</tt> produces the real
+     * samples of X, with even samples in real components and odd samples in imaginary.
+     *
+     * @param x       Input half spectrum with <tt>dim / 2 + 1</tt> complex bins.
+     * @param xOff    Offset into <tt>x</tt>.
+     * @param xStride Distance between consecutive complex bins in <tt>x</tt>, in array elements.
+     * @param out     Output of <tt>dim / 2</tt> complex values.
+     * @param outOff  Offset into <tt>out</tt>.
+     * @param bits    log2 of dim.
+     * @param scale   Scale applied to output.
+     * @param table   Twiddle table with at least <tt>bits</tt> stages.
+     */
+    static void packHermitian( double[] x,
+                               int xOff,
+                               int xStride,
+                               double[] out,
+                               int outOff,
+                               int bits,
+                               double scale,
+                               double[] table )
+    {
+        final int half     = 1 << ( bits - 1 );
+        final int shift    = 32 - bits;
+        final int tableOff = TwiddleTable.stageOffset( half );
+
+        // k = 0 pairs with bin dim/2.
+        {
+            final double ar = x[xOff];
+            final double cr = x[xOff + half * xStride];
+            out[outOff    ] = scale * ( ar + cr );
+            out[outOff + 1] = scale * ( ar - cr );
+        }
+
+        for( int k = 1, m = half - 1; k <= m; k++, m-- ) {
+            final int ik = xOff + k * xStride;
+            final int im = xOff + m * xStride;
+
+            final double ar = x[ik    ];
+            final double ai = x[ik + 1];
+            final double cr = x[im    ];
+            final double ci = x[im + 1];
+
+            // P = X[k] + conj( X[m] ),  Q = X[k] - conj( X[m] )
+            final double pr = ar + cr;
+            final double pi = ai - ci;
+            final double qr = ar - cr;
+            final double qi = ai + ci;
+
+            // R = Q * conj( W^k )
+            final double wr = table[tableOff + k * 2    ];
+            final double wi = table[tableOff + k * 2 + 1];
+            final double rr = qr * wr + qi * wi;
+            final double ri = qi * wr - qr * wi;
+
+            // Z[k] = P + iR,  Z[m] = conj( P ) + i * conj( R )
+            final int jk = ( reverse( k ) >>> shift ) + outOff;
+            final int jm = ( reverse( m ) >>> shift ) + outOff;
+            out[jk    ] = scale * ( pr - ri );
+            out[jk + 1] = scale * ( pi + rr );
+            out[jm    ] = scale * ( pr + ri );
+            out[jm + 1] = scale * ( rr - pi );
+        }
+    }
+
+
+    /**
+     * @param xUnit Elements per input sample; 2 for complex, 1 for real.
+     */
+    private void applyBuffer( DoubleBuffer x, int xOff, int xUnit, int xStride, boolean inverse, double[] out, int outOff ) {
+        final int[] rev = BitReversal.indices( mBits );
+        final int dim   = mDim;
+
+        for( int i = 0; i < dim; i++ ) {
+            final int ii = i * xStride + xOff;
+            final int jj = rev[i] * 2 + outOff;
+            out[jj    ] = x.get( ii );
+            out[jj + 1] = xUnit == 2 ? x.get( ii + 1 ) : 0.0;
+        }
+
+        runKernel( out, outOff, dim, inverse );
+    }
+
+
+    /**
+     * @param xUnit Elements per input sample; 2 for complex, 1 for real.
+     * @param ws    Source of work array if output cannot be used. May be null, in which case one is allocated.
+     */
+    private void transformBuffer( DoubleBuffer x,
+                                  int xOff,
+                                  int xUnit,
+                                  int xStride,
+                                  boolean inverse,
+                                  DoubleBuffer out,
+                                  int outOff,
+                                  int outStride,
+                                  Workspace ws )
+    {
+        if( outStride == 2 && out.hasArray() && outOff + mDim * 2 <= out.limit() &&
+            !( x.hasArray() && x.array() == out.array() ) )
+        {
+            applyBuffer( x, xOff, xUnit, xStride, inverse, out.array(), out.arrayOffset() + outOff );
+            return;
+        }
+
+        final double[] work = ws != null ? ws.a( mDim * 2 ) : new double[mDim * 2];
+        applyBuffer( x, xOff, xUnit, xStride, inverse, work, 0 );
+        putBuffer( work, out, outOff, outStride );
+    }
+
+
+    private void putBuffer( double[] work, DoubleBuffer out, int outOff, int outStride ) {
+        final int dim = mDim;
+        for( int i = 0; i < dim; i++ ) {
+            final int jj = i * outStride + outOff;
+            out.put( jj,     work[i * 2    ] );
+            out.put( jj + 1, work[i * 2 + 1] );
+        }
+    }
+
+
+    /**
+     * @param xUnit Array elements per input sample; 2 for complex, 1 for real.
+     * @param ws    Source of work buffer if output is not packed. May be null, in which case one is allocated.
+     */
+    private void applyStrided( double[] x,
+                               int xOff,
+                               int xUnit,
+                               int xStride,
+                               boolean inverse,
+                               double[] out,
+                               int outOff,
+                               int outStride,
+                               Workspace ws )
+    {
+        final int dim   = mDim;
+        final int[] rev = BitReversal.indices( mBits );
+        final boolean packed = outStride == 2;
+        final double[] work  = packed ? out : ws != null ? ws.a( dim * 2 ) : new double[dim * 2];
+        final int workOff    = packed ? outOff : 0;
+
+        for( int i = 0; i < dim; i++ ) {
+            final int ii = i * xStride + xOff;
+            final int jj = rev[i] * 2 + workOff;
+            work[jj    ] = x[ii];
+            work[jj + 1] = xUnit == 2 ? x[ii + 1] : 0.0;
+        }
+
+        runKernel( work, workOff, dim, inverse );
+
+        // The one copy left: scatter to strided output.
+        if( !packed ) {
+            for( int i = 0; i < dim; i++ ) {
+                final int jj = i * outStride + outOff;
+                out[jj    ] = work[i * 2    ];
+                out[jj + 1] = work[i * 2 + 1];
+            }
+        }
+    }
+
+    /**
+     * @param xUnit Array elements per input sample; 2 for complex, 1 for real.
+     * @param ws    Source of work buffer. May be null, in which case one is allocated.
+     */
+    private void transformBatch( double[] x,
+                                 int xOff,
+                                 int xUnit,
+                                 int xStride,
+                                 boolean inverse,
+                                 double[] out,
+                                 int outOff,
+                                 int outStride,
+                                 int count,
+                                 Workspace ws )
+    {
+        final int dim    = mDim;
+        final int[] rev  = BitReversal.indices( mBits );
+        final int group  = Math.max( 1, Math.min( MAX_BATCH_GROUP, BATCH_GROUP_ELEMENTS / dim ) );
+        final double[] table = mTwiddle != null ? mTwiddle : TwiddleTable.forBits( mBits );
+        final int workLen    = Math.min( group, count ) * dim * 2;
+        final double[] work  = ws != null ? ws.a( workLen ) : new double[workLen];
+
+        for( int v0 = 0; v0 < count; v0 += group ) {
+            final int batch = Math.min( group, count - v0 );
+            final int b2 = batch * 2;
+
+            // Gather group, interleaved, in bit-reversed order.
+            for( int c = 0; c < batch; c++ ) {
+                final int ii = xOff + ( v0 + c ) * xStride;
+                if( xUnit == 2 ) {
+                    for( int m = 0; m < dim; m++ ) {
+                        final int jj = rev[m] * b2 + c * 2;
+                        work[jj    ] = x[ii + m * 2    ];
+                        work[jj + 1] = x[ii + m * 2 + 1];
+                    }
+                } else {
+                    for( int m = 0; m < dim; m++ ) {
+                        final int jj = rev[m] * b2 + c * 2;
+                        work[jj    ] = x[ii + m];
+                        work[jj + 1] = 0.0;
+                    }
+                }
+            }
+
+            VectorKernel.transformRadix4Batch( work, 0, dim, batch, inverse, table );
+
+            // Scatter, scaling if inverse.
+            final double scale = mInverseScale;
+            for( int c = 0; c < batch; c++ ) {
+                final int jj = outOff + ( v0 + c ) * outStride;
+                if( inverse && scale != 1.0 ) {
+                    for( int m = 0, ii = c * 2; m < dim; m++, ii += b2 ) {
+                        out[jj + m * 2    ] = work[ii    ] * scale;
+                        out[jj + m * 2 + 1] = work[ii + 1] * scale;
+                    }
+                } else {
+                    for( int m = 0, ii = c * 2; m < dim; m++, ii += b2 ) {
+                        out[jj + m * 2    ] = work[ii    ];
+                        out[jj + m * 2 + 1] = work[ii + 1];
+                    }
+                }
             }
         }
+    }
+
 
+    private boolean isParallel( ForkJoinPool pool ) {
+        return pool != null && pool.getParallelism() > 1 && mDim >= PARALLEL_THRESHOLD;
+    }
+
+
+    /**
+     * Runs butterfly stages on bit-reversed data. Inverse transforms of full length are
+     * scaled according to {@link #normalization()}.
+     */
+    private void runKernel( double[] x, int off, int len, boolean inverse ) {
+        final double scale = inverse && len == mDim ? mInverseScale : 1.0;
+        switch( mKernel ) {
+        case RADIX4:
+            VectorKernel.transformRadix4( x, off, len, inverse, mTwiddle, scale );
+            break;
+        case SPLIT_RADIX:
+            transformSplitRadix( x, off, len, inverse ? -1.0 : 1.0, mTwiddle, scale );
+            break;
+        case UNROLLED:
+            transformUnrolled( x, off, len, inverse, mTwiddle, scale );
+            break;
+        default:
+            if( mTwiddle == null ) {
+                transform( x, off, len, inverse, scale );
+            } else {
+                transform( x, off, len, inverse, mTwiddle, scale );
+            }
+        }
     }
 
 
+    static Kernel selectKernel( int bits ) {
+        // Codelets measured fastest at every size from 2^2 through 2^20: 2-4x faster
+        // than radix-4 up to 2^8, and about 1.5x faster above.
+        return Kernel.UNROLLED;
+    }
+
 
     static int computeBitNum( int n ) {
         int bits = 31 - Integer.numberOfLeadingZeros( n );
@@ -152,6 +1164,14 @@ public class FastFourierTransform {
 
 
     static void transform( double[] x, int off, int len, boolean inverse ) {
+        transform( x, off, len, inverse, 1.0 );
+    }
+
+    /**
+     * Same as {@link #transform(double[], int, int, boolean)}, but multiplies the output
+     * of the last stage by <tt>scale</tt>.
+     */
+    static void transform( double[] x, int off, int len, boolean inverse, double scale ) {
         final double sign = inverse ? -1.0 : 1.0;
 
         int blockEnd = 1;
@@ -173,6 +1193,7 @@ public class FastFourierTransform {
             final double sm2 = 2.0 * sm1 * cm1;
 
             final double w = 2.0 * cm1;
+            final double s = blockSize == len ? scale : 1.0;
 
             for( int i = 0; i < len; i += blockSize ) {
                 ar2 = cm2;
@@ -194,11 +1215,17 @@ public class FastFourierTransform {
                     double tr = ar0 * x[k    ] - ai0 * x[k + 1];
                     double ti = ar0 * x[k + 1] + ai0 * x[k    ];
 
-                    x[k    ] = x[j    ] - tr;
-                    x[k + 1] = x[j + 1] - ti;
-
-                    x[j    ] += tr;
-                    x[j + 1] += ti;
+                    if( s == 1.0 ) {
+                        x[k    ] = x[j    ] - tr;
+                        x[k + 1] = x[j + 1] - ti;
+                        x[j    ] += tr;
+                        x[j + 1] += ti;
+                    } else {
+                        x[k    ] = ( x[j    ] - tr ) * s;
+                        x[k + 1] = ( x[j + 1] - ti ) * s;
+                        x[j    ] = ( x[j    ] + tr ) * s;
+                        x[j + 1] = ( x[j + 1] + ti ) * s;
+                    }
                 }
             }
 
@@ -207,12 +1234,570 @@ public class FastFourierTransform {
     }
 
 
-    private static void reverseBitShuffle( double[] a, int offA, double[] b, int offB, int dim, int bits ) {
-        final int shift = 31 - bits;
-        for( int xa = 0; xa < dim; xa++ ) {
-            int xb = ( reverse( xa ) >>> shift ) + offB;
-            b[xb    ] = a[offA++];
-            b[xb + 1] = a[offA++];
+    /**
+     * Same as {@link #transform(double[], int, int, boolean)}, but reads twiddles
+     * from a table provided by {@link TwiddleTable}.
+     */
+    static void transform( double[] x, int off, int len, boolean inverse, double[] table ) {
+        transform( x, off, len, inverse, table, 1.0 );
+    }
+
+    /**
+     * Same as {@link #transform(double[], int, int, boolean, double[])}, but multiplies the
+     * output of the last stage by <tt>scale</tt>.
+     */
+    static void transform( double[] x, int off, int len, boolean inverse, double[] table, double scale ) {
+        final double sign = inverse ? -1.0 : 1.0;
+
+        for( int half = 1; half < len; half <<= 1 ) {
+            final int blockSize = half << 1;
+            final int tableOff  = TwiddleTable.stageOffset( half );
+            final double s      = blockSize == len ? scale : 1.0;
+
+            for( int i = 0; i < len; i += blockSize ) {
+                for( int j = i * 2 + off, t = tableOff, n = 0; n < half; j += 2, t += 2, n++ ) {
+                    final double ar = table[t];
+                    final double ai = table[t + 1] * sign;
+
+                    int k = j + half * 2;
+                    double tr = ar * x[k    ] - ai * x[k + 1];
+                    double ti = ar * x[k + 1] + ai * x[k    ];
+
+                    if( s == 1.0 ) {
+                        x[k    ] = x[j    ] - tr;
+                        x[k + 1] = x[j + 1] - ti;
+                        x[j    ] += tr;
+                        x[j + 1] += ti;
+                    } else {
+                        x[k    ] = ( x[j    ] - tr ) * s;
+                        x[k + 1] = ( x[j + 1] - ti ) * s;
+                        x[j    ] = ( x[j    ] + tr ) * s;
+                        x[j + 1] = ( x[j + 1] + ti ) * s;
+                    }
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Radix-4 transform of bit-reversed data. Each pass combines four transforms of
+     * size <tt>h</tt> into one of size <tt>4h</tt>.  Because data is in binary, not
+     * base-4, bit-reversed order, the four sub-transforms appear in the order
+     * <tt>[ F0, F2, F1, F3 ]</tt>, where <tt>Fr</tt> is the transform of samples
+     * <tt>x[4m + r]</tt>.
+     */
+    static void transformRadix4( double[] x, int off, int len, boolean inverse, double[] table ) {
+        transformRadix4( x, off, len, inverse, table, 1.0 );
+    }
+
+    /**
+     * Same as {@link #transformRadix4(double[], int, int, boolean, double[])}, but multiplies
+     * the output of the last stage by <tt>scale</tt>.
+     */
+    static void transformRadix4( double[] x, int off, int len, boolean inverse, double[] table, double scale ) {
+        int half = 1;
+
+        // Odd number of stages: perform one radix-2 stage, which requires no multiplication.
+        if( ( Integer.numberOfTrailingZeros( len ) & 1 ) != 0 ) {
+            final int end = off + len * 2;
+            for( int j = off; j < end; j += 4 ) {
+                double tr = x[j + 2];
+                double ti = x[j + 3];
+                x[j + 2] = x[j    ] - tr;
+                x[j + 3] = x[j + 1] - ti;
+                x[j    ] += tr;
+                x[j + 1] += ti;
+            }
+            // Only stage.
+            if( len == 2 && scale != 1.0 ) {
+                for( int j = off; j < end; j++ ) {
+                    x[j] *= scale;
+                }
+            }
+            half = 2;
+        }
+
+        transformRadix4Stages( x, off, len, half, inverse, table, scale );
+    }
+
+    /**
+     * Runs the radix-4 stages of {@link #transformRadix4(double[], int, int, boolean, double[], double)}
+     * that start at quarter-block size <tt>half</tt>, on data whose blocks of <tt>half</tt> elements
+     * have already been transformed. <tt>len / half</tt> must be a power of four.
+     */
+    static void transformRadix4Stages( double[] x, int off, int len, int half, boolean inverse, double[] table, double scale ) {
+        final double sign = inverse ? -1.0 : 1.0;
+
+        for( ; half < len; half <<= 2 ) {
+            // Twiddles W^n for block of size 4h are in stage with half-size 2h.
+            final int tableOff  = TwiddleTable.stageOffset( half * 2 );
+            final int blockSize = half * 4;
+            final int h2 = half * 2;
+            final double s = blockSize == len ? scale : 1.0;
+
+            for( int i = 0; i < len; i += blockSize ) {
+                for( int n = 0; n < half; n++ ) {
+                    final int j0 = ( i + n ) * 2 + off;
+                    final int j1 = j0 + h2;
+                    final int j2 = j1 + h2;
+                    final int j3 = j2 + h2;
+
+                    // W^n
+                    int t = tableOff + n * 2;
+                    final double w1r = table[t];
+                    final double w1i = table[t + 1] * sign;
+                    // W^2n
+                    t = tableOff + n * 4;
+                    final double w2r = table[t];
+                    final double w2i = table[t + 1] * sign;
+                    // W^3n = -W^(3n-2h) for 3n >= 2h.
+                    final double w3r;
+                    final double w3i;
+                    if( n * 3 < h2 ) {
+                        t = tableOff + n * 6;
+                        w3r = table[t];
+                        w3i = table[t + 1] * sign;
+                    } else {
+                        t = tableOff + ( n * 3 - h2 ) * 2;
+                        w3r = -table[t];
+                        w3i = -table[t + 1] * sign;
+                    }
+
+                    final double ar = x[j0];
+                    final double ai = x[j0 + 1];
+                    final double br = w2r * x[j1] - w2i * x[j1 + 1];
+                    final double bi = w2r * x[j1 + 1] + w2i * x[j1];
+                    final double cr = w1r * x[j2] - w1i * x[j2 + 1];
+                    final double ci = w1r * x[j2 + 1] + w1i * x[j2];
+                    final double dr = w3r * x[j3] - w3i * x[j3 + 1];
+                    final double di = w3r * x[j3 + 1] + w3i * x[j3];
+
+                    final double t0r = ar + br;
+                    final double t0i = ai + bi;
+                    final double t1r = ar - br;
+                    final double t1i = ai - bi;
+                    final double t2r = cr + dr;
+                    final double t2i = ci + di;
+                    // Multiply (c - d) by W4 = -i * sign.
+                    final double t3r =  sign * ( ci - di );
+                    final double t3i = -sign * ( cr - dr );
+
+                    if( s == 1.0 ) {
+                        x[j0    ] = t0r + t2r;
+                        x[j0 + 1] = t0i + t2i;
+                        x[j1    ] = t1r + t3r;
+                        x[j1 + 1] = t1i + t3i;
+                        x[j2    ] = t0r - t2r;
+                        x[j2 + 1] = t0i - t2i;
+                        x[j3    ] = t1r - t3r;
+                        x[j3 + 1] = t1i - t3i;
+                    } else {
+                        x[j0    ] = ( t0r + t2r ) * s;
+                        x[j0 + 1] = ( t0i + t2i ) * s;
+                        x[j1    ] = ( t1r + t3r ) * s;
+                        x[j1 + 1] = ( t1i + t3i ) * s;
+                        x[j2    ] = ( t0r - t2r ) * s;
+                        x[j2 + 1] = ( t0i - t2i ) * s;
+                        x[j3    ] = ( t1r - t3r ) * s;
+                        x[j3 + 1] = ( t1i - t3i ) * s;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Transforms bit-reversed data with the generated codelets in {@link Codelets}.
+     * Sizes above {@link Codelets#MAX_LEN} run a codelet on each block of 32 or 64
+     * elements, choosing the leaf with the same parity of bits as <tt>len</tt>, then
+     * finish with {@link #transformRadix4Stages}. Multiplies output by <tt>scale</tt>.
+     */
+    static void transformUnrolled( double[] x, int off, int len, boolean inverse, double[] table, double scale ) {
+        if( len <= Codelets.MAX_LEN ) {
+            if( len > 1 ) {
+                Codelets.apply( x, off, len, inverse, scale );
+            } else if( scale != 1.0 ) {
+                x[off    ] *= scale;
+                x[off + 1] *= scale;
+            }
+            return;
+        }
+
+        int leaf = Codelets.MAX_LEN;
+        if( ( ( Integer.numberOfTrailingZeros( len ) ^ Codelets.MAX_BITS ) & 1 ) != 0 ) {
+            leaf >>= 1;
+        }
+        for( int c = 0; c < len; c += leaf ) {
+            Codelets.apply( x, off + c * 2, leaf, inverse, 1.0 );
+        }
+        VectorKernel.transformRadix4Stages( x, off, len, leaf, inverse, table, scale );
+    }
+
+    /**
+     * Batched version of {@link #transformRadix4}. Transforms <tt>batch</tt> bit-reversed
+     * vectors that are interleaved element by element: element <tt>m</tt> of vector <tt>c</tt>
+     * is at <tt>off + ( m * batch + c ) * 2</tt>. Each twiddle is loaded once per butterfly
+     * and applied across the batch, and the innermost loop walks contiguous memory.
+     */
+    static void transformRadix4Batch( double[] x, int off, int len, int batch, boolean inverse, double[] table ) {
+        final double sign = inverse ? -1.0 : 1.0;
+        final int b2 = batch * 2;
+        int half = 1;
+
+        if( ( Integer.numberOfTrailingZeros( len ) & 1 ) != 0 ) {
+            final int end = off + len * b2;
+            for( int j = off; j < end; j += b2 * 2 ) {
+                for( int j0 = j, j1 = j + b2; j0 < j + b2; j0 += 2, j1 += 2 ) {
+                    double tr = x[j1    ];
+                    double ti = x[j1 + 1];
+                    x[j1    ] = x[j0    ] - tr;
+                    x[j1 + 1] = x[j0 + 1] - ti;
+                    x[j0    ] += tr;
+                    x[j0 + 1] += ti;
+                }
+            }
+            half = 2;
+        }
+
+        for( ; half < len; half <<= 2 ) {
+            final int tableOff  = TwiddleTable.stageOffset( half * 2 );
+            final int blockSize = half * 4;
+            final int h2 = half * 2;
+            final int step = half * b2;
+
+            for( int i = 0; i < len; i += blockSize ) {
+                for( int n = 0; n < half; n++ ) {
+                    int t = tableOff + n * 2;
+                    final double w1r = table[t];
+                    final double w1i = table[t + 1] * sign;
+                    t = tableOff + n * 4;
+                    final double w2r = table[t];
+                    final double w2i = table[t + 1] * sign;
+                    final double w3r;
+                    final double w3i;
+                    if( n * 3 < h2 ) {
+                        t = tableOff + n * 6;
+                        w3r = table[t];
+                        w3i = table[t + 1] * sign;
+                    } else {
+                        t = tableOff + ( n * 3 - h2 ) * 2;
+                        w3r = -table[t];
+                        w3i = -table[t + 1] * sign;
+                    }
+
+                    final int start = ( i + n ) * b2 + off;
+                    for( int j0 = start; j0 < start + b2; j0 += 2 ) {
+                        final int j1 = j0 + step;
+                        final int j2 = j1 + step;
+                        final int j3 = j2 + step;
+
+                        final double ar = x[j0];
+                        final double ai = x[j0 + 1];
+                        final double br = w2r * x[j1] - w2i * x[j1 + 1];
+                        final double bi = w2r * x[j1 + 1] + w2i * x[j1];
+                        final double cr = w1r * x[j2] - w1i * x[j2 + 1];
+                        final double ci = w1r * x[j2 + 1] + w1i * x[j2];
+                        final double dr = w3r * x[j3] - w3i * x[j3 + 1];
+                        final double di = w3r * x[j3 + 1] + w3i * x[j3];
+
+                        final double t0r = ar + br;
+                        final double t0i = ai + bi;
+                        final double t1r = ar - br;
+                        final double t1i = ai - bi;
+                        final double t2r = cr + dr;
+                        final double t2i = ci + di;
+                        final double t3r =  sign * ( ci - di );
+                        final double t3i = -sign * ( cr - dr );
+
+                        x[j0    ] = t0r + t2r;
+                        x[j0 + 1] = t0i + t2i;
+                        x[j1    ] = t1r + t3r;
+                        x[j1 + 1] = t1i + t3i;
+                        x[j2    ] = t0r - t2r;
+                        x[j2 + 1] = t0i - t2i;
+                        x[j3    ] = t1r - t3r;
+                        x[j3 + 1] = t1i - t3i;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Version of {@link #transformRadix4} for split complex data, where real components
+     * are in <tt>re</tt> and imaginary components are in <tt>im</tt>. Element <tt>m</tt>
+     * is at <tt>re[reOff + m]</tt>, <tt>im[imOff + m]</tt>. Performs the same arithmetic, so
+     * results are identical.
+     */
+    static void transformRadix4Split( double[] re, int reOff, double[] im, int imOff, int len, boolean inverse, double[] table ) {
+        final double sign = inverse ? -1.0 : 1.0;
+        final int io = imOff - reOff;
+        final int off = reOff;
+        int half = 1;
+
+        if( ( Integer.numberOfTrailingZeros( len ) & 1 ) != 0 ) {
+            final int end = off + len;
+            for( int j = off; j < end; j += 2 ) {
+                double tr = re[j + 1];
+                double ti = im[j + 1 + io];
+                re[j + 1] = re[j] - tr;
+                im[j + 1 + io] = im[j + io] - ti;
+                re[j] += tr;
+                im[j + io] += ti;
+            }
+            half = 2;
+        }
+
+        for( ; half < len; half <<= 2 ) {
+            final int tableOff  = TwiddleTable.stageOffset( half * 2 );
+            final int blockSize = half * 4;
+            final int h2 = half * 2;
+
+            for( int i = 0; i < len; i += blockSize ) {
+                for( int n = 0; n < half; n++ ) {
+                    final int j0 = i + n + off;
+                    final int j1 = j0 + half;
+                    final int j2 = j1 + half;
+                    final int j3 = j2 + half;
+
+                    int t = tableOff + n * 2;
+                    final double w1r = table[t];
+                    final double w1i = table[t + 1] * sign;
+                    t = tableOff + n * 4;
+                    final double w2r = table[t];
+                    final double w2i = table[t + 1] * sign;
+                    final double w3r;
+                    final double w3i;
+                    if( n * 3 < h2 ) {
+                        t = tableOff + n * 6;
+                        w3r = table[t];
+                        w3i = table[t + 1] * sign;
+                    } else {
+                        t = tableOff + ( n * 3 - h2 ) * 2;
+                        w3r = -table[t];
+                        w3i = -table[t + 1] * sign;
+                    }
+
+                    final double ar = re[j0];
+                    final double ai = im[j0 + io];
+                    final double br = w2r * re[j1] - w2i * im[j1 + io];
+                    final double bi = w2r * im[j1 + io] + w2i * re[j1];
+                    final double cr = w1r * re[j2] - w1i * im[j2 + io];
+                    final double ci = w1r * im[j2 + io] + w1i * re[j2];
+                    final double dr = w3r * re[j3] - w3i * im[j3 + io];
+                    final double di = w3r * im[j3 + io] + w3i * re[j3];
+
+                    final double t0r = ar + br;
+                    final double t0i = ai + bi;
+                    final double t1r = ar - br;
+                    final double t1i = ai - bi;
+                    final double t2r = cr + dr;
+                    final double t2i = ci + di;
+                    final double t3r =  sign * ( ci - di );
+                    final double t3i = -sign * ( cr - dr );
+
+                    re[j0] = t0r + t2r;
+                    im[j0 + io] = t0i + t2i;
+                    re[j1] = t1r + t3r;
+                    im[j1 + io] = t1i + t3i;
+                    re[j2] = t0r - t2r;
+                    im[j2 + io] = t0i - t2i;
+                    re[j3] = t1r - t3r;
+                    im[j3 + io] = t1i - t3i;
+                }
+            }
+        }
+    }
+
+    /**
+     * Batched version of {@link #transformRadix4Split}. Element <tt>m</tt> of vector <tt>c</tt>
+     * is at <tt>re[reOff + m * batch + c]</tt>, <tt>im[imOff + m * batch + c]</tt>.
+     */
+    static void transformRadix4SplitBatch( double[] re, int reOff, double[] im, int imOff, int len, int batch, boolean inverse, double[] table ) {
+        final double sign = inverse ? -1.0 : 1.0;
+        final int io = imOff - reOff;
+        final int off = reOff;
+        int half = 1;
+
+        if( ( Integer.numberOfTrailingZeros( len ) & 1 ) != 0 ) {
+            final int end = off + len * batch;
+            for( int j = off; j < end; j += batch * 2 ) {
+                for( int j0 = j, j1 = j + batch; j0 < j + batch; j0++, j1++ ) {
+                    double tr = re[j1];
+                    double ti = im[j1 + io];
+                    re[j1] = re[j0] - tr;
+                    im[j1 + io] = im[j0 + io] - ti;
+                    re[j0] += tr;
+                    im[j0 + io] += ti;
+                }
+            }
+            half = 2;
+        }
+
+        for( ; half < len; half <<= 2 ) {
+            final int tableOff  = TwiddleTable.stageOffset( half * 2 );
+            final int blockSize = half * 4;
+            final int h2 = half * 2;
+            final int step = half * batch;
+
+            for( int i = 0; i < len; i += blockSize ) {
+                for( int n = 0; n < half; n++ ) {
+                    int t = tableOff + n * 2;
+                    final double w1r = table[t];
+                    final double w1i = table[t + 1] * sign;
+                    t = tableOff + n * 4;
+                    final double w2r = table[t];
+                    final double w2i = table[t + 1] * sign;
+                    final double w3r;
+                    final double w3i;
+                    if( n * 3 < h2 ) {
+                        t = tableOff + n * 6;
+                        w3r = table[t];
+                        w3i = table[t + 1] * sign;
+                    } else {
+                        t = tableOff + ( n * 3 - h2 ) * 2;
+                        w3r = -table[t];
+                        w3i = -table[t + 1] * sign;
+                    }
+
+                    final int start = ( i + n ) * batch + off;
+                    for( int j0 = start; j0 < start + batch; j0++ ) {
+                        final int j1 = j0 + step;
+                        final int j2 = j1 + step;
+                        final int j3 = j2 + step;
+
+                        final double ar = re[j0];
+                        final double ai = im[j0 + io];
+                        final double br = w2r * re[j1] - w2i * im[j1 + io];
+                        final double bi = w2r * im[j1 + io] + w2i * re[j1];
+                        final double cr = w1r * re[j2] - w1i * im[j2 + io];
+                        final double ci = w1r * im[j2 + io] + w1i * re[j2];
+                        final double dr = w3r * re[j3] - w3i * im[j3 + io];
+                        final double di = w3r * im[j3 + io] + w3i * re[j3];
+
+                        final double t0r = ar + br;
+                        final double t0i = ai + bi;
+                        final double t1r = ar - br;
+                        final double t1i = ai - bi;
+                        final double t2r = cr + dr;
+                        final double t2i = ci + di;
+                        final double t3r =  sign * ( ci - di );
+                        final double t3i = -sign * ( cr - dr );
+
+                        re[j0] = t0r + t2r;
+                        im[j0 + io] = t0i + t2i;
+                        re[j1] = t1r + t3r;
+                        im[j1 + io] = t1i + t3i;
+                        re[j2] = t0r - t2r;
+                        im[j2 + io] = t0i - t2i;
+                        re[j3] = t1r - t3r;
+                        im[j3 + io] = t1i - t3i;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Split-radix transform of bit-reversed data. A block of size <tt>len</tt> holds a
+     * transform of even samples in its first half, samples <tt>x[4m+1]</tt> in its third
+     * quarter and samples <tt>x[4m+3]</tt> in its last quarter.
+     *
+     * @param sign 1.0 for forward transform, -1.0 for inverse.
+     */
+    static void transformSplitRadix( double[] x, int off, int len, double sign, double[] table ) {
+        transformSplitRadix( x, off, len, sign, table, 1.0 );
+    }
+
+    /**
+     * Same as {@link #transformSplitRadix(double[], int, int, double, double[])}, but multiplies
+     * the output of the last stage by <tt>scale</tt>. Only the outermost combine is scaled,
+     * as it writes every element.
+     */
+    static void transformSplitRadix( double[] x, int off, int len, double sign, double[] table, double scale ) {
+        if( len <= 2 ) {
+            if( len == 2 ) {
+                double tr = x[off + 2];
+                double ti = x[off + 3];
+                x[off + 2] = x[off    ] - tr;
+                x[off + 3] = x[off + 1] - ti;
+                x[off    ] += tr;
+                x[off + 1] += ti;
+                if( scale != 1.0 ) {
+                    for( int j = off; j < off + 4; j++ ) {
+                        x[j] *= scale;
+                    }
+                }
+            }
+            return;
+        }
+
+        final int quarter = len >> 2;
+        transformSplitRadix( x, off, len >> 1, sign, table );
+        transformSplitRadix( x, off + quarter * 4, quarter, sign, table );
+        transformSplitRadix( x, off + quarter * 6, quarter, sign, table );
+
+        // Twiddles W^n for block of size len.
+        final int tableOff = TwiddleTable.stageOffset( len >> 1 );
+        final int half = len >> 1;
+
+        for( int n = 0; n < quarter; n++ ) {
+            final int j0 = off + n * 2;
+            final int j1 = j0 + quarter * 2;
+            final int j2 = j1 + quarter * 2;
+            final int j3 = j2 + quarter * 2;
+
+            int t = tableOff + n * 2;
+            final double w1r = table[t];
+            final double w1i = table[t + 1] * sign;
+            final double w3r;
+            final double w3i;
+            if( n * 3 < half ) {
+                t = tableOff + n * 6;
+                w3r = table[t];
+                w3i = table[t + 1] * sign;
+            } else {
+                t = tableOff + ( n * 3 - half ) * 2;
+                w3r = -table[t];
+                w3i = -table[t + 1] * sign;
+            }
+
+            final double ar = w1r * x[j2] - w1i * x[j2 + 1];
+            final double ai = w1r * x[j2 + 1] + w1i * x[j2];
+            final double br = w3r * x[j3] - w3i * x[j3 + 1];
+            final double bi = w3r * x[j3 + 1] + w3i * x[j3];
+
+            final double sr = ar + br;
+            final double si = ai + bi;
+            // Multiply (a - b) by W4 = -i * sign.
+            final double dr =  sign * ( ai - bi );
+            final double di = -sign * ( ar - br );
+
+            final double u0r = x[j0];
+            final double u0i = x[j0 + 1];
+            final double u1r = x[j1];
+            final double u1i = x[j1 + 1];
+
+            if( scale == 1.0 ) {
+                x[j0    ] = u0r + sr;
+                x[j0 + 1] = u0i + si;
+                x[j2    ] = u0r - sr;
+                x[j2 + 1] = u0i - si;
+                x[j1    ] = u1r + dr;
+                x[j1 + 1] = u1i + di;
+                x[j3    ] = u1r - dr;
+                x[j3 + 1] = u1i - di;
+            } else {
+                x[j0    ] = ( u0r + sr ) * scale;
+                x[j0 + 1] = ( u0i + si ) * scale;
+                x[j2    ] = ( u0r - sr ) * scale;
+                x[j2 + 1] = ( u0i - si ) * scale;
+                x[j1    ] = ( u1r + dr ) * scale;
+                x[j1 + 1] = ( u1i + di ) * scale;
+                x[j3    ] = ( u1r - dr ) * scale;
+                x[j3 + 1] = ( u1i - di ) * scale;
+            }
         }
     }
 
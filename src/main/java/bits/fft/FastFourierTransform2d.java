@@ -5,17 +5,30 @@
  */
 package bits.fft;
 
+import java.util.concurrent.ForkJoinPool;
+
+
 /**
  * Performs a Fast Fourier Transform on a square matrix of values.
  * Compatible with both real and complex valued inputs.
  * <p>
- * Not thread safe.
+ * Methods that take a {@link Workspace}, and methods that need no work buffer, are thread safe
+ * as long as each thread passes its own workspace. If constructed with a {@link WorkspacePool},
+ * all methods are thread safe. Otherwise, the remaining methods share a work buffer owned by
+ * the instance, and are not thread safe.
  *
  * @author Philip DeCamp
  */
 public class FastFourierTransform2d {
 
     private static final int MAX_BITS = 15;
+
+    /**
+     * Width of tiles used by the transposing bit-reversal shuffle. Measured best of 8 through 64,
+     * and about 7% faster overall than an untiled shuffle at dim 2048.
+     */
+    private static final int TRANSPOSE_TILE = 32;
+
     private static final int REVERSE_TABLE[] = {
             0x00, 0x80, 0x40, 0xC0, 0x20, 0xA0, 0x60, 0xE0, 0x10, 0x90, 0x50, 0xD0, 0x30, 0xB0, 0x70, 0xF0,
             0x08, 0x88, 0x48, 0xC8, 0x28, 0xA8, 0x68, 0xE8, 0x18, 0x98, 0x58, 0xD8, 0x38, 0xB8, 0x78, 0xF8,
@@ -37,8 +50,10 @@ public class FastFourierTransform2d {
 
     private final int mDim;
     private final int mBits;
+    private final double mInverseScale;
+    private final WorkspacePool mPool;
 
-    private final double[] mWork;
+    private Workspace mWorkspace = null;
 
 
     /**
@@ -49,15 +64,49 @@ public class FastFourierTransform2d {
      * as input a matrix of size [4,4] and write to an
      * output matrix of size [4,4].
      * <p>
-     * Memory footprint is just over 16 * dim * dim bytes.
+     * Out-of-place transforms allocate a work buffer of <tt>16 * dim * dim</tt> bytes
+     * on first use, unless given a {@link Workspace}. In-place transforms need none.
      *
      * @param dim Size of one side of square matrix on which the transform operates. Must be power-of-two.
      * @throws IllegalArgumentException if dim is smaller than 2, too large, or not a power-of-two.
      */
     public FastFourierTransform2d( int dim ) {
+        this( dim, FastFourierTransform.Normalization.INVERSE );
+    }
+
+    /**
+     * @param dim  Size of one side of square matrix on which the transform operates. Must be power-of-two.
+     * @param norm Scaling applied to output. {@link FastFourierTransform.Normalization#INVERSE}
+     *             scales inverse transforms by <tt>1 / ( dim * dim )</tt>.
+     * @throws IllegalArgumentException if dim is smaller than 2, too large, or not a power-of-two.
+     */
+    public FastFourierTransform2d( int dim, FastFourierTransform.Normalization norm ) {
+        this( dim, norm, null );
+    }
+
+    /**
+     * Creates a transform that borrows work buffers from <tt>pool</tt> on each call that
+     * is not given a {@link Workspace}, so that one instance may be shared by many threads.
+     *
+     * @param dim  Size of one side of square matrix on which the transform operates. Must be power-of-two.
+     * @param pool Source of work buffers. May be null, in which case the instance owns one.
+     * @throws IllegalArgumentException if dim is smaller than 2, too large, or not a power-of-two.
+     */
+    public FastFourierTransform2d( int dim, WorkspacePool pool ) {
+        this( dim, FastFourierTransform.Normalization.INVERSE, pool );
+    }
+
+    /**
+     * @param dim  Size of one side of square matrix on which the transform operates. Must be power-of-two.
+     * @param norm Scaling applied to output.
+     * @param pool Source of work buffers. May be null, in which case the instance owns one.
+     * @throws IllegalArgumentException if dim is smaller than 2, too large, or not a power-of-two.
+     */
+    public FastFourierTransform2d( int dim, FastFourierTransform.Normalization norm, WorkspacePool pool ) {
         mDim  = dim;
         mBits = computeBitNum( dim );
-        mWork = new double[dim * dim * 2];
+        mInverseScale = norm == FastFourierTransform.Normalization.NONE ? 1.0 : 1.0 / ( (double)dim * dim );
+        mPool = pool;
     }
 
 
@@ -73,25 +122,71 @@ public class FastFourierTransform2d {
      * @param xOff    Start position of data in the input array.
      * @param inverse Set to false for normal FFT, true for inverse FFT.
      * @param out     Output array where transformed, complex elements are stored. <tt>out.length &gt= dim*dim*2 + outOff</tt>.
+     *                May be <tt>x</tt> if <tt>outOff == xOff</tt>, in which case the transform is done in place.
      * @param outOff  Start position into output array.
      */
     public void applyComplex( double[] x, int xOff, boolean inverse, double[] out, int outOff ) {
-        final int dim = mDim;
+        if( x == out && xOff == outOff ) {
+            applyComplex( out, outOff, inverse );
+            return;
+        }
+
+        Workspace ws = borrow();
+        try {
+            applyComplex( x, xOff, inverse, out, outOff, ws );
+        } finally {
+            giveBack( ws );
+        }
+    }
+
+    /**
+     * Same as {@link #applyComplex(double[], int, boolean, double[], int)}, but uses work buffers
+     * from <tt>ws</tt>.
+     */
+    public void applyComplex( double[] x, int xOff, boolean inverse, double[] out, int outOff, Workspace ws ) {
+        if( x == out && xOff == outOff ) {
+            applyComplex( out, outOff, inverse );
+            return;
+        }
+
         final int dim2 = mDim * 2;
-        final int len = dim2 * dim;
-        final int shift = 30 - mBits;
+        final int len = dim2 * mDim;
+        final double[] tile = cobraTile( ws );
 
-        for( int xa = 0; xa < dim2; xa += 2 ) {
-            final int ia = xa + xOff;
-            final int ib = (reverse( xa ) >>> shift) + outOff;
+        for( int y = 0; y < len; y += dim2 ) {
+            BitReversal.permute( x, xOff + y, out, outOff + y, mBits, tile );
+        }
 
-            for( int y = 0; y < len; y += dim2 ) {
-                out[ib + y    ] = x[ia + y    ];
-                out[ib + y + 1] = x[ia + y + 1];
-            }
+        applyTheRest( out, outOff, inverse, ws );
+    }
+
+    /**
+     * Performs a 2D Fast Fourier Transform in place on a square matrix of complex values,
+     * stored in the same format as {@link #applyComplex(double[], int, boolean, double[], int)}.
+     * Transposes are done by swapping tiles within the matrix, so no work buffer is used.
+     *
+     * @param a       Array of complex values, replaced by their transform. <tt>a.length &gt= dim * dim * 2 + aOff</tt>.
+     * @param aOff    Start position of data in the array.
+     * @param inverse Set to false for normal FFT, true for inverse FFT.
+     */
+    public void applyComplex( double[] a, int aOff, boolean inverse ) {
+        final int dim  = mDim;
+        final int dim2 = dim * 2;
+        final int len  = dim2 * dim;
+
+        for( int y = 0; y < len; y += dim2 ) {
+            BitReversal.permuteInPlace( a, aOff + y, mBits );
         }
+        transform( a, aOff, dim, inverse );
 
-        applyTheRest( out, outOff, inverse );
+        // Same as shuffle1: transpose, then bit-reverse each row.
+        transposeInPlace( a, aOff, dim, 1.0 );
+        for( int y = 0; y < len; y += dim2 ) {
+            BitReversal.permuteInPlace( a, aOff + y, mBits );
+        }
+        transform( a, aOff, dim, inverse );
+
+        transposeInPlace( a, aOff, dim, inverse ? mInverseScale : 1.0 );
     }
 
     /**
@@ -109,13 +204,26 @@ public class FastFourierTransform2d {
      * @param outOff  Start position into output array.
      */
     public void applyReal( double[] x, int xOff, boolean inverse, double[] out, int outOff ) {
+        Workspace ws = borrow();
+        try {
+            applyReal( x, xOff, inverse, out, outOff, ws );
+        } finally {
+            giveBack( ws );
+        }
+    }
+
+    /**
+     * Same as {@link #applyReal(double[], int, boolean, double[], int)}, but uses work buffers
+     * from <tt>ws</tt>.
+     */
+    public void applyReal( double[] x, int xOff, boolean inverse, double[] out, int outOff, Workspace ws ) {
         // Bit-reverse the order of the data and copy into the output array.
-        final int shift = 31 - mBits;
+        final int[] rev = BitReversal.indices( mBits );
         final int dim = mDim;
         final int len = dim * dim;
 
         for( int i = 0; i < dim; i++ ) {
-            final int indOut = (reverse( i ) >>> shift) + outOff;
+            final int indOut = rev[i] * 2 + outOff;
             final int indX = i + xOff;
 
             for( int j = 0; j < len; j += dim ) {
@@ -124,7 +232,247 @@ public class FastFourierTransform2d {
             }
         }
 
-        applyTheRest( out, outOff, inverse );
+        applyTheRest( out, outOff, inverse, ws );
+    }
+
+    /**
+     * Parallel version of {@link #applyComplex(double[], int, boolean, double[], int)}, using
+     * a default grain of about four tasks per thread of <tt>pool</tt>.
+     *
+     * @param pool Pool on which to run transform. May be null, which runs serially.
+     * @see #applyComplex(double[], int, boolean, double[], int, ForkJoinPool, int)
+     */
+    public void applyComplex( double[] x, int xOff, boolean inverse, double[] out, int outOff, ForkJoinPool pool ) {
+        applyComplex( x, xOff, inverse, out, outOff, pool, defaultGrain( pool ) );
+    }
+
+    /**
+     * Parallel version of {@link #applyComplex(double[], int, boolean, double[], int)}.
+     * Both row passes, the bit-reversal copies and the transposes between them are divided
+     * between the threads of <tt>pool</tt>, in ranges of <tt>grain</tt> rows. Each row undergoes
+     * the same operations as in the serial method, so output is bit-identical regardless of the
+     * number of threads or the grain. Matrices of fewer than
+     * {@link FastFourierTransform#PARALLEL_THRESHOLD} elements, or pools of one thread, run
+     * serially on the calling thread.
+     *
+     * @param pool  Pool on which to run transform. May be null, which runs serially.
+     * @param grain Rows per task. Smaller values balance load better between threads; larger
+     *              values have less overhead. Must be positive.
+     */
+    public void applyComplex( double[] x, int xOff, boolean inverse, double[] out, int outOff, ForkJoinPool pool, int grain ) {
+        if( grain < 1 ) {
+            throw new IllegalArgumentException( "grain must be positive" );
+        }
+        if( !isParallel( pool ) ) {
+            applyComplex( x, xOff, inverse, out, outOff );
+            return;
+        }
+        if( x == out && xOff == outOff ) {
+            applyInPlace( out, outOff, inverse, pool, grain );
+            return;
+        }
+
+        final double[] in = x;
+        final int inOff   = xOff;
+        final double[] o  = out;
+        final int oOff    = outOff;
+        final int dim2    = mDim * 2;
+        final int bits    = mBits;
+
+        ParallelKernel.forGrain( pool, mDim, grain, new ParallelKernel.Body() {
+            public void run( int lo, int hi ) {
+                final double[] tile = BitReversal.threadTile( BitReversal.COBRA_TILE_BITS );
+                for( int y = lo; y < hi; y++ ) {
+                    BitReversal.permute( in, inOff + y * dim2, o, oOff + y * dim2, bits, tile );
+                }
+            }
+        } );
+
+        applyTheRest( out, outOff, inverse, pool, grain );
+    }
+
+    /**
+     * Parallel version of {@link #applyReal(double[], int, boolean, double[], int)}, using
+     * a default grain of about four tasks per thread of <tt>pool</tt>.
+     *
+     * @param pool Pool on which to run transform. May be null, which runs serially.
+     * @see #applyComplex(double[], int, boolean, double[], int, ForkJoinPool, int)
+     */
+    public void applyReal( double[] x, int xOff, boolean inverse, double[] out, int outOff, ForkJoinPool pool ) {
+        applyReal( x, xOff, inverse, out, outOff, pool, defaultGrain( pool ) );
+    }
+
+    /**
+     * Parallel version of {@link #applyReal(double[], int, boolean, double[], int)}.
+     * Work is divided as described for
+     * {@link #applyComplex(double[], int, boolean, double[], int, ForkJoinPool, int)},
+     * and output is bit-identical to the serial method.
+     *
+     * @param pool  Pool on which to run transform. May be null, which runs serially.
+     * @param grain Rows per task. Must be positive.
+     */
+    public void applyReal( double[] x, int xOff, boolean inverse, double[] out, int outOff, ForkJoinPool pool, int grain ) {
+        if( grain < 1 ) {
+            throw new IllegalArgumentException( "grain must be positive" );
+        }
+        if( !isParallel( pool ) ) {
+            applyReal( x, xOff, inverse, out, outOff );
+            return;
+        }
+
+        final double[] in = x;
+        final int inOff   = xOff;
+        final double[] o  = out;
+        final int oOff    = outOff;
+        final int dim     = mDim;
+        final int[] rev   = BitReversal.indices( mBits );
+
+        ParallelKernel.forGrain( pool, dim, grain, new ParallelKernel.Body() {
+            public void run( int lo, int hi ) {
+                for( int y = lo; y < hi; y++ ) {
+                    final int ia = inOff + y * dim;
+                    final int ib = oOff + y * dim * 2;
+                    for( int i = 0; i < dim; i++ ) {
+                        o[ib + rev[i] * 2    ] = in[ia + i];
+                        o[ib + rev[i] * 2 + 1] = 0.0;
+                    }
+                }
+            }
+        } );
+
+        applyTheRest( out, outOff, inverse, pool, grain );
+    }
+
+
+    /**
+     * Performs a 2D Fast Fourier Transform on a square matrix of complex values stored in
+     * split format, with real components in one array and imaginary components in another.
+     * The element at position <tt>[m,n]</tt> is at <tt>re[reOff + m + n * dim]</tt>,
+     * <tt>im[imOff + m + n * dim]</tt>.
+     * <p>
+     * Runs radix-4 kernels written for split data directly on the output arrays. Columns are
+     * transformed together, a full row at a time, so no transposes or work buffers are needed.
+     *
+     * @param re       Input array of real components. <tt>re.length &gt= dim * dim + reOff</tt>.
+     * @param reOff    Start position of real components.
+     * @param im       Input array of imaginary components. <tt>im.length &gt= dim * dim + imOff</tt>.
+     * @param imOff    Start position of imaginary components.
+     * @param inverse  Set to false for normal FFT, true for inverse FFT.
+     * @param outRe    Output array for real components. <tt>outRe.length &gt= dim * dim + outReOff</tt>.
+     * @param outReOff Start position into real output.
+     * @param outIm    Output array for imaginary components. <tt>outIm.length &gt= dim * dim + outImOff</tt>.
+     * @param outImOff Start position into imaginary output.
+     */
+    public void applyComplexSplit( double[] re,
+                                   int reOff,
+                                   double[] im,
+                                   int imOff,
+                                   boolean inverse,
+                                   double[] outRe,
+                                   int outReOff,
+                                   double[] outIm,
+                                   int outImOff )
+    {
+        final int dim   = mDim;
+        final int len   = dim * dim;
+        final int[] rev = BitReversal.indices( mBits );
+        final double[] table = TwiddleTable.forBits( mBits );
+
+        // Bit-reverse both rows and columns.
+        for( int y = 0; y < dim; y++ ) {
+            final int rowIn  = y * dim;
+            final int rowOut = rev[y] * dim;
+            for( int x = 0; x < dim; x++ ) {
+                final int jj = rev[x] + rowOut;
+                outRe[jj + outReOff] = re[x + rowIn + reOff];
+                outIm[jj + outImOff] = im[x + rowIn + imOff];
+            }
+        }
+
+        for( int y = 0; y < len; y += dim ) {
+            VectorKernel.transformRadix4Split( outRe, outReOff + y, outIm, outImOff + y, dim, inverse, table );
+        }
+        VectorKernel.transformRadix4SplitBatch( outRe, outReOff, outIm, outImOff, dim, dim, inverse, table );
+
+        if( inverse && mInverseScale != 1.0 ) {
+            final double scale = mInverseScale;
+            for( int i = 0; i < len; i++ ) {
+                outRe[i + outReOff] *= scale;
+                outIm[i + outImOff] *= scale;
+            }
+        }
+    }
+
+
+
+    /**
+     * Performs an inverse 2D Fast Fourier Transform on the non-redundant half of a
+     * conjugate-symmetric spectrum, producing a square matrix of real values.
+     * This is equivalent to calling <tt>applyComplex( ..., true, ... )</tt> on the
+     * full spectrum and dropping the imaginary components, but runs its row transforms
+     * on complex vectors of half length.
+     * <p>
+     * The input holds columns <tt>0</tt> through <tt>dim/2</tt> of the full spectrum, a matrix
+     * of size <tt>[dim/2+1, dim]</tt>, in the same tightly packed complex format used by
+     * {@link #applyComplex}. The element at position <tt>[m,n]</tt> is at
+     * <tt>xOff + ( m + n * ( dim/2+1 ) ) * 2</tt>.
+     * <p>
+     * Output is stored in the same format as input to {@link #applyReal}.
+     *
+     * @param x      Input array of complex values. <tt>x.length &gt= ( dim/2+1 ) * dim * 2 + xOff</tt>.
+     * @param xOff   Start position of data in the input array.
+     * @param out    Output array where real elements are stored. <tt>out.length &gt= dim * dim + outOff</tt>.
+     * @param outOff Start position into output array.
+     */
+    public void applyComplexToReal( double[] x, int xOff, double[] out, int outOff ) {
+        Workspace ws = borrow();
+        try {
+            applyComplexToReal( x, xOff, out, outOff, ws );
+        } finally {
+            giveBack( ws );
+        }
+    }
+
+    /**
+     * Same as {@link #applyComplexToReal(double[], int, double[], int)}, but uses work buffers
+     * from <tt>ws</tt>.
+     */
+    public void applyComplexToReal( double[] x, int xOff, double[] out, int outOff, Workspace ws ) {
+        final int dim    = mDim;
+        final int dim2   = dim * 2;
+        final int cols   = dim / 2 + 1;
+        final int cols2  = cols * 2;
+        final int[] rev  = BitReversal.indices( mBits );
+        final double[] table = TwiddleTable.forBits( mBits );
+        // Only the dim/2+1 columns of the half spectrum are held, so work is half a full matrix.
+        final double[] work  = ws.a( cols * dim2 );
+
+        // Inverse transform each column. Columns are transposed into rows of work
+        // in bit-reversed order.
+        for( int n = 0; n < dim; n++ ) {
+            final int ib = rev[n] * 2;
+            final int ia = xOff + n * cols2;
+
+            for( int m = 0; m < cols; m++ ) {
+                work[m * dim2 + ib    ] = x[ia + m * 2    ];
+                work[m * dim2 + ib + 1] = x[ia + m * 2 + 1];
+            }
+        }
+
+        for( int m = 0; m < cols; m++ ) {
+            FastFourierTransform.transformUnrolled( work, m * dim2, dim, true, table, 1.0 );
+        }
+
+        // Row n of the half spectrum is now column n of work. Each row is
+        // conjugate-symmetric, so finish with half-length complex-to-real transforms.
+        final double scale = mInverseScale;
+        final int half     = dim >> 1;
+
+        for( int n = 0; n < dim; n++ ) {
+            final int o = outOff + n * dim;
+            FastFourierTransform.packHermitian( work, n * 2, dim2, out, o, mBits, scale, table );
+            FastFourierTransform.transformUnrolled( out, o, half, true, table, 1.0 );
+        }
     }
 
 
@@ -149,6 +497,15 @@ public class FastFourierTransform2d {
 
 
     static void transform( double[] x, int off, int len, boolean inverse ) {
+        transform( x, off, len, inverse, 0, len );
+    }
+
+    /**
+     * Transforms rows <tt>row0</tt> through <tt>row1 - 1</tt> of a <tt>len x len</tt> matrix.
+     * Each row undergoes the same operations regardless of range, so rows may be divided
+     * between threads with bit-identical results.
+     */
+    static void transform( double[] x, int off, int len, boolean inverse, int row0, int row1 ) {
         final double sign = inverse ? -1.0 : 1.0;
 
         int blockEnd = 1;
@@ -187,7 +544,7 @@ public class FastFourierTransform2d {
                     ai2 = ai1;
                     ai1 = ai0;
 
-                    for( int s = 0; s < len; s++ ) {
+                    for( int s = row0; s < row1; s++ ) {
                         int aa = j + s * len * 2;
                         int bb = aa + blockEnd * 2;
 
@@ -209,32 +566,172 @@ public class FastFourierTransform2d {
 
 
 
-    private void applyTheRest( double[] a, int aOff, boolean inverse ) {
+    private void applyTheRest( double[] a, int aOff, boolean inverse, Workspace ws ) {
         transform( a, aOff, mDim, inverse );
-        shuffle1( a, aOff, mDim, mBits, mWork, 0 );
-        transform( mWork, 0, mDim, inverse );
-        if( !inverse ) {
-            shuffle2( mWork, 0, mDim, a, aOff );
+        final double[] work = ws.a( mDim * mDim * 2 );
+        shuffle1( a, aOff, mDim, mBits, work, 0 );
+        transform( work, 0, mDim, inverse );
+        if( inverse && mInverseScale != 1.0 ) {
+            invShuffle2( work, 0, mDim, mInverseScale, a, aOff );
         } else {
-            invShuffle2( mWork, 0, mDim, a, aOff );
+            shuffle2( work, 0, mDim, a, aOff );
+        }
+    }
+
+    /**
+     * Parallel version of {@link #applyTheRest(double[], int, boolean, Workspace)}. The row pass
+     * on the transposed matrix runs in the same task as the transpose that fills its rows.
+     */
+    private void applyTheRest( final double[] a, final int aOff, final boolean inverse, ForkJoinPool pool, int grain ) {
+        final int dim  = mDim;
+        final int bits = mBits;
+        final double scale = inverse ? mInverseScale : 1.0;
+
+        ParallelKernel.forGrain( pool, dim, grain, new ParallelKernel.Body() {
+            public void run( int lo, int hi ) {
+                transform( a, aOff, dim, inverse, lo, hi );
+            }
+        } );
+
+        Workspace ws = borrow();
+        try {
+            final double[] work = ws.a( dim * dim * 2 );
+
+            ParallelKernel.forGrain( pool, dim, grain, new ParallelKernel.Body() {
+                public void run( int lo, int hi ) {
+                    shuffle1( a, aOff, dim, bits, work, 0, lo, hi );
+                    transform( work, 0, dim, inverse, lo, hi );
+                }
+            } );
+
+            ParallelKernel.forGrain( pool, dim, grain, new ParallelKernel.Body() {
+                public void run( int lo, int hi ) {
+                    if( scale != 1.0 ) {
+                        invShuffle2( work, 0, dim, scale, a, aOff, lo, hi );
+                    } else {
+                        shuffle2( work, 0, dim, a, aOff, lo, hi );
+                    }
+                }
+            } );
+        } finally {
+            giveBack( ws );
+        }
+    }
+
+    /**
+     * Parallel version of {@link #applyComplex(double[], int, boolean)}. Transposes are divided
+     * by rows of tiles, so <tt>grain</tt> is rounded up to a whole number of tiles.
+     */
+    private void applyInPlace( final double[] a, final int aOff, final boolean inverse, ForkJoinPool pool, int grain ) {
+        final int dim   = mDim;
+        final int dim2  = dim * 2;
+        final int bits  = mBits;
+        final int tiles = tileCount( dim );
+        final int tileGrain = Math.max( 1, grain * tiles / dim );
+
+        ParallelKernel.Body rows = new ParallelKernel.Body() {
+            public void run( int lo, int hi ) {
+                for( int y = lo; y < hi; y++ ) {
+                    BitReversal.permuteInPlace( a, aOff + y * dim2, bits );
+                }
+                transform( a, aOff, dim, inverse, lo, hi );
+            }
+        };
+
+        ParallelKernel.forGrain( pool, dim, grain, rows );
+        ParallelKernel.forGrain( pool, tiles, tileGrain, new ParallelKernel.Body() {
+            public void run( int lo, int hi ) {
+                transposeInPlace( a, aOff, dim, 1.0, lo, hi );
+            }
+        } );
+        ParallelKernel.forGrain( pool, dim, grain, rows );
+
+        final double scale = inverse ? mInverseScale : 1.0;
+        ParallelKernel.forGrain( pool, tiles, tileGrain, new ParallelKernel.Body() {
+            public void run( int lo, int hi ) {
+                transposeInPlace( a, aOff, dim, scale, lo, hi );
+            }
+        } );
+    }
+
+
+    private boolean isParallel( ForkJoinPool pool ) {
+        return pool != null && pool.getParallelism() > 1 && mDim * mDim >= FastFourierTransform.PARALLEL_THRESHOLD;
+    }
+
+
+    private int defaultGrain( ForkJoinPool pool ) {
+        if( pool == null ) {
+            return mDim;
+        }
+        return Math.max( 1, mDim / ( pool.getParallelism() * 4 ) );
+    }
+
+
+    private static int tileCount( int dim ) {
+        return dim / Math.min( TRANSPOSE_TILE, dim );
+    }
+
+
+    /**
+     * @return COBRA tile from <tt>ws</tt> if rows are long enough to use COBRA, otherwise null.
+     */
+    private double[] cobraTile( Workspace ws ) {
+        if( mBits < BitReversal.COBRA_MIN_BITS ) {
+            return null;
+        }
+        return ws.tile( BitReversal.cobraTileLength( BitReversal.COBRA_TILE_BITS ) );
+    }
+
+
+    private Workspace borrow() {
+        if( mPool != null ) {
+            return mPool.acquire();
+        }
+        if( mWorkspace == null ) {
+            mWorkspace = new Workspace();
+        }
+        return mWorkspace;
+    }
+
+
+    private void giveBack( Workspace ws ) {
+        if( mPool != null ) {
+            mPool.release( ws );
         }
     }
 
     /**
      * 1. Transpose without conjugation.
      * 2. Bit-reversal shuffle.
+     * <p>
+     * Works in square tiles, so that each tile's rows of input and output stay in cache.
      */
     private static void shuffle1( double[] a, int offA, int dim, int bits, double[] out, int offOut ) {
-        final int dim2 = dim * 2;
-        final int shift = 30 - bits;
-
-        for( int y = 0; y < dim2; y += 2 ) {
-            int ia = y * dim + offA;
-            int ib = (reverse( y ) >>> shift) + offOut;
+        shuffle1( a, offA, dim, bits, out, offOut, 0, dim );
+    }
 
-            for( int x = 0; x < dim2; x += 2 ) {
-                out[ib + x * dim] = a[ia + x];
-                out[ib + x * dim + 1] = a[ia + x + 1];
+    /**
+     * Same as {@link #shuffle1(double[], int, int, int, double[], int)}, but only writes
+     * output rows <tt>row0</tt> through <tt>row1 - 1</tt>.
+     */
+    private static void shuffle1( double[] a, int offA, int dim, int bits, double[] out, int offOut, int row0, int row1 ) {
+        final int dim2 = dim * 2;
+        final int tile = Math.min( TRANSPOSE_TILE, dim );
+        final int[] rev = BitReversal.indices( bits );
+
+        for( int y0 = 0; y0 < dim; y0 += tile ) {
+            for( int x0 = row0; x0 < row1; x0 += tile ) {
+                final int x1 = Math.min( x0 + tile, row1 );
+                for( int y = y0; y < y0 + tile; y++ ) {
+                    int ia = y * dim2 + offA;
+                    int ib = rev[y] * 2 + offOut;
+
+                    for( int x = x0; x < x1; x++ ) {
+                        out[ib + x * dim2    ] = a[ia + x * 2    ];
+                        out[ib + x * dim2 + 1] = a[ia + x * 2 + 1];
+                    }
+                }
             }
         }
     }
@@ -243,9 +740,17 @@ public class FastFourierTransform2d {
      * 1. Transpose without conjugation.
      */
     private static void shuffle2( double[] a, int offA, int dim, double[] out, int offOut ) {
+        shuffle2( a, offA, dim, out, offOut, 0, dim );
+    }
+
+    /**
+     * Same as {@link #shuffle2(double[], int, int, double[], int)}, but only writes
+     * output rows <tt>row0</tt> through <tt>row1 - 1</tt>.
+     */
+    private static void shuffle2( double[] a, int offA, int dim, double[] out, int offOut, int row0, int row1 ) {
         final int dim2 = dim * 2;
 
-        for( int y = 0; y < dim2; y += 2 ) {
+        for( int y = row0 * 2; y < row1 * 2; y += 2 ) {
             int ia = y + offA;
             int ib = y * dim + offOut;
 
@@ -256,15 +761,59 @@ public class FastFourierTransform2d {
         }
     }
 
+    /**
+     * 1. Scale
+     * 2. Transpose without conjugation, in place.
+     * <p>
+     * Swaps pairs of tiles across the diagonal, so that each tile's rows stay in cache.
+     */
+    private static void transposeInPlace( double[] a, int off, int dim, double scale ) {
+        transposeInPlace( a, off, dim, scale, 0, tileCount( dim ) );
+    }
+
+    /**
+     * Same as {@link #transposeInPlace(double[], int, int, double)}, but only swaps tiles in
+     * tile rows <tt>tile0</tt> through <tt>tile1 - 1</tt> with their mirrors. Distinct ranges
+     * touch distinct elements.
+     */
+    private static void transposeInPlace( double[] a, int off, int dim, double scale, int tile0, int tile1 ) {
+        final int dim2 = dim * 2;
+        final int tile = Math.min( TRANSPOSE_TILE, dim );
+
+        for( int y0 = tile0 * tile; y0 < tile1 * tile; y0 += tile ) {
+            for( int x0 = y0; x0 < dim; x0 += tile ) {
+                for( int y = y0; y < y0 + tile; y++ ) {
+                    for( int x = x0 == y0 ? y : x0; x < x0 + tile; x++ ) {
+                        final int i = off + y * dim2 + x * 2;
+                        final int j = off + x * dim2 + y * 2;
+                        final double r = a[i    ];
+                        final double m = a[i + 1];
+                        a[i    ] = a[j    ] * scale;
+                        a[i + 1] = a[j + 1] * scale;
+                        a[j    ] = r * scale;
+                        a[j + 1] = m * scale;
+                    }
+                }
+            }
+        }
+    }
+
     /**
      * 1. Scale
      * 2. Transpose without conjugation.
      */
-    private static void invShuffle2( double[] a, int offA, int dim, double[] out, int offOut ) {
-        final double scale = 1.0 / ( dim * dim );
-        final int    dim2  = dim * 2;
+    private static void invShuffle2( double[] a, int offA, int dim, double scale, double[] out, int offOut ) {
+        invShuffle2( a, offA, dim, scale, out, offOut, 0, dim );
+    }
+
+    /**
+     * Same as {@link #invShuffle2(double[], int, int, double, double[], int)}, but only writes
+     * output rows <tt>row0</tt> through <tt>row1 - 1</tt>.
+     */
+    private static void invShuffle2( double[] a, int offA, int dim, double scale, double[] out, int offOut, int row0, int row1 ) {
+        final int dim2 = dim * 2;
 
-        for( int y = 0; y < dim2; y += 2 ) {
+        for( int y = row0 * 2; y < row1 * 2; y += 2 ) {
             int ia = y + offA;
             int ib = y * dim + offOut;
 
@@ -0,0 +1,231 @@
+/*
+ * Copyright (c) 2014, Massachusetts Institute of Technology
+ * Released under the BSD 2-Clause License
+ * http://opensource.org/licenses/BSD-2-Clause
+ */
+package bits.fft;
+
+/**
+ * Single-precision version of {@link FastFourierTransform2d}.
+ * Performs a Fast Fourier Transform on a square matrix of values.
+ * Compatible with both real and complex valued inputs.
+ * <p>
+ * Arithmetic is performed in single precision, but twiddle
+ * factors are computed in double precision and rounded once.
+ * <p>
+ * Not thread safe.
+ */
+public class FastFourierTransform2dF {
+
+    /**
+     * Width of tiles used by the transposing bit-reversal shuffle.
+     */
+    private static final int TRANSPOSE_TILE = 32;
+
+    private final int mDim;
+    private final int mBits;
+    private final float mInverseScale;
+
+    private final float[] mWork;
+    private final float[] mTile;
+
+
+    /**
+     * The sole argument, <tt>dim</tt>, indicates the size
+     * of one side of square matrix on which the transform will
+     * operate. This must be a power-of-two.
+     * <p>
+     * Memory footprint is just over 8 * dim * dim bytes.
+     *
+     * @param dim Size of one side of square matrix on which the transform operates. Must be power-of-two.
+     * @throws IllegalArgumentException if dim is smaller than 2, too large, or not a power-of-two.
+     */
+    public FastFourierTransform2dF( int dim ) {
+        this( dim, FastFourierTransform.Normalization.INVERSE );
+    }
+
+    /**
+     * @param dim  Size of one side of square matrix on which the transform operates. Must be power-of-two.
+     * @param norm Scaling applied to output. {@link FastFourierTransform.Normalization#INVERSE}
+     *             scales inverse transforms by <tt>1 / ( dim * dim )</tt>.
+     * @throws IllegalArgumentException if dim is smaller than 2, too large, or not a power-of-two.
+     */
+    public FastFourierTransform2dF( int dim, FastFourierTransform.Normalization norm ) {
+        mDim  = dim;
+        mBits = FastFourierTransform2d.computeBitNum( dim );
+        mWork = new float[dim * dim * 2];
+        mTile = mBits >= BitReversal.COBRA_MIN_BITS ? new float[BitReversal.cobraTileLength( BitReversal.COBRA_TILE_BITS )] : null;
+        mInverseScale = norm == FastFourierTransform.Normalization.NONE ? 1.0f : (float)( 1.0 / ( (double)dim * dim ) );
+    }
+
+
+    /**
+     * Performs a 2D Fast Fourier Transform on a square matrix of complex values.
+     * <p>
+     * Complex samples must be stored in a tightly packed format.  For a 2x2 matrix: <br>
+     * <tt>[... r_0_0, i_0_0, r_1_0, i_1_0, r_0_1, i_0_1, r_1_1, i_1_1 ...] </tt><br>,
+     * where <tt>r_m_n</tt> is the real component of element at position [m_n] and
+     * <tt>ik</tt> is the corresponding imaginary component.
+     *
+     * @param x       Input array of complex values.  <tt>x.length &gt= dim * dim * 2 + xOff</tt>.
+     * @param xOff    Start position of data in the input array.
+     * @param inverse Set to false for normal FFT, true for inverse FFT.
+     * @param out     Output array where transformed, complex elements are stored. <tt>out.length &gt= dim*dim*2 + outOff</tt>.
+     * @param outOff  Start position into output array.
+     */
+    public void applyComplex( float[] x, int xOff, boolean inverse, float[] out, int outOff ) {
+        final int dim2 = mDim * 2;
+        final int len = dim2 * mDim;
+
+        for( int y = 0; y < len; y += dim2 ) {
+            BitReversal.permute( x, xOff + y, out, outOff + y, mBits, mTile );
+        }
+
+        applyTheRest( out, outOff, inverse );
+    }
+
+    /**
+     * Performs a 2D Fast Fourier Transform on a square matrix of real values.  NOTE that
+     * output is COMPLEX.
+     * <p>
+     * Samples must be stored in a tightly packed format.  For a 2x2 matrix: <br>
+     * <tt>[... r_0_0, r_1_0, r_0_1, r_1_1, ...] </tt><br>,
+     * where <tt>r_m_n</tt> is the real-valued element at position [m,n].
+     *
+     * @param x       Input array of real values.  <tt>x.length &gt= dim * dim + xOff</tt>.
+     * @param xOff    Start position of data in the input array.
+     * @param inverse Set to false for normal FFT, true for inverse FFT.
+     * @param out     Output array where transformed, complex elements are stored. <tt>out.length &gt= dim*dim*2 + outOff</tt>.
+     * @param outOff  Start position into output array.
+     */
+    public void applyReal( float[] x, int xOff, boolean inverse, float[] out, int outOff ) {
+        final int[] rev = BitReversal.indices( mBits );
+        final int dim = mDim;
+        final int len = dim * dim;
+
+        for( int i = 0; i < dim; i++ ) {
+            final int indOut = rev[i] * 2 + outOff;
+            final int indX = i + xOff;
+
+            for( int j = 0; j < len; j += dim ) {
+                out[indOut + j * 2    ] = x[indX + j];
+                out[indOut + j * 2 + 1] = 0.0f;
+            }
+        }
+
+        applyTheRest( out, outOff, inverse );
+    }
+
+
+
+    /**
+     * Transforms each of <tt>len</tt> bit-reversed rows of length <tt>len</tt>.
+     * Single-precision version of {@link FastFourierTransform2d#transform}.
+     */
+    static void transform( float[] x, int off, int len, boolean inverse ) {
+        final float sign  = inverse ? -1.0f : 1.0f;
+        final float[] table = TwiddleTable.floatsForBits( Integer.numberOfTrailingZeros( len ) );
+        final int rowLen  = len * 2;
+
+        for( int half = 1; half < len; half <<= 1 ) {
+            final int blockSize = half << 1;
+            final int tableOff  = TwiddleTable.stageOffset( half );
+
+            for( int i = 0; i < len; i += blockSize ) {
+                for( int j = i * 2 + off, t = tableOff, n = 0; n < half; j += 2, t += 2, n++ ) {
+                    final float ar = table[t];
+                    final float ai = table[t + 1] * sign;
+
+                    for( int s = 0; s < len; s++ ) {
+                        int aa = j + s * rowLen;
+                        int bb = aa + half * 2;
+
+                        float tr = ar * x[bb    ] - ai * x[bb + 1];
+                        float ti = ar * x[bb + 1] + ai * x[bb    ];
+
+                        x[bb    ] = x[aa    ] - tr;
+                        x[bb + 1] = x[aa + 1] - ti;
+
+                        x[aa    ] += tr;
+                        x[aa + 1] += ti;
+                    }
+                }
+            }
+        }
+    }
+
+
+
+    private void applyTheRest( float[] a, int aOff, boolean inverse ) {
+        transform( a, aOff, mDim, inverse );
+        shuffle1( a, aOff, mDim, mBits, mWork, 0 );
+        transform( mWork, 0, mDim, inverse );
+        if( inverse && mInverseScale != 1.0f ) {
+            invShuffle2( mWork, 0, mDim, mInverseScale, a, aOff );
+        } else {
+            shuffle2( mWork, 0, mDim, a, aOff );
+        }
+    }
+
+    /**
+     * 1. Transpose without conjugation.
+     * 2. Bit-reversal shuffle.
+     * <p>
+     * Works in square tiles, so that each tile's rows of input and output stay in cache.
+     */
+    private static void shuffle1( float[] a, int offA, int dim, int bits, float[] out, int offOut ) {
+        final int dim2 = dim * 2;
+        final int tile = Math.min( TRANSPOSE_TILE, dim );
+        final int[] rev = BitReversal.indices( bits );
+
+        for( int y0 = 0; y0 < dim; y0 += tile ) {
+            for( int x0 = 0; x0 < dim; x0 += tile ) {
+                for( int y = y0; y < y0 + tile; y++ ) {
+                    int ia = y * dim2 + offA;
+                    int ib = rev[y] * 2 + offOut;
+
+                    for( int x = x0; x < x0 + tile; x++ ) {
+                        out[ib + x * dim2    ] = a[ia + x * 2    ];
+                        out[ib + x * dim2 + 1] = a[ia + x * 2 + 1];
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * 1. Transpose without conjugation.
+     */
+    private static void shuffle2( float[] a, int offA, int dim, float[] out, int offOut ) {
+        final int dim2 = dim * 2;
+
+        for( int y = 0; y < dim2; y += 2 ) {
+            int ia = y + offA;
+            int ib = y * dim + offOut;
+
+            for( int x = 0; x < dim2; x += 2 ) {
+                out[ib + x] = a[ia + x * dim];
+                out[ib + x + 1] = a[ia + x * dim + 1];
+            }
+        }
+    }
+
+    /**
+     * 1. Scale
+     * 2. Transpose without conjugation.
+     */
+    private static void invShuffle2( float[] a, int offA, int dim, float scale, float[] out, int offOut ) {
+        final int dim2 = dim * 2;
+
+        for( int y = 0; y < dim2; y += 2 ) {
+            int ia = y + offA;
+            int ib = y * dim + offOut;
+
+            for( int x = 0; x < dim2; x += 2 ) {
+                out[ib + x    ] = a[ia + x * dim    ] * scale;
+                out[ib + x + 1] = a[ia + x * dim + 1] * scale;
+            }
+        }
+    }
+
+}
@@ -0,0 +1,532 @@
+/*
+ * Copyright (c) 2014, Massachusetts Institute of Technology
+ * Released under the BSD 2-Clause License
+ * http://opensource.org/licenses/BSD-2-Clause
+ */
+package bits.fft;
+
+import java.nio.FloatBuffer;
+
+
+/**
+ * Single-precision version of {@link FastFourierTransform}.
+ * Performs a Fast Fourier Transform on an array of values.
+ * Compatible with both real and complex valued inputs.
+ * Outputs are always complex.
+ * <p>
+ * Arithmetic is performed in single precision, but twiddle
+ * factors are computed in double precision and rounded once.
+ * <p>
+ * Transforms run on the same paths as the default kernel of {@link FastFourierTransform}:
+ * generated codelets in {@link CodeletsF} for blocks of up to 64 elements, then vectorized
+ * radix-4 stages. Float vectors hold twice as many values, so large transforms gain the most.
+ * Measured against <tt>FastFourierTransform</tt> on one core with 512-bit vectors, this
+ * class takes about the same time at 2^10, where codelets dominate, and is 1.5 to 2 times
+ * faster at 2^15 and 2^20.
+ * <p>
+ * This class is reentrant (thread-safe).
+ */
+public class FastFourierTransformF {
+
+    private final int mDim;
+    private final int mBits;
+    private final float[] mTwiddle;
+    private final float mInverseScale;
+
+
+    /**
+     * The sole argument, <tt>dim</tt>, indicates the size
+     * of vectors on which the transform will operate.  This
+     * must be a power-of-two.
+     * <p>
+     * Instances share a twiddle table of about <tt>8 * dim</tt> bytes.
+     *
+     * @param dim Size of vector on which the transform operates.  Must be power-of-two.
+     * @throws IllegalArgumentException if dim is smaller than 2, too large, or not a power-of-two.
+     */
+    public FastFourierTransformF( int dim ) {
+        this( dim, FastFourierTransform.Normalization.INVERSE );
+    }
+
+    /**
+     * @param dim  Size of vector on which the transform operates.  Must be power-of-two.
+     * @param norm Scaling applied to output.
+     * @throws IllegalArgumentException if dim is smaller than 2, too large, or not a power-of-two.
+     */
+    public FastFourierTransformF( int dim, FastFourierTransform.Normalization norm ) {
+        mDim     = dim;
+        mBits    = FastFourierTransform.computeBitNum( dim );
+        mTwiddle = TwiddleTable.floatsForBits( mBits );
+        mInverseScale = norm == FastFourierTransform.Normalization.NONE ? 1.0f : 1.0f / dim;
+    }
+
+
+    /**
+     * Performs a Fast Fourier Transform on a vector of complex values.
+     * <p>
+     * Complex samples must be stored in an array in a
+     * tightly packed format: <br>
+     * <tt>[... r0, i0, r1, i1, r2, i2 ...]</tt><br>
+     * where <tt>rk</tt> is the real component of an element and
+     * <tt>ik</tt> is the corresponding imaginary component.
+     *
+     * @param x       Input array of complex samples: <b>NOTE:</b> <tt>x.length &gt= dim * 2 + xOff</tt>.
+     * @param xOff    Start position of data in the input array.
+     * @param inverse Set to false for normal FFT, true for inverse FFT.
+     * @param out     Output array where transformed, complex elements are stored: <b>NOTE:</b> <tt>out.length &gt= dim * 2 + outOff</tt>
+     *                May be <tt>x</tt> if <tt>outOff == xOff</tt>, in which case the transform is done in place.
+     * @param outOff  Start position into output array.
+     */
+    public void applyComplex( float[] x, int xOff, boolean inverse, float[] out, int outOff ) {
+        if( x == out && xOff == outOff ) {
+            applyComplex( out, outOff, inverse );
+            return;
+        }
+
+        final int dim = mDim;
+        BitReversal.permute( x, xOff, out, outOff, mBits );
+
+        transform( out, outOff, dim, inverse, mTwiddle, inverse ? mInverseScale : 1.0f );
+    }
+
+    /**
+     * Performs a Fast Fourier Transform in place on a vector of complex values,
+     * stored in the same format as {@link #applyComplex(float[], int, boolean, float[], int)}.
+     *
+     * @param a       Array of complex samples, replaced by their transform: <b>NOTE:</b> <tt>a.length &gt= dim * 2 + aOff</tt>.
+     * @param aOff    Start position of data in the array.
+     * @param inverse Set to false for normal FFT, true for inverse FFT.
+     */
+    public void applyComplex( float[] a, int aOff, boolean inverse ) {
+        BitReversal.permuteInPlace( a, aOff, mBits );
+        transform( a, aOff, mDim, inverse, mTwiddle, inverse ? mInverseScale : 1.0f );
+    }
+
+    /**
+     * Performs a Fast Fourier Transform on an array of real values.
+     * Note that the output samples are complex, so the output array
+     * will need to hold twice as many float values as the input array.
+     * <p>
+     * Samples must be stored in an array in a
+     * tightly packed format: <br>
+     * <tt>[... r0, r1, r2, ...]</tt><br>
+     * where <en>rk</en> is the real component of a sample.
+     *
+     * @param x          Input array of real-valued samples: <b>NOTE:</b> <tt>x.length &gt= dim + xOff</tt>.
+     * @param xOff       Start position of data in the input array.
+     * @param inverse    Set to false for normal FFT, true for inverse FFT.
+     * @param out        Output array where transformed, complex samples are stored: <b>NOTE:</b> <tt>out.length &gt= numSamples * 2 + outOff</tt>
+     * @param outOff     Start position into output array.
+     */
+    public void applyReal( float[] x, int xOff, boolean inverse, float[] out, int outOff ) {
+        final int[] rev = BitReversal.indices( mBits );
+        final int dim   = mDim;
+
+        for( int i = 0; i < dim; i++ ) {
+            int ii = i + xOff;
+            int jj = rev[i] * 2 + outOff;
+            out[jj    ] = x[ii];
+            out[jj + 1] = 0;
+        }
+
+        transform( out, outOff, dim, inverse, mTwiddle, inverse ? mInverseScale : 1.0f );
+    }
+
+
+    /**
+     * Performs a Fast Fourier Transform on a vector of complex values that are not stored
+     * contiguously. Sample <tt>k</tt> is read from <tt>x[xOff + k * xStride]</tt> (real) and
+     * <tt>x[xOff + k * xStride + 1]</tt> (imaginary), and written to the same positions of
+     * <tt>out</tt> using <tt>outOff</tt> and <tt>outStride</tt>.
+     * <p>
+     * Input is read directly by the bit-reversal shuffle. If output is packed, the transform
+     * runs in place in <tt>out</tt>. Otherwise it runs in a work buffer of <tt>dim * 2</tt>
+     * values, which one scatter pass then writes to <tt>out</tt>. This method allocates that
+     * buffer on each call; pass a {@link Workspace} to reuse one.
+     *
+     * @param x         Input array of complex samples.
+     * @param xOff      Start position of data in the input array.
+     * @param xStride   Distance between consecutive input samples, in array elements. Must be at least 2.
+     * @param inverse   Set to false for normal FFT, true for inverse FFT.
+     * @param out       Output array where transformed, complex elements are stored. Must not overlap input.
+     * @param outOff    Start position into output array.
+     * @param outStride Distance between consecutive output samples, in array elements. Must be at least 2.
+     */
+    public void applyComplex( float[] x, int xOff, int xStride, boolean inverse, float[] out, int outOff, int outStride ) {
+        applyStrided( x, xOff, 2, xStride, inverse, out, outOff, outStride, null );
+    }
+
+    /**
+     * Same as {@link #applyComplex(float[], int, int, boolean, float[], int, int)}, but runs
+     * in the single-precision buffer of <tt>ws</tt> when output is not packed.
+     */
+    public void applyComplex( float[] x,
+                              int xOff,
+                              int xStride,
+                              boolean inverse,
+                              float[] out,
+                              int outOff,
+                              int outStride,
+                              Workspace ws )
+    {
+        applyStrided( x, xOff, 2, xStride, inverse, out, outOff, outStride, ws );
+    }
+
+    /**
+     * Performs a Fast Fourier Transform on a vector of real values that are not stored
+     * contiguously. Sample <tt>k</tt> is read from <tt>x[xOff + k * xStride]</tt>, and
+     * complex output is written as in {@link #applyComplex(float[], int, int, boolean, float[], int, int)}.
+     *
+     * @param x         Input array of real-valued samples.
+     * @param xOff      Start position of data in the input array.
+     * @param xStride   Distance between consecutive input samples, in array elements. Must be positive.
+     * @param inverse   Set to false for normal FFT, true for inverse FFT.
+     * @param out       Output array where transformed, complex samples are stored. Must not overlap input.
+     * @param outOff    Start position into output array.
+     * @param outStride Distance between consecutive output samples, in array elements. Must be at least 2.
+     */
+    public void applyReal( float[] x, int xOff, int xStride, boolean inverse, float[] out, int outOff, int outStride ) {
+        applyStrided( x, xOff, 1, xStride, inverse, out, outOff, outStride, null );
+    }
+
+    /**
+     * Same as {@link #applyReal(float[], int, int, boolean, float[], int, int)}, but runs
+     * in the single-precision buffer of <tt>ws</tt> when output is not packed.
+     */
+    public void applyReal( float[] x,
+                           int xOff,
+                           int xStride,
+                           boolean inverse,
+                           float[] out,
+                           int outOff,
+                           int outStride,
+                           Workspace ws )
+    {
+        applyStrided( x, xOff, 1, xStride, inverse, out, outOff, outStride, ws );
+    }
+
+    /**
+     * Performs a Fast Fourier Transform on complex values read from a buffer, such as a
+     * direct buffer filled from a channel or a view of a memory-mapped file. Sample <tt>k</tt>
+     * is read from indices <tt>xOff + k * xStride</tt> (real) and <tt>xOff + k * xStride + 1</tt>
+     * (imaginary), and output is written to <tt>out</tt> in the packed format used by
+     * {@link #applyComplex(float[], int, boolean, float[], int)}. Values are read directly into
+     * <tt>out</tt>, with no intermediate copy.
+     * <p>
+     * Indices are absolute, and the position of <tt>x</tt> is neither used nor modified.
+     * Byte order is that of the buffer; for little-endian data, create the view with
+     * <tt>byteBuffer.order( ByteOrder.LITTLE_ENDIAN ).asFloatBuffer()</tt>. There are no <tt>MemorySegment</tt>
+     * overloads; a Java 22 segment can be passed through <tt>segment.asByteBuffer()</tt>.
+     *
+     * @param x       Input buffer of complex samples.
+     * @param xOff    Index of first sample in <tt>x</tt>.
+     * @param xStride Distance between consecutive input samples, in elements. Must be at least 2.
+     * @param inverse Set to false for normal FFT, true for inverse FFT.
+     * @param out     Output array where transformed, complex elements are stored: <b>NOTE:</b> <tt>out.length &gt= dim * 2 + outOff</tt>
+     * @param outOff  Start position into output array.
+     */
+    public void applyComplex( FloatBuffer x, int xOff, int xStride, boolean inverse, float[] out, int outOff ) {
+        applyBuffer( x, xOff, 2, xStride, inverse, out, outOff );
+    }
+
+    /**
+     * Performs a Fast Fourier Transform on real values read from a buffer. Sample <tt>k</tt>
+     * is read from index <tt>xOff + k * xStride</tt>. See
+     * {@link #applyComplex(FloatBuffer, int, int, boolean, float[], int)} for details.
+     *
+     * @param x       Input buffer of real-valued samples.
+     * @param xOff    Index of first sample in <tt>x</tt>.
+     * @param xStride Distance between consecutive input samples, in elements. Must be positive.
+     * @param inverse Set to false for normal FFT, true for inverse FFT.
+     * @param out     Output array where transformed, complex samples are stored: <b>NOTE:</b> <tt>out.length &gt= dim * 2 + outOff</tt>
+     * @param outOff  Start position into output array.
+     */
+    public void applyReal( FloatBuffer x, int xOff, int xStride, boolean inverse, float[] out, int outOff ) {
+        applyBuffer( x, xOff, 1, xStride, inverse, out, outOff );
+    }
+
+    /**
+     * Performs a Fast Fourier Transform on complex values read from one buffer, and writes
+     * the result to another. Sample <tt>k</tt> is read from indices <tt>xOff + k * xStride</tt>
+     * and <tt>xOff + k * xStride + 1</tt>, and written to indices <tt>outOff + k * outStride</tt>
+     * and <tt>outOff + k * outStride + 1</tt>.
+     * <p>
+     * If <tt>out</tt> is backed by an array that <tt>x</tt> does not share, and <tt>outStride == 2</tt>,
+     * the transform runs in place in that array. Otherwise it runs in a work array of
+     * <tt>dim * 2</tt> values, which one pass then writes to <tt>out</tt>. This method allocates
+     * that array on each call; pass a {@link Workspace} to reuse one. Positions of
+     * buffers are neither used nor modified. See
+     * {@link #applyComplex(FloatBuffer, int, int, boolean, float[], int)} for details.
+     *
+     * @param x         Input buffer of complex samples.
+     * @param xOff      Index of first sample in <tt>x</tt>.
+     * @param xStride   Distance between consecutive input samples, in elements. Must be at least 2.
+     * @param inverse   Set to false for normal FFT, true for inverse FFT.
+     * @param out       Output buffer where transformed, complex elements are stored.
+     * @param outOff    Index of first output sample in <tt>out</tt>.
+     * @param outStride Distance between consecutive output samples, in elements. Must be at least 2.
+     */
+    public void applyComplex( FloatBuffer x, int xOff, int xStride, boolean inverse, FloatBuffer out, int outOff, int outStride ) {
+        transformBuffer( x, xOff, 2, xStride, inverse, out, outOff, outStride, null );
+    }
+
+    /**
+     * Same as {@link #applyComplex(FloatBuffer, int, int, boolean, FloatBuffer, int, int)}, but uses
+     * the single-precision buffer of <tt>ws</tt> when it cannot run in place.
+     */
+    public void applyComplex( FloatBuffer x,
+                              int xOff,
+                              int xStride,
+                              boolean inverse,
+                              FloatBuffer out,
+                              int outOff,
+                              int outStride,
+                              Workspace ws )
+    {
+        transformBuffer( x, xOff, 2, xStride, inverse, out, outOff, outStride, ws );
+    }
+
+    /**
+     * Performs a Fast Fourier Transform on real values read from one buffer, and writes the
+     * complex result to another. See
+     * {@link #applyComplex(FloatBuffer, int, int, boolean, FloatBuffer, int, int)} for details.
+     *
+     * @param x         Input buffer of real-valued samples.
+     * @param xOff      Index of first sample in <tt>x</tt>.
+     * @param xStride   Distance between consecutive input samples, in elements. Must be positive.
+     * @param inverse   Set to false for normal FFT, true for inverse FFT.
+     * @param out       Output buffer where transformed, complex samples are stored.
+     * @param outOff    Index of first output sample in <tt>out</tt>.
+     * @param outStride Distance between consecutive output samples, in elements. Must be at least 2.
+     */
+    public void applyReal( FloatBuffer x, int xOff, int xStride, boolean inverse, FloatBuffer out, int outOff, int outStride ) {
+        transformBuffer( x, xOff, 1, xStride, inverse, out, outOff, outStride, null );
+    }
+
+    /**
+     * Same as {@link #applyReal(FloatBuffer, int, int, boolean, FloatBuffer, int, int)}, but uses
+     * the single-precision buffer of <tt>ws</tt> when it cannot run in place.
+     */
+    public void applyReal( FloatBuffer x,
+                           int xOff,
+                           int xStride,
+                           boolean inverse,
+                           FloatBuffer out,
+                           int outOff,
+                           int outStride,
+                           Workspace ws )
+    {
+        transformBuffer( x, xOff, 1, xStride, inverse, out, outOff, outStride, ws );
+    }
+
+
+
+    /**
+     * Transforms bit-reversed data. Single-precision version of
+     * {@link FastFourierTransform#transformUnrolled}: runs the generated codelets in
+     * {@link CodeletsF}, then the remaining radix-4 stages on {@link VectorKernel}.
+     */
+    static void transform( float[] x, int off, int len, boolean inverse, float[] table ) {
+        transform( x, off, len, inverse, table, 1.0f );
+    }
+
+    /**
+     * Same as {@link #transform(float[], int, int, boolean, float[])}, but multiplies the
+     * output by <tt>scale</tt>.
+     */
+    static void transform( float[] x, int off, int len, boolean inverse, float[] table, float scale ) {
+        if( len <= CodeletsF.MAX_LEN ) {
+            if( len > 1 ) {
+                CodeletsF.apply( x, off, len, inverse, scale );
+            } else if( scale != 1.0f ) {
+                x[off    ] *= scale;
+                x[off + 1] *= scale;
+            }
+            return;
+        }
+
+        int leaf = CodeletsF.MAX_LEN;
+        if( ( ( Integer.numberOfTrailingZeros( len ) ^ CodeletsF.MAX_BITS ) & 1 ) != 0 ) {
+            leaf >>= 1;
+        }
+        for( int c = 0; c < len; c += leaf ) {
+            CodeletsF.apply( x, off + c * 2, leaf, inverse, 1.0f );
+        }
+        VectorKernel.transformRadix4Stages( x, off, len, leaf, inverse, table, scale );
+    }
+
+    /**
+     * Single-precision version of {@link FastFourierTransform#transformRadix4Stages}.
+     */
+    static void transformRadix4Stages( float[] x, int off, int len, int half, boolean inverse, float[] table, float scale ) {
+        final float sign = inverse ? -1.0f : 1.0f;
+
+        for( ; half < len; half <<= 2 ) {
+            final int tableOff  = TwiddleTable.stageOffset( half * 2 );
+            final int blockSize = half * 4;
+            final int h2 = half * 2;
+            final float s = blockSize == len ? scale : 1.0f;
+
+            for( int i = 0; i < len; i += blockSize ) {
+                for( int n = 0; n < half; n++ ) {
+                    final int j0 = ( i + n ) * 2 + off;
+                    final int j1 = j0 + h2;
+                    final int j2 = j1 + h2;
+                    final int j3 = j2 + h2;
+
+                    int t = tableOff + n * 2;
+                    final float w1r = table[t];
+                    final float w1i = table[t + 1] * sign;
+                    t = tableOff + n * 4;
+                    final float w2r = table[t];
+                    final float w2i = table[t + 1] * sign;
+                    final float w3r;
+                    final float w3i;
+                    if( n * 3 < h2 ) {
+                        t = tableOff + n * 6;
+                        w3r = table[t];
+                        w3i = table[t + 1] * sign;
+                    } else {
+                        t = tableOff + ( n * 3 - h2 ) * 2;
+                        w3r = -table[t];
+                        w3i = -table[t + 1] * sign;
+                    }
+
+                    final float ar = x[j0];
+                    final float ai = x[j0 + 1];
+                    final float br = w2r * x[j1] - w2i * x[j1 + 1];
+                    final float bi = w2r * x[j1 + 1] + w2i * x[j1];
+                    final float cr = w1r * x[j2] - w1i * x[j2 + 1];
+                    final float ci = w1r * x[j2 + 1] + w1i * x[j2];
+                    final float dr = w3r * x[j3] - w3i * x[j3 + 1];
+                    final float di = w3r * x[j3 + 1] + w3i * x[j3];
+
+                    final float t0r = ar + br;
+                    final float t0i = ai + bi;
+                    final float t1r = ar - br;
+                    final float t1i = ai - bi;
+                    final float t2r = cr + dr;
+                    final float t2i = ci + di;
+                    final float t3r =  sign * ( ci - di );
+                    final float t3i = -sign * ( cr - dr );
+
+                    if( s == 1.0f ) {
+                        x[j0    ] = t0r + t2r;
+                        x[j0 + 1] = t0i + t2i;
+                        x[j1    ] = t1r + t3r;
+                        x[j1 + 1] = t1i + t3i;
+                        x[j2    ] = t0r - t2r;
+                        x[j2 + 1] = t0i - t2i;
+                        x[j3    ] = t1r - t3r;
+                        x[j3 + 1] = t1i - t3i;
+                    } else {
+                        x[j0    ] = ( t0r + t2r ) * s;
+                        x[j0 + 1] = ( t0i + t2i ) * s;
+                        x[j1    ] = ( t1r + t3r ) * s;
+                        x[j1 + 1] = ( t1i + t3i ) * s;
+                        x[j2    ] = ( t0r - t2r ) * s;
+                        x[j2 + 1] = ( t0i - t2i ) * s;
+                        x[j3    ] = ( t1r - t3r ) * s;
+                        x[j3 + 1] = ( t1i - t3i ) * s;
+                    }
+                }
+            }
+        }
+    }
+
+
+    /**
+     * @param xUnit Elements per input sample; 2 for complex, 1 for real.
+     */
+    private void applyBuffer( FloatBuffer x, int xOff, int xUnit, int xStride, boolean inverse, float[] out, int outOff ) {
+        final int[] rev = BitReversal.indices( mBits );
+        final int dim   = mDim;
+
+        for( int i = 0; i < dim; i++ ) {
+            final int ii = i * xStride + xOff;
+            final int jj = rev[i] * 2 + outOff;
+            out[jj    ] = x.get( ii );
+            out[jj + 1] = xUnit == 2 ? x.get( ii + 1 ) : 0.0f;
+        }
+
+        transform( out, outOff, dim, inverse, mTwiddle, inverse ? mInverseScale : 1.0f );
+    }
+
+
+    /**
+     * @param xUnit Elements per input sample; 2 for complex, 1 for real.
+     * @param ws    Source of work array if output cannot be used. May be null, in which case one is allocated.
+     */
+    private void transformBuffer( FloatBuffer x,
+                                  int xOff,
+                                  int xUnit,
+                                  int xStride,
+                                  boolean inverse,
+                                  FloatBuffer out,
+                                  int outOff,
+                                  int outStride,
+                                  Workspace ws )
+    {
+        if( outStride == 2 && out.hasArray() && outOff + mDim * 2 <= out.limit() &&
+            !( x.hasArray() && x.array() == out.array() ) )
+        {
+            applyBuffer( x, xOff, xUnit, xStride, inverse, out.array(), out.arrayOffset() + outOff );
+            return;
+        }
+
+        final float[] work = ws != null ? ws.f( mDim * 2 ) : new float[mDim * 2];
+        applyBuffer( x, xOff, xUnit, xStride, inverse, work, 0 );
+        putBuffer( work, out, outOff, outStride );
+    }
+
+
+    private void putBuffer( float[] work, FloatBuffer out, int outOff, int outStride ) {
+        final int dim = mDim;
+        for( int i = 0; i < dim; i++ ) {
+            final int jj = i * outStride + outOff;
+            out.put( jj,     work[i * 2    ] );
+            out.put( jj + 1, work[i * 2 + 1] );
+        }
+    }
+
+
+    /**
+     * @param xUnit Array elements per input sample; 2 for complex, 1 for real.
+     * @param ws    Source of work buffer if output is not packed. May be null, in which case one is allocated.
+     */
+    private void applyStrided( float[] x,
+                               int xOff,
+                               int xUnit,
+                               int xStride,
+                               boolean inverse,
+                               float[] out,
+                               int outOff,
+                               int outStride,
+                               Workspace ws )
+    {
+        final int dim   = mDim;
+        final int[] rev = BitReversal.indices( mBits );
+        final boolean packed = outStride == 2;
+        final float[] work   = packed ? out : ws != null ? ws.f( dim * 2 ) : new float[dim * 2];
+        final int workOff    = packed ? outOff : 0;
+
+        for( int i = 0; i < dim; i++ ) {
+            final int ii = i * xStride + xOff;
+            final int jj = rev[i] * 2 + workOff;
+            work[jj    ] = x[ii];
+            work[jj + 1] = xUnit == 2 ? x[ii + 1] : 0.0f;
+        }
+
+        transform( work, workOff, dim, inverse, mTwiddle, inverse ? mInverseScale : 1.0f );
+
+        // The one copy left: scatter to strided output.
+        if( !packed ) {
+            for( int i = 0; i < dim; i++ ) {
+                final int jj = i * outStride + outOff;
+                out[jj    ] = work[i * 2    ];
+                out[jj + 1] = work[i * 2 + 1];
+            }
+        }
+    }
+
+}
@@ -0,0 +1,387 @@
+/*
+ * Copyright (c) 2014, Massachusetts Institute of Technology
+ * Released under the BSD 2-Clause License
+ * http://opensource.org/licenses/BSD-2-Clause
+ */
+package bits.fft;
+
+import bits.fft.FastFourierTransform.Kernel;
+import bits.fft.FastFourierTransform.Shuffle;
+import bits.fft.FastFourierTransform.Twiddle;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+
+
+/**
+ * Selects the fastest configuration of {@link FastFourierTransform} for a given
+ * size by timing candidate strategies on this machine: butterfly kernel, twiddle
+ * method, and bit-reversal method (including the COBRA tile size).
+ * <p>
+ * Chosen configurations are kept as <i>wisdom</i>, shared by the whole process.
+ * Later requests for the same kind and size return the same plan without measuring.
+ * Wisdom may be written to a file with {@link #exportWisdom} and read back with
+ * {@link #importWisdom}, so that a restarted process neither spends time measuring
+ * nor risks choosing differently because of timing noise.
+ * <p>
+ * This class is thread-safe.
+ */
+public final class FftPlanner {
+
+    /**
+     * Type of input a plan is for.
+     */
+    public enum Kind {
+        /**
+         * Complex input, as used by {@link FastFourierTransform#applyComplex(double[], int, boolean, double[], int)}.
+         */
+        COMPLEX,
+
+        /**
+         * Real input, as used by {@link FastFourierTransform#applyReal(double[], int, boolean, double[], int)}.
+         */
+        REAL
+    }
+
+
+    /**
+     * Measure each kernel, then each bit-reversal method with the winning kernel.
+     */
+    public static final int MEASURE = 0;
+
+    /**
+     * Do not measure. Chooses the same configuration as {@link Kernel#AUTO} and {@link Shuffle#AUTO}.
+     */
+    public static final int ESTIMATE = 1;
+
+    /**
+     * Measure every combination of kernel and bit-reversal method, with more trials than {@link #MEASURE}.
+     */
+    public static final int PATIENT = 2;
+
+    /**
+     * Only use existing wisdom. {@link #plan} returns <tt>null</tt> if there is none.
+     */
+    public static final int WISDOM_ONLY = 4;
+
+
+    private static final String WISDOM_HEADER = "# bits.fft wisdom v1";
+
+    private static final Kernel[]  CANDIDATE_KERNELS  = { Kernel.RADIX2, Kernel.RADIX2, Kernel.RADIX4, Kernel.SPLIT_RADIX, Kernel.UNROLLED };
+    private static final Twiddle[] CANDIDATE_TWIDDLES = { Twiddle.RECURRENCE, Twiddle.TABLE, Twiddle.TABLE, Twiddle.TABLE, Twiddle.TABLE };
+    private static final Shuffle[] CANDIDATE_SHUFFLES = { Shuffle.TABLE, Shuffle.COBRA16, Shuffle.COBRA32, Shuffle.COBRA64 };
+    private static final int[]     SHUFFLE_MIN_BITS   = { 1, 8, 10, 12 };
+
+    private static final long TRIAL_NANOS = 1000000L;
+
+    private static final ConcurrentHashMap<String, Plan> WISDOM = new ConcurrentHashMap<String, Plan>();
+
+
+    /**
+     * Returns a plan for a transform of the given kind and size. If wisdom exists for the pair,
+     * it is returned directly. Otherwise, a plan is chosen according to <tt>flags</tt> and
+     * added to wisdom. Unless {@link #ESTIMATE} is set, this takes a few milliseconds
+     * for each candidate.
+     *
+     * @param kind  Type of input.
+     * @param dim   Size of transform. Must be a power-of-two.
+     * @param flags One of {@link #MEASURE}, {@link #ESTIMATE} or {@link #PATIENT}, optionally combined with {@link #WISDOM_ONLY}.
+     * @return plan for the transform, or <tt>null</tt> if {@link #WISDOM_ONLY} is set and there is no wisdom for it.
+     * @throws IllegalArgumentException if dim is smaller than 2, too large, or not a power-of-two,
+     *         or if <tt>flags</tt> combines {@link #ESTIMATE} with {@link #PATIENT} or has unknown bits set.
+     */
+    public static Plan plan( Kind kind, int dim, int flags ) {
+        if( ( flags & ~( ESTIMATE | PATIENT | WISDOM_ONLY ) ) != 0 ) {
+            throw new IllegalArgumentException( "Unknown flags: " + flags );
+        }
+        if( ( flags & ( ESTIMATE | PATIENT ) ) == ( ESTIMATE | PATIENT ) ) {
+            throw new IllegalArgumentException( "ESTIMATE and PATIENT are mutually exclusive" );
+        }
+        FastFourierTransform.computeBitNum( dim );
+        final String key = key( kind, dim );
+        Plan ret = WISDOM.get( key );
+        if( ret != null || ( flags & WISDOM_ONLY ) != 0 ) {
+            return ret;
+        }
+
+        if( ( flags & ESTIMATE ) != 0 ) {
+            ret = new Plan( kind, dim, Kernel.AUTO, Twiddle.TABLE, Shuffle.AUTO );
+        } else {
+            ret = measure( kind, dim, ( flags & PATIENT ) != 0 );
+        }
+
+        Plan prev = WISDOM.putIfAbsent( key, ret );
+        return prev != null ? prev : ret;
+    }
+
+    /**
+     * Writes all current wisdom to a text file, one plan per line, in sorted order.
+     *
+     * @param file File to write. Replaced if it exists.
+     * @throws IOException if writing fails.
+     */
+    public static void exportWisdom( File file ) throws IOException {
+        List<Plan> plans = new ArrayList<Plan>( WISDOM.values() );
+        Collections.sort( plans, new Comparator<Plan>() {
+            public int compare( Plan a, Plan b ) {
+                int c = a.mKind.compareTo( b.mKind );
+                return c != 0 ? c : ( a.mDim < b.mDim ? -1 : a.mDim == b.mDim ? 0 : 1 );
+            }
+        } );
+
+        Writer out = new BufferedWriter( new OutputStreamWriter( new FileOutputStream( file ), "UTF-8" ) );
+        try {
+            out.write( WISDOM_HEADER );
+            out.write( '\n' );
+            for( Plan p : plans ) {
+                out.write( p.mKind + " " + p.mDim + " " + p.mKernel + " " + p.mTwiddle + " " + p.mShuffle );
+                out.write( '\n' );
+            }
+        } finally {
+            out.close();
+        }
+    }
+
+    /**
+     * Reads wisdom from a file written by {@link #exportWisdom}. Imported plans
+     * replace any existing wisdom for the same kind and size. Nothing is
+     * imported if the file is malformed.
+     *
+     * @param file File to read.
+     * @throws IOException if reading fails or the file is malformed.
+     */
+    public static void importWisdom( File file ) throws IOException {
+        List<Plan> plans = new ArrayList<Plan>();
+        BufferedReader in = new BufferedReader( new InputStreamReader( new FileInputStream( file ), "UTF-8" ) );
+        try {
+            int lineNum = 0;
+            String line;
+            while( ( line = in.readLine() ) != null ) {
+                lineNum++;
+                line = line.trim();
+                if( line.length() == 0 || line.startsWith( "#" ) ) {
+                    continue;
+                }
+
+                String[] tok = line.split( "\\s+" );
+                if( tok.length != 5 ) {
+                    throw new IOException( file + ":" + lineNum + ": expected 5 fields: " + line );
+                }
+                try {
+                    Kind kind = Kind.valueOf( tok[0] );
+                    int dim   = Integer.parseInt( tok[1] );
+                    FastFourierTransform.computeBitNum( dim );
+                    plans.add( new Plan( kind, dim, Kernel.valueOf( tok[2] ), Twiddle.valueOf( tok[3] ), Shuffle.valueOf( tok[4] ) ) );
+                } catch( IllegalArgumentException e ) {
+                    throw new IOException( file + ":" + lineNum + ": " + e.getMessage() );
+                }
+            }
+        } finally {
+            in.close();
+        }
+
+        for( Plan p : plans ) {
+            WISDOM.put( key( p.mKind, p.mDim ), p );
+        }
+    }
+
+    /**
+     * Discards all wisdom.
+     */
+    public static void forgetWisdom() {
+        WISDOM.clear();
+    }
+
+
+
+    /**
+     * Immutable description of a chosen transform configuration.
+     */
+    public static final class Plan {
+
+        private final Kind mKind;
+        private final int mDim;
+        private final Kernel mKernel;
+        private final Twiddle mTwiddle;
+        private final Shuffle mShuffle;
+        private final FastFourierTransform mTransform;
+
+        Plan( Kind kind, int dim, Kernel kernel, Twiddle twiddle, Shuffle shuffle ) {
+            mKind      = kind;
+            mDim       = dim;
+            mTransform = new FastFourierTransform( dim, kernel, twiddle, shuffle );
+            mKernel    = mTransform.kernel();
+            mTwiddle   = twiddle;
+            mShuffle   = shuffle;
+        }
+
+
+        public Kind kind() {
+            return mKind;
+        }
+
+
+        public int dim() {
+            return mDim;
+        }
+
+        /**
+         * @return chosen kernel. Never {@link Kernel#AUTO}.
+         */
+        public Kernel kernel() {
+            return mKernel;
+        }
+
+
+        public Twiddle twiddle() {
+            return mTwiddle;
+        }
+
+
+        public Shuffle shuffle() {
+            return mShuffle;
+        }
+
+        /**
+         * @return transform configured by this plan. Shared by all callers of this plan; the transform is reentrant.
+         */
+        public FastFourierTransform transform() {
+            return mTransform;
+        }
+
+        /**
+         * Applies the transform this plan is for, with {@link FastFourierTransform#applyComplex(double[], int, boolean, double[], int)}
+         * if {@link #kind()} is {@link Kind#COMPLEX}, or {@link FastFourierTransform#applyReal(double[], int, boolean, double[], int)}
+         * if {@link Kind#REAL}.
+         */
+        public void apply( double[] x, int xOff, boolean inverse, double[] out, int outOff ) {
+            if( mKind == Kind.COMPLEX ) {
+                mTransform.applyComplex( x, xOff, inverse, out, outOff );
+            } else {
+                mTransform.applyReal( x, xOff, inverse, out, outOff );
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "Plan[" + mKind + " " + mDim + " " + mKernel + " " + mTwiddle + " " + mShuffle + "]";
+        }
+
+    }
+
+
+
+    private static String key( Kind kind, int dim ) {
+        return kind + " " + dim;
+    }
+
+
+    private static Plan measure( Kind kind, int dim, boolean patient ) {
+        final int bits   = FastFourierTransform.computeBitNum( dim );
+        final int trials = patient ? 9 : 3;
+
+        Random rand = new Random( dim );
+        double[] x = new double[dim * 2];
+        for( int i = 0; i < x.length; i++ ) {
+            x[i] = rand.nextDouble() * 2.0 - 1.0;
+        }
+        double[] out = new double[dim * 2];
+
+        // Shuffle only affects complex transforms.
+        List<Shuffle> shuffles = new ArrayList<Shuffle>();
+        if( kind == Kind.COMPLEX ) {
+            for( int i = 0; i < CANDIDATE_SHUFFLES.length; i++ ) {
+                if( bits >= SHUFFLE_MIN_BITS[i] ) {
+                    shuffles.add( CANDIDATE_SHUFFLES[i] );
+                }
+            }
+        } else {
+            shuffles.add( Shuffle.AUTO );
+        }
+
+        Plan best = null;
+        double bestTime = Double.POSITIVE_INFINITY;
+
+        if( patient ) {
+            for( int k = 0; k < CANDIDATE_KERNELS.length; k++ ) {
+                for( Shuffle s : shuffles ) {
+                    Plan p = new Plan( kind, dim, CANDIDATE_KERNELS[k], CANDIDATE_TWIDDLES[k], s );
+                    double t = time( p, x, out, trials );
+                    if( t < bestTime ) {
+                        best = p;
+                        bestTime = t;
+                    }
+                }
+            }
+            return best;
+        }
+
+        // Choose kernel with the default shuffle, then shuffle with the chosen kernel.
+        for( int k = 0; k < CANDIDATE_KERNELS.length; k++ ) {
+            Plan p = new Plan( kind, dim, CANDIDATE_KERNELS[k], CANDIDATE_TWIDDLES[k], shuffles.get( 0 ) );
+            double t = time( p, x, out, trials );
+            if( t < bestTime ) {
+                best = p;
+                bestTime = t;
+            }
+        }
+
+        final Plan kernelBest = best;
+        for( int i = 1; i < shuffles.size(); i++ ) {
+            Plan p = new Plan( kind, dim, kernelBest.mKernel, kernelBest.mTwiddle, shuffles.get( i ) );
+            double t = time( p, x, out, trials );
+            if( t < bestTime ) {
+                best = p;
+                bestTime = t;
+            }
+        }
+
+        return best;
+    }
+
+    /**
+     * @return minimum time, in nanoseconds, of one transform over several trials.
+     */
+    private static double time( Plan plan, double[] x, double[] out, int trials ) {
+        // Warm up and calibrate the number of repetitions per trial.
+        int reps = 1;
+        while( true ) {
+            long t0 = System.nanoTime();
+            for( int i = 0; i < reps; i++ ) {
+                plan.apply( x, 0, false, out, 0 );
+            }
+            long t = System.nanoTime() - t0;
+            if( t >= TRIAL_NANOS || reps >= 1 << 20 ) {
+                break;
+            }
+            reps *= 2;
+        }
+
+        double best = Double.POSITIVE_INFINITY;
+        for( int k = 0; k < trials; k++ ) {
+            long t0 = System.nanoTime();
+            for( int i = 0; i < reps; i++ ) {
+                plan.apply( x, 0, false, out, 0 );
+            }
+            best = Math.min( best, (double)( System.nanoTime() - t0 ) / reps );
+        }
+        return best;
+    }
+
+
+    private FftPlanner() {}
+
+}
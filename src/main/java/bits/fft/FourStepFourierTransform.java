@@ -0,0 +1,218 @@
+/*
+ * Copyright (c) 2014, Massachusetts Institute of Technology
+ * Released under the BSD 2-Clause License
+ * http://opensource.org/licenses/BSD-2-Clause
+ */
+package bits.fft;
+
+/**
+ * Performs a Fast Fourier Transform on large vectors using the four-step algorithm.
+ * Compatible with both real and complex valued inputs.
+ * Outputs are always complex, and identical in format to {@link FastFourierTransform}.
+ * <p>
+ * The vector of length <tt>N = N1 * N2</tt> is viewed as an <tt>N1 x N2</tt> matrix.
+ * The transform is computed as <tt>N2</tt> column transforms of length <tt>N1</tt>,
+ * a twiddle multiplication, and <tt>N1</tt> column transforms of length <tt>N2</tt>.
+ * Rather than transposing whole matrices, columns are gathered a block at a time
+ * into a small work buffer, where they are transformed together with each column
+ * interleaved. Each sub-transform runs in cache and each pass over main memory
+ * reads and writes contiguous runs of a block of columns. The whole vector is
+ * streamed through memory twice, instead of once per butterfly stage.
+ * Sub-transforms use the radix-4 kernel of {@link FastFourierTransform}, with SIMD
+ * instructions where available.
+ * <p>
+ * This is worthwhile once <tt>16 * dim</tt> bytes exceeds the last-level cache.
+ * For smaller vectors, use {@link FastFourierTransform}.
+ * <p>
+ * Not thread safe.
+ */
+public class FourStepFourierTransform {
+
+    /**
+     * Columns gathered per block. Thirty-two complex doubles fill eight 64-byte cache lines; measured best of 8 through 64.
+     */
+    private static final int COLUMN_BLOCK = 32;
+
+
+    private final int mDim;
+    private final int mBits1;
+    private final int mBits2;
+
+    private final double[] mTable;
+    private final double[] mCoarse;
+    private final double[] mFine;
+    private final int mFineBits;
+
+    private final double[] mWork;
+
+
+    /**
+     * The sole argument, <tt>dim</tt>, indicates the size
+     * of vectors on which the transform will operate.  This
+     * must be a power-of-two.
+     * <p>
+     * Memory footprint is about <tt>550 * sqrt( 2 * dim )</tt> bytes, plus a shared twiddle table.
+     *
+     * @param dim Size of vector on which the transform operates.  Must be power-of-two.
+     * @throws IllegalArgumentException if dim is smaller than 2, too large, or not a power-of-two.
+     */
+    public FourStepFourierTransform( int dim ) {
+        final int bits = FastFourierTransform.computeBitNum( dim );
+        mDim   = dim;
+        mBits1 = bits / 2;
+        mBits2 = bits - mBits1;
+        mTable = TwiddleTable.forBits( mBits2 );
+
+        // Twiddles W_N^j are formed as W_N^(hi * F) * W_N^lo, where j = hi * F + lo.
+        // Each factor is computed directly, so error does not grow with N.
+        mFineBits = ( bits + 1 ) / 2;
+        final int fine   = 1 << mFineBits;
+        final int coarse = dim >> mFineBits;
+        mFine   = new double[fine * 2];
+        mCoarse = new double[coarse * 2];
+        for( int i = 0; i < fine; i++ ) {
+            double angle = 2.0 * Math.PI * i / dim;
+            mFine[i * 2    ] =  Math.cos( angle );
+            mFine[i * 2 + 1] = -Math.sin( angle );
+        }
+        for( int i = 0; i < coarse; i++ ) {
+            double angle = 2.0 * Math.PI * ( (long)i << mFineBits ) / dim;
+            mCoarse[i * 2    ] =  Math.cos( angle );
+            mCoarse[i * 2 + 1] = -Math.sin( angle );
+        }
+
+        final int block = Math.min( COLUMN_BLOCK, 1 << mBits1 );
+        mWork = new double[block << ( mBits2 + 1 )];
+    }
+
+
+    /**
+     * Performs a Fast Fourier Transform on a vector of complex values.
+     * Samples are stored in the tightly packed format used by {@link FastFourierTransform#applyComplex}.
+     *
+     * @param x       Input array of complex samples: <b>NOTE:</b> <tt>x.length &gt= dim * 2 + xOff</tt>.
+     *                Not modified.
+     * @param xOff    Start position of data in the input array.
+     * @param inverse Set to false for normal FFT, true for inverse FFT.
+     * @param out     Output array where transformed, complex elements are stored: <b>NOTE:</b> <tt>out.length &gt= dim * 2 + outOff</tt>.
+     *                Must not overlap input.
+     * @param outOff  Start position into output array.
+     */
+    public void applyComplex( double[] x, int xOff, boolean inverse, double[] out, int outOff ) {
+        transformColumns( x, xOff, 2, inverse, out, outOff );
+        transformRows( out, outOff, inverse );
+    }
+
+    /**
+     * Performs a Fast Fourier Transform on an array of real values.
+     * Note that the output samples are complex, so the output array
+     * will need to hold twice as many double values as the input array.
+     *
+     * @param x       Input array of real-valued samples: <b>NOTE:</b> <tt>x.length &gt= dim + xOff</tt>.
+     *                Not modified.
+     * @param xOff    Start position of data in the input array.
+     * @param inverse Set to false for normal FFT, true for inverse FFT.
+     * @param out     Output array where transformed, complex samples are stored: <b>NOTE:</b> <tt>out.length &gt= dim * 2 + outOff</tt>
+     *                Must not overlap input.
+     * @param outOff  Start position into output array.
+     */
+    public void applyReal( double[] x, int xOff, boolean inverse, double[] out, int outOff ) {
+        transformColumns( x, xOff, 1, inverse, out, outOff );
+        transformRows( out, outOff, inverse );
+    }
+
+
+
+    /**
+     * Steps 1 and 2. For each column <tt>n2</tt> of the <tt>N1 x N2</tt> input matrix,
+     * computes the length <tt>N1</tt> transform, multiplies element <tt>k1</tt> by
+     * <tt>W_N^(n2 * k1)</tt>, and stores the result as row <tt>n2</tt> of an
+     * <tt>N2 x N1</tt> matrix in <tt>out</tt>.
+     *
+     * @param xUnit Array elements per input sample; 2 for complex, 1 for real.
+     */
+    private void transformColumns( double[] x, int xOff, int xUnit, boolean inverse, double[] out, int outOff ) {
+        final int n1       = 1 << mBits1;
+        final int n2       = 1 << mBits2;
+        final int shift    = 32 - mBits1;
+        final int block    = Math.min( COLUMN_BLOCK, n2 );
+        final double sign  = inverse ? -1.0 : 1.0;
+        final double[] work   = mWork;
+        final double[] coarse = mCoarse;
+        final double[] fine   = mFine;
+        final int fineBits    = mFineBits;
+        final int fineMask    = ( 1 << fineBits ) - 1;
+
+        for( int cb = 0; cb < n2; cb += block ) {
+            // Gather block of columns, interleaved, with rows in bit-reversed order.
+            for( int r = 0; r < n1; r++ ) {
+                final int jj = mBits1 == 0 ? 0 : ( FastFourierTransform.reverse( r ) >>> shift ) * block * 2;
+                final int ii = xOff + ( r * n2 + cb ) * xUnit;
+                if( xUnit == 2 ) {
+                    System.arraycopy( x, ii, work, jj, block * 2 );
+                } else {
+                    for( int c = 0; c < block; c++ ) {
+                        work[jj + c * 2    ] = x[ii + c];
+                        work[jj + c * 2 + 1] = 0.0;
+                    }
+                }
+            }
+
+            VectorKernel.transformRadix4Batch( work, 0, n1, block, inverse, mTable );
+
+            // Twiddle and store as rows.
+            for( int c = 0; c < block; c++ ) {
+                final int col = cb + c;
+                final int dst = outOff + col * n1 * 2;
+
+                for( int k = 0, j = 0, src = c * 2; k < n1; k++, j += col, src += block * 2 ) {
+                    final int hi = ( j >>> fineBits ) * 2;
+                    final int lo = ( j & fineMask ) * 2;
+                    final double wr = coarse[hi] * fine[lo] - coarse[hi + 1] * fine[lo + 1];
+                    final double wi = ( coarse[hi] * fine[lo + 1] + coarse[hi + 1] * fine[lo] ) * sign;
+                    final double ar = work[src    ];
+                    final double ai = work[src + 1];
+                    out[dst + k * 2    ] = ar * wr - ai * wi;
+                    out[dst + k * 2 + 1] = ar * wi + ai * wr;
+                }
+            }
+        }
+    }
+
+    /**
+     * Steps 3 and 4. Computes length <tt>N2</tt> transforms in place down each column of the
+     * <tt>N2 x N1</tt> matrix in <tt>a</tt>, leaving the output in natural order.
+     */
+    private void transformRows( double[] a, int aOff, boolean inverse ) {
+        final int n1     = 1 << mBits1;
+        final int n2     = 1 << mBits2;
+        final int shift  = 32 - mBits2;
+        final int block  = Math.min( COLUMN_BLOCK, n1 );
+        final int run    = block * 2;
+        final double scale  = inverse ? 1.0 / mDim : 1.0;
+        final double[] work = mWork;
+
+        for( int cb = 0; cb < n1; cb += block ) {
+            for( int r = 0; r < n2; r++ ) {
+                final int jj = ( FastFourierTransform.reverse( r ) >>> shift ) * run;
+                System.arraycopy( a, aOff + ( r * n1 + cb ) * 2, work, jj, run );
+            }
+
+            VectorKernel.transformRadix4Batch( work, 0, n2, block, inverse, mTable );
+
+            if( inverse ) {
+                for( int r = 0; r < n2; r++ ) {
+                    final int ii = aOff + ( r * n1 + cb ) * 2;
+                    for( int c = 0; c < run; c++ ) {
+                        a[ii + c] = work[r * run + c] * scale;
+                    }
+                }
+            } else {
+                for( int r = 0; r < n2; r++ ) {
+                    System.arraycopy( work, r * run, a, aOff + ( r * n1 + cb ) * 2, run );
+                }
+            }
+        }
+    }
+
+}
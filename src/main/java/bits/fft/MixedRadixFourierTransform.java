@@ -0,0 +1,487 @@
+/*
+ * Copyright (c) 2014, Massachusetts Institute of Technology
+ * Released under the BSD 2-Clause License
+ * http://opensource.org/licenses/BSD-2-Clause
+ */
+package bits.fft;
+
+/**
+ * Performs a Fast Fourier Transform on vectors whose length has no prime
+ * factors other than 2, 3, 5 and 7, such as 1920 or 3000.
+ * Compatible with both real and complex valued inputs.
+ * Outputs are always complex, and in the same format as {@link FastFourierTransform}.
+ * <p>
+ * Uses recursive, out-of-place decimation in time with hand-coded radix
+ * 2, 3, 4, 5 and 7 butterflies. Input is never modified, and no scratch
+ * space is required.
+ * <p>
+ * This class is reentrant (thread-safe).
+ */
+public class MixedRadixFourierTransform {
+
+    private static final int[] RADICES = { 4, 2, 3, 5, 7 };
+
+    private static final double C3  = 0.86602540378443864676; // sin(2pi/3)
+    private static final double C51 = Math.cos( 2.0 * Math.PI / 5.0 );
+    private static final double S51 = Math.sin( 2.0 * Math.PI / 5.0 );
+    private static final double C52 = Math.cos( 4.0 * Math.PI / 5.0 );
+    private static final double S52 = Math.sin( 4.0 * Math.PI / 5.0 );
+    private static final double C71 = Math.cos( 2.0 * Math.PI / 7.0 );
+    private static final double S71 = Math.sin( 2.0 * Math.PI / 7.0 );
+    private static final double C72 = Math.cos( 4.0 * Math.PI / 7.0 );
+    private static final double S72 = Math.sin( 4.0 * Math.PI / 7.0 );
+    private static final double C73 = Math.cos( 6.0 * Math.PI / 7.0 );
+    private static final double S73 = Math.sin( 6.0 * Math.PI / 7.0 );
+
+
+    private final int mDim;
+    private final int[] mFactors;
+    private final double[] mTwiddle;
+
+
+    /**
+     * @param dim Size of vector on which the transform operates. Must be positive and have
+     *            no prime factors other than 2, 3, 5 and 7.
+     * @throws IllegalArgumentException if dim is not supported.
+     */
+    public MixedRadixFourierTransform( int dim ) {
+        if( !isSupported( dim ) ) {
+            throw new IllegalArgumentException( "Dimension must be positive and have no prime factors other than 2, 3, 5 and 7" );
+        }
+
+        mDim     = dim;
+        mFactors = factor( dim );
+        mTwiddle = new double[dim * 2];
+
+        for( int i = 0; i < dim; i++ ) {
+            double angle = 2.0 * Math.PI * i / dim;
+            mTwiddle[i * 2    ] =  Math.cos( angle );
+            mTwiddle[i * 2 + 1] = -Math.sin( angle );
+        }
+    }
+
+
+    /**
+     * @return true iff <tt>dim</tt> is positive and has no prime factors other than 2, 3, 5 and 7.
+     */
+    public static boolean isSupported( int dim ) {
+        if( dim <= 0 ) {
+            return false;
+        }
+        for( int p = 2; p <= 7; p++ ) {
+            while( dim % p == 0 ) {
+                dim /= p;
+            }
+        }
+        return dim == 1;
+    }
+
+
+    /**
+     * Performs a Fast Fourier Transform on a vector of complex values.
+     * <p>
+     * Complex samples must be stored in an array in a
+     * tightly packed format: <br>
+     * <tt>[... r0, i0, r1, i1, r2, i2 ...]</tt><br>
+     * where <tt>rk</tt> is the real component of an element and
+     * <tt>ik</tt> is the corresponding imaginary component.
+     *
+     * @param x       Input array of complex samples: <b>NOTE:</b> <tt>x.length &gt= dim * 2 + xOff</tt>.
+     * @param xOff    Start position of data in the input array.
+     * @param inverse Set to false for normal FFT, true for inverse FFT.
+     * @param out     Output array where transformed, complex elements are stored: <b>NOTE:</b> <tt>out.length &gt= dim * 2 + outOff</tt>.
+     *                Must not overlap input.
+     * @param outOff  Start position into output array.
+     */
+    public void applyComplex( double[] x, int xOff, boolean inverse, double[] out, int outOff ) {
+        work( x, xOff, 2, false, out, outOff, 1, 0, mDim, inverse ? -1.0 : 1.0 );
+        if( inverse ) {
+            scale( out, outOff, mDim * 2, 1.0 / mDim );
+        }
+    }
+
+    /**
+     * Performs a Fast Fourier Transform on an array of real values.
+     * Note that the output samples are complex, so the output array
+     * will need to hold twice as many double values as the input array.
+     *
+     * @param x       Input array of real-valued samples: <b>NOTE:</b> <tt>x.length &gt= dim + xOff</tt>.
+     * @param xOff    Start position of data in the input array.
+     * @param inverse Set to false for normal FFT, true for inverse FFT.
+     * @param out     Output array where transformed, complex samples are stored: <b>NOTE:</b> <tt>out.length &gt= dim * 2 + outOff</tt>
+     *                Must not overlap input.
+     * @param outOff  Start position into output array.
+     */
+    public void applyReal( double[] x, int xOff, boolean inverse, double[] out, int outOff ) {
+        work( x, xOff, 1, true, out, outOff, 1, 0, mDim, inverse ? -1.0 : 1.0 );
+        if( inverse ) {
+            scale( out, outOff, mDim * 2, 1.0 / mDim );
+        }
+    }
+
+
+
+    /**
+     * Computes transform of length <tt>n</tt> of the input subsequence starting at <tt>xOff</tt>
+     * with a step of <tt>fstride</tt> samples, writing natural order output to <tt>out</tt>.
+     *
+     * @param x       Input array.
+     * @param xOff    Offset of first input sample.
+     * @param xUnit   Array elements per input sample; 2 for complex, 1 for real.
+     * @param real    Whether input is real.
+     * @param out     Output array.
+     * @param outOff  Offset of first output value.
+     * @param fstride Step between input samples, which is also the step in the twiddle table.
+     * @param fi      Index of factor for this level.
+     * @param n       Length of this sub-transform.
+     * @param sign    1.0 for forward, -1.0 for inverse.
+     */
+    private void work( double[] x,
+                       int xOff,
+                       int xUnit,
+                       boolean real,
+                       double[] out,
+                       int outOff,
+                       int fstride,
+                       int fi,
+                       int n,
+                       double sign )
+    {
+        if( n == 1 ) {
+            out[outOff    ] = x[xOff];
+            out[outOff + 1] = real ? 0.0 : x[xOff + 1];
+            return;
+        }
+
+        final int p = mFactors[fi];
+        final int m = n / p;
+        final int step = fstride * xUnit;
+
+        if( m == 1 ) {
+            for( int q = 0; q < p; q++ ) {
+                int ii = xOff + q * step;
+                out[outOff + q * 2    ] = x[ii];
+                out[outOff + q * 2 + 1] = real ? 0.0 : x[ii + 1];
+            }
+        } else {
+            for( int q = 0; q < p; q++ ) {
+                work( x, xOff + q * step, xUnit, real, out, outOff + q * m * 2, fstride * p, fi + 1, m, sign );
+            }
+        }
+
+        switch( p ) {
+        case 2:
+            butterfly2( out, outOff, fstride, m, sign );
+            break;
+        case 3:
+            butterfly3( out, outOff, fstride, m, sign );
+            break;
+        case 4:
+            butterfly4( out, outOff, fstride, m, sign );
+            break;
+        case 5:
+            butterfly5( out, outOff, fstride, m, sign );
+            break;
+        default:
+            butterfly7( out, outOff, fstride, m, sign );
+            break;
+        }
+    }
+
+
+    private void butterfly2( double[] a, int off, int fstride, int m, double sign ) {
+        final double[] tw = mTwiddle;
+        final int m2 = m * 2;
+
+        for( int k = 0; k < m; k++ ) {
+            final int j0 = off + k * 2;
+            final int j1 = j0 + m2;
+            final int t  = k * fstride * 2;
+
+            final double wr = tw[t];
+            final double wi = tw[t + 1] * sign;
+            final double br = wr * a[j1] - wi * a[j1 + 1];
+            final double bi = wr * a[j1 + 1] + wi * a[j1];
+
+            a[j1    ] = a[j0    ] - br;
+            a[j1 + 1] = a[j0 + 1] - bi;
+            a[j0    ] += br;
+            a[j0 + 1] += bi;
+        }
+    }
+
+
+    private void butterfly3( double[] a, int off, int fstride, int m, double sign ) {
+        final double[] tw = mTwiddle;
+        final int m2 = m * 2;
+        final double s = sign * C3;
+
+        for( int k = 0; k < m; k++ ) {
+            final int j0 = off + k * 2;
+            final int j1 = j0 + m2;
+            final int j2 = j1 + m2;
+            final int t1 = k * fstride * 2;
+            final int t2 = t1 * 2;
+
+            double wr = tw[t1];
+            double wi = tw[t1 + 1] * sign;
+            final double br = wr * a[j1] - wi * a[j1 + 1];
+            final double bi = wr * a[j1 + 1] + wi * a[j1];
+            wr = tw[t2];
+            wi = tw[t2 + 1] * sign;
+            final double cr = wr * a[j2] - wi * a[j2 + 1];
+            final double ci = wr * a[j2 + 1] + wi * a[j2];
+
+            final double sr = br + cr;
+            final double si = bi + ci;
+            final double dr = s * ( bi - ci );
+            final double di = s * ( cr - br );
+            final double mr = a[j0    ] - 0.5 * sr;
+            final double mi = a[j0 + 1] - 0.5 * si;
+
+            a[j0    ] += sr;
+            a[j0 + 1] += si;
+            a[j1    ] = mr + dr;
+            a[j1 + 1] = mi + di;
+            a[j2    ] = mr - dr;
+            a[j2 + 1] = mi - di;
+        }
+    }
+
+
+    private void butterfly4( double[] a, int off, int fstride, int m, double sign ) {
+        final double[] tw = mTwiddle;
+        final int m2 = m * 2;
+
+        for( int k = 0; k < m; k++ ) {
+            final int j0 = off + k * 2;
+            final int j1 = j0 + m2;
+            final int j2 = j1 + m2;
+            final int j3 = j2 + m2;
+            final int t1 = k * fstride * 2;
+
+            double wr = tw[t1];
+            double wi = tw[t1 + 1] * sign;
+            final double br = wr * a[j1] - wi * a[j1 + 1];
+            final double bi = wr * a[j1 + 1] + wi * a[j1];
+            wr = tw[t1 * 2];
+            wi = tw[t1 * 2 + 1] * sign;
+            final double cr = wr * a[j2] - wi * a[j2 + 1];
+            final double ci = wr * a[j2 + 1] + wi * a[j2];
+            wr = tw[t1 * 3];
+            wi = tw[t1 * 3 + 1] * sign;
+            final double dr = wr * a[j3] - wi * a[j3 + 1];
+            final double di = wr * a[j3 + 1] + wi * a[j3];
+
+            final double ar = a[j0];
+            final double ai = a[j0 + 1];
+            final double t0r = ar + cr;
+            final double t0i = ai + ci;
+            final double t1r = ar - cr;
+            final double t1i = ai - ci;
+            final double t2r = br + dr;
+            final double t2i = bi + di;
+            // Multiply (b - d) by W4 = -i * sign.
+            final double t3r =  sign * ( bi - di );
+            final double t3i = -sign * ( br - dr );
+
+            a[j0    ] = t0r + t2r;
+            a[j0 + 1] = t0i + t2i;
+            a[j1    ] = t1r + t3r;
+            a[j1 + 1] = t1i + t3i;
+            a[j2    ] = t0r - t2r;
+            a[j2 + 1] = t0i - t2i;
+            a[j3    ] = t1r - t3r;
+            a[j3 + 1] = t1i - t3i;
+        }
+    }
+
+
+    private void butterfly5( double[] a, int off, int fstride, int m, double sign ) {
+        final double[] tw = mTwiddle;
+        final int m2 = m * 2;
+        final double s1 = sign * S51;
+        final double s2 = sign * S52;
+
+        for( int k = 0; k < m; k++ ) {
+            final int j0 = off + k * 2;
+            final int j1 = j0 + m2;
+            final int j2 = j1 + m2;
+            final int j3 = j2 + m2;
+            final int j4 = j3 + m2;
+            final int t1 = k * fstride * 2;
+
+            double wr = tw[t1];
+            double wi = tw[t1 + 1] * sign;
+            final double f1r = wr * a[j1] - wi * a[j1 + 1];
+            final double f1i = wr * a[j1 + 1] + wi * a[j1];
+            wr = tw[t1 * 2];
+            wi = tw[t1 * 2 + 1] * sign;
+            final double f2r = wr * a[j2] - wi * a[j2 + 1];
+            final double f2i = wr * a[j2 + 1] + wi * a[j2];
+            wr = tw[t1 * 3];
+            wi = tw[t1 * 3 + 1] * sign;
+            final double f3r = wr * a[j3] - wi * a[j3 + 1];
+            final double f3i = wr * a[j3 + 1] + wi * a[j3];
+            wr = tw[t1 * 4];
+            wi = tw[t1 * 4 + 1] * sign;
+            final double f4r = wr * a[j4] - wi * a[j4 + 1];
+            final double f4i = wr * a[j4 + 1] + wi * a[j4];
+
+            final double f0r = a[j0];
+            final double f0i = a[j0 + 1];
+
+            final double a1r = f1r + f4r;
+            final double a1i = f1i + f4i;
+            final double b1r = f1r - f4r;
+            final double b1i = f1i - f4i;
+            final double a2r = f2r + f3r;
+            final double a2i = f2i + f3i;
+            final double b2r = f2r - f3r;
+            final double b2i = f2i - f3i;
+
+            final double m1r = f0r + C51 * a1r + C52 * a2r;
+            final double m1i = f0i + C51 * a1i + C52 * a2i;
+            final double m2r = f0r + C52 * a1r + C51 * a2r;
+            final double m2i = f0i + C52 * a1i + C51 * a2i;
+
+            // -i * sign * ( s1 * b1 + s2 * b2 )
+            final double n1r =  s1 * b1i + s2 * b2i;
+            final double n1i = -s1 * b1r - s2 * b2r;
+            // -i * sign * ( s2 * b1 - s1 * b2 )
+            final double n2r =  s2 * b1i - s1 * b2i;
+            final double n2i = -s2 * b1r + s1 * b2r;
+
+            a[j0    ] = f0r + a1r + a2r;
+            a[j0 + 1] = f0i + a1i + a2i;
+            a[j1    ] = m1r + n1r;
+            a[j1 + 1] = m1i + n1i;
+            a[j4    ] = m1r - n1r;
+            a[j4 + 1] = m1i - n1i;
+            a[j2    ] = m2r + n2r;
+            a[j2 + 1] = m2i + n2i;
+            a[j3    ] = m2r - n2r;
+            a[j3 + 1] = m2i - n2i;
+        }
+    }
+
+
+    private void butterfly7( double[] a, int off, int fstride, int m, double sign ) {
+        final double[] tw = mTwiddle;
+        final int m2 = m * 2;
+        final double s1 = sign * S71;
+        final double s2 = sign * S72;
+        final double s3 = sign * S73;
+
+        for( int k = 0; k < m; k++ ) {
+            final int j0 = off + k * 2;
+            final int j1 = j0 + m2;
+            final int j2 = j1 + m2;
+            final int j3 = j2 + m2;
+            final int j4 = j3 + m2;
+            final int j5 = j4 + m2;
+            final int j6 = j5 + m2;
+            final int t1 = k * fstride * 2;
+
+            double wr = tw[t1];
+            double wi = tw[t1 + 1] * sign;
+            final double f1r = wr * a[j1] - wi * a[j1 + 1];
+            final double f1i = wr * a[j1 + 1] + wi * a[j1];
+            wr = tw[t1 * 2];
+            wi = tw[t1 * 2 + 1] * sign;
+            final double f2r = wr * a[j2] - wi * a[j2 + 1];
+            final double f2i = wr * a[j2 + 1] + wi * a[j2];
+            wr = tw[t1 * 3];
+            wi = tw[t1 * 3 + 1] * sign;
+            final double f3r = wr * a[j3] - wi * a[j3 + 1];
+            final double f3i = wr * a[j3 + 1] + wi * a[j3];
+            wr = tw[t1 * 4];
+            wi = tw[t1 * 4 + 1] * sign;
+            final double f4r = wr * a[j4] - wi * a[j4 + 1];
+            final double f4i = wr * a[j4 + 1] + wi * a[j4];
+            wr = tw[t1 * 5];
+            wi = tw[t1 * 5 + 1] * sign;
+            final double f5r = wr * a[j5] - wi * a[j5 + 1];
+            final double f5i = wr * a[j5 + 1] + wi * a[j5];
+            wr = tw[t1 * 6];
+            wi = tw[t1 * 6 + 1] * sign;
+            final double f6r = wr * a[j6] - wi * a[j6 + 1];
+            final double f6i = wr * a[j6 + 1] + wi * a[j6];
+
+            final double f0r = a[j0];
+            final double f0i = a[j0 + 1];
+
+            final double a1r = f1r + f6r;
+            final double a1i = f1i + f6i;
+            final double b1r = f1r - f6r;
+            final double b1i = f1i - f6i;
+            final double a2r = f2r + f5r;
+            final double a2i = f2i + f5i;
+            final double b2r = f2r - f5r;
+            final double b2i = f2i - f5i;
+            final double a3r = f3r + f4r;
+            final double a3i = f3i + f4i;
+            final double b3r = f3r - f4r;
+            final double b3i = f3i - f4i;
+
+            // Output r pairs with output 7 - r. The cos and sin of ( 2 * pi * q * r / 7 )
+            // reduce to the constants for 1, 2 and 3.
+            final double m1r = f0r + C71 * a1r + C72 * a2r + C73 * a3r;
+            final double m1i = f0i + C71 * a1i + C72 * a2i + C73 * a3i;
+            final double m2r = f0r + C72 * a1r + C73 * a2r + C71 * a3r;
+            final double m2i = f0i + C72 * a1i + C73 * a2i + C71 * a3i;
+            final double m3r = f0r + C73 * a1r + C71 * a2r + C72 * a3r;
+            final double m3i = f0i + C73 * a1i + C71 * a2i + C72 * a3i;
+
+            final double v1r = s1 * b1r + s2 * b2r + s3 * b3r;
+            final double v1i = s1 * b1i + s2 * b2i + s3 * b3i;
+            final double v2r = s2 * b1r - s3 * b2r - s1 * b3r;
+            final double v2i = s2 * b1i - s3 * b2i - s1 * b3i;
+            final double v3r = s3 * b1r - s1 * b2r + s2 * b3r;
+            final double v3i = s3 * b1i - s1 * b2i + s2 * b3i;
+
+            a[j0    ] = f0r + a1r + a2r + a3r;
+            a[j0 + 1] = f0i + a1i + a2i + a3i;
+
+            // X[r] = m + ( -i * v ),  X[7 - r] = m - ( -i * v )
+            a[j1    ] = m1r + v1i;
+            a[j1 + 1] = m1i - v1r;
+            a[j6    ] = m1r - v1i;
+            a[j6 + 1] = m1i + v1r;
+            a[j2    ] = m2r + v2i;
+            a[j2 + 1] = m2i - v2r;
+            a[j5    ] = m2r - v2i;
+            a[j5 + 1] = m2i + v2r;
+            a[j3    ] = m3r + v3i;
+            a[j3 + 1] = m3i - v3r;
+            a[j4    ] = m3r - v3i;
+            a[j4 + 1] = m3i + v3r;
+        }
+    }
+
+
+    private static int[] factor( int n ) {
+        int[] buf = new int[32];
+        int count = 0;
+
+        for( int i = 0; i < RADICES.length; i++ ) {
+            final int p = RADICES[i];
+            while( n % p == 0 ) {
+                buf[count++] = p;
+                n /= p;
+            }
+        }
+
+        int[] ret = new int[count];
+        System.arraycopy( buf, 0, ret, 0, count );
+        return ret;
+    }
+
+
+    private static void scale( double[] x, int off, int len, double scale ) {
+        for( int i = 0; i < len; i++ ) {
+            x[i + off] *= scale;
+        }
+    }
+
+}
@@ -0,0 +1,360 @@
+/*
+ * Copyright (c) 2014, Massachusetts Institute of Technology
+ * Released under the BSD 2-Clause License
+ * http://opensource.org/licenses/BSD-2-Clause
+ */
+package bits.fft;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Performs a Fast Fourier Transform on vectors stored in files, which may be far
+ * larger than the heap. Compatible with both real and complex valued inputs.
+ * Samples are stored as 8-byte doubles, in the same tightly packed format used by
+ * {@link FastFourierTransform}, and files are accessed through {@link FileChannel#map}.
+ * <p>
+ * Uses the same four-step decomposition as {@link FourStepFourierTransform}. The vector of
+ * length <tt>N = N1 * N2</tt> is viewed as an <tt>N1 x N2</tt> matrix, and the transform is
+ * computed in two passes over the file. Each pass gathers a panel of columns into a work
+ * buffer, transforms them in memory, and writes them back. Panels are read and written in
+ * file order, as runs of <tt>16 * block</tt> bytes, where <tt>block</tt> is the number of
+ * columns that fit in the memory budget. Larger budgets give longer runs and fewer seeks.
+ * <p>
+ * The first pass reads the input and writes the output. The second pass works in place
+ * on the output. The input is never modified.
+ * <p>
+ * Not thread safe.
+ */
+public class OutOfCoreFourierTransform {
+
+    /**
+     * Largest supported transform is <tt>2^(MAX_BITS-1)</tt>. Sub-transforms are limited to in-memory sizes.
+     */
+    private static final int MAX_BITS = 59;
+
+    /**
+     * Default memory budget of 64 MiB.
+     */
+    public static final long DEFAULT_MEMORY_BUDGET = 64L << 20;
+
+    /**
+     * Files are mapped in windows of <tt>1 &lt;&lt; WINDOW_BITS</tt> bytes, to stay under the 2 GiB limit of a single mapping.
+     */
+    private static final int WINDOW_BITS = 30;
+
+
+    private final long mDim;
+    private final int mBits1;
+    private final int mBits2;
+    private final int mBlock;
+    private final ByteOrder mOrder;
+    private final int mWindowBits;
+
+    private final double[] mTable;
+    private final int mTwiddleBits;
+    private final double[] mTwiddle0;
+    private final double[] mTwiddle1;
+    private final double[] mTwiddle2;
+
+    private final double[] mWork;
+    private final double[] mRow;
+
+
+    /**
+     * Creates a transform with the default memory budget, operating on files in native byte order.
+     *
+     * @param dim Size of vector on which the transform operates.  Must be power-of-two.
+     * @throws IllegalArgumentException if dim is smaller than 2, too large, or not a power-of-two.
+     */
+    public OutOfCoreFourierTransform( long dim ) {
+        this( dim, DEFAULT_MEMORY_BUDGET, ByteOrder.nativeOrder() );
+    }
+
+    /**
+     * @param dim          Size of vector on which the transform operates.  Must be power-of-two.
+     * @param memoryBudget Bytes of heap to use for the work buffers. Must be at least
+     *                     <tt>24 * sqrt( 2 * dim )</tt>. Twiddle tables add about <tt>48 * cbrt( dim )</tt> bytes.
+     * @param order        Byte order of samples in files.
+     * @throws IllegalArgumentException if dim is smaller than 2, too large, or not a power-of-two,
+     *                                  or if memoryBudget is too small.
+     */
+    public OutOfCoreFourierTransform( long dim, long memoryBudget, ByteOrder order ) {
+        this( dim, memoryBudget, order, WINDOW_BITS );
+    }
+
+
+    OutOfCoreFourierTransform( long dim, long memoryBudget, ByteOrder order, int windowBits ) {
+        final int bits = computeBitNum( dim );
+        mDim        = dim;
+        mBits1      = bits / 2;
+        mBits2      = bits - mBits1;
+        mOrder      = order;
+        mWindowBits = windowBits - 3;
+        mTable      = TwiddleTable.forBits( mBits2 );
+
+        // Work holds block columns of length N2; row holds one output row of length N1.
+        final long n1 = 1L << mBits1;
+        final long n2 = 1L << mBits2;
+        long block = Long.highestOneBit( Math.max( 0, memoryBudget / 16 - n1 ) / n2 );
+        if( block < 1 ) {
+            throw new IllegalArgumentException( "Memory budget must be at least " + ( 16 * ( n1 + n2 ) ) + " bytes" );
+        }
+        block = Math.min( block, Math.min( n1, n2 ) );
+        block = Math.min( block, ( 1L << 29 ) >> mBits2 );
+        mBlock = (int)block;
+
+        mWork = new double[mBlock << ( mBits2 + 1 )];
+        mRow  = new double[(int)n1 * 2];
+
+        // Twiddles W_N^j are formed as W_N^(a * T^2) * W_N^(b * T) * W_N^c, where j = (a * T + b) * T + c.
+        // Each factor is computed directly, so error does not grow with N.
+        mTwiddleBits = ( bits + 2 ) / 3;
+        mTwiddle0 = twiddles( 1 << mTwiddleBits, 0, bits );
+        mTwiddle1 = twiddles( 1 << mTwiddleBits, mTwiddleBits, bits );
+        mTwiddle2 = twiddles( 1 << Math.max( 0, bits - 2 * mTwiddleBits ), 2 * mTwiddleBits, bits );
+    }
+
+
+    /**
+     * @return size of vectors on which this transform operates.
+     */
+    public long dim() {
+        return mDim;
+    }
+
+    /**
+     * Performs a Fast Fourier Transform on a file of complex values.
+     *
+     * @param in      Channel holding input samples, open for reading: <b>NOTE:</b> <tt>in.size() &gt= dim * 16 + inPos</tt>.
+     *                Not modified.
+     * @param inPos   Byte position of data in the input file.
+     * @param inverse Set to false for normal FFT, true for inverse FFT.
+     * @param out     Channel where transformed, complex samples are stored. Must be open for reading and writing.
+     *                The file is extended if needed. Output must not overlap input.
+     * @param outPos  Byte position of data in the output file.
+     * @throws IOException if the files cannot be mapped.
+     */
+    public void applyComplex( FileChannel in, long inPos, boolean inverse, FileChannel out, long outPos ) throws IOException {
+        apply( in, inPos, 2, inverse, out, outPos );
+    }
+
+    /**
+     * Performs a Fast Fourier Transform on a file of real values.
+     * Note that the output samples are complex, so the output file
+     * will need to hold twice as many double values as the input file.
+     *
+     * @param in      Channel holding input samples, open for reading: <b>NOTE:</b> <tt>in.size() &gt= dim * 8 + inPos</tt>.
+     *                Not modified.
+     * @param inPos   Byte position of data in the input file.
+     * @param inverse Set to false for normal FFT, true for inverse FFT.
+     * @param out     Channel where transformed, complex samples are stored. Must be open for reading and writing.
+     *                The file is extended if needed. Output must not overlap input.
+     * @param outPos  Byte position of data in the output file.
+     * @throws IOException if the files cannot be mapped.
+     */
+    public void applyReal( FileChannel in, long inPos, boolean inverse, FileChannel out, long outPos ) throws IOException {
+        apply( in, inPos, 1, inverse, out, outPos );
+    }
+
+
+
+    private void apply( FileChannel in, long inPos, int xUnit, boolean inverse, FileChannel out, long outPos ) throws IOException {
+        final long inSize = mDim * xUnit * 8;
+        if( in.size() < inPos + inSize ) {
+            throw new IllegalArgumentException( "Input file holds fewer than " + mDim + " samples" );
+        }
+        Region src = new Region( in, FileChannel.MapMode.READ_ONLY, inPos, inSize, mOrder, mWindowBits );
+        Region dst = new Region( out, FileChannel.MapMode.READ_WRITE, outPos, mDim * 16, mOrder, mWindowBits );
+        transformColumns( src, xUnit, inverse, dst );
+        transformRows( dst, inverse );
+    }
+
+    /**
+     * Pass 1. For each column <tt>n2</tt> of the <tt>N1 x N2</tt> input matrix,
+     * computes the length <tt>N1</tt> transform, multiplies element <tt>k1</tt> by
+     * <tt>W_N^(n2 * k1)</tt>, and stores the result as row <tt>n2</tt> of an
+     * <tt>N2 x N1</tt> matrix in <tt>out</tt>.
+     */
+    private void transformColumns( Region in, int xUnit, boolean inverse, Region out ) throws IOException {
+        final int n1      = 1 << mBits1;
+        final int n2      = 1 << mBits2;
+        final int shift   = 32 - mBits1;
+        final int block   = mBlock;
+        final double sign = inverse ? -1.0 : 1.0;
+        final double[] work = mWork;
+        final double[] row  = mRow;
+        final double[] t0   = mTwiddle0;
+        final double[] t1   = mTwiddle1;
+        final double[] t2   = mTwiddle2;
+        final int tBits     = mTwiddleBits;
+        final int tMask     = ( 1 << tBits ) - 1;
+
+        for( int cb = 0; cb < n2; cb += block ) {
+            // Gather block of columns, interleaved, with rows in bit-reversed order.
+            for( int r = 0; r < n1; r++ ) {
+                final int jj  = mBits1 == 0 ? 0 : ( FastFourierTransform.reverse( r ) >>> shift ) * block * 2;
+                final long ii = ( (long)r * n2 + cb ) * xUnit;
+                if( xUnit == 2 ) {
+                    in.get( ii, work, jj, block * 2 );
+                } else {
+                    // Read reals into upper half of slot, then spread forward.
+                    in.get( ii, work, jj + block, block );
+                    for( int c = 0; c < block; c++ ) {
+                        work[jj + c * 2    ] = work[jj + block + c];
+                        work[jj + c * 2 + 1] = 0.0;
+                    }
+                }
+            }
+
+            VectorKernel.transformRadix4Batch( work, 0, n1, block, inverse, mTable );
+
+            // Twiddle and store as rows.
+            for( int c = 0; c < block; c++ ) {
+                final long col = cb + c;
+                long j = 0;
+                for( int k = 0, src = c * 2; k < n1; k++, j += col, src += block * 2 ) {
+                    final int a  = (int)( j >>> ( 2 * tBits ) ) * 2;
+                    final int b  = (int)( ( j >>> tBits ) & tMask ) * 2;
+                    final int d  = (int)( j & tMask ) * 2;
+                    final double ur = t2[a] * t1[b] - t2[a + 1] * t1[b + 1];
+                    final double ui = t2[a] * t1[b + 1] + t2[a + 1] * t1[b];
+                    final double wr = ur * t0[d] - ui * t0[d + 1];
+                    final double wi = ( ur * t0[d + 1] + ui * t0[d] ) * sign;
+                    final double xr = work[src    ];
+                    final double xi = work[src + 1];
+                    row[k * 2    ] = xr * wr - xi * wi;
+                    row[k * 2 + 1] = xr * wi + xi * wr;
+                }
+                out.put( col * n1 * 2, row, 0, n1 * 2 );
+            }
+        }
+    }
+
+    /**
+     * Pass 2. Computes length <tt>N2</tt> transforms in place down each column of the
+     * <tt>N2 x N1</tt> matrix in <tt>a</tt>, leaving the output in natural order.
+     */
+    private void transformRows( Region a, boolean inverse ) throws IOException {
+        final int n1    = 1 << mBits1;
+        final int n2    = 1 << mBits2;
+        final int shift = 32 - mBits2;
+        final int block = Math.min( mBlock, n1 );
+        final int run   = block * 2;
+        final double[] work = mWork;
+
+        for( int cb = 0; cb < n1; cb += block ) {
+            for( int r = 0; r < n2; r++ ) {
+                final int jj = ( FastFourierTransform.reverse( r ) >>> shift ) * run;
+                a.get( ( (long)r * n1 + cb ) * 2, work, jj, run );
+            }
+
+            VectorKernel.transformRadix4Batch( work, 0, n2, block, inverse, mTable );
+
+            if( inverse ) {
+                final double scale = 1.0 / mDim;
+                for( int i = 0; i < run * n2; i++ ) {
+                    work[i] *= scale;
+                }
+            }
+
+            for( int r = 0; r < n2; r++ ) {
+                a.put( ( (long)r * n1 + cb ) * 2, work, r * run, run );
+            }
+        }
+    }
+
+
+    /**
+     * @return table of <tt>W_N^(i &lt;&lt; shift)</tt> for <tt>i &lt; size</tt>, where <tt>N = 1 &lt;&lt; bits</tt>.
+     */
+    private static double[] twiddles( int size, int shift, int bits ) {
+        double[] ret = new double[size * 2];
+        for( int i = 0; i < size; i++ ) {
+            double angle = 2.0 * Math.PI * ( (long)i << shift ) / ( 1L << bits );
+            ret[i * 2    ] =  Math.cos( angle );
+            ret[i * 2 + 1] = -Math.sin( angle );
+        }
+        return ret;
+    }
+
+
+    private static int computeBitNum( long n ) {
+        final int bits = 63 - Long.numberOfLeadingZeros( n );
+        if( bits <= 0 || bits >= MAX_BITS || 1L << bits != n ) {
+            throw new IllegalArgumentException( "Dimension must be a power of two, larger than 1, and smaller than 1 << " + MAX_BITS );
+        }
+        return bits;
+    }
+
+
+    /**
+     * Vector of doubles in a file, mapped lazily in fixed-size windows.
+     */
+    private static final class Region {
+
+        private final FileChannel mChannel;
+        private final FileChannel.MapMode mMode;
+        private final long mPos;
+        private final long mSize;
+        private final ByteOrder mOrder;
+        private final int mWindowBits;
+        private final DoubleBuffer[] mWindows;
+
+
+        Region( FileChannel channel, FileChannel.MapMode mode, long pos, long size, ByteOrder order, int windowBits ) {
+            mChannel    = channel;
+            mMode       = mode;
+            mPos        = pos;
+            mSize       = size;
+            mOrder      = order;
+            mWindowBits = windowBits;
+            mWindows    = new DoubleBuffer[(int)( ( size / 8 + ( 1L << windowBits ) - 1 ) >>> windowBits )];
+        }
+
+
+        void get( long index, double[] dst, int off, int len ) throws IOException {
+            while( len > 0 ) {
+                final DoubleBuffer w = window( index );
+                final int i = (int)( index & ( ( 1L << mWindowBits ) - 1 ) );
+                final int n = Math.min( len, w.limit() - i );
+                w.position( i );
+                w.get( dst, off, n );
+                index += n;
+                off   += n;
+                len   -= n;
+            }
+        }
+
+
+        void put( long index, double[] src, int off, int len ) throws IOException {
+            while( len > 0 ) {
+                final DoubleBuffer w = window( index );
+                final int i = (int)( index & ( ( 1L << mWindowBits ) - 1 ) );
+                final int n = Math.min( len, w.limit() - i );
+                w.position( i );
+                w.put( src, off, n );
+                index += n;
+                off   += n;
+                len   -= n;
+            }
+        }
+
+
+        private DoubleBuffer window( long index ) throws IOException {
+            final int k = (int)( index >>> mWindowBits );
+            DoubleBuffer w = mWindows[k];
+            if( w == null ) {
+                final long start = (long)k << ( mWindowBits + 3 );
+                final long size  = Math.min( 1L << ( mWindowBits + 3 ), mSize - start );
+                w = mChannel.map( mMode, mPos + start, size ).order( mOrder ).asDoubleBuffer();
+                mWindows[k] = w;
+            }
+            return w;
+        }
+
+    }
+
+}
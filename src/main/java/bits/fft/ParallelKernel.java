@@ -0,0 +1,499 @@
+/*
+ * Copyright (c) 2014, Massachusetts Institute of Technology
+ * Released under the BSD 2-Clause License
+ * http://opensource.org/licenses/BSD-2-Clause
+ */
+package bits.fft;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+
+/**
+ * Runs the butterfly kernels of {@link FastFourierTransform} on a {@link ForkJoinPool}.
+ * <p>
+ * Work is divided so that every output value is computed by exactly the same sequence
+ * of floating-point operations as the serial kernel, so results are bit-identical
+ * regardless of the number of threads. For the iterative kernels, the data is first cut
+ * into independent chunks, each of which runs the early stages of the serial kernel.
+ * The remaining stages, whose blocks span several chunks, are run one at a time with
+ * their butterflies divided between tasks. The split-radix kernel forks its recursion
+ * instead.
+ * <p>
+ * This class is thread-safe.
+ */
+final class ParallelKernel {
+
+    /**
+     * Smallest chunk given to a single task, in complex elements.
+     */
+    private static final int MIN_CHUNK_BITS = 11;
+
+    /**
+     * Tasks created per pool thread, to smooth out imbalance.
+     */
+    private static final int TASKS_PER_THREAD = 4;
+
+
+    /**
+     * Same as the bit-reversal copy of {@link FastFourierTransform#applyComplex}.
+     */
+    static void shuffleComplex( ForkJoinPool pool,
+                                final double[] x,
+                                final int xOff,
+                                final double[] out,
+                                final int outOff,
+                                int dim,
+                                int bits )
+    {
+        final int[] rev = BitReversal.indices( bits );
+        forRange( pool, dim, taskCount( pool, dim ), new Body() {
+            public void run( int lo, int hi ) {
+                for( int i = lo; i < hi; i++ ) {
+                    int ii = i * 2 + xOff;
+                    int jj = rev[i] * 2 + outOff;
+                    out[jj    ] = x[ii    ];
+                    out[jj + 1] = x[ii + 1];
+                }
+            }
+        } );
+    }
+
+    /**
+     * Same as the bit-reversal copy of {@link FastFourierTransform#applyReal}.
+     */
+    static void shuffleReal( ForkJoinPool pool,
+                             final double[] x,
+                             final int xOff,
+                             final double[] out,
+                             final int outOff,
+                             int dim,
+                             int bits )
+    {
+        final int[] rev = BitReversal.indices( bits );
+        forRange( pool, dim, taskCount( pool, dim ), new Body() {
+            public void run( int lo, int hi ) {
+                for( int i = lo; i < hi; i++ ) {
+                    int jj = rev[i] * 2 + outOff;
+                    out[jj    ] = x[i + xOff];
+                    out[jj + 1] = 0;
+                }
+            }
+        } );
+    }
+
+    /**
+     * Multiplies <tt>len</tt> values by <tt>scale</tt>.
+     */
+    static void scale( ForkJoinPool pool, final double[] x, final int off, int len, final double scale ) {
+        forRange( pool, len, taskCount( pool, len ), new Body() {
+            public void run( int lo, int hi ) {
+                for( int i = lo; i < hi; i++ ) {
+                    x[i + off] *= scale;
+                }
+            }
+        } );
+    }
+
+    /**
+     * Parallel version of the kernel selected by <tt>kernel</tt> and <tt>table</tt>,
+     * operating on bit-reversed data.
+     *
+     * @param table Twiddle table, or null for {@link FastFourierTransform.Twiddle#RECURRENCE}.
+     */
+    static void transform( ForkJoinPool pool,
+                           FastFourierTransform.Kernel kernel,
+                           double[] table,
+                           double[] x,
+                           int off,
+                           int len,
+                           boolean inverse )
+    {
+        final int tasks = taskCount( pool, len );
+        int chunk = Integer.highestOneBit( len / tasks );
+        chunk = Math.min( len, Math.max( chunk, 1 << MIN_CHUNK_BITS ) );
+
+        switch( kernel ) {
+        case RADIX4:
+        case UNROLLED:
+            // Chunk must have the same number of bits, modulo 2, as len
+            // so that both start with the same stage.
+            if( ( ( Integer.numberOfTrailingZeros( chunk ) ^ Integer.numberOfTrailingZeros( len ) ) & 1 ) != 0 ) {
+                chunk >>= 1;
+            }
+            radix4( pool, x, off, len, chunk, tasks, inverse, table, kernel == FastFourierTransform.Kernel.UNROLLED );
+            break;
+        case SPLIT_RADIX:
+            pool.invoke( new SplitRadixTask( x, off, len, inverse ? -1.0 : 1.0, table, chunk, tasks ) );
+            break;
+        default:
+            radix2( pool, x, off, len, chunk, tasks, inverse, table );
+        }
+    }
+
+
+
+    private static void radix2( ForkJoinPool pool,
+                                final double[] x,
+                                final int off,
+                                final int len,
+                                final int chunk,
+                                int tasks,
+                                final boolean inverse,
+                                final double[] table )
+    {
+        forRange( pool, len / chunk, tasks, new Body() {
+            public void run( int lo, int hi ) {
+                for( int c = lo; c < hi; c++ ) {
+                    if( table == null ) {
+                        FastFourierTransform.transform( x, off + c * chunk * 2, chunk, inverse );
+                    } else {
+                        FastFourierTransform.transform( x, off + c * chunk * 2, chunk, inverse, table );
+                    }
+                }
+            }
+        } );
+
+        final double sign = inverse ? -1.0 : 1.0;
+
+        for( int h = chunk; h < len; h <<= 1 ) {
+            final int half = h;
+            final int halfBits = Integer.numberOfTrailingZeros( half );
+            final double[] tw;
+            final int twOff;
+            final double twSign;
+
+            if( table != null ) {
+                tw     = table;
+                twOff  = TwiddleTable.stageOffset( half );
+                twSign = sign;
+            } else {
+                // Run the recurrence exactly as the serial kernel does, and save the results.
+                tw     = recurrence( half * 2, sign );
+                twOff  = 0;
+                twSign = 1.0;
+            }
+
+            forRange( pool, len >> 1, tasks, new Body() {
+                public void run( int lo, int hi ) {
+                    for( int b = lo; b < hi; b++ ) {
+                        final int n = b & ( half - 1 );
+                        final int i = ( b >>> halfBits ) * half * 2;
+                        final int t = twOff + n * 2;
+                        final double ar = tw[t];
+                        final double ai = tw[t + 1] * twSign;
+
+                        final int j = ( i + n ) * 2 + off;
+                        final int k = j + half * 2;
+                        double tr = ar * x[k    ] - ai * x[k + 1];
+                        double ti = ar * x[k + 1] + ai * x[k    ];
+
+                        x[k    ] = x[j    ] - tr;
+                        x[k + 1] = x[j + 1] - ti;
+
+                        x[j    ] += tr;
+                        x[j + 1] += ti;
+                    }
+                }
+            } );
+        }
+    }
+
+    /**
+     * @return twiddles produced by the recurrence in {@link FastFourierTransform#transform(double[], int, int, boolean)}
+     *         for one stage, with sign applied.
+     */
+    private static double[] recurrence( int blockSize, double sign ) {
+        final int blockEnd = blockSize >> 1;
+        final double angle = Math.PI * 2.0 / blockSize;
+        final double cm1 = Math.cos( angle );
+        final double sm1 = sign * Math.sqrt( 1.0 - cm1 * cm1 );
+        final double cm2 = 2.0 * cm1 * cm1 - 1.0;
+        final double sm2 = 2.0 * sm1 * cm1;
+        final double w = 2.0 * cm1;
+        final double[] ret = new double[blockEnd * 2];
+
+        double ar0, ar1 = cm1, ar2 = cm2;
+        double ai0, ai1 = sm1, ai2 = sm2;
+
+        for( int n = 0; n < blockEnd; n++ ) {
+            ar0 = w * ar1 - ar2;
+            ar2 = ar1;
+            ar1 = ar0;
+
+            ai0 = w * ai1 - ai2;
+            ai2 = ai1;
+            ai1 = ai0;
+
+            ret[n * 2    ] = ar0;
+            ret[n * 2 + 1] = ai0;
+        }
+
+        return ret;
+    }
+
+
+    private static void radix4( ForkJoinPool pool,
+                                final double[] x,
+                                final int off,
+                                final int len,
+                                final int chunk,
+                                int tasks,
+                                final boolean inverse,
+                                final double[] table,
+                                final boolean unrolled )
+    {
+        forRange( pool, len / chunk, tasks, new Body() {
+            public void run( int lo, int hi ) {
+                for( int c = lo; c < hi; c++ ) {
+                    if( unrolled ) {
+                        FastFourierTransform.transformUnrolled( x, off + c * chunk * 2, chunk, inverse, table, 1.0 );
+                    } else {
+                        VectorKernel.transformRadix4( x, off + c * chunk * 2, chunk, inverse, table );
+                    }
+                }
+            }
+        } );
+
+        final double sign = inverse ? -1.0 : 1.0;
+
+        // Serial kernel's last chunk-local stage had block size chunk, so the next has half = chunk.
+        for( int h = chunk; h < len; h <<= 2 ) {
+            final int half      = h;
+            final int halfBits  = Integer.numberOfTrailingZeros( half );
+            final int tableOff  = TwiddleTable.stageOffset( half * 2 );
+            final int h2        = half * 2;
+
+            forRange( pool, len >> 2, tasks, new Body() {
+                public void run( int lo, int hi ) {
+                    for( int b = lo; b < hi; b++ ) {
+                        final int n = b & ( half - 1 );
+                        final int i = ( b >>> halfBits ) * half * 4;
+
+                        final int j0 = ( i + n ) * 2 + off;
+                        final int j1 = j0 + h2;
+                        final int j2 = j1 + h2;
+                        final int j3 = j2 + h2;
+
+                        int t = tableOff + n * 2;
+                        final double w1r = table[t];
+                        final double w1i = table[t + 1] * sign;
+                        t = tableOff + n * 4;
+                        final double w2r = table[t];
+                        final double w2i = table[t + 1] * sign;
+                        final double w3r;
+                        final double w3i;
+                        if( n * 3 < h2 ) {
+                            t = tableOff + n * 6;
+                            w3r = table[t];
+                            w3i = table[t + 1] * sign;
+                        } else {
+                            t = tableOff + ( n * 3 - h2 ) * 2;
+                            w3r = -table[t];
+                            w3i = -table[t + 1] * sign;
+                        }
+
+                        final double ar = x[j0];
+                        final double ai = x[j0 + 1];
+                        final double br = w2r * x[j1] - w2i * x[j1 + 1];
+                        final double bi = w2r * x[j1 + 1] + w2i * x[j1];
+                        final double cr = w1r * x[j2] - w1i * x[j2 + 1];
+                        final double ci = w1r * x[j2 + 1] + w1i * x[j2];
+                        final double dr = w3r * x[j3] - w3i * x[j3 + 1];
+                        final double di = w3r * x[j3 + 1] + w3i * x[j3];
+
+                        final double t0r = ar + br;
+                        final double t0i = ai + bi;
+                        final double t1r = ar - br;
+                        final double t1i = ai - bi;
+                        final double t2r = cr + dr;
+                        final double t2i = ci + di;
+                        final double t3r =  sign * ( ci - di );
+                        final double t3i = -sign * ( cr - dr );
+
+                        x[j0    ] = t0r + t2r;
+                        x[j0 + 1] = t0i + t2i;
+                        x[j1    ] = t1r + t3r;
+                        x[j1 + 1] = t1i + t3i;
+                        x[j2    ] = t0r - t2r;
+                        x[j2 + 1] = t0i - t2i;
+                        x[j3    ] = t1r - t3r;
+                        x[j3 + 1] = t1i - t3i;
+                    }
+                }
+            } );
+        }
+    }
+
+
+    private static int taskCount( ForkJoinPool pool, int work ) {
+        return Math.max( 1, Math.min( work, pool.getParallelism() * TASKS_PER_THREAD ) );
+    }
+
+
+    /**
+     * Divides <tt>[0, count)</tt> into at most <tt>tasks</tt> contiguous ranges
+     * and runs <tt>body</tt> on each, returning after all complete.
+     */
+    private static void forRange( ForkJoinPool pool, int count, int tasks, Body body ) {
+        tasks = Math.min( tasks, count );
+        if( tasks <= 1 ) {
+            body.run( 0, count );
+            return;
+        }
+        pool.invoke( new RangeTask( body, 0, count, ( count + tasks - 1 ) / tasks ) );
+    }
+
+
+    /**
+     * Divides <tt>[0, count)</tt> into contiguous ranges of at most <tt>grain</tt> elements
+     * and runs <tt>body</tt> on each, returning after all complete.
+     */
+    static void forGrain( ForkJoinPool pool, int count, int grain, Body body ) {
+        if( count <= grain ) {
+            body.run( 0, count );
+            return;
+        }
+        pool.invoke( new RangeTask( body, 0, count, Math.max( 1, grain ) ) );
+    }
+
+
+    interface Body {
+        void run( int lo, int hi );
+    }
+
+
+    private static final class RangeTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Body mBody;
+        private final int mLo;
+        private final int mHi;
+        private final int mGrain;
+
+        RangeTask( Body body, int lo, int hi, int grain ) {
+            mBody  = body;
+            mLo    = lo;
+            mHi    = hi;
+            mGrain = grain;
+        }
+
+        @Override
+        protected void compute() {
+            if( mHi - mLo <= mGrain ) {
+                mBody.run( mLo, mHi );
+                return;
+            }
+            int mid = ( mLo + mHi ) >>> 1;
+            invokeAll( new RangeTask( mBody, mLo, mid, mGrain ),
+                       new RangeTask( mBody, mid, mHi, mGrain ) );
+        }
+
+    }
+
+
+    /**
+     * Parallel version of {@link FastFourierTransform#transformSplitRadix}.
+     */
+    private static final class SplitRadixTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final double[] mX;
+        private final int mOff;
+        private final int mLen;
+        private final double mSign;
+        private final double[] mTable;
+        private final int mChunk;
+        private final int mTasks;
+
+        SplitRadixTask( double[] x, int off, int len, double sign, double[] table, int chunk, int tasks ) {
+            mX     = x;
+            mOff   = off;
+            mLen   = len;
+            mSign  = sign;
+            mTable = table;
+            mChunk = chunk;
+            mTasks = tasks;
+        }
+
+        @Override
+        protected void compute() {
+            final double[] x    = mX;
+            final int off       = mOff;
+            final int len       = mLen;
+            final double sign   = mSign;
+            final double[] table = mTable;
+
+            if( len <= mChunk ) {
+                FastFourierTransform.transformSplitRadix( x, off, len, sign, table );
+                return;
+            }
+
+            final int quarter = len >> 2;
+            invokeAll( new SplitRadixTask( x, off, len >> 1, sign, table, mChunk, mTasks ),
+                       new SplitRadixTask( x, off + quarter * 4, quarter, sign, table, mChunk, mTasks ),
+                       new SplitRadixTask( x, off + quarter * 6, quarter, sign, table, mChunk, mTasks ) );
+
+            final int tableOff = TwiddleTable.stageOffset( len >> 1 );
+            final int half = len >> 1;
+            final int grain = Math.max( 1 << MIN_CHUNK_BITS, quarter / mTasks );
+
+            new RangeTask( new Body() {
+                public void run( int lo, int hi ) {
+                    for( int n = lo; n < hi; n++ ) {
+                        final int j0 = off + n * 2;
+                        final int j1 = j0 + quarter * 2;
+                        final int j2 = j1 + quarter * 2;
+                        final int j3 = j2 + quarter * 2;
+
+                        int t = tableOff + n * 2;
+                        final double w1r = table[t];
+                        final double w1i = table[t + 1] * sign;
+                        final double w3r;
+                        final double w3i;
+                        if( n * 3 < half ) {
+                            t = tableOff + n * 6;
+                            w3r = table[t];
+                            w3i = table[t + 1] * sign;
+                        } else {
+                            t = tableOff + ( n * 3 - half ) * 2;
+                            w3r = -table[t];
+                            w3i = -table[t + 1] * sign;
+                        }
+
+                        final double ar = w1r * x[j2] - w1i * x[j2 + 1];
+                        final double ai = w1r * x[j2 + 1] + w1i * x[j2];
+                        final double br = w3r * x[j3] - w3i * x[j3 + 1];
+                        final double bi = w3r * x[j3 + 1] + w3i * x[j3];
+
+                        final double sr = ar + br;
+                        final double si = ai + bi;
+                        final double dr =  sign * ( ai - bi );
+                        final double di = -sign * ( ar - br );
+
+                        final double u0r = x[j0];
+                        final double u0i = x[j0 + 1];
+                        final double u1r = x[j1];
+                        final double u1i = x[j1 + 1];
+
+                        x[j0    ] = u0r + sr;
+                        x[j0 + 1] = u0i + si;
+                        x[j2    ] = u0r - sr;
+                        x[j2 + 1] = u0i - si;
+                        x[j1    ] = u1r + dr;
+                        x[j1 + 1] = u1i + di;
+                        x[j3    ] = u1r - dr;
+                        x[j3 + 1] = u1i - di;
+                    }
+                }
+            }, 0, quarter, grain ).invoke();
+        }
+
+    }
+
+
+    private ParallelKernel() {}
+
+}
@@ -0,0 +1,232 @@
+/*
+ * Copyright (c) 2014, Massachusetts Institute of Technology
+ * Released under the BSD 2-Clause License
+ * http://opensource.org/licenses/BSD-2-Clause
+ */
+package bits.fft;
+
+
+/**
+ * Performs a 2D Fast Fourier Transform on a matrix of <tt>rows x cols</tt> values, where
+ * the two sizes are independent and need not be powers of two. For a matrix of
+ * 1080 x 1920, or 128 x 8192, this avoids padding to a square power-of-two size.
+ * <p>
+ * Matrices are stored row by row. Complex samples are tightly packed, so the element at
+ * row <tt>r</tt>, column <tt>c</tt> is at <tt>off + ( c + r * cols ) * 2</tt>.
+ * <p>
+ * Each axis runs on an {@link ArbitraryLengthFourierTransform}, which uses
+ * {@link FastFourierTransform} for powers of two. Rows are transformed into a work buffer,
+ * then the matrix is transposed so that columns become contiguous rows, transformed, and
+ * transposed back. Transposes work in square tiles, so that the rows of each tile's input and
+ * output stay in cache.
+ * <p>
+ * Methods that take a {@link Workspace} are thread safe as long as each thread passes its
+ * own workspace. If constructed with a {@link WorkspacePool}, all methods are thread safe.
+ * Otherwise, the remaining methods share a work buffer owned by the instance, and are not
+ * thread safe.
+ */
+public class RectangularFourierTransform2d {
+
+    /**
+     * Width of tiles used by transposes, as for {@link FastFourierTransform2d}.
+     */
+    private static final int TRANSPOSE_TILE = 32;
+
+    private final int mRows;
+    private final int mCols;
+    private final ArbitraryLengthFourierTransform mRowFft;
+    private final ArbitraryLengthFourierTransform mColFft;
+    private final WorkspacePool mPool;
+
+    private Workspace mWorkspace = null;
+
+
+    /**
+     * Transforms allocate a work buffer of <tt>16 * rows * cols</tt> bytes on first use,
+     * unless given a {@link Workspace}, plus the work vectors of the 1D transforms.
+     *
+     * @param rows Number of rows in matrix. Must be positive.
+     * @param cols Number of columns in matrix, and so the length of each row. Must be positive.
+     * @throws IllegalArgumentException if <tt>rows</tt> or <tt>cols</tt> is not positive, or
+     *         <tt>rows * cols</tt> is too large.
+     */
+    public RectangularFourierTransform2d( int rows, int cols ) {
+        this( rows, cols, null );
+    }
+
+    /**
+     * Creates a transform that borrows work buffers from <tt>pool</tt> on each call that
+     * is not given a {@link Workspace}, so that one instance may be shared by many threads.
+     *
+     * @param rows Number of rows in matrix. Must be positive.
+     * @param cols Number of columns in matrix, and so the length of each row. Must be positive.
+     * @param pool Source of work buffers. May be null, in which case the instance owns one.
+     * @throws IllegalArgumentException if <tt>rows</tt> or <tt>cols</tt> is not positive, or
+     *         <tt>rows * cols</tt> is too large.
+     */
+    public RectangularFourierTransform2d( int rows, int cols, WorkspacePool pool ) {
+        if( rows <= 0 || cols <= 0 ) {
+            throw new IllegalArgumentException( "Dimensions must be positive" );
+        }
+        if( (long)rows * cols * 2 > Integer.MAX_VALUE - 8 ) {
+            throw new IllegalArgumentException( "Matrix is too large" );
+        }
+        mRows   = rows;
+        mCols   = cols;
+        mRowFft = new ArbitraryLengthFourierTransform( cols );
+        mColFft = rows == cols ? mRowFft : new ArbitraryLengthFourierTransform( rows );
+        mPool   = pool;
+    }
+
+
+    /**
+     * @return number of rows in matrices on which this transform operates.
+     */
+    public int rows() {
+        return mRows;
+    }
+
+    /**
+     * @return number of columns in matrices on which this transform operates.
+     */
+    public int cols() {
+        return mCols;
+    }
+
+    /**
+     * Performs a 2D Fast Fourier Transform on a matrix of complex values.
+     *
+     * @param x       Input array of complex values. <tt>x.length &gt= rows * cols * 2 + xOff</tt>.
+     * @param xOff    Start position of data in the input array.
+     * @param inverse Set to false for normal FFT, true for inverse FFT. Inverse transforms are
+     *                scaled by <tt>1 / ( rows * cols )</tt>.
+     * @param out     Output array where transformed, complex elements are stored. <tt>out.length &gt= rows * cols * 2 + outOff</tt>.
+     *                May be <tt>x</tt> if <tt>outOff == xOff</tt>, in which case the transform is done in place.
+     * @param outOff  Start position into output array.
+     */
+    public void applyComplex( double[] x, int xOff, boolean inverse, double[] out, int outOff ) {
+        Workspace ws = borrow();
+        try {
+            applyComplex( x, xOff, inverse, out, outOff, ws );
+        } finally {
+            giveBack( ws );
+        }
+    }
+
+    /**
+     * Same as {@link #applyComplex(double[], int, boolean, double[], int)}, but uses work buffers
+     * from <tt>ws</tt>.
+     */
+    public void applyComplex( double[] x, int xOff, boolean inverse, double[] out, int outOff, Workspace ws ) {
+        final int rowLen = mCols * 2;
+        final double[] work = ws.a( mRows * rowLen );
+
+        for( int r = 0; r < mRows; r++ ) {
+            mRowFft.applyComplex( x, xOff + r * rowLen, inverse, work, r * rowLen, ws );
+        }
+
+        applyColumns( work, inverse, out, outOff, ws );
+    }
+
+    /**
+     * Performs a 2D Fast Fourier Transform on a matrix of real values. NOTE that output is COMPLEX.
+     *
+     * @param x       Input array of real values, stored row by row. <tt>x.length &gt= rows * cols + xOff</tt>.
+     * @param xOff    Start position of data in the input array.
+     * @param inverse Set to false for normal FFT, true for inverse FFT.
+     * @param out     Output array where transformed, complex elements are stored. <tt>out.length &gt= rows * cols * 2 + outOff</tt>.
+     *                May overlap input.
+     * @param outOff  Start position into output array.
+     */
+    public void applyReal( double[] x, int xOff, boolean inverse, double[] out, int outOff ) {
+        Workspace ws = borrow();
+        try {
+            applyReal( x, xOff, inverse, out, outOff, ws );
+        } finally {
+            giveBack( ws );
+        }
+    }
+
+    /**
+     * Same as {@link #applyReal(double[], int, boolean, double[], int)}, but uses work buffers
+     * from <tt>ws</tt>.
+     */
+    public void applyReal( double[] x, int xOff, boolean inverse, double[] out, int outOff, Workspace ws ) {
+        final int rowLen = mCols * 2;
+        final double[] work = ws.a( mRows * rowLen );
+
+        for( int r = 0; r < mRows; r++ ) {
+            mRowFft.applyReal( x, xOff + r * mCols, inverse, work, r * rowLen, ws );
+        }
+
+        applyColumns( work, inverse, out, outOff, ws );
+    }
+
+
+
+    /**
+     * Transforms columns of <tt>work</tt>, which holds the transformed rows, and writes
+     * result to <tt>out</tt>. Uses <tt>out</tt> as scratch, so <tt>out</tt> may overlap
+     * the original input. <tt>work</tt> is the first buffer of <tt>ws</tt>; the 1D
+     * transforms use only the second.
+     */
+    private void applyColumns( double[] work, boolean inverse, double[] out, int outOff, Workspace ws ) {
+        final int colLen = mRows * 2;
+
+        transpose( work, 0, mRows, mCols, out, outOff );
+        for( int c = 0; c < mCols; c++ ) {
+            mColFft.applyComplex( out, outOff + c * colLen, inverse, work, c * colLen, ws );
+        }
+        transpose( work, 0, mCols, mRows, out, outOff );
+    }
+
+
+    private Workspace borrow() {
+        if( mPool != null ) {
+            return mPool.acquire();
+        }
+        if( mWorkspace == null ) {
+            mWorkspace = new Workspace();
+        }
+        return mWorkspace;
+    }
+
+
+    private void giveBack( Workspace ws ) {
+        if( mPool != null ) {
+            mPool.release( ws );
+        }
+    }
+
+
+    /**
+     * Transposes a <tt>rows x cols</tt> matrix of complex values, stored row by row,
+     * into a <tt>cols x rows</tt> matrix. Arrays must not overlap.
+     * <p>
+     * Works in square tiles of {@link #TRANSPOSE_TILE} elements. Within a tile, each input
+     * row is read contiguously, and the tile's output rows are few enough to stay in cache
+     * while they are filled in.
+     */
+    static void transpose( double[] a, int aOff, int rows, int cols, double[] out, int outOff ) {
+        final int tile = TRANSPOSE_TILE;
+
+        for( int r0 = 0; r0 < rows; r0 += tile ) {
+            final int r1 = Math.min( r0 + tile, rows );
+            for( int c0 = 0; c0 < cols; c0 += tile ) {
+                final int c1 = Math.min( c0 + tile, cols );
+
+                for( int r = r0; r < r1; r++ ) {
+                    int ia = aOff + ( r * cols + c0 ) * 2;
+                    int io = outOff + ( c0 * rows + r ) * 2;
+                    for( int c = c0; c < c1; c++ ) {
+                        out[io    ] = a[ia    ];
+                        out[io + 1] = a[ia + 1];
+                        ia += 2;
+                        io += rows * 2;
+                    }
+                }
+            }
+        }
+    }
+
+}
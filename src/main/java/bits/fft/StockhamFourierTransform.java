@@ -0,0 +1,241 @@
+/*
+ * Copyright (c) 2014, Massachusetts Institute of Technology
+ * Released under the BSD 2-Clause License
+ * http://opensource.org/licenses/BSD-2-Clause
+ */
+package bits.fft;
+
+/**
+ * Performs a Fast Fourier Transform on an array of values using the Stockham
+ * auto-sort algorithm. Compatible with both real and complex valued inputs.
+ * Outputs are always complex, and identical in format to {@link FastFourierTransform}.
+ * <p>
+ * Where {@link FastFourierTransform} permutes the input into bit-reversed order and then
+ * transforms in place, this class reads and writes every stage sequentially, alternating
+ * between the output array and a work buffer so that the final stage leaves data in
+ * natural order. This avoids the scattered writes of the bit-reversal pass, at the cost of
+ * a work buffer the size of the vector. Stages are radix-4, with one radix-2 stage when
+ * <tt>dim</tt> is an odd power of two.
+ * <p>
+ * Not thread safe.
+ */
+public class StockhamFourierTransform {
+
+    private final int mDim;
+    private final int mBits;
+    private final double[] mTwiddle;
+    private final double[] mWork;
+
+
+    /**
+     * The sole argument, <tt>dim</tt>, indicates the size
+     * of vectors on which the transform will operate.  This
+     * must be a power-of-two.
+     * <p>
+     * Memory footprint is about <tt>16 * dim</tt> bytes, plus a shared twiddle table.
+     *
+     * @param dim Size of vector on which the transform operates.  Must be power-of-two.
+     * @throws IllegalArgumentException if dim is smaller than 2, too large, or not a power-of-two.
+     */
+    public StockhamFourierTransform( int dim ) {
+        mDim     = dim;
+        mBits    = FastFourierTransform.computeBitNum( dim );
+        mTwiddle = TwiddleTable.forBits( mBits );
+        mWork    = new double[dim * 2];
+    }
+
+
+    /**
+     * Performs a Fast Fourier Transform on a vector of complex values.
+     * Samples are stored in the tightly packed format used by {@link FastFourierTransform#applyComplex}.
+     *
+     * @param x       Input array of complex samples: <b>NOTE:</b> <tt>x.length &gt= dim * 2 + xOff</tt>.
+     *                Not modified.
+     * @param xOff    Start position of data in the input array.
+     * @param inverse Set to false for normal FFT, true for inverse FFT.
+     * @param out     Output array where transformed, complex elements are stored: <b>NOTE:</b> <tt>out.length &gt= dim * 2 + outOff</tt>.
+     *                Must not overlap input.
+     * @param outOff  Start position into output array.
+     */
+    public void applyComplex( double[] x, int xOff, boolean inverse, double[] out, int outOff ) {
+        transform( x, xOff, 2, inverse, out, outOff );
+    }
+
+    /**
+     * Performs a Fast Fourier Transform on an array of real values.
+     * Note that the output samples are complex, so the output array
+     * will need to hold twice as many double values as the input array.
+     *
+     * @param x       Input array of real-valued samples: <b>NOTE:</b> <tt>x.length &gt= dim + xOff</tt>.
+     *                Not modified.
+     * @param xOff    Start position of data in the input array.
+     * @param inverse Set to false for normal FFT, true for inverse FFT.
+     * @param out     Output array where transformed, complex samples are stored: <b>NOTE:</b> <tt>out.length &gt= dim * 2 + outOff</tt>
+     *                Must not overlap input.
+     * @param outOff  Start position into output array.
+     */
+    public void applyReal( double[] x, int xOff, boolean inverse, double[] out, int outOff ) {
+        transform( x, xOff, 1, inverse, out, outOff );
+    }
+
+
+
+    /**
+     * @param xUnit Array elements per input sample; 2 for complex, 1 for real.
+     */
+    private void transform( double[] x, int xOff, int xUnit, boolean inverse, double[] out, int outOff ) {
+        final int dim       = mDim;
+        final double sign   = inverse ? -1.0 : 1.0;
+        final double[] work = mWork;
+        final int stages    = ( mBits + 1 ) >> 1;
+
+        // Pick starting destination so that last stage writes to out.
+        boolean toOut = ( stages & 1 ) != 0;
+        double[] src  = x;
+        int srcOff    = xOff;
+        int srcUnit   = xUnit;
+        int n         = dim;
+        int s         = 1;
+
+        while( n > 2 ) {
+            double[] dst = toOut ? out : work;
+            int dstOff   = toOut ? outOff : 0;
+            radix4( src, srcOff, srcUnit, dst, dstOff, n, s, sign, mTwiddle );
+
+            src     = dst;
+            srcOff  = dstOff;
+            srcUnit = 2;
+            toOut   = !toOut;
+            n >>= 2;
+            s <<= 2;
+        }
+
+        if( n == 2 ) {
+            radix2( src, srcOff, srcUnit, out, outOff, s );
+        }
+
+        if( inverse ) {
+            final double scale = 1.0 / dim;
+            final int len2 = dim * 2;
+            for( int i = 0; i < len2; i++ ) {
+                out[i + outOff] *= scale;
+            }
+        }
+    }
+
+    /**
+     * One radix-4 decimation-in-frequency stage. Reads <tt>s</tt> interleaved
+     * sequences of length <tt>n</tt> from <tt>src</tt>; writes
+     * <tt>4 * s</tt> interleaved sequences of length <tt>n / 4</tt> to <tt>dst</tt>.
+     */
+    static void radix4( double[] src,
+                        int srcOff,
+                        int srcUnit,
+                        double[] dst,
+                        int dstOff,
+                        int n,
+                        int s,
+                        double sign,
+                        double[] table )
+    {
+        final int m        = n >> 2;
+        final int half     = n >> 1;
+        final int tableOff = TwiddleTable.stageOffset( half );
+        final int sm       = s * m;
+        final boolean real = srcUnit == 1;
+
+        for( int p = 0; p < m; p++ ) {
+            int t = tableOff + p * 2;
+            final double w1r = table[t];
+            final double w1i = table[t + 1] * sign;
+            t = tableOff + p * 4;
+            final double w2r = table[t];
+            final double w2i = table[t + 1] * sign;
+            final double w3r;
+            final double w3i;
+            if( p * 3 < half ) {
+                t = tableOff + p * 6;
+                w3r = table[t];
+                w3i = table[t + 1] * sign;
+            } else {
+                t = tableOff + ( p * 3 - half ) * 2;
+                w3r = -table[t];
+                w3i = -table[t + 1] * sign;
+            }
+
+            for( int q = 0; q < s; q++ ) {
+                final int e  = q + s * p;
+                final int i0 = srcOff + e * srcUnit;
+                final int i1 = i0 + sm * srcUnit;
+                final int i2 = i1 + sm * srcUnit;
+                final int i3 = i2 + sm * srcUnit;
+
+                final double ar = src[i0];
+                final double ai = real ? 0.0 : src[i0 + 1];
+                final double br = src[i1];
+                final double bi = real ? 0.0 : src[i1 + 1];
+                final double cr = src[i2];
+                final double ci = real ? 0.0 : src[i2 + 1];
+                final double dr = src[i3];
+                final double di = real ? 0.0 : src[i3 + 1];
+
+                final double t0r = ar + cr;
+                final double t0i = ai + ci;
+                final double t1r = ar - cr;
+                final double t1i = ai - ci;
+                final double t2r = br + dr;
+                final double t2i = bi + di;
+                // -i * sign * ( b - d )
+                final double t3r =  sign * ( bi - di );
+                final double t3i = -sign * ( br - dr );
+
+                final int j0 = dstOff + ( q + s * p * 4 ) * 2;
+                final int j1 = j0 + s * 2;
+                final int j2 = j1 + s * 2;
+                final int j3 = j2 + s * 2;
+
+                dst[j0    ] = t0r + t2r;
+                dst[j0 + 1] = t0i + t2i;
+
+                double ur = t1r + t3r;
+                double ui = t1i + t3i;
+                dst[j1    ] = w1r * ur - w1i * ui;
+                dst[j1 + 1] = w1r * ui + w1i * ur;
+
+                ur = t0r - t2r;
+                ui = t0i - t2i;
+                dst[j2    ] = w2r * ur - w2i * ui;
+                dst[j2 + 1] = w2r * ui + w2i * ur;
+
+                ur = t1r - t3r;
+                ui = t1i - t3i;
+                dst[j3    ] = w3r * ur - w3i * ui;
+                dst[j3 + 1] = w3r * ui + w3i * ur;
+            }
+        }
+    }
+
+    /**
+     * Final radix-2 stage, where <tt>n == 2</tt> and all twiddles are one.
+     */
+    private static void radix2( double[] src, int srcOff, int srcUnit, double[] dst, int dstOff, int s ) {
+        final boolean real = srcUnit == 1;
+
+        for( int q = 0; q < s; q++ ) {
+            final int i0 = srcOff + q * srcUnit;
+            final int i1 = i0 + s * srcUnit;
+            final double ar = src[i0];
+            final double ai = real ? 0.0 : src[i0 + 1];
+            final double br = src[i1];
+            final double bi = real ? 0.0 : src[i1 + 1];
+
+            final int j0 = dstOff + q * 2;
+            final int j1 = j0 + s * 2;
+            dst[j0    ] = ar + br;
+            dst[j0 + 1] = ai + bi;
+            dst[j1    ] = ar - br;
+            dst[j1 + 1] = ai - bi;
+        }
+    }
+
+}
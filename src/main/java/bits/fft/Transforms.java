@@ -0,0 +1,311 @@
+/*
+ * Copyright (c) 2014, Massachusetts Institute of Technology
+ * Released under the BSD 2-Clause License
+ * http://opensource.org/licenses/BSD-2-Clause
+ */
+package bits.fft;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+
+/**
+ * Process-wide cache of transform instances, keyed by type and size. Callers that would
+ * otherwise construct a transform per request, paying for weight vectors and work buffers
+ * each time, can share one instance per size:
+ * <pre>
+ *   Transforms.dct2d( 64 ).apply( block, 0, false, coeffs, 0 );
+ * </pre>
+ * All returned instances are thread safe. {@link #fft2d}, {@link #dct} and {@link #dct2d}
+ * are constructed with their own {@link WorkspacePool}, so each thread borrows work buffers
+ * for the duration of a call. {@link #fft} uses the configuration in {@link FftPlanner} wisdom,
+ * if there is any for its size.
+ * <p>
+ * Lookups are lock-free. Each entry is charged, when it is created, for the most memory it can
+ * hold: weight vectors, plus one full set of work buffers for every workspace its pool may
+ * create. Charges never grow afterwards, so the total stays within {@link #maxBytes()} however
+ * the instances are used. When an entry is added and the total exceeds {@link #maxBytes()},
+ * the least recently used entries are dropped until it does not. Instances already handed out
+ * remain usable after eviction.
+ * <p>
+ * This class is thread-safe.
+ */
+public final class Transforms {
+
+    /**
+     * Default value of {@link #maxBytes()}: 256 MiB.
+     */
+    public static final long DEFAULT_MAX_BYTES = 256L << 20;
+
+    private static final int FFT   = 0;
+    private static final int FFT2D = 1;
+    private static final int DCT   = 2;
+    private static final int DCT2D = 3;
+
+    private static final ConcurrentHashMap<Long, Entry> CACHE = new ConcurrentHashMap<Long, Entry>();
+    private static final Object EVICT_LOCK = new Object();
+
+    private static final AtomicLong HITS      = new AtomicLong();
+    private static final AtomicLong MISSES    = new AtomicLong();
+    private static final AtomicLong EVICTIONS = new AtomicLong();
+
+    private static volatile long sMaxBytes = DEFAULT_MAX_BYTES;
+
+
+    /**
+     * @param dim Size of vector. Must be a power-of-two.
+     * @return shared transform of size <tt>dim</tt>.
+     * @throws IllegalArgumentException if dim is smaller than 2, too large, or not a power-of-two.
+     */
+    public static FastFourierTransform fft( int dim ) {
+        return (FastFourierTransform)get( FFT, dim );
+    }
+
+    /**
+     * @param dim Size of one side of square matrix. Must be a power-of-two.
+     * @return shared transform of size <tt>dim</tt>.
+     * @throws IllegalArgumentException if dim is smaller than 2, too large, or not a power-of-two.
+     */
+    public static FastFourierTransform2d fft2d( int dim ) {
+        return (FastFourierTransform2d)get( FFT2D, dim );
+    }
+
+    /**
+     * @param dim Size of vector. Must be a power-of-two.
+     * @return shared transform of size <tt>dim</tt>.
+     * @throws IllegalArgumentException if dim is smaller than 2, too large, or not a power-of-two.
+     */
+    public static FastCosineTransform dct( int dim ) {
+        return (FastCosineTransform)get( DCT, dim );
+    }
+
+    /**
+     * @param dim Size of one side of square matrix. Must be a power-of-two.
+     * @return shared transform of size <tt>dim</tt>.
+     * @throws IllegalArgumentException if dim is smaller than 2, too large, or not a power-of-two.
+     */
+    public static FastCosineTransform2d dct2d( int dim ) {
+        return (FastCosineTransform2d)get( DCT2D, dim );
+    }
+
+    /**
+     * @return maximum bytes held by cached entries, above which entries are evicted.
+     */
+    public static long maxBytes() {
+        return sMaxBytes;
+    }
+
+    /**
+     * Sets {@link #maxBytes()}, evicting entries if the cache now holds more.
+     */
+    public static void setMaxBytes( long maxBytes ) {
+        if( maxBytes < 0 ) {
+            throw new IllegalArgumentException( "maxBytes must be non-negative" );
+        }
+        sMaxBytes = maxBytes;
+        evict();
+    }
+
+    /**
+     * Removes all entries. Statistics are not reset.
+     */
+    public static void clear() {
+        CACHE.clear();
+    }
+
+    /**
+     * @return snapshot of cache statistics.
+     */
+    public static Stats stats() {
+        long bytes = 0;
+        for( Entry e : CACHE.values() ) {
+            bytes += e.bytes();
+        }
+        return new Stats( HITS.get(), MISSES.get(), EVICTIONS.get(), CACHE.size(), bytes, sMaxBytes );
+    }
+
+
+    /**
+     * Immutable snapshot of cache statistics.
+     */
+    public static final class Stats {
+
+        private final long mHits;
+        private final long mMisses;
+        private final long mEvictions;
+        private final int  mEntries;
+        private final long mBytes;
+        private final long mMaxBytes;
+
+        Stats( long hits, long misses, long evictions, int entries, long bytes, long maxBytes ) {
+            mHits      = hits;
+            mMisses    = misses;
+            mEvictions = evictions;
+            mEntries   = entries;
+            mBytes     = bytes;
+            mMaxBytes  = maxBytes;
+        }
+
+        /**
+         * @return lookups that found a cached instance, since the process started.
+         */
+        public long hits() {
+            return mHits;
+        }
+
+        /**
+         * @return lookups that constructed an instance, since the process started.
+         */
+        public long misses() {
+            return mMisses;
+        }
+
+        /**
+         * @return entries dropped to stay under {@link Transforms#maxBytes()}, since the process started.
+         */
+        public long evictions() {
+            return mEvictions;
+        }
+
+        /**
+         * @return number of cached instances.
+         */
+        public int entries() {
+            return mEntries;
+        }
+
+        /**
+         * @return bytes charged to cached instances, including the most their work buffers can hold.
+         */
+        public long bytes() {
+            return mBytes;
+        }
+
+        /**
+         * @return value of {@link Transforms#maxBytes()} when the snapshot was taken.
+         */
+        public long maxBytes() {
+            return mMaxBytes;
+        }
+
+        @Override
+        public String toString() {
+            return String.format( "Stats[hits=%d misses=%d evictions=%d entries=%d bytes=%d/%d]",
+                                  mHits, mMisses, mEvictions, mEntries, mBytes, mMaxBytes );
+        }
+    }
+
+
+
+    private static Object get( int kind, int dim ) {
+        final Long key = ( (long)kind << 32 ) | dim;
+        Entry e = CACHE.get( key );
+        if( e != null ) {
+            HITS.incrementAndGet();
+            e.mLastUse = System.nanoTime();
+            return e.mTransform;
+        }
+
+        MISSES.incrementAndGet();
+        e = create( kind, dim );
+        Entry prev = CACHE.putIfAbsent( key, e );
+        if( prev != null ) {
+            // Lost a race with another thread. Use its instance, so all callers share one.
+            prev.mLastUse = System.nanoTime();
+            return prev.mTransform;
+        }
+
+        evict();
+        return e.mTransform;
+    }
+
+
+    /**
+     * Constructs a transform and charges it for its weights, plus the largest work buffers
+     * it takes from a workspace times the number of workspaces its pool may create.
+     */
+    private static Entry create( int kind, int dim ) {
+        switch( kind ) {
+        case FFT: {
+            FftPlanner.Plan plan = FftPlanner.plan( FftPlanner.Kind.COMPLEX, dim, FftPlanner.WISDOM_ONLY );
+            FastFourierTransform t = plan != null ? plan.transform()
+                                                  : new FastFourierTransform( dim, FastFourierTransform.Kernel.AUTO );
+            // Twiddle tables are shared through TwiddleTable, and not freed by eviction.
+            return new Entry( t, 0 );
+        }
+        case FFT2D: {
+            // One complex matrix, and a bit-reversal tile for long rows.
+            WorkspacePool pool = new WorkspacePool();
+            FastFourierTransform2d t = new FastFourierTransform2d( dim, pool );
+            long ws = 16L * dim * dim;
+            if( dim >= 1 << BitReversal.COBRA_MIN_BITS ) {
+                ws += 8L * BitReversal.cobraTileLength( BitReversal.COBRA_TILE_BITS );
+            }
+            return new Entry( t, ws * pool.maxSize() );
+        }
+        case DCT: {
+            // Two weight vectors, and one complex vector.
+            WorkspacePool pool = new WorkspacePool();
+            FastCosineTransform t = new FastCosineTransform( dim, pool );
+            return new Entry( t, 32L * dim + 16L * dim * pool.maxSize() );
+        }
+        default: {
+            // Two weight vectors, and two complex matrices.
+            WorkspacePool pool = new WorkspacePool();
+            FastCosineTransform2d t = new FastCosineTransform2d( dim, pool );
+            return new Entry( t, 32L * dim + 32L * dim * dim * pool.maxSize() );
+        }
+        }
+    }
+
+    /**
+     * Drops least recently used entries until total bytes are within {@link #maxBytes()}.
+     * Scans all entries, which is cheap for the few sizes a process uses, and runs only
+     * when an entry is added.
+     */
+    private static void evict() {
+        synchronized( EVICT_LOCK ) {
+            long total = 0;
+            for( Entry e : CACHE.values() ) {
+                total += e.bytes();
+            }
+
+            while( total > sMaxBytes ) {
+                Map.Entry<Long, Entry> lru = null;
+                for( Map.Entry<Long, Entry> m : CACHE.entrySet() ) {
+                    if( lru == null || m.getValue().mLastUse - lru.getValue().mLastUse < 0 ) {
+                        lru = m;
+                    }
+                }
+                if( lru == null ) {
+                    return;
+                }
+                if( CACHE.remove( lru.getKey(), lru.getValue() ) ) {
+                    total -= lru.getValue().bytes();
+                    EVICTIONS.incrementAndGet();
+                }
+            }
+        }
+    }
+
+
+    private static final class Entry {
+        final Object mTransform;
+        final long mBytes;
+        volatile long mLastUse = System.nanoTime();
+
+        Entry( Object transform, long bytes ) {
+            mTransform = transform;
+            mBytes     = bytes;
+        }
+
+        long bytes() {
+            return mBytes;
+        }
+    }
+
+
+    private Transforms() {}
+
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2014, Massachusetts Institute of Technology
+ * Released under the BSD 2-Clause License
+ * http://opensource.org/licenses/BSD-2-Clause
+ */
+package bits.fft;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+
+/**
+ * Precomputed twiddle factors for power-of-two transforms.
+ * <p>
+ * Tables are computed lazily, once per process, and shared
+ * by all transforms. A table holds the factors for every butterfly
+ * stage, packed stage after stage: the stage with half-block size
+ * <tt>h</tt> (block size <tt>2h</tt>) starts at complex index
+ * <tt>h - 1</tt> and holds <tt>h</tt> complex values, where entry
+ * <tt>n</tt> is the forward twiddle <tt>exp( -i * PI * n / h )</tt>
+ * stored as <tt>[... cos, -sin ...]</tt>. Inverse transforms
+ * conjugate on use.
+ * <p>
+ * Because stages are packed smallest first, the table for a
+ * given size is a prefix of the table for any larger size.
+ * <p>
+ * This class is thread-safe.
+ */
+final class TwiddleTable {
+
+    private static final AtomicReferenceArray<double[]> TABLES       = new AtomicReferenceArray<double[]>( 32 );
+    private static final AtomicReferenceArray<float[]>  FLOAT_TABLES = new AtomicReferenceArray<float[]>( 32 );
+
+
+    /**
+     * @param bits log2 of transform size.
+     * @return table holding twiddles for all stages of a transform of size <tt>1 &lt;&lt; bits</tt>.
+     *         May be longer than required.
+     */
+    static double[] forBits( int bits ) {
+        for( int b = bits; b < 32; b++ ) {
+            double[] ret = TABLES.get( b );
+            if( ret != null ) {
+                return ret;
+            }
+        }
+
+        // Races may compute the same table twice. Both results are identical, so first one wins.
+        double[] ret = compute( bits );
+        if( !TABLES.compareAndSet( bits, null, ret ) ) {
+            ret = TABLES.get( bits );
+        }
+        return ret;
+    }
+
+    /**
+     * Single-precision version of {@link #forBits}. Entries are computed in double precision
+     * and rounded once.
+     */
+    static float[] floatsForBits( int bits ) {
+        for( int b = bits; b < 32; b++ ) {
+            float[] ret = FLOAT_TABLES.get( b );
+            if( ret != null ) {
+                return ret;
+            }
+        }
+
+        double[] table = forBits( bits );
+        float[] ret = new float[table.length];
+        for( int i = 0; i < ret.length; i++ ) {
+            ret[i] = (float)table[i];
+        }
+
+        if( !FLOAT_TABLES.compareAndSet( bits, null, ret ) ) {
+            ret = FLOAT_TABLES.get( bits );
+        }
+        return ret;
+    }
+
+    /**
+     * @param half Half of block size for a stage.
+     * @return Position in table of first double for stage.
+     */
+    static int stageOffset( int half ) {
+        return ( half - 1 ) * 2;
+    }
+
+
+    private static double[] compute( int bits ) {
+        final int dim  = 1 << bits;
+        final int half = dim >> 1;
+        final double[] ret = new double[( dim - 1 ) * 2];
+
+        // Compute the largest stage directly, which keeps error at
+        // one rounding per entry regardless of size.
+        final int top = stageOffset( half );
+        for( int n = 0; n < half; n++ ) {
+            double angle = Math.PI * n / half;
+            ret[top + n * 2    ] =  Math.cos( angle );
+            ret[top + n * 2 + 1] = -Math.sin( angle );
+        }
+
+        // Every smaller stage is a subsampling of the largest.
+        for( int h = half >> 1; h > 0; h >>= 1 ) {
+            final int off    = stageOffset( h );
+            final int stride = ( half / h ) * 2;
+            for( int n = 0; n < h; n++ ) {
+                ret[off + n * 2    ] = ret[top + n * stride    ];
+                ret[off + n * 2 + 1] = ret[top + n * stride + 1];
+            }
+        }
+
+        return ret;
+    }
+
+
+    private TwiddleTable() {}
+
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2014, Massachusetts Institute of Technology
+ * Released under the BSD 2-Clause License
+ * http://opensource.org/licenses/BSD-2-Clause
+ */
+package bits.fft;
+
+/**
+ * Entry point for SIMD versions of the butterfly kernels.
+ * <p>
+ * This is the base version of a multi-release class, used on runtimes older than Java 17,
+ * and simply runs the scalar kernels. On Java 17 and later, the jar provides a version
+ * from <tt>src/main/java17</tt> that uses the <tt>jdk.incubator.vector</tt> API when
+ * that module is present, and produces bit-identical results.
+ * <p>
+ * This class is thread-safe.
+ */
+final class VectorKernel {
+
+    /**
+     * @return true if kernels run with SIMD instructions.
+     */
+    static boolean isAvailable() {
+        return false;
+    }
+
+    /**
+     * Same as {@link FastFourierTransform#transformRadix4}.
+     */
+    static void transformRadix4( double[] x, int off, int len, boolean inverse, double[] table ) {
+        FastFourierTransform.transformRadix4( x, off, len, inverse, table );
+    }
+
+    /**
+     * Same as {@link FastFourierTransform#transformRadix4(double[], int, int, boolean, double[], double)}.
+     */
+    static void transformRadix4( double[] x, int off, int len, boolean inverse, double[] table, double scale ) {
+        FastFourierTransform.transformRadix4( x, off, len, inverse, table, scale );
+    }
+
+    /**
+     * Same as {@link FastFourierTransform#transformRadix4Stages}.
+     */
+    static void transformRadix4Stages( double[] x, int off, int len, int half, boolean inverse, double[] table, double scale ) {
+        FastFourierTransform.transformRadix4Stages( x, off, len, half, inverse, table, scale );
+    }
+
+    /**
+     * Same as {@link FastFourierTransformF#transformRadix4Stages}.
+     */
+    static void transformRadix4Stages( float[] x, int off, int len, int half, boolean inverse, float[] table, float scale ) {
+        FastFourierTransformF.transformRadix4Stages( x, off, len, half, inverse, table, scale );
+    }
+
+    /**
+     * Same as {@link FastFourierTransform#transformRadix4Batch}.
+     */
+    static void transformRadix4Batch( double[] x, int off, int len, int batch, boolean inverse, double[] table ) {
+        FastFourierTransform.transformRadix4Batch( x, off, len, batch, inverse, table );
+    }
+
+    /**
+     * Same as {@link FastFourierTransform#transformRadix4Split}.
+     */
+    static void transformRadix4Split( double[] re, int reOff, double[] im, int imOff, int len, boolean inverse, double[] table ) {
+        FastFourierTransform.transformRadix4Split( re, reOff, im, imOff, len, inverse, table );
+    }
+
+    /**
+     * Same as {@link FastFourierTransform#transformRadix4SplitBatch}.
+     */
+    static void transformRadix4SplitBatch( double[] re, int reOff, double[] im, int imOff, int len, int batch, boolean inverse, double[] table ) {
+        FastFourierTransform.transformRadix4SplitBatch( re, reOff, im, imOff, len, batch, inverse, table );
+    }
+
+
+    private VectorKernel() {}
+
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2014, Massachusetts Institute of Technology
+ * Released under the BSD 2-Clause License
+ * http://opensource.org/licenses/BSD-2-Clause
+ */
+package bits.fft;
+
+
+/**
+ * Scratch memory for transforms that need work buffers, such as {@link FastFourierTransform2d},
+ * {@link FastCosineTransform} and {@link FastCosineTransform2d}. Passing a workspace to a
+ * transform method lets one transform instance be used by many threads, as long as each
+ * thread supplies its own workspace.
+ * <p>
+ * Buffers are allocated on first use and grow to fit the largest transform they are used
+ * with, so one workspace may be shared by transforms of different types and sizes.
+ * <p>
+ * Not thread safe. A workspace must not be used by two transforms at the same time.
+ *
+ * @see WorkspacePool
+ */
+public final class Workspace {
+
+    private double[] mA = null;
+    private double[] mB = null;
+    private float[]  mF = null;
+    private double[] mTile = null;
+
+
+    public Workspace() {}
+
+
+    /**
+     * @return bytes currently allocated by this workspace.
+     */
+    public long sizeInBytes() {
+        long n = 0;
+        if( mA != null ) {
+            n += mA.length;
+        }
+        if( mB != null ) {
+            n += mB.length;
+        }
+        if( mTile != null ) {
+            n += mTile.length;
+        }
+        n *= 8L;
+        if( mF != null ) {
+            n += mF.length * 4L;
+        }
+        return n;
+    }
+
+    /**
+     * @return first work buffer, with at least <tt>len</tt> elements.
+     */
+    double[] a( int len ) {
+        if( mA == null || mA.length < len ) {
+            mA = new double[len];
+        }
+        return mA;
+    }
+
+    /**
+     * @return second work buffer, distinct from {@link #a}, with at least <tt>len</tt> elements.
+     */
+    double[] b( int len ) {
+        if( mB == null || mB.length < len ) {
+            mB = new double[len];
+        }
+        return mB;
+    }
+
+    /**
+     * @return single-precision work buffer, with at least <tt>len</tt> elements.
+     */
+    float[] f( int len ) {
+        if( mF == null || mF.length < len ) {
+            mF = new float[len];
+        }
+        return mF;
+    }
+
+    /**
+     * @return small buffer for bit-reversal tiles, distinct from the others, with at least <tt>len</tt> elements.
+     */
+    double[] tile( int len ) {
+        if( mTile == null || mTile.length < len ) {
+            mTile = new double[len];
+        }
+        return mTile;
+    }
+
+}
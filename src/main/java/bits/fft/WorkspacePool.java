@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2014, Massachusetts Institute of Technology
+ * Released under the BSD 2-Clause License
+ * http://opensource.org/licenses/BSD-2-Clause
+ */
+package bits.fft;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+
+
+/**
+ * Bounded pool of {@link Workspace} objects. Transforms constructed with a pool borrow a
+ * workspace for the duration of each call, which makes them safe to share between threads.
+ * <p>
+ * At most <tt>maxSize</tt> workspaces are ever created, which bounds the memory held by the
+ * pool. When all are in use, {@link #acquire()} blocks until one is released.
+ * <p>
+ * This class is thread-safe.
+ */
+public final class WorkspacePool {
+
+    private final int mMaxSize;
+    private final Semaphore mPermits;
+    private final ConcurrentLinkedQueue<Workspace> mIdle = new ConcurrentLinkedQueue<Workspace>();
+
+
+    /**
+     * Creates a pool with one workspace per available processor.
+     */
+    public WorkspacePool() {
+        this( Runtime.getRuntime().availableProcessors() );
+    }
+
+    /**
+     * @param maxSize Maximum number of workspaces, and so the number of transforms that may run at once.
+     * @throws IllegalArgumentException if <tt>maxSize &lt; 1</tt>.
+     */
+    public WorkspacePool( int maxSize ) {
+        if( maxSize < 1 ) {
+            throw new IllegalArgumentException( "maxSize must be at least 1" );
+        }
+        mMaxSize = maxSize;
+        mPermits = new Semaphore( maxSize );
+    }
+
+
+    /**
+     * @return maximum number of workspaces.
+     */
+    public int maxSize() {
+        return mMaxSize;
+    }
+
+    /**
+     * Takes a workspace from the pool, waiting for one to be released if all are in use.
+     * Each call must be matched by a call to {@link #release}.
+     */
+    public Workspace acquire() {
+        mPermits.acquireUninterruptibly();
+        Workspace ret = mIdle.poll();
+        return ret != null ? ret : new Workspace();
+    }
+
+    /**
+     * Returns a workspace obtained from {@link #acquire()}.
+     */
+    public void release( Workspace ws ) {
+        if( ws == null ) {
+            throw new NullPointerException( "ws" );
+        }
+        mIdle.offer( ws );
+        mPermits.release();
+    }
+
+    /**
+     * @return bytes held by idle workspaces.
+     */
+    public long idleBytes() {
+        long n = 0;
+        for( Workspace ws : mIdle ) {
+            n += ws.sizeInBytes();
+        }
+        return n;
+    }
+
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2014, Massachusetts Institute of Technology
+ * Released under the BSD 2-Clause License
+ * http://opensource.org/licenses/BSD-2-Clause
+ */
+package bits.fft;
+
+/**
+ * Entry point for SIMD versions of the butterfly kernels.
+ * <p>
+ * Java 17 version of a multi-release class. Kernels run on {@link VectorKernelImpl} when the
+ * <tt>jdk.incubator.vector</tt> module has been added to the runtime
+ * (<tt>--add-modules jdk.incubator.vector</tt>) and the preferred vector holds at least
+ * two complex values. Otherwise, or if the system property <tt>bits.fft.vector</tt>
+ * is <tt>false</tt>, the scalar kernels are used.
+ * <p>
+ * This class is thread-safe.
+ */
+final class VectorKernel {
+
+    private static final boolean AVAILABLE = detect();
+
+
+    /**
+     * @return true if kernels run with SIMD instructions.
+     */
+    static boolean isAvailable() {
+        return AVAILABLE;
+    }
+
+    /**
+     * Same as {@link FastFourierTransform#transformRadix4}.
+     */
+    static void transformRadix4( double[] x, int off, int len, boolean inverse, double[] table ) {
+        transformRadix4( x, off, len, inverse, table, 1.0 );
+    }
+
+    /**
+     * Same as {@link FastFourierTransform#transformRadix4(double[], int, int, boolean, double[], double)}.
+     */
+    static void transformRadix4( double[] x, int off, int len, boolean inverse, double[] table, double scale ) {
+        if( AVAILABLE ) {
+            VectorKernelImpl.transformRadix4( x, off, len, inverse, table, scale );
+        } else {
+            FastFourierTransform.transformRadix4( x, off, len, inverse, table, scale );
+        }
+    }
+
+    /**
+     * Same as {@link FastFourierTransform#transformRadix4Stages}.
+     */
+    static void transformRadix4Stages( double[] x, int off, int len, int half, boolean inverse, double[] table, double scale ) {
+        if( AVAILABLE && half >= VectorKernelImpl.complexLanes() ) {
+            VectorKernelImpl.transformRadix4Stages( x, off, len, half, inverse, table, scale );
+        } else {
+            FastFourierTransform.transformRadix4Stages( x, off, len, half, inverse, table, scale );
+        }
+    }
+
+    /**
+     * Same as {@link FastFourierTransformF#transformRadix4Stages}.
+     */
+    static void transformRadix4Stages( float[] x, int off, int len, int half, boolean inverse, float[] table, float scale ) {
+        if( AVAILABLE && half >= VectorKernelImplF.complexLanes() ) {
+            VectorKernelImplF.transformRadix4Stages( x, off, len, half, inverse, table, scale );
+        } else {
+            FastFourierTransformF.transformRadix4Stages( x, off, len, half, inverse, table, scale );
+        }
+    }
+
+    /**
+     * Same as {@link FastFourierTransform#transformRadix4Batch}.
+     */
+    static void transformRadix4Batch( double[] x, int off, int len, int batch, boolean inverse, double[] table ) {
+        if( AVAILABLE ) {
+            VectorKernelImpl.transformRadix4Batch( x, off, len, batch, inverse, table );
+        } else {
+            FastFourierTransform.transformRadix4Batch( x, off, len, batch, inverse, table );
+        }
+    }
+
+    /**
+     * Same as {@link FastFourierTransform#transformRadix4Split}.
+     */
+    static void transformRadix4Split( double[] re, int reOff, double[] im, int imOff, int len, boolean inverse, double[] table ) {
+        if( AVAILABLE ) {
+            VectorKernelImpl.transformRadix4Split( re, reOff, im, imOff, len, inverse, table );
+        } else {
+            FastFourierTransform.transformRadix4Split( re, reOff, im, imOff, len, inverse, table );
+        }
+    }
+
+    /**
+     * Same as {@link FastFourierTransform#transformRadix4SplitBatch}.
+     */
+    static void transformRadix4SplitBatch( double[] re, int reOff, double[] im, int imOff, int len, int batch, boolean inverse, double[] table ) {
+        if( AVAILABLE ) {
+            VectorKernelImpl.transformRadix4SplitBatch( re, reOff, im, imOff, len, batch, inverse, table );
+        } else {
+            FastFourierTransform.transformRadix4SplitBatch( re, reOff, im, imOff, len, batch, inverse, table );
+        }
+    }
+
+
+    private static boolean detect() {
+        if( "false".equalsIgnoreCase( System.getProperty( "bits.fft.vector" ) ) ) {
+            return false;
+        }
+        if( ModuleLayer.boot().findModule( "jdk.incubator.vector" ).isEmpty() ) {
+            return false;
+        }
+        try {
+            return VectorKernelImpl.complexLanes() >= 2;
+        } catch( Throwable ignored ) {
+            return false;
+        }
+    }
+
+
+    private VectorKernel() {}
+
+}
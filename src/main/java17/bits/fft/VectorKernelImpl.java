@@ -0,0 +1,544 @@
+/*
+ * Copyright (c) 2014, Massachusetts Institute of Technology
+ * Released under the BSD 2-Clause License
+ * http://opensource.org/licenses/BSD-2-Clause
+ */
+package bits.fft;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorShuffle;
+import jdk.incubator.vector.VectorSpecies;
+
+
+/**
+ * SIMD butterfly kernels written with the <tt>jdk.incubator.vector</tt> API.
+ * Only loaded through {@link VectorKernel}, after the module has been found.
+ * <p>
+ * Complex values stay interleaved in vectors, <tt>[r0, i0, r1, i1 ...]</tt>.
+ * A complex product <tt>x * w</tt> is computed as
+ * <tt>x * re( w ) + swap( x ) * im( w ) * [-1, 1, -1, 1 ...]</tt>, where
+ * <tt>swap</tt> exchanges the components of each value. Each lane performs the same
+ * multiplications and additions, in the same order, as the scalar kernels, so
+ * results are bit-identical to them.
+ * <p>
+ * This class is thread-safe.
+ */
+final class VectorKernelImpl {
+
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+    private static final int LANES = SPECIES.length();
+    private static final int COMPLEX_LANES = LANES / 2;
+
+    private static final VectorShuffle<Double> SWAP = shuffle( 1 );
+    private static final VectorShuffle<Double> REAL = shuffle( 2 );
+    private static final VectorShuffle<Double> IMAG = shuffle( 3 );
+    private static final DoubleVector ALT = alternating();
+
+    /**
+     * W^2n and W^3n for each radix-4 stage, stored contiguously so they can be loaded
+     * as vectors. Stage with quarter-block size <tt>h</tt> starts at
+     * <tt>TwiddleTable.stageOffset( h )</tt>.
+     */
+    private static final AtomicReferenceArray<double[][]> RADIX4_TABLES = new AtomicReferenceArray<double[][]>( 32 );
+
+    /**
+     * Real and imaginary components of W^n, W^2n and W^3n for each radix-4 stage, for
+     * split kernels. Stage with quarter-block size <tt>h</tt> starts at <tt>h - 1</tt>.
+     */
+    private static final AtomicReferenceArray<double[][]> SPLIT_TABLES = new AtomicReferenceArray<double[][]>( 32 );
+
+
+    static int complexLanes() {
+        return COMPLEX_LANES;
+    }
+
+
+    /**
+     * Same as {@link FastFourierTransform#transformRadix4(double[], int, int, boolean, double[], double)}.
+     * Stages with fewer butterflies per block than a vector holds run on the scalar kernel.
+     */
+    static void transformRadix4( double[] x, int off, int len, boolean inverse, double[] table, double scale ) {
+        // First vector stage must have quarter-block size >= COMPLEX_LANES, and the same
+        // parity as len so that the scalar kernel runs the same stages on each chunk.
+        int chunk = COMPLEX_LANES;
+        if( ( ( Integer.numberOfTrailingZeros( chunk ) ^ Integer.numberOfTrailingZeros( len ) ) & 1 ) != 0 ) {
+            chunk <<= 1;
+        }
+        if( chunk >= len ) {
+            FastFourierTransform.transformRadix4( x, off, len, inverse, table, scale );
+            return;
+        }
+
+        for( int c = 0; c < len; c += chunk ) {
+            FastFourierTransform.transformRadix4( x, off + c * 2, chunk, inverse, table );
+        }
+
+        transformRadix4Stages( x, off, len, chunk, inverse, table, scale );
+    }
+
+    /**
+     * Same as {@link FastFourierTransform#transformRadix4Stages}. <tt>half</tt> must be at least
+     * {@link #complexLanes()}.
+     */
+    static void transformRadix4Stages( double[] x, int off, int len, int half, boolean inverse, double[] table, double scale ) {
+        final double sign = inverse ? -1.0 : 1.0;
+        final DoubleVector rot = ALT.mul( -sign );
+        final double[][] ext = radix4Tables( Integer.numberOfTrailingZeros( len ) );
+        final double[] tab2 = ext[0];
+        final double[] tab3 = ext[1];
+
+        for( ; half < len; half <<= 2 ) {
+            final int tableOff  = TwiddleTable.stageOffset( half * 2 );
+            final int extOff    = TwiddleTable.stageOffset( half );
+            final int blockSize = half * 4;
+            final int h2 = half * 2;
+            final double s = blockSize == len ? scale : 1.0;
+
+            for( int i = 0; i < len; i += blockSize ) {
+                for( int n = 0; n < half; n += COMPLEX_LANES ) {
+                    final int j0 = ( i + n ) * 2 + off;
+                    final int j1 = j0 + h2;
+                    final int j2 = j1 + h2;
+                    final int j3 = j2 + h2;
+
+                    final DoubleVector w1 = DoubleVector.fromArray( SPECIES, table, tableOff + n * 2 );
+                    final DoubleVector w2 = DoubleVector.fromArray( SPECIES, tab2, extOff + n * 2 );
+                    final DoubleVector w3 = DoubleVector.fromArray( SPECIES, tab3, extOff + n * 2 );
+
+                    final DoubleVector a = DoubleVector.fromArray( SPECIES, x, j0 );
+                    final DoubleVector b = mul( DoubleVector.fromArray( SPECIES, x, j1 ), w2, sign );
+                    final DoubleVector c = mul( DoubleVector.fromArray( SPECIES, x, j2 ), w1, sign );
+                    final DoubleVector d = mul( DoubleVector.fromArray( SPECIES, x, j3 ), w3, sign );
+
+                    final DoubleVector t0 = a.add( b );
+                    final DoubleVector t1 = a.sub( b );
+                    final DoubleVector t2 = c.add( d );
+                    final DoubleVector t3 = c.sub( d ).rearrange( SWAP ).mul( rot );
+
+                    if( s == 1.0 ) {
+                        t0.add( t2 ).intoArray( x, j0 );
+                        t1.add( t3 ).intoArray( x, j1 );
+                        t0.sub( t2 ).intoArray( x, j2 );
+                        t1.sub( t3 ).intoArray( x, j3 );
+                    } else {
+                        t0.add( t2 ).mul( s ).intoArray( x, j0 );
+                        t1.add( t3 ).mul( s ).intoArray( x, j1 );
+                        t0.sub( t2 ).mul( s ).intoArray( x, j2 );
+                        t1.sub( t3 ).mul( s ).intoArray( x, j3 );
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Same as {@link FastFourierTransform#transformRadix4Batch}. Vectors run across the batch,
+     * so batches that do not fill whole vectors run on the scalar kernel.
+     */
+    static void transformRadix4Batch( double[] x, int off, int len, int batch, boolean inverse, double[] table ) {
+        final int b2 = batch * 2;
+        if( b2 % LANES != 0 ) {
+            FastFourierTransform.transformRadix4Batch( x, off, len, batch, inverse, table );
+            return;
+        }
+
+        final double sign = inverse ? -1.0 : 1.0;
+        final DoubleVector rot = ALT.mul( -sign );
+        int half = 1;
+
+        if( ( Integer.numberOfTrailingZeros( len ) & 1 ) != 0 ) {
+            final int end = off + len * b2;
+            for( int j = off; j < end; j += b2 * 2 ) {
+                for( int j0 = j, j1 = j + b2; j0 < j + b2; j0 += LANES, j1 += LANES ) {
+                    DoubleVector a = DoubleVector.fromArray( SPECIES, x, j0 );
+                    DoubleVector t = DoubleVector.fromArray( SPECIES, x, j1 );
+                    a.sub( t ).intoArray( x, j1 );
+                    a.add( t ).intoArray( x, j0 );
+                }
+            }
+            half = 2;
+        }
+
+        for( ; half < len; half <<= 2 ) {
+            final int tableOff  = TwiddleTable.stageOffset( half * 2 );
+            final int blockSize = half * 4;
+            final int h2 = half * 2;
+            final int step = half * b2;
+
+            for( int i = 0; i < len; i += blockSize ) {
+                for( int n = 0; n < half; n++ ) {
+                    int t = tableOff + n * 2;
+                    final DoubleVector w1r = DoubleVector.broadcast( SPECIES, table[t] );
+                    final DoubleVector w1i = ALT.mul( table[t + 1] * sign );
+                    t = tableOff + n * 4;
+                    final DoubleVector w2r = DoubleVector.broadcast( SPECIES, table[t] );
+                    final DoubleVector w2i = ALT.mul( table[t + 1] * sign );
+                    final DoubleVector w3r;
+                    final DoubleVector w3i;
+                    if( n * 3 < h2 ) {
+                        t = tableOff + n * 6;
+                        w3r = DoubleVector.broadcast( SPECIES, table[t] );
+                        w3i = ALT.mul( table[t + 1] * sign );
+                    } else {
+                        t = tableOff + ( n * 3 - h2 ) * 2;
+                        w3r = DoubleVector.broadcast( SPECIES, -table[t] );
+                        w3i = ALT.mul( -table[t + 1] * sign );
+                    }
+
+                    final int start = ( i + n ) * b2 + off;
+                    for( int j0 = start; j0 < start + b2; j0 += LANES ) {
+                        final int j1 = j0 + step;
+                        final int j2 = j1 + step;
+                        final int j3 = j2 + step;
+
+                        final DoubleVector a = DoubleVector.fromArray( SPECIES, x, j0 );
+                        final DoubleVector b = mul( DoubleVector.fromArray( SPECIES, x, j1 ), w2r, w2i );
+                        final DoubleVector c = mul( DoubleVector.fromArray( SPECIES, x, j2 ), w1r, w1i );
+                        final DoubleVector d = mul( DoubleVector.fromArray( SPECIES, x, j3 ), w3r, w3i );
+
+                        final DoubleVector t0 = a.add( b );
+                        final DoubleVector t1 = a.sub( b );
+                        final DoubleVector t2 = c.add( d );
+                        final DoubleVector t3 = c.sub( d ).rearrange( SWAP ).mul( rot );
+
+                        t0.add( t2 ).intoArray( x, j0 );
+                        t1.add( t3 ).intoArray( x, j1 );
+                        t0.sub( t2 ).intoArray( x, j2 );
+                        t1.sub( t3 ).intoArray( x, j3 );
+                    }
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Same as {@link FastFourierTransform#transformRadix4Split}. Stages with fewer butterflies
+     * per block than a vector holds run on the scalar kernel.
+     */
+    static void transformRadix4Split( double[] re, int reOff, double[] im, int imOff, int len, boolean inverse, double[] table ) {
+        int chunk = LANES;
+        if( ( ( Integer.numberOfTrailingZeros( chunk ) ^ Integer.numberOfTrailingZeros( len ) ) & 1 ) != 0 ) {
+            chunk <<= 1;
+        }
+        if( chunk >= len ) {
+            FastFourierTransform.transformRadix4Split( re, reOff, im, imOff, len, inverse, table );
+            return;
+        }
+
+        for( int c = 0; c < len; c += chunk ) {
+            FastFourierTransform.transformRadix4Split( re, reOff + c, im, imOff + c, chunk, inverse, table );
+        }
+
+        final double sign = inverse ? -1.0 : 1.0;
+        final int io = imOff - reOff;
+        final double[][] ext = splitTables( Integer.numberOfTrailingZeros( len ) );
+        final double[] tab1r = ext[0];
+        final double[] tab1i = ext[1];
+        final double[] tab2r = ext[2];
+        final double[] tab2i = ext[3];
+        final double[] tab3r = ext[4];
+        final double[] tab3i = ext[5];
+        final DoubleVector pos = DoubleVector.broadcast( SPECIES, sign );
+        final DoubleVector neg = pos.neg();
+
+        for( int half = chunk; half < len; half <<= 2 ) {
+            final int extOff    = half - 1;
+            final int blockSize = half * 4;
+
+            for( int i = 0; i < len; i += blockSize ) {
+                for( int n = 0; n < half; n += LANES ) {
+                    final int j0 = i + n + reOff;
+                    final int j1 = j0 + half;
+                    final int j2 = j1 + half;
+                    final int j3 = j2 + half;
+                    final int t  = extOff + n;
+
+                    final DoubleVector w1r = DoubleVector.fromArray( SPECIES, tab1r, t );
+                    final DoubleVector w1i = DoubleVector.fromArray( SPECIES, tab1i, t ).mul( pos );
+                    final DoubleVector w2r = DoubleVector.fromArray( SPECIES, tab2r, t );
+                    final DoubleVector w2i = DoubleVector.fromArray( SPECIES, tab2i, t ).mul( pos );
+                    final DoubleVector w3r = DoubleVector.fromArray( SPECIES, tab3r, t );
+                    final DoubleVector w3i = DoubleVector.fromArray( SPECIES, tab3i, t ).mul( pos );
+
+                    final DoubleVector ar = DoubleVector.fromArray( SPECIES, re, j0 );
+                    final DoubleVector ai = DoubleVector.fromArray( SPECIES, im, j0 + io );
+                    final DoubleVector xr1 = DoubleVector.fromArray( SPECIES, re, j1 );
+                    final DoubleVector xi1 = DoubleVector.fromArray( SPECIES, im, j1 + io );
+                    final DoubleVector xr2 = DoubleVector.fromArray( SPECIES, re, j2 );
+                    final DoubleVector xi2 = DoubleVector.fromArray( SPECIES, im, j2 + io );
+                    final DoubleVector xr3 = DoubleVector.fromArray( SPECIES, re, j3 );
+                    final DoubleVector xi3 = DoubleVector.fromArray( SPECIES, im, j3 + io );
+
+                    final DoubleVector br = w2r.mul( xr1 ).sub( w2i.mul( xi1 ) );
+                    final DoubleVector bi = w2r.mul( xi1 ).add( w2i.mul( xr1 ) );
+                    final DoubleVector cr = w1r.mul( xr2 ).sub( w1i.mul( xi2 ) );
+                    final DoubleVector ci = w1r.mul( xi2 ).add( w1i.mul( xr2 ) );
+                    final DoubleVector dr = w3r.mul( xr3 ).sub( w3i.mul( xi3 ) );
+                    final DoubleVector di = w3r.mul( xi3 ).add( w3i.mul( xr3 ) );
+
+                    final DoubleVector t0r = ar.add( br );
+                    final DoubleVector t0i = ai.add( bi );
+                    final DoubleVector t1r = ar.sub( br );
+                    final DoubleVector t1i = ai.sub( bi );
+                    final DoubleVector t2r = cr.add( dr );
+                    final DoubleVector t2i = ci.add( di );
+                    final DoubleVector t3r = ci.sub( di ).mul( pos );
+                    final DoubleVector t3i = cr.sub( dr ).mul( neg );
+
+                    t0r.add( t2r ).intoArray( re, j0 );
+                    t0i.add( t2i ).intoArray( im, j0 + io );
+                    t1r.add( t3r ).intoArray( re, j1 );
+                    t1i.add( t3i ).intoArray( im, j1 + io );
+                    t0r.sub( t2r ).intoArray( re, j2 );
+                    t0i.sub( t2i ).intoArray( im, j2 + io );
+                    t1r.sub( t3r ).intoArray( re, j3 );
+                    t1i.sub( t3i ).intoArray( im, j3 + io );
+                }
+            }
+        }
+    }
+
+    /**
+     * Same as {@link FastFourierTransform#transformRadix4SplitBatch}. Vectors run across the
+     * batch, so batches that do not fill whole vectors run on the scalar kernel.
+     */
+    static void transformRadix4SplitBatch( double[] re, int reOff, double[] im, int imOff, int len, int batch, boolean inverse, double[] table ) {
+        if( batch % LANES != 0 ) {
+            FastFourierTransform.transformRadix4SplitBatch( re, reOff, im, imOff, len, batch, inverse, table );
+            return;
+        }
+
+        final double sign = inverse ? -1.0 : 1.0;
+        final int io = imOff - reOff;
+        final DoubleVector pos = DoubleVector.broadcast( SPECIES, sign );
+        final DoubleVector neg = pos.neg();
+        int half = 1;
+
+        if( ( Integer.numberOfTrailingZeros( len ) & 1 ) != 0 ) {
+            final int end = reOff + len * batch;
+            for( int j = reOff; j < end; j += batch * 2 ) {
+                for( int j0 = j, j1 = j + batch; j0 < j + batch; j0 += LANES, j1 += LANES ) {
+                    DoubleVector ar = DoubleVector.fromArray( SPECIES, re, j0 );
+                    DoubleVector ai = DoubleVector.fromArray( SPECIES, im, j0 + io );
+                    DoubleVector tr = DoubleVector.fromArray( SPECIES, re, j1 );
+                    DoubleVector ti = DoubleVector.fromArray( SPECIES, im, j1 + io );
+                    ar.sub( tr ).intoArray( re, j1 );
+                    ai.sub( ti ).intoArray( im, j1 + io );
+                    ar.add( tr ).intoArray( re, j0 );
+                    ai.add( ti ).intoArray( im, j0 + io );
+                }
+            }
+            half = 2;
+        }
+
+        for( ; half < len; half <<= 2 ) {
+            final int tableOff  = TwiddleTable.stageOffset( half * 2 );
+            final int blockSize = half * 4;
+            final int h2 = half * 2;
+            final int step = half * batch;
+
+            for( int i = 0; i < len; i += blockSize ) {
+                for( int n = 0; n < half; n++ ) {
+                    int t = tableOff + n * 2;
+                    final DoubleVector w1r = DoubleVector.broadcast( SPECIES, table[t] );
+                    final DoubleVector w1i = DoubleVector.broadcast( SPECIES, table[t + 1] * sign );
+                    t = tableOff + n * 4;
+                    final DoubleVector w2r = DoubleVector.broadcast( SPECIES, table[t] );
+                    final DoubleVector w2i = DoubleVector.broadcast( SPECIES, table[t + 1] * sign );
+                    final DoubleVector w3r;
+                    final DoubleVector w3i;
+                    if( n * 3 < h2 ) {
+                        t = tableOff + n * 6;
+                        w3r = DoubleVector.broadcast( SPECIES, table[t] );
+                        w3i = DoubleVector.broadcast( SPECIES, table[t + 1] * sign );
+                    } else {
+                        t = tableOff + ( n * 3 - h2 ) * 2;
+                        w3r = DoubleVector.broadcast( SPECIES, -table[t] );
+                        w3i = DoubleVector.broadcast( SPECIES, -table[t + 1] * sign );
+                    }
+
+                    final int start = ( i + n ) * batch + reOff;
+                    for( int j0 = start; j0 < start + batch; j0 += LANES ) {
+                        final int j1 = j0 + step;
+                        final int j2 = j1 + step;
+                        final int j3 = j2 + step;
+    
+                    final DoubleVector ar = DoubleVector.fromArray( SPECIES, re, j0 );
+                    final DoubleVector ai = DoubleVector.fromArray( SPECIES, im, j0 + io );
+                    final DoubleVector xr1 = DoubleVector.fromArray( SPECIES, re, j1 );
+                    final DoubleVector xi1 = DoubleVector.fromArray( SPECIES, im, j1 + io );
+                    final DoubleVector xr2 = DoubleVector.fromArray( SPECIES, re, j2 );
+                    final DoubleVector xi2 = DoubleVector.fromArray( SPECIES, im, j2 + io );
+                    final DoubleVector xr3 = DoubleVector.fromArray( SPECIES, re, j3 );
+                    final DoubleVector xi3 = DoubleVector.fromArray( SPECIES, im, j3 + io );
+
+                    final DoubleVector br = w2r.mul( xr1 ).sub( w2i.mul( xi1 ) );
+                    final DoubleVector bi = w2r.mul( xi1 ).add( w2i.mul( xr1 ) );
+                    final DoubleVector cr = w1r.mul( xr2 ).sub( w1i.mul( xi2 ) );
+                    final DoubleVector ci = w1r.mul( xi2 ).add( w1i.mul( xr2 ) );
+                    final DoubleVector dr = w3r.mul( xr3 ).sub( w3i.mul( xi3 ) );
+                    final DoubleVector di = w3r.mul( xi3 ).add( w3i.mul( xr3 ) );
+
+                    final DoubleVector t0r = ar.add( br );
+                    final DoubleVector t0i = ai.add( bi );
+                    final DoubleVector t1r = ar.sub( br );
+                    final DoubleVector t1i = ai.sub( bi );
+                    final DoubleVector t2r = cr.add( dr );
+                    final DoubleVector t2i = ci.add( di );
+                    final DoubleVector t3r = ci.sub( di ).mul( pos );
+                    final DoubleVector t3i = cr.sub( dr ).mul( neg );
+
+                    t0r.add( t2r ).intoArray( re, j0 );
+                    t0i.add( t2i ).intoArray( im, j0 + io );
+                    t1r.add( t3r ).intoArray( re, j1 );
+                    t1i.add( t3i ).intoArray( im, j1 + io );
+                    t0r.sub( t2r ).intoArray( re, j2 );
+                    t0i.sub( t2i ).intoArray( im, j2 + io );
+                    t1r.sub( t3r ).intoArray( re, j3 );
+                    t1i.sub( t3i ).intoArray( im, j3 + io );
+                    }
+                }
+            }
+        }
+    }
+
+
+    /**
+     * @param w    Interleaved twiddles, as stored in table.
+     * @param sign 1.0 for forward transform, -1.0 for inverse.
+     * @return <tt>x * w</tt>, or <tt>x * conj( w )</tt> for inverse.
+     */
+    private static DoubleVector mul( DoubleVector x, DoubleVector w, double sign ) {
+        return mul( x, w.rearrange( REAL ), w.rearrange( IMAG ).mul( sign ).mul( ALT ) );
+    }
+
+    /**
+     * @param wr Real components of twiddles, duplicated into both lanes of each value.
+     * @param wi Imaginary components of twiddles, with sign applied, multiplied by <tt>[-1, 1 ...]</tt>.
+     */
+    private static DoubleVector mul( DoubleVector x, DoubleVector wr, DoubleVector wi ) {
+        return x.mul( wr ).add( x.rearrange( SWAP ).mul( wi ) );
+    }
+
+
+    private static double[][] radix4Tables( int bits ) {
+        for( int b = bits; b < 32; b++ ) {
+            double[][] ret = RADIX4_TABLES.get( b );
+            if( ret != null ) {
+                return ret;
+            }
+        }
+
+        final int len = 1 << bits;
+        final double[] table = TwiddleTable.forBits( bits );
+        final double[] tab2  = new double[Math.max( 0, ( len / 4 - 1 ) * 2 + len / 2 )];
+        final double[] tab3  = new double[tab2.length];
+
+        for( int half = 1; half * 4 <= len; half <<= 1 ) {
+            final int tableOff = TwiddleTable.stageOffset( half * 2 );
+            final int extOff   = TwiddleTable.stageOffset( half );
+            final int h2 = half * 2;
+
+            for( int n = 0; n < half; n++ ) {
+                int t = tableOff + n * 4;
+                tab2[extOff + n * 2    ] = table[t];
+                tab2[extOff + n * 2 + 1] = table[t + 1];
+                if( n * 3 < h2 ) {
+                    t = tableOff + n * 6;
+                    tab3[extOff + n * 2    ] = table[t];
+                    tab3[extOff + n * 2 + 1] = table[t + 1];
+                } else {
+                    t = tableOff + ( n * 3 - h2 ) * 2;
+                    tab3[extOff + n * 2    ] = -table[t];
+                    tab3[extOff + n * 2 + 1] = -table[t + 1];
+                }
+            }
+        }
+
+        double[][] ret = { tab2, tab3 };
+        if( !RADIX4_TABLES.compareAndSet( bits, null, ret ) ) {
+            ret = RADIX4_TABLES.get( bits );
+        }
+        return ret;
+    }
+
+    private static double[][] splitTables( int bits ) {
+        for( int b = bits; b < 32; b++ ) {
+            double[][] ret = SPLIT_TABLES.get( b );
+            if( ret != null ) {
+                return ret;
+            }
+        }
+
+        final int len = 1 << bits;
+        final double[] table = TwiddleTable.forBits( bits );
+        final double[][] ret0 = new double[6][Math.max( 0, len / 2 - 1 )];
+
+        for( int half = 1; half * 4 <= len; half <<= 1 ) {
+            final int tableOff = TwiddleTable.stageOffset( half * 2 );
+            final int h2 = half * 2;
+
+            for( int n = 0; n < half; n++ ) {
+                final int e = half - 1 + n;
+                int t = tableOff + n * 2;
+                ret0[0][e] = table[t];
+                ret0[1][e] = table[t + 1];
+                t = tableOff + n * 4;
+                ret0[2][e] = table[t];
+                ret0[3][e] = table[t + 1];
+                if( n * 3 < h2 ) {
+                    t = tableOff + n * 6;
+                    ret0[4][e] = table[t];
+                    ret0[5][e] = table[t + 1];
+                } else {
+                    t = tableOff + ( n * 3 - h2 ) * 2;
+                    ret0[4][e] = -table[t];
+                    ret0[5][e] = -table[t + 1];
+                }
+            }
+        }
+
+        double[][] ret = ret0;
+        if( !SPLIT_TABLES.compareAndSet( bits, null, ret ) ) {
+            ret = SPLIT_TABLES.get( bits );
+        }
+        return ret;
+    }
+
+    /**
+     * @param mode 1 to swap components of each complex value, 2 to duplicate real components,
+     *             3 to duplicate imaginary components.
+     */
+    private static VectorShuffle<Double> shuffle( int mode ) {
+        int[] idx = new int[LANES];
+        for( int i = 0; i < LANES; i++ ) {
+            switch( mode ) {
+            case 1:
+                idx[i] = i ^ 1;
+                break;
+            case 2:
+                idx[i] = i & ~1;
+                break;
+            default:
+                idx[i] = i | 1;
+            }
+        }
+        return VectorShuffle.fromArray( SPECIES, idx, 0 );
+    }
+
+
+    private static DoubleVector alternating() {
+        double[] v = new double[LANES];
+        for( int i = 0; i < LANES; i++ ) {
+            v[i] = ( i & 1 ) == 0 ? -1.0 : 1.0;
+        }
+        return DoubleVector.fromArray( SPECIES, v, 0 );
+    }
+
+
+    private VectorKernelImpl() {}
+
+}
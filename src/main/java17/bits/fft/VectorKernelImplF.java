@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2014, Massachusetts Institute of Technology
+ * Released under the BSD 2-Clause License
+ * http://opensource.org/licenses/BSD-2-Clause
+ */
+package bits.fft;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorShuffle;
+import jdk.incubator.vector.VectorSpecies;
+
+
+/**
+ * Single-precision version of {@link VectorKernelImpl}. A float vector holds twice as many
+ * complex values as a double vector of the same width, so each stage runs half as many
+ * vector operations. Results are bit-identical to the scalar kernels in
+ * {@link FastFourierTransformF}.
+ * <p>
+ * Only loaded through {@link VectorKernel}, after the module has been found.
+ * <p>
+ * This class is thread-safe.
+ */
+final class VectorKernelImplF {
+
+    private static final VectorSpecies<Float> SPECIES = FloatVector.SPECIES_PREFERRED;
+    private static final int LANES = SPECIES.length();
+    private static final int COMPLEX_LANES = LANES / 2;
+
+    private static final VectorShuffle<Float> SWAP = shuffle( 1 );
+    private static final VectorShuffle<Float> REAL = shuffle( 2 );
+    private static final VectorShuffle<Float> IMAG = shuffle( 3 );
+    private static final FloatVector ALT = alternating();
+
+    /**
+     * W^2n and W^3n for each radix-4 stage, laid out as in {@link VectorKernelImpl}.
+     */
+    private static final AtomicReferenceArray<float[][]> RADIX4_TABLES = new AtomicReferenceArray<float[][]>( 32 );
+
+
+    static int complexLanes() {
+        return COMPLEX_LANES;
+    }
+
+
+    /**
+     * Same as {@link FastFourierTransformF#transformRadix4Stages}. <tt>half</tt> must be at least
+     * {@link #complexLanes()}.
+     */
+    static void transformRadix4Stages( float[] x, int off, int len, int half, boolean inverse, float[] table, float scale ) {
+        final float sign = inverse ? -1.0f : 1.0f;
+        final FloatVector rot = ALT.mul( -sign );
+        final float[][] ext = radix4Tables( Integer.numberOfTrailingZeros( len ) );
+        final float[] tab2 = ext[0];
+        final float[] tab3 = ext[1];
+
+        for( ; half < len; half <<= 2 ) {
+            final int tableOff  = TwiddleTable.stageOffset( half * 2 );
+            final int extOff    = TwiddleTable.stageOffset( half );
+            final int blockSize = half * 4;
+            final int h2 = half * 2;
+            final float s = blockSize == len ? scale : 1.0f;
+
+            for( int i = 0; i < len; i += blockSize ) {
+                for( int n = 0; n < half; n += COMPLEX_LANES ) {
+                    final int j0 = ( i + n ) * 2 + off;
+                    final int j1 = j0 + h2;
+                    final int j2 = j1 + h2;
+                    final int j3 = j2 + h2;
+
+                    final FloatVector w1 = FloatVector.fromArray( SPECIES, table, tableOff + n * 2 );
+                    final FloatVector w2 = FloatVector.fromArray( SPECIES, tab2, extOff + n * 2 );
+                    final FloatVector w3 = FloatVector.fromArray( SPECIES, tab3, extOff + n * 2 );
+
+                    final FloatVector a = FloatVector.fromArray( SPECIES, x, j0 );
+                    final FloatVector b = mul( FloatVector.fromArray( SPECIES, x, j1 ), w2, sign );
+                    final FloatVector c = mul( FloatVector.fromArray( SPECIES, x, j2 ), w1, sign );
+                    final FloatVector d = mul( FloatVector.fromArray( SPECIES, x, j3 ), w3, sign );
+
+                    final FloatVector t0 = a.add( b );
+                    final FloatVector t1 = a.sub( b );
+                    final FloatVector t2 = c.add( d );
+                    final FloatVector t3 = c.sub( d ).rearrange( SWAP ).mul( rot );
+
+                    if( s == 1.0f ) {
+                        t0.add( t2 ).intoArray( x, j0 );
+                        t1.add( t3 ).intoArray( x, j1 );
+                        t0.sub( t2 ).intoArray( x, j2 );
+                        t1.sub( t3 ).intoArray( x, j3 );
+                    } else {
+                        t0.add( t2 ).mul( s ).intoArray( x, j0 );
+                        t1.add( t3 ).mul( s ).intoArray( x, j1 );
+                        t0.sub( t2 ).mul( s ).intoArray( x, j2 );
+                        t1.sub( t3 ).mul( s ).intoArray( x, j3 );
+                    }
+                }
+            }
+        }
+    }
+
+
+    /**
+     * @param w    Interleaved twiddles, as stored in table.
+     * @param sign 1.0 for forward transform, -1.0 for inverse.
+     * @return <tt>x * w</tt>, or <tt>x * conj( w )</tt> for inverse.
+     */
+    private static FloatVector mul( FloatVector x, FloatVector w, float sign ) {
+        final FloatVector wr = w.rearrange( REAL );
+        final FloatVector wi = w.rearrange( IMAG ).mul( sign ).mul( ALT );
+        return x.mul( wr ).add( x.rearrange( SWAP ).mul( wi ) );
+    }
+
+
+    private static float[][] radix4Tables( int bits ) {
+        for( int b = bits; b < 32; b++ ) {
+            float[][] ret = RADIX4_TABLES.get( b );
+            if( ret != null ) {
+                return ret;
+            }
+        }
+
+        final int len = 1 << bits;
+        final float[] table = TwiddleTable.floatsForBits( bits );
+        final float[] tab2  = new float[Math.max( 0, ( len / 4 - 1 ) * 2 + len / 2 )];
+        final float[] tab3  = new float[tab2.length];
+
+        for( int half = 1; half * 4 <= len; half <<= 1 ) {
+            final int tableOff = TwiddleTable.stageOffset( half * 2 );
+            final int extOff   = TwiddleTable.stageOffset( half );
+            final int h2 = half * 2;
+
+            for( int n = 0; n < half; n++ ) {
+                int t = tableOff + n * 4;
+                tab2[extOff + n * 2    ] = table[t];
+                tab2[extOff + n * 2 + 1] = table[t + 1];
+                if( n * 3 < h2 ) {
+                    t = tableOff + n * 6;
+                    tab3[extOff + n * 2    ] = table[t];
+                    tab3[extOff + n * 2 + 1] = table[t + 1];
+                } else {
+                    t = tableOff + ( n * 3 - h2 ) * 2;
+                    tab3[extOff + n * 2    ] = -table[t];
+                    tab3[extOff + n * 2 + 1] = -table[t + 1];
+                }
+            }
+        }
+
+        float[][] ret = { tab2, tab3 };
+        if( !RADIX4_TABLES.compareAndSet( bits, null, ret ) ) {
+            ret = RADIX4_TABLES.get( bits );
+        }
+        return ret;
+    }
+
+    /**
+     * @param mode 1 to swap components of each complex value, 2 to duplicate real components,
+     *             3 to duplicate imaginary components.
+     */
+    private static VectorShuffle<Float> shuffle( int mode ) {
+        int[] idx = new int[LANES];
+        for( int i = 0; i < LANES; i++ ) {
+            switch( mode ) {
+            case 1:
+                idx[i] = i ^ 1;
+                break;
+            case 2:
+                idx[i] = i & ~1;
+                break;
+            default:
+                idx[i] = i | 1;
+            }
+        }
+        return VectorShuffle.fromArray( SPECIES, idx, 0 );
+    }
+
+
+    private static FloatVector alternating() {
+        float[] v = new float[LANES];
+        for( int i = 0; i < LANES; i++ ) {
+            v[i] = ( i & 1 ) == 0 ? -1.0f : 1.0f;
+        }
+        return FloatVector.fromArray( SPECIES, v, 0 );
+    }
+
+
+    private VectorKernelImplF() {}
+
+}
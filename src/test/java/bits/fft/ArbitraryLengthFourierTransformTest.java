@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2014, Massachusetts Institute of Technology
+ * Released under the BSD 2-Clause License
+ * http://opensource.org/licenses/BSD-2-Clause
+ */
+package bits.fft;
+
+import org.junit.Test;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+
+public class ArbitraryLengthFourierTransformTest {
+
+    // Mix of powers of two, smooth lengths, Rader primes (11, 13, 17, 31, 37, 41, 61, 71, 97, 101, 1009),
+    // and Bluestein lengths (23, 26, 47, 59, 83, 107, 121, 143, 179, 1021).
+    private static final int[] DIMS = { 1, 2, 3, 8, 11, 13, 17, 23, 26, 31, 37, 41, 47, 59, 61, 71, 83, 97, 101,
+                                        107, 121, 143, 179, 210, 256, 1009, 1021 };
+
+
+    @Test
+    public void testComplex() {
+        final int off = 3;
+        Random rand = new Random( 21 );
+
+        for( int dim: DIMS ) {
+            double[] x = new double[dim * 2 + off];
+            for( int i = 0; i < x.length; i++ ) {
+                x[i] = rand.nextDouble() * 2.0 - 1.0;
+            }
+
+            double[] b = new double[dim * 2 + off];
+            double[] c = new double[dim * 2 + off];
+
+            ArbitraryLengthFourierTransform trans = new ArbitraryLengthFourierTransform( dim );
+            assertEquals( dim, trans.size() );
+            trans.applyComplex( x, off, false, b, off );
+            TestUtil.assertNear( TestUtil.dft( x, off, dim, false ), 0, b, off, dim * 2, 1e-9 );
+
+            trans.applyComplex( b, off, true, c, off );
+            TestUtil.assertNear( x, off, c, off, dim * 2, 1e-11 );
+        }
+    }
+
+
+    @Test
+    public void testReal() {
+        final int off = 3;
+        Random rand = new Random( 22 );
+
+        for( int dim: DIMS ) {
+            double[] x = new double[dim + off];
+            double[] xc = new double[dim * 2];
+            for( int i = 0; i < dim; i++ ) {
+                x[i + off] = rand.nextDouble() * 2.0 - 1.0;
+                xc[i * 2] = x[i + off];
+            }
+
+            double[] b = new double[dim * 2 + off];
+            ArbitraryLengthFourierTransform trans = new ArbitraryLengthFourierTransform( dim );
+
+            trans.applyReal( x, off, false, b, off );
+            TestUtil.assertNear( TestUtil.dft( xc, 0, dim, false ), 0, b, off, dim * 2, 1e-9 );
+            trans.applyReal( x, off, true, b, off );
+            TestUtil.assertNear( TestUtil.dft( xc, 0, dim, true ), 0, b, off, dim * 2, 1e-11 );
+        }
+    }
+
+
+    @Test
+    public void testPrime() {
+        assertTrue( ArbitraryLengthFourierTransform.isPrime( 2 ) );
+        assertTrue( ArbitraryLengthFourierTransform.isPrime( 1021 ) );
+        assertTrue( ArbitraryLengthFourierTransform.isPrime( 2147483647 ) );
+        assertFalse( ArbitraryLengthFourierTransform.isPrime( 1 ) );
+        assertFalse( ArbitraryLengthFourierTransform.isPrime( 121 ) );
+
+        try {
+            new ArbitraryLengthFourierTransform( 0 );
+            fail();
+        } catch( IllegalArgumentException ignored ) {}
+    }
+
+
+    @Test
+    public void testWorkspace() throws InterruptedException {
+        // Rader, Bluestein and mixed-radix paths.
+        final int[] dims = { 61, 1021, 210 };
+
+        for( final int dim : dims ) {
+            final ArbitraryLengthFourierTransform ref    = new ArbitraryLengthFourierTransform( dim );
+            final ArbitraryLengthFourierTransform shared = new ArbitraryLengthFourierTransform( dim, new WorkspacePool( 2 ) );
+
+            TestUtil.runConcurrently( 4, new Runnable() {
+                public void run() {
+                    Random rand = new Random( Thread.currentThread().getId() );
+                    Workspace ws = new Workspace();
+                    double[] x = new double[dim * 2];
+                    double[] a = new double[dim * 2];
+                    double[] b = new double[dim * 2];
+                    double[] c = new double[dim * 2];
+
+                    for( int i = 0; i < 200; i++ ) {
+                        for( int j = 0; j < x.length; j++ ) {
+                            x[j] = rand.nextDouble() * 2.0 - 1.0;
+                        }
+                        final boolean inverse = ( i & 1 ) != 0;
+                        synchronized( ref ) {
+                            ref.applyComplex( x, 0, inverse, a, 0 );
+                        }
+                        shared.applyComplex( x, 0, inverse, b, 0 );
+                        shared.applyComplex( x, 0, inverse, c, 0, ws );
+                        assertTrue( Arrays.equals( a, b ) );
+                        assertTrue( Arrays.equals( a, c ) );
+
+                        synchronized( ref ) {
+                            ref.applyReal( x, 0, inverse, a, 0 );
+                        }
+                        shared.applyReal( x, 0, inverse, b, 0 );
+                        shared.applyReal( x, 0, inverse, c, 0, ws );
+                        assertTrue( Arrays.equals( a, b ) );
+                        assertTrue( Arrays.equals( a, c ) );
+                    }
+                }
+            } );
+        }
+    }
+
+
+    @Test
+    public void testSpeed() {
+        // 4099 is prime with 4098 = 2 * 3 * 683, so it takes the Bluestein path.
+        // 4001 is prime with 4000 = 2^5 * 5^3, so it takes the Rader path.
+        final int[] dims = { 4096, 4001, 4099 };
+
+        for( int dim: dims ) {
+            double[] x = new double[dim * 2];
+            double[] out = new double[dim * 2];
+            Random rand = new Random( 0 );
+            for( int i = 0; i < x.length; i++ ) {
+                x[i] = rand.nextDouble() * 2.0 - 1.0;
+            }
+
+            ArbitraryLengthFourierTransform trans = new ArbitraryLengthFourierTransform( dim );
+            for( int i = 0; i < 1000; i++ ) {
+                trans.applyComplex( x, 0, false, out, 0 );
+            }
+
+            Timer.start();
+            for( int i = 0; i < 2000; i++ ) {
+                trans.applyComplex( x, 0, false, out, 0 );
+            }
+            Timer.printSeconds( "ArbitraryLengthFourierTransform dim=" + dim + " time: " );
+        }
+    }
+
+}
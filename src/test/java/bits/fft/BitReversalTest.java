@@ -0,0 +1,193 @@
+/*
+ * Copyright (c) 2014, Massachusetts Institute of Technology
+ * Released under the BSD 2-Clause License
+ * http://opensource.org/licenses/BSD-2-Clause
+ */
+package bits.fft;
+
+import org.junit.Test;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+
+public class BitReversalTest {
+
+    @Test
+    public void testIndices() {
+        for( int bits = 1; bits <= 20; bits++ ) {
+            final int[] rev = BitReversal.indices( bits );
+            assertEquals( 1 << bits, rev.length );
+            assertSame( rev, BitReversal.indices( bits ) );
+            for( int i = 0; i < rev.length; i++ ) {
+                assertEquals( FastFourierTransform.reverse( i ) >>> ( 32 - bits ), rev[i] );
+            }
+        }
+    }
+
+
+    @Test
+    public void testNoAllocation() {
+        // Allocation counters are specific to HotSpot.
+        if( !( ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean ) ) {
+            return;
+        }
+        final com.sun.management.ThreadMXBean mx = (com.sun.management.ThreadMXBean)ManagementFactory.getThreadMXBean();
+        if( !mx.isThreadAllocatedMemorySupported() || !mx.isThreadAllocatedMemoryEnabled() ) {
+            return;
+        }
+        final long id  = Thread.currentThread().getId();
+        final int bits = BitReversal.COBRA_MIN_BITS + 1;
+        final int dim  = 1 << bits;
+        final int reps = 100;
+
+        FastFourierTransform  fft  = new FastFourierTransform( dim );
+        FastFourierTransformF fftf = new FastFourierTransformF( dim );
+        double[] x  = new double[dim * 2];
+        double[] y  = new double[dim * 2];
+        float[]  xf = new float[dim * 2];
+        float[]  yf = new float[dim * 2];
+        double[] tile = new double[BitReversal.cobraTileLength( BitReversal.COBRA_TILE_BITS )];
+
+        // Permutations allocate nothing once the thread tiles exist.
+        BitReversal.permute( x, 0, y, 0, bits );
+        BitReversal.permute( xf, 0, yf, 0, bits );
+        long t0 = mx.getThreadAllocatedBytes( id );
+        for( int i = 0; i < reps; i++ ) {
+            BitReversal.permute( x, 0, y, 0, bits );
+            BitReversal.permute( x, 0, y, 0, bits, tile );
+            BitReversal.permute( xf, 0, yf, 0, bits );
+        }
+        long bytes = mx.getThreadAllocatedBytes( id ) - t0;
+        assertTrue( "allocated " + bytes + " bytes", bytes < tile.length * 8 );
+
+        // Transforms may allocate until the vector kernels are compiled, but not a tile per call,
+        // which would be several MiB per pass.
+        for( int pass = 0; ; pass++ ) {
+            t0 = mx.getThreadAllocatedBytes( id );
+            for( int i = 0; i < reps; i++ ) {
+                fft.applyComplex( x, 0, false, y, 0 );
+                fftf.applyComplex( xf, 0, false, yf, 0 );
+            }
+            bytes = mx.getThreadAllocatedBytes( id ) - t0;
+            if( bytes < tile.length * 8 ) {
+                break;
+            }
+            assertTrue( "allocated " + bytes + " bytes", pass < 20 );
+        }
+    }
+
+
+    @Test
+    public void testPermute() {
+        final int off = 3;
+        Random rand = new Random( 71 );
+
+        for( int bits = 1; bits <= 18; bits++ ) {
+            final int dim = 1 << bits;
+            double[] x = new double[dim * 2 + off];
+            for( int i = 0; i < x.length; i++ ) {
+                x[i] = rand.nextDouble();
+            }
+
+            double[] a = new double[dim * 2 + off];
+            double[] b = new double[dim * 2 + off];
+            BitReversal.permuteDirect( x, off, a, off, bits );
+
+            BitReversal.permuteTable( x, off, b, off, bits );
+            assertTrue( Arrays.equals( a, b ) );
+
+            if( bits >= 10 ) {
+                Arrays.fill( b, 0.0 );
+                BitReversal.permuteCobra( x, off, b, off, bits );
+                assertTrue( Arrays.equals( a, b ) );
+            }
+
+            for( int q = 4; q <= 6 && bits >= 2 * q; q++ ) {
+                Arrays.fill( b, 0.0 );
+                BitReversal.permuteCobra( x, off, b, off, bits, q );
+                assertTrue( Arrays.equals( a, b ) );
+            }
+
+            Arrays.fill( b, 0.0 );
+            BitReversal.permute( x, off, b, off, bits );
+            assertTrue( Arrays.equals( a, b ) );
+
+            b = x.clone();
+            Arrays.fill( b, 0, off, 0.0 );
+            BitReversal.permuteInPlace( b, off, bits );
+            assertTrue( Arrays.equals( a, b ) );
+        }
+    }
+
+
+    @Test
+    public void testPermuteFloat() {
+        final int off = 1;
+        Random rand = new Random( 72 );
+
+        for( int bits = 1; bits <= 18; bits++ ) {
+            final int dim = 1 << bits;
+            double[] x = new double[dim * 2 + off];
+            for( int i = 0; i < x.length; i++ ) {
+                x[i] = rand.nextDouble();
+            }
+            float[] xf = TestUtil.toFloat( x );
+
+            double[] a = new double[dim * 2 + off];
+            BitReversal.permuteDirect( x, off, a, off, bits );
+            float[] af = TestUtil.toFloat( a );
+
+            float[] b = new float[dim * 2 + off];
+            BitReversal.permute( xf, off, b, off, bits );
+            assertTrue( Arrays.equals( af, b ) );
+
+            b = xf.clone();
+            b[0] = 0.0f;
+            BitReversal.permuteInPlace( b, off, bits );
+            assertTrue( Arrays.equals( af, b ) );
+        }
+    }
+
+
+    @Test
+    public void testSpeed() {
+        for( int bits = 8; bits <= 22; bits += 2 ) {
+            final int dim  = 1 << bits;
+            final int reps = Math.max( 4, ( 1 << 24 ) / dim );
+            double[] a = new double[dim * 2];
+            double[] b = new double[dim * 2];
+
+            for( int i = 0; i < reps; i++ ) {
+                BitReversal.permuteDirect( a, 0, b, 0, bits );
+                BitReversal.permuteTable( a, 0, b, 0, bits );
+                if( bits >= 10 ) {
+                    BitReversal.permuteCobra( a, 0, b, 0, bits );
+                }
+            }
+
+            long t0 = System.nanoTime();
+            for( int i = 0; i < reps; i++ ) {
+                BitReversal.permuteDirect( a, 0, b, 0, bits );
+            }
+            long t1 = System.nanoTime();
+            for( int i = 0; i < reps; i++ ) {
+                BitReversal.permuteTable( a, 0, b, 0, bits );
+            }
+            long t2 = System.nanoTime();
+            for( int i = 0; i < reps && bits >= 10; i++ ) {
+                BitReversal.permuteCobra( a, 0, b, 0, bits );
+            }
+            long t3 = System.nanoTime();
+
+            System.out.println( String.format( "BitReversal bits=%-2d  direct: %6.2f  table: %6.2f  cobra: %6.2f ns/element",
+                                               bits,
+                                               (double)( t1 - t0 ) / reps / dim,
+                                               (double)( t2 - t1 ) / reps / dim,
+                                               (double)( t3 - t2 ) / reps / dim ) );
+        }
+    }
+
+}
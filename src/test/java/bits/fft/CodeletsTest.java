@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2014, Massachusetts Institute of Technology
+ * Released under the BSD 2-Clause License
+ * http://opensource.org/licenses/BSD-2-Clause
+ */
+package bits.fft;
+
+import org.junit.Test;
+import java.util.Random;
+
+
+public class CodeletsTest {
+
+    @Test
+    public void testCodelets() {
+        Random rand = new Random( 21 );
+
+        for( int bits = 1; bits <= Codelets.MAX_BITS; bits++ ) {
+            final int dim = 1 << bits;
+            final int off = 3;
+            final double[] table = TwiddleTable.forBits( bits );
+            double[] x = new double[dim * 2 + off];
+            for( int i = 0; i < x.length; i++ ) {
+                x[i] = rand.nextDouble() * 2.0 - 1.0;
+            }
+
+            for( int k = 0; k < 2; k++ ) {
+                final boolean inverse = k == 1;
+                final double scale = inverse ? 1.0 / dim : 1.0;
+                double[] a = x.clone();
+                double[] b = x.clone();
+                FastFourierTransform.transformSplitRadix( a, off, dim, inverse ? -1.0 : 1.0, table, scale );
+                Codelets.apply( b, off, dim, inverse, scale );
+                TestUtil.assertNear( a, off, b, off, dim * 2, 1e-14 );
+                // Leading elements are untouched.
+                TestUtil.assertNear( x, 0, b, 0, off, Double.MIN_VALUE );
+            }
+        }
+    }
+
+
+    @Test
+    public void testUnrolled() {
+        Random rand = new Random( 22 );
+
+        for( int bits = 1; bits <= 16; bits++ ) {
+            final int dim = 1 << bits;
+            final double[] table = TwiddleTable.forBits( bits );
+            double[] x = new double[dim * 2];
+            for( int i = 0; i < x.length; i++ ) {
+                x[i] = rand.nextDouble() * 2.0 - 1.0;
+            }
+
+            for( int k = 0; k < 3; k++ ) {
+                final boolean inverse = k > 0;
+                final double scale = k == 2 ? 1.0 / dim : 1.0;
+                double[] a = x.clone();
+                double[] b = x.clone();
+                FastFourierTransform.transformRadix4( a, 0, dim, inverse, table, scale );
+                FastFourierTransform.transformUnrolled( b, 0, dim, inverse, table, scale );
+                TestUtil.assertNear( a, 0, b, 0, dim * 2, 1e-10 * Math.max( 1.0, dim * scale ) );
+            }
+        }
+    }
+
+
+    @Test
+    public void testCodeletsF() {
+        Random rand = new Random( 24 );
+
+        for( int bits = 1; bits <= CodeletsF.MAX_BITS; bits++ ) {
+            final int dim = 1 << bits;
+            final int off = 3;
+            final double[] table = TwiddleTable.forBits( bits );
+            double[] x = new double[dim * 2 + off];
+            for( int i = 0; i < x.length; i++ ) {
+                x[i] = rand.nextDouble() * 2.0 - 1.0;
+            }
+
+            for( int k = 0; k < 2; k++ ) {
+                final boolean inverse = k == 1;
+                final double scale = inverse ? 1.0 / dim : 1.0;
+                double[] a = x.clone();
+                float[] b = TestUtil.toFloat( x );
+                FastFourierTransform.transformSplitRadix( a, off, dim, inverse ? -1.0 : 1.0, table, scale );
+                CodeletsF.apply( b, off, dim, inverse, (float)scale );
+                TestUtil.assertNear( b, off, a, off, dim * 2, 1e-5 * bits );
+                TestUtil.assertNear( b, 0, x, 0, off, 1e-7 );
+            }
+        }
+    }
+
+
+    @Test
+    public void testSpeed() {
+        final int work = 1 << 22;
+        Random rand = new Random( 23 );
+
+        for( int bits = 1; bits <= 8; bits++ ) {
+            final int dim  = 1 << bits;
+            final int reps = work / dim;
+            final double[] table = TwiddleTable.forBits( bits );
+            double[] x = new double[dim * 2];
+            for( int i = 0; i < x.length; i++ ) {
+                x[i] = rand.nextDouble() * 2.0 - 1.0;
+            }
+
+            double[] nanos = new double[3];
+            for( int pass = 0; pass < 2; pass++ ) {
+                for( int kernel = 0; kernel < 3; kernel++ ) {
+                    long t0 = System.nanoTime();
+                    // Alternate forward and scaled inverse transforms to keep values bounded.
+                    for( int i = 0; i < reps; i++ ) {
+                        final boolean inverse = ( i & 1 ) != 0;
+                        final double scale = inverse ? 1.0 / dim : 1.0;
+                        switch( kernel ) {
+                        case 0:
+                            FastFourierTransform.transform( x, 0, dim, inverse, table, scale );
+                            break;
+                        case 1:
+                            FastFourierTransform.transformRadix4( x, 0, dim, inverse, table, scale );
+                            break;
+                        default:
+                            FastFourierTransform.transformUnrolled( x, 0, dim, inverse, table, scale );
+                        }
+                    }
+                    long t1 = System.nanoTime();
+                    nanos[kernel] = ( t1 - t0 ) / (double)reps;
+                }
+            }
+
+            System.out.println( String.format( "Codelet dim=%-4d  loop: %8.1f ns  radix4: %8.1f ns  unrolled: %8.1f ns",
+                                               dim, nanos[0], nanos[1], nanos[2] ) );
+        }
+    }
+
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2014, Massachusetts Institute of Technology
+ * Released under the BSD 2-Clause License
+ * http://opensource.org/licenses/BSD-2-Clause
+ */
+package bits.fft;
+
+import org.junit.Test;
+import java.util.Random;
+
+
+public class FastCosineTransform2dFTest {
+
+    @Test
+    public void testCorrect() {
+        final int off = 3;
+        Random rand = new Random( 11 );
+
+        for( int bits = 1; bits <= 7; bits++ ) {
+            final int dim = 1 << bits;
+
+            double[] x = new double[dim * dim + off];
+            for( int i = 0; i < x.length; i++ ) {
+                x[i] = rand.nextDouble() * 2.0 - 1.0;
+            }
+
+            double[] a = new double[dim * dim + off];
+            float[] b = new float[dim * dim + off];
+            float[] c = new float[dim * dim + off];
+
+            new FastCosineTransform2d( dim ).apply( x, off, false, a, off );
+            FastCosineTransform2dF trans = new FastCosineTransform2dF( dim );
+            trans.apply( TestUtil.toFloat( x ), off, false, b, off );
+            trans.apply( b, off, true, c, off );
+
+            TestUtil.assertNear( b, off, a, off, dim * dim, 1e-5 * dim * dim * bits );
+            TestUtil.assertNear( c, off, x, off, dim * dim, 1e-4 );
+        }
+    }
+
+
+    @Test
+    public void testSpeed() {
+        final int dim = 512;
+        final double[] v = new double[dim * dim];
+        Random rand = new Random( 0 );
+
+        for( int i = 0; i < v.length; i++ ) {
+            v[i] = rand.nextDouble() * 2.0 - 1.0;
+        }
+
+        float[] vf = TestUtil.toFloat( v );
+        double[] out = new double[dim * dim];
+        float[] outf = new float[dim * dim];
+        FastCosineTransform2d trans = new FastCosineTransform2d( dim );
+        FastCosineTransform2dF transf = new FastCosineTransform2dF( dim );
+
+        trans.apply( v, 0, false, out, 0 );
+        transf.apply( vf, 0, false, outf, 0 );
+
+        Timer.start();
+        for( int i = 0; i < 10; i++ ) {
+            trans.apply( v, 0, false, out, 0 );
+        }
+        Timer.printSeconds( "FastCosineTransform2d seconds: " );
+
+        Timer.start();
+        for( int i = 0; i < 10; i++ ) {
+            transf.apply( vf, 0, false, outf, 0 );
+        }
+        Timer.printSeconds( "FastCosineTransform2dF seconds: " );
+    }
+
+}
@@ -6,8 +6,11 @@
 package bits.fft;
 
 import org.junit.Test;
+import java.util.Arrays;
 import java.util.Random;
 
+import static org.junit.Assert.*;
+
 public class FastCosineTransform2dTest {
 
     private static final int OFF_0 = 3;
@@ -200,4 +203,37 @@ public class FastCosineTransform2dTest {
         System.out.println( "FastCosineTransform2d seconds: " + secs );
     }
 
-}
\ No newline at end of file
+
+    @Test
+    public void testWorkspace() throws InterruptedException {
+        final int dim = 64;
+        final FastCosineTransform2d ref    = new FastCosineTransform2d( dim );
+        final FastCosineTransform2d shared = new FastCosineTransform2d( dim, new WorkspacePool( 2 ) );
+
+        TestUtil.runConcurrently( 4, new Runnable() {
+            public void run() {
+                Random rand = new Random( Thread.currentThread().getId() );
+                Workspace ws = new Workspace();
+                double[] x = new double[dim * dim];
+                double[] a = new double[dim * dim];
+                double[] b = new double[dim * dim];
+                double[] c = new double[dim * dim];
+
+                for( int i = 0; i < 50; i++ ) {
+                    for( int j = 0; j < x.length; j++ ) {
+                        x[j] = rand.nextDouble() * 2.0 - 1.0;
+                    }
+                    final boolean inverse = ( i & 1 ) != 0;
+                    synchronized( ref ) {
+                        ref.apply( x, 0, inverse, a, 0 );
+                    }
+                    shared.apply( x, 0, inverse, b, 0 );
+                    shared.apply( x, 0, inverse, c, 0, ws );
+                    assertTrue( Arrays.equals( a, b ) );
+                    assertTrue( Arrays.equals( a, c ) );
+                }
+            }
+        } );
+    }
+
+}
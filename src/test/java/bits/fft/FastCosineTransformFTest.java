@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2014, Massachusetts Institute of Technology
+ * Released under the BSD 2-Clause License
+ * http://opensource.org/licenses/BSD-2-Clause
+ */
+package bits.fft;
+
+import org.junit.Test;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+
+public class FastCosineTransformFTest {
+
+    @Test
+    public void testCorrect() {
+        final int off = 3;
+        Random rand = new Random( 10 );
+
+        for( int bits = 1; bits <= 12; bits++ ) {
+            final int dim = 1 << bits;
+
+            double[] x = new double[dim + off];
+            for( int i = 0; i < x.length; i++ ) {
+                x[i] = rand.nextDouble() * 2.0 - 1.0;
+            }
+
+            double[] a = new double[dim + off];
+            float[] b = new float[dim + off];
+            float[] c = new float[dim + off];
+
+            new FastCosineTransform( dim ).apply( x, off, false, a, off );
+            FastCosineTransformF trans = new FastCosineTransformF( dim );
+            trans.apply( TestUtil.toFloat( x ), off, false, b, off );
+            trans.apply( b, off, true, c, off );
+
+            TestUtil.assertNear( b, off, a, off, dim, 1e-5 * Math.sqrt( dim ) * bits );
+            TestUtil.assertNear( c, off, x, off, dim, 1e-5 );
+        }
+    }
+
+
+    @Test
+    public void testSpeed() {
+        final int dim = 512;
+
+        double[] a = new double[dim];
+        Random rand = new Random( 0 );
+
+        for( int i = 0; i < dim; i++ ) {
+            a[i] = rand.nextDouble() * 2.0 - 1.0;
+        }
+
+        float[] af = TestUtil.toFloat( a );
+        double[] b = new double[dim];
+        float[] bf = new float[dim];
+        FastCosineTransform trans = new FastCosineTransform( dim );
+        FastCosineTransformF transf = new FastCosineTransformF( dim );
+
+        for( int i = 0; i < 1000; i++ ) {
+            trans.apply( a, 0, false, b, 0 );
+            transf.apply( af, 0, false, bf, 0 );
+        }
+
+        Timer.start();
+        for( int i = 0; i < 5000; i++ ) {
+            trans.apply( a, 0, false, b, 0 );
+        }
+        Timer.printSeconds( "CosineTransform seconds: " );
+
+        Timer.start();
+        for( int i = 0; i < 5000; i++ ) {
+            transf.apply( af, 0, false, bf, 0 );
+        }
+        Timer.printSeconds( "CosineTransformF seconds: " );
+    }
+
+
+    @Test
+    public void testStrided() {
+        Random rand = new Random( 13 );
+        final int aStride = 4;
+        final int outStride = 3;
+
+        for( int bits = 1; bits <= 12; bits++ ) {
+            final int dim = 1 << bits;
+            final FastCosineTransformF trans = new FastCosineTransformF( dim );
+            float[] x = new float[dim * aStride + 1];
+            for( int i = 0; i < x.length; i++ ) {
+                x[i] = rand.nextFloat() * 2.0f - 1.0f;
+            }
+
+            float[] packed = new float[dim];
+            float[] a = new float[dim];
+            float[] b = new float[dim * outStride + 2];
+            for( int i = 0; i < dim; i++ ) {
+                packed[i] = x[1 + i * aStride];
+            }
+
+            for( int k = 0; k < 2; k++ ) {
+                trans.apply( packed, 0, k == 1, a, 0 );
+                trans.apply( x, 1, aStride, k == 1, b, 2, outStride );
+                for( int i = 0; i < dim; i++ ) {
+                    assertEquals( a[i], b[2 + i * outStride], 0.0 );
+                }
+            }
+        }
+    }
+
+}
@@ -6,8 +6,11 @@
 package bits.fft;
 
 import org.junit.Test;
+import java.util.Arrays;
 import java.util.Random;
 
+import static org.junit.Assert.*;
+
 public class FastCosineTransformTest {
 
 
@@ -103,4 +106,69 @@ public class FastCosineTransformTest {
         Timer.printSeconds( "CosineTransform seconds: " );
     }
 
-}
\ No newline at end of file
+
+    @Test
+    public void testStrided() {
+        Random rand = new Random( 12 );
+        final int aStride = 4;
+        final int outStride = 3;
+
+        for( int bits = 1; bits <= 12; bits++ ) {
+            final int dim = 1 << bits;
+            final FastCosineTransform trans = new FastCosineTransform( dim );
+            double[] x = new double[dim * aStride + 1];
+            for( int i = 0; i < x.length; i++ ) {
+                x[i] = rand.nextDouble() * 2.0 - 1.0;
+            }
+
+            double[] packed = new double[dim];
+            double[] a = new double[dim];
+            double[] b = new double[dim * outStride + 2];
+            for( int i = 0; i < dim; i++ ) {
+                packed[i] = x[1 + i * aStride];
+            }
+
+            for( int k = 0; k < 2; k++ ) {
+                trans.apply( packed, 0, k == 1, a, 0 );
+                trans.apply( x, 1, aStride, k == 1, b, 2, outStride );
+                for( int i = 0; i < dim; i++ ) {
+                    assertEquals( a[i], b[2 + i * outStride], 0.0 );
+                }
+            }
+        }
+    }
+
+
+    @Test
+    public void testWorkspace() throws InterruptedException {
+        final int dim = 1 << 10;
+        final FastCosineTransform ref    = new FastCosineTransform( dim );
+        final FastCosineTransform shared = new FastCosineTransform( dim, new WorkspacePool( 2 ) );
+
+        TestUtil.runConcurrently( 4, new Runnable() {
+            public void run() {
+                Random rand = new Random( Thread.currentThread().getId() );
+                Workspace ws = new Workspace();
+                double[] x = new double[dim];
+                double[] a = new double[dim];
+                double[] b = new double[dim];
+                double[] c = new double[dim];
+
+                for( int i = 0; i < 200; i++ ) {
+                    for( int j = 0; j < dim; j++ ) {
+                        x[j] = rand.nextDouble() * 2.0 - 1.0;
+                    }
+                    final boolean inverse = ( i & 1 ) != 0;
+                    synchronized( ref ) {
+                        ref.apply( x, 0, inverse, a, 0 );
+                    }
+                    shared.apply( x, 0, inverse, b, 0 );
+                    shared.apply( x, 0, inverse, c, 0, ws );
+                    assertTrue( Arrays.equals( a, b ) );
+                    assertTrue( Arrays.equals( a, c ) );
+                }
+            }
+        } );
+    }
+
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2014, Massachusetts Institute of Technology
+ * Released under the BSD 2-Clause License
+ * http://opensource.org/licenses/BSD-2-Clause
+ */
+package bits.fft;
+
+import org.junit.Test;
+import java.util.Random;
+
+
+public class FastFourierTransform2dFTest {
+
+    @Test public void testComplex() {
+        final int off = 3;
+        Random rand = new Random( 8 );
+
+        for( int bits = 1; bits <= 7; bits++ ) {
+            final int dim = 1 << bits;
+            final int len = dim * dim * 2;
+
+            double[] x = new double[len + off];
+            for( int i = 0; i < x.length; i++ ) {
+                x[i] = rand.nextDouble() * 2.0 - 1.0;
+            }
+
+            double[] a = new double[len + off];
+            float[] b = new float[len + off];
+            float[] c = new float[len + off];
+
+            new FastFourierTransform2d( dim ).applyComplex( x, off, false, a, off );
+            FastFourierTransform2dF trans = new FastFourierTransform2dF( dim );
+            trans.applyComplex( TestUtil.toFloat( x ), off, false, b, off );
+            trans.applyComplex( b, off, true, c, off );
+
+            TestUtil.assertNear( b, off, a, off, len, 1e-5 * dim * bits );
+            TestUtil.assertNear( c, off, x, off, len, 1e-5 );
+        }
+    }
+
+
+    @Test public void testReal() {
+        final int off = 3;
+        Random rand = new Random( 9 );
+
+        for( int bits = 1; bits <= 7; bits++ ) {
+            final int dim = 1 << bits;
+
+            double[] x = new double[dim * dim + off];
+            for( int i = 0; i < x.length; i++ ) {
+                x[i] = rand.nextDouble() * 2.0 - 1.0;
+            }
+
+            double[] a = new double[dim * dim * 2 + off];
+            float[] b = new float[dim * dim * 2 + off];
+
+            new FastFourierTransform2d( dim ).applyReal( x, off, false, a, off );
+            new FastFourierTransform2dF( dim ).applyReal( TestUtil.toFloat( x ), off, false, b, off );
+            TestUtil.assertNear( b, off, a, off, dim * dim * 2, 1e-5 * dim * bits );
+        }
+    }
+
+
+    @Test public void testSpeed() {
+        int dim = 512;
+        int len = dim * dim * 2;
+
+        double[] x = new double[len];
+        Random rand = new Random( 0 );
+
+        for( int i = 0; i < len; i++ ) {
+            x[i] = rand.nextDouble() * 2.0 - 1.0;
+        }
+
+        float[] xf = TestUtil.toFloat( x );
+        double[] out = new double[len];
+        float[] outf = new float[len];
+
+        FastFourierTransform2d trans = new FastFourierTransform2d( dim );
+        FastFourierTransform2dF transf = new FastFourierTransform2dF( dim );
+
+        trans.applyComplex( x, 0, false, out, 0 );
+        transf.applyComplex( xf, 0, false, outf, 0 );
+
+        Timer.start();
+        for( int i = 0; i < 16; i++ ) {
+            trans.applyComplex( x, 0, false, out, 0 );
+        }
+        System.out.println( "FastFourierTransform2d seconds: " + Timer.seconds() );
+
+        Timer.start();
+        for( int i = 0; i < 16; i++ ) {
+            transf.applyComplex( xf, 0, false, outf, 0 );
+        }
+        System.out.println( "FastFourierTransform2dF seconds: " + Timer.seconds() );
+    }
+
+}
@@ -7,7 +7,11 @@ package bits.fft;
 
 
 import org.junit.Test;
+import java.util.Arrays;
 import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.*;
 
 
 public class FastFourierTransform2dTest {
@@ -688,5 +692,303 @@ public class FastFourierTransform2dTest {
         TestUtil.assertNear( OUTPUT_1_INV, 0, c, off, len );
     }
 
+    @Test public void testComplexSplit() {
+        Random rand = new Random( 5 );
+
+        for( int bits = 1; bits <= 7; bits++ ) {
+            final int dim = 1 << bits;
+            final int len = dim * dim;
+
+            double[] x  = new double[len * 2];
+            double[] re = new double[len + 1];
+            double[] im = new double[len + 2];
+            for( int i = 0; i < len; i++ ) {
+                x[i * 2    ] = re[i + 1] = rand.nextDouble() * 2.0 - 1.0;
+                x[i * 2 + 1] = im[i + 2] = rand.nextDouble() * 2.0 - 1.0;
+            }
+
+            double[] a = new double[len * 2];
+            double[] b = new double[len * 2];
+            double[] outRe = new double[len + 3];
+            double[] outIm = new double[len + 4];
+
+            FastFourierTransform2d trans = new FastFourierTransform2d( dim );
+            for( int k = 0; k < 2; k++ ) {
+                trans.applyComplex( x, 0, k == 1, a, 0 );
+                trans.applyComplexSplit( re, 1, im, 2, k == 1, outRe, 3, outIm, 4 );
+                for( int i = 0; i < len; i++ ) {
+                    b[i * 2    ] = outRe[i + 3];
+                    b[i * 2 + 1] = outIm[i + 4];
+                }
+                TestUtil.assertNear( a, 0, b, 0, len * 2 );
+            }
+        }
+    }
+
+
+    @Test public void testSplitSpeed() {
+        int dim = 512;
+        int len = dim * dim;
+
+        double[] x  = new double[len * 2];
+        double[] re = new double[len];
+        double[] im = new double[len];
+        Random rand = new Random( 0 );
+
+        for( int i = 0; i < len; i++ ) {
+            x[i * 2    ] = re[i] = rand.nextDouble() * 2.0 - 1.0;
+            x[i * 2 + 1] = im[i] = rand.nextDouble() * 2.0 - 1.0;
+        }
+
+        double[] out   = new double[len * 2];
+        double[] outRe = new double[len];
+        double[] outIm = new double[len];
+        FastFourierTransform2d trans = new FastFourierTransform2d( dim );
+
+        for( int k = 0; k < 2; k++ ) {
+            Timer.start();
+            for( int i = 0; i < 16; i++ ) {
+                trans.applyComplex( x, 0, false, out, 0 );
+            }
+            System.out.println( "FastFourierTransform2d interleaved seconds: " + Timer.seconds() );
+
+            Timer.start();
+            for( int i = 0; i < 16; i++ ) {
+                trans.applyComplexSplit( re, 0, im, 0, false, outRe, 0, outIm, 0 );
+            }
+            System.out.println( "FastFourierTransform2d split seconds: " + Timer.seconds() );
+        }
+    }
+
+
+    @Test public void testComplexToReal() {
+        Random rand = new Random( 4 );
+
+        for( int bits = 1; bits <= 6; bits++ ) {
+            final int dim  = 1 << bits;
+            final int cols = dim / 2 + 1;
+            final int off  = 5;
+
+            double[] x = new double[dim * dim + off];
+            double[] full = new double[dim * dim * 2];
+            double[] half = new double[cols * dim * 2 + off];
+            double[] c = new double[dim * dim + off];
+
+            for( int i = 0; i < x.length; i++ ) {
+                x[i] = rand.nextDouble() * 2.0 - 1.0;
+            }
+
+            FastFourierTransform2d trans = new FastFourierTransform2d( dim );
+            trans.applyReal( x, off, false, full, 0 );
+
+            for( int n = 0; n < dim; n++ ) {
+                System.arraycopy( full, n * dim * 2, half, off + n * cols * 2, cols * 2 );
+            }
+
+            trans.applyComplexToReal( half, off, c, off );
+            TestUtil.assertNear( x, off, c, off, dim * dim );
+
+            // Work buffer holds only the half spectrum.
+            Workspace ws = new Workspace();
+            trans.applyComplexToReal( half, off, c, off, ws );
+            TestUtil.assertNear( x, off, c, off, dim * dim );
+            assertEquals( cols * dim * 2 * 8L, ws.sizeInBytes() );
+        }
+    }
+
+
+    @Test
+    public void testInPlace() {
+        final int off = 3;
+        Random rand = new Random( 83 );
+
+        for( int bits = 1; bits <= 9; bits++ ) {
+            final int dim = 1 << bits;
+            FastFourierTransform2d trans = new FastFourierTransform2d( dim );
+            double[] x = new double[dim * dim * 2 + off];
+            for( int i = 0; i < x.length; i++ ) {
+                x[i] = rand.nextDouble() * 2.0 - 1.0;
+            }
+
+            for( int k = 0; k < 2; k++ ) {
+                double[] a = x.clone();
+                double[] b = x.clone();
+                double[] c = x.clone();
+                trans.applyComplex( x, off, k == 1, a, off );
+                trans.applyComplex( b, off, k == 1 );
+                trans.applyComplex( c, off, k == 1, c, off );
+                assertTrue( Arrays.equals( a, b ) );
+                assertTrue( Arrays.equals( a, c ) );
+            }
+        }
+    }
+
+
+    @Test
+    public void testNormalization() {
+        final int off = 3;
+        Random rand = new Random( 93 );
+
+        for( int bits = 1; bits <= 8; bits++ ) {
+            final int dim = 1 << bits;
+            final double scale = 1.0 / ( dim * dim );
+            FastFourierTransform2d norm = new FastFourierTransform2d( dim );
+            FastFourierTransform2d none = new FastFourierTransform2d( dim, FastFourierTransform.Normalization.NONE );
+            double[] x = new double[dim * dim * 2 + off];
+            for( int i = 0; i < x.length; i++ ) {
+                x[i] = rand.nextDouble() * 2.0 - 1.0;
+            }
+
+            double[] a = new double[dim * dim * 2 + off];
+            double[] b = new double[dim * dim * 2 + off];
+            norm.applyComplex( x, off, true, a, off );
+            none.applyComplex( x, off, true, b, off );
+            for( int i = off; i < b.length; i++ ) {
+                b[i] *= scale;
+            }
+            assertTrue( Arrays.equals( a, b ) );
+
+            a = x.clone();
+            b = x.clone();
+            norm.applyComplex( a, off, true );
+            none.applyComplex( b, off, true );
+            for( int i = off; i < b.length; i++ ) {
+                b[i] *= scale;
+            }
+            assertTrue( Arrays.equals( a, b ) );
+        }
+    }
+
+
+    @Test
+    public void testWorkspace() throws InterruptedException {
+        final int dim = 64;
+        final FastFourierTransform2d ref    = new FastFourierTransform2d( dim );
+        final FastFourierTransform2d shared = new FastFourierTransform2d( dim, new WorkspacePool( 2 ) );
+
+        TestUtil.runConcurrently( 4, new Runnable() {
+            public void run() {
+                Random rand = new Random( Thread.currentThread().getId() );
+                Workspace ws = new Workspace();
+                double[] x = new double[dim * dim * 2];
+                double[] a = new double[dim * dim * 2];
+                double[] b = new double[dim * dim * 2];
+                double[] c = new double[dim * dim * 2];
+
+                for( int i = 0; i < 50; i++ ) {
+                    for( int j = 0; j < x.length; j++ ) {
+                        x[j] = rand.nextDouble() * 2.0 - 1.0;
+                    }
+                    final boolean inverse = ( i & 1 ) != 0;
+                    synchronized( ref ) {
+                        ref.applyComplex( x, 0, inverse, a, 0 );
+                    }
+                    shared.applyComplex( x, 0, inverse, b, 0 );
+                    shared.applyComplex( x, 0, inverse, c, 0, ws );
+                    assertTrue( Arrays.equals( a, b ) );
+                    assertTrue( Arrays.equals( a, c ) );
+
+                    synchronized( ref ) {
+                        ref.applyReal( x, 0, inverse, a, 0 );
+                    }
+                    shared.applyReal( x, 0, inverse, b, 0 );
+                    shared.applyReal( x, 0, inverse, c, 0, ws );
+                    assertTrue( Arrays.equals( a, b ) );
+                    assertTrue( Arrays.equals( a, c ) );
+
+                    synchronized( ref ) {
+                        ref.applyComplexToReal( x, 0, a, 0 );
+                    }
+                    shared.applyComplexToReal( x, 0, b, 0 );
+                    shared.applyComplexToReal( x, 0, c, 0, ws );
+                    assertTrue( Arrays.equals( a, b ) );
+                    assertTrue( Arrays.equals( a, c ) );
+                }
+            }
+        } );
+    }
+
+
+    @Test
+    public void testParallel() {
+        final int off = 3;
+        Random rand = new Random( 94 );
+        ForkJoinPool[] pools = { new ForkJoinPool( 2 ), new ForkJoinPool( 3 ), new ForkJoinPool( 8 ) };
+        final int[] grains = { 1, 5, 32, 1 << 10 };
+
+        try {
+            for( int bits = 7; bits <= 9; bits++ ) {
+                final int dim = 1 << bits;
+                FastFourierTransform2d trans = new FastFourierTransform2d( dim );
+                double[] x = new double[dim * dim * 2 + off];
+                for( int i = 0; i < x.length; i++ ) {
+                    x[i] = rand.nextDouble() * 2.0 - 1.0;
+                }
+
+                for( ForkJoinPool pool: pools ) {
+                    for( int grain: grains ) {
+                        for( int k = 0; k < 2; k++ ) {
+                            double[] a = new double[x.length];
+                            double[] b = new double[x.length];
+                            trans.applyComplex( x, off, k == 1, a, off );
+                            trans.applyComplex( x, off, k == 1, b, off, pool, grain );
+                            assertTrue( Arrays.equals( a, b ) );
+
+                            b = x.clone();
+                            trans.applyComplex( b, off, k == 1, b, off, pool, grain );
+                            System.arraycopy( x, 0, a, 0, off );
+                            assertTrue( Arrays.equals( a, b ) );
+
+                            trans.applyReal( x, off, k == 1, a, off );
+                            trans.applyReal( x, off, k == 1, b, off, pool, grain );
+                            assertTrue( Arrays.equals( a, b ) );
+                        }
+                    }
+                }
+            }
+        } finally {
+            for( ForkJoinPool pool: pools ) {
+                pool.shutdown();
+            }
+        }
+    }
+
+
+    @Test
+    public void testParallelSpeed() {
+        final int dim = 2048;
+        Random rand = new Random( 95 );
+        double[] x = new double[dim * dim * 2];
+        double[] out = new double[dim * dim * 2];
+        for( int i = 0; i < x.length; i++ ) {
+            x[i] = rand.nextDouble() * 2.0 - 1.0;
+        }
+
+        FastFourierTransform2d trans = new FastFourierTransform2d( dim );
+        ForkJoinPool pool = new ForkJoinPool();
+
+        try {
+            for( int i = 0; i < 2; i++ ) {
+                trans.applyComplex( x, 0, false, out, 0 );
+                trans.applyComplex( x, 0, false, out, 0, pool );
+            }
+
+            Timer.start();
+            for( int i = 0; i < 3; i++ ) {
+                trans.applyComplex( x, 0, false, out, 0 );
+            }
+            Timer.printSeconds( "FastFourierTransform2d dim=2048 serial time: " );
+
+            for( int grain = 8; grain <= 512; grain *= 4 ) {
+                Timer.start();
+                for( int i = 0; i < 3; i++ ) {
+                    trans.applyComplex( x, 0, false, out, 0, pool, grain );
+                }
+                Timer.printSeconds( "FastFourierTransform2d dim=2048 parallel (" + pool.getParallelism() + " threads, grain " + grain + ") time: " );
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
 
-}
\ No newline at end of file
+}
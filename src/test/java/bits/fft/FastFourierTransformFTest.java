@@ -0,0 +1,305 @@
+/*
+ * Copyright (c) 2014, Massachusetts Institute of Technology
+ * Released under the BSD 2-Clause License
+ * http://opensource.org/licenses/BSD-2-Clause
+ */
+package bits.fft;
+
+import org.junit.Test;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+
+public class FastFourierTransformFTest {
+
+    @Test
+    public void testComplex() {
+        final int off = 3;
+        Random rand = new Random( 6 );
+
+        for( int bits = 1; bits <= 14; bits++ ) {
+            final int dim = 1 << bits;
+            final int len = dim * 2;
+
+            double[] x = new double[len + off];
+            for( int i = 0; i < x.length; i++ ) {
+                x[i] = rand.nextDouble() * 2.0 - 1.0;
+            }
+
+            double[] a = new double[len + off];
+            float[] b = new float[len + off];
+            float[] c = new float[len + off];
+
+            new FastFourierTransform( dim ).applyComplex( x, off, false, a, off );
+            FastFourierTransformF trans = new FastFourierTransformF( dim );
+            trans.applyComplex( TestUtil.toFloat( x ), off, false, b, off );
+            trans.applyComplex( b, off, true, c, off );
+
+            TestUtil.assertNear( b, off, a, off, len, 1e-5 * Math.sqrt( dim ) * bits );
+            TestUtil.assertNear( c, off, x, off, len, 1e-5 );
+        }
+    }
+
+
+    @Test
+    public void testReal() {
+        final int off = 3;
+        Random rand = new Random( 7 );
+
+        for( int bits = 1; bits <= 14; bits++ ) {
+            final int dim = 1 << bits;
+
+            double[] x = new double[dim + off];
+            for( int i = 0; i < x.length; i++ ) {
+                x[i] = rand.nextDouble() * 2.0 - 1.0;
+            }
+
+            double[] a = new double[dim * 2 + off];
+            float[] b = new float[dim * 2 + off];
+
+            new FastFourierTransform( dim ).applyReal( x, off, true, a, off );
+            new FastFourierTransformF( dim ).applyReal( TestUtil.toFloat( x ), off, true, b, off );
+            TestUtil.assertNear( b, off, a, off, dim * 2, 1e-6 );
+        }
+    }
+
+
+    @Test
+    public void testSpeed() {
+        Random rand = new Random( 0 );
+
+        for( int bits = 10; bits <= 20; bits += 5 ) {
+            final int len  = 1 << bits;
+            final int reps = Math.max( 4, ( 1 << 24 ) / len );
+
+            double[] x = new double[len * 2];
+            for( int i = 0; i < len * 2; i++ ) {
+                x[i] = rand.nextDouble() * 2.0 - 1.0;
+            }
+
+            float[] xf = TestUtil.toFloat( x );
+            double[] out = new double[len * 2];
+            float[] outf = new float[len * 2];
+
+            FastFourierTransform trans = new FastFourierTransform( len, FastFourierTransform.Kernel.AUTO );
+            FastFourierTransformF transf = new FastFourierTransformF( len );
+
+            for( int i = 0; i < reps / 4; i++ ) {
+                trans.applyComplex( x, 0, false, out, 0 );
+                transf.applyComplex( xf, 0, false, outf, 0 );
+            }
+
+            Timer.start();
+            for( int i = 0; i < reps; i++ ) {
+                trans.applyComplex( x, 0, false, out, 0 );
+            }
+            Timer.printSeconds( "FastFourierTransform (double) dim=2^" + bits + " time: " );
+
+            Timer.start();
+            for( int i = 0; i < reps; i++ ) {
+                transf.applyComplex( xf, 0, false, outf, 0 );
+            }
+            Timer.printSeconds( "FastFourierTransformF dim=2^" + bits + " time: " );
+        }
+    }
+
+
+    @Test
+    public void testStrided() {
+        Random rand = new Random( 11 );
+        final int xStride = 5;
+        final int outStride = 3;
+
+        for( int bits = 1; bits <= 12; bits++ ) {
+            final int dim = 1 << bits;
+            final FastFourierTransformF trans = new FastFourierTransformF( dim );
+            float[] x = new float[dim * xStride + 1];
+            for( int i = 0; i < x.length; i++ ) {
+                x[i] = rand.nextFloat() * 2.0f - 1.0f;
+            }
+
+            float[] packed = new float[dim * 2];
+            float[] a = new float[dim * 2];
+            float[] b = new float[dim * outStride + 2];
+
+            for( int k = 0; k < 2; k++ ) {
+                for( int i = 0; i < dim; i++ ) {
+                    packed[i * 2    ] = x[1 + i * xStride];
+                    packed[i * 2 + 1] = x[2 + i * xStride];
+                }
+                trans.applyComplex( packed, 0, k == 1, a, 0 );
+                trans.applyComplex( x, 1, xStride, k == 1, b, 2, outStride );
+                for( int i = 0; i < dim; i++ ) {
+                    assertEquals( a[i * 2    ], b[2 + i * outStride    ], 0.0 );
+                    assertEquals( a[i * 2 + 1], b[2 + i * outStride + 1], 0.0 );
+                }
+
+                // Same with a workspace, which holds the only work buffer.
+                Workspace ws = new Workspace();
+                float[] c = new float[b.length];
+                trans.applyComplex( x, 1, xStride, k == 1, c, 2, outStride, ws );
+                for( int i = 0; i < dim; i++ ) {
+                    assertEquals( a[i * 2    ], c[2 + i * outStride    ], 0.0 );
+                    assertEquals( a[i * 2 + 1], c[2 + i * outStride + 1], 0.0 );
+                }
+                assertEquals( dim * 2 * 4L, ws.sizeInBytes() );
+
+                // Packed output runs in place.
+                trans.applyComplex( x, 1, xStride, k == 1, b, 2, 2 );
+                for( int i = 0; i < dim * 2; i++ ) {
+                    assertEquals( a[i], b[2 + i], 0.0 );
+                }
+
+                for( int i = 0; i < dim; i++ ) {
+                    packed[i] = x[1 + i * xStride];
+                }
+                trans.applyReal( packed, 0, k == 1, a, 0 );
+                trans.applyReal( x, 1, xStride, k == 1, b, 2, outStride );
+                trans.applyReal( x, 1, xStride, k == 1, c, 2, outStride, ws );
+                for( int i = 0; i < dim; i++ ) {
+                    assertEquals( a[i * 2    ], b[2 + i * outStride    ], 0.0 );
+                    assertEquals( a[i * 2 + 1], b[2 + i * outStride + 1], 0.0 );
+                    assertEquals( a[i * 2    ], c[2 + i * outStride    ], 0.0 );
+                    assertEquals( a[i * 2 + 1], c[2 + i * outStride + 1], 0.0 );
+                }
+            }
+        }
+    }
+
+
+    @Test
+    public void testBuffer() {
+        Random rand = new Random( 14 );
+        final int xStride = 3;
+        final int outStride = 4;
+
+        for( int bits = 1; bits <= 12; bits++ ) {
+            final int dim = 1 << bits;
+            final FastFourierTransformF trans = new FastFourierTransformF( dim );
+            float[] x = new float[dim * xStride + 1];
+            for( int i = 0; i < x.length; i++ ) {
+                x[i] = rand.nextFloat() * 2.0f - 1.0f;
+            }
+
+            FloatBuffer xb = ByteBuffer.allocateDirect( x.length * 4 ).order( ByteOrder.LITTLE_ENDIAN ).asFloatBuffer();
+            xb.put( x ).flip();
+            FloatBuffer outb = ByteBuffer.allocateDirect( ( dim * outStride + 2 ) * 4 ).order( ByteOrder.LITTLE_ENDIAN ).asFloatBuffer();
+
+            float[] a = new float[dim * 2 + 2];
+            float[] b = new float[dim * 2 + 2];
+            Workspace ws = new Workspace();
+
+            // Heap view with nonzero array offset, for the in-place path.
+            FloatBuffer heap = FloatBuffer.wrap( new float[dim * 2 + 3] );
+            heap.position( 1 );
+            heap = heap.slice();
+
+            for( int k = 0; k < 2; k++ ) {
+                trans.applyComplex( x, 1, xStride, k == 1, a, 2, 2 );
+                trans.applyComplex( xb, 1, xStride, k == 1, b, 2 );
+                assertTrue( Arrays.equals( a, b ) );
+                trans.applyComplex( xb, 1, xStride, k == 1, outb, 2, outStride );
+                for( int i = 0; i < dim; i++ ) {
+                    assertEquals( a[2 + i * 2    ], outb.get( 2 + i * outStride     ), 0.0 );
+                    assertEquals( a[2 + i * 2 + 1], outb.get( 2 + i * outStride + 1 ), 0.0 );
+                }
+                trans.applyComplex( xb, 1, xStride, k == 1, outb, 2, outStride, ws );
+                for( int i = 0; i < dim; i++ ) {
+                    assertEquals( a[2 + i * 2    ], outb.get( 2 + i * outStride     ), 0.0 );
+                    assertEquals( a[2 + i * 2 + 1], outb.get( 2 + i * outStride + 1 ), 0.0 );
+                }
+                trans.applyComplex( xb, 1, xStride, k == 1, heap, 1, 2 );
+                for( int i = 0; i < dim * 2; i++ ) {
+                    assertEquals( a[2 + i], heap.get( 1 + i ), 0.0 );
+                }
+
+                trans.applyReal( x, 1, xStride, k == 1, a, 2, 2 );
+                trans.applyReal( xb, 1, xStride, k == 1, b, 2 );
+                assertTrue( Arrays.equals( a, b ) );
+                trans.applyReal( xb, 1, xStride, k == 1, outb, 2, outStride );
+                for( int i = 0; i < dim; i++ ) {
+                    assertEquals( a[2 + i * 2    ], outb.get( 2 + i * outStride     ), 0.0 );
+                    assertEquals( a[2 + i * 2 + 1], outb.get( 2 + i * outStride + 1 ), 0.0 );
+                }
+                trans.applyReal( xb, 1, xStride, k == 1, outb, 2, outStride, ws );
+                for( int i = 0; i < dim; i++ ) {
+                    assertEquals( a[2 + i * 2    ], outb.get( 2 + i * outStride     ), 0.0 );
+                    assertEquals( a[2 + i * 2 + 1], outb.get( 2 + i * outStride + 1 ), 0.0 );
+                }
+                trans.applyReal( xb, 1, xStride, k == 1, heap, 1, 2 );
+                for( int i = 0; i < dim * 2; i++ ) {
+                    assertEquals( a[2 + i], heap.get( 1 + i ), 0.0 );
+                }
+                assertEquals( 0, xb.position() );
+                assertEquals( dim * 2 * 4L, ws.sizeInBytes() );
+            }
+        }
+    }
+
+
+    @Test
+    public void testInPlace() {
+        final int off = 3;
+        Random rand = new Random( 82 );
+
+        for( int bits = 1; bits <= 16; bits++ ) {
+            final int dim = 1 << bits;
+            FastFourierTransformF trans = new FastFourierTransformF( dim );
+            float[] x = new float[dim * 2 + off];
+            for( int i = 0; i < x.length; i++ ) {
+                x[i] = rand.nextFloat() * 2.0f - 1.0f;
+            }
+
+            for( int k = 0; k < 2; k++ ) {
+                float[] a = x.clone();
+                float[] b = x.clone();
+                float[] c = x.clone();
+                trans.applyComplex( x, off, k == 1, a, off );
+                trans.applyComplex( b, off, k == 1 );
+                trans.applyComplex( c, off, k == 1, c, off );
+                assertTrue( Arrays.equals( a, b ) );
+                assertTrue( Arrays.equals( a, c ) );
+            }
+        }
+    }
+
+
+    @Test
+    public void testNormalization() {
+        final int off = 3;
+        Random rand = new Random( 92 );
+
+        for( int bits = 1; bits <= 16; bits++ ) {
+            final int dim = 1 << bits;
+            final float scale = 1.0f / dim;
+            FastFourierTransformF norm = new FastFourierTransformF( dim );
+            FastFourierTransformF none = new FastFourierTransformF( dim, FastFourierTransform.Normalization.NONE );
+            float[] x = new float[dim * 2 + off];
+            for( int i = 0; i < x.length; i++ ) {
+                x[i] = rand.nextFloat() * 2.0f - 1.0f;
+            }
+
+            float[] a = new float[dim * 2 + off];
+            float[] b = new float[dim * 2 + off];
+            norm.applyComplex( x, off, true, a, off );
+            none.applyComplex( x, off, true, b, off );
+            for( int i = off; i < b.length; i++ ) {
+                b[i] *= scale;
+            }
+            assertTrue( Arrays.equals( a, b ) );
+
+            norm.applyReal( x, off, true, a, off );
+            none.applyReal( x, off, true, b, off );
+            for( int i = off; i < b.length; i++ ) {
+                b[i] *= scale;
+            }
+            assertTrue( Arrays.equals( a, b ) );
+        }
+    }
+
+}
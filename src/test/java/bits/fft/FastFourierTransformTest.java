@@ -6,7 +6,14 @@
 package bits.fft;
 
 import org.junit.Test;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.util.Arrays;
 import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.*;
 
 
 public class FastFourierTransformTest {
@@ -272,4 +279,730 @@ public class FastFourierTransformTest {
         TestUtil.assertNear( OUTPUT_1_INV, 0, c, off, len );
     }
 
-}
\ No newline at end of file
+
+    @Test
+    public void testTwiddleTable() {
+        final int dim = DIM_0;
+        final int len = dim * 2;
+        final int off = 7;
+
+        double[] b = new double[len + off];
+        double[] c = new double[len + off];
+
+        FastFourierTransform trans = new FastFourierTransform( dim, FastFourierTransform.Twiddle.TABLE );
+        trans.applyComplex( INPUT_0, OFFSET_0, false, b, off );
+        trans.applyComplex( b, off, true, c, off );
+
+        TestUtil.assertNear( OUTPUT_0, 0, b, off, len );
+        TestUtil.assertNear( INPUT_0, OFFSET_0, c, off, len );
+
+        trans.applyReal( INPUT_1, OFFSET_1, false, b, off );
+        TestUtil.assertNear( OUTPUT_1, 0, b, off, len );
+        trans.applyReal( INPUT_1, OFFSET_1, true, c, off );
+        TestUtil.assertNear( OUTPUT_1_INV, 0, c, off, len );
+    }
+
+
+    @Test
+    public void testTwiddleSpeed() {
+        final int minBits = 6;
+        final int maxBits = 22;
+        final int work    = 1 << 23;
+
+        Random rand = new Random( 0 );
+        double[] x = new double[( 1 << maxBits ) * 2];
+        double[] out = new double[x.length];
+
+        for( int i = 0; i < x.length; i++ ) {
+            x[i] = rand.nextDouble() * 2.0 - 1.0;
+        }
+
+        for( int bits = minBits; bits <= maxBits; bits++ ) {
+            final int dim  = 1 << bits;
+            final int reps = Math.max( 1, work / dim );
+
+            FastFourierTransform rec = new FastFourierTransform( dim, FastFourierTransform.Twiddle.RECURRENCE );
+            FastFourierTransform tab = new FastFourierTransform( dim, FastFourierTransform.Twiddle.TABLE );
+
+            // Warm up.
+            for( int i = 0; i < 3; i++ ) {
+                rec.applyComplex( x, 0, false, out, 0 );
+                tab.applyComplex( x, 0, false, out, 0 );
+            }
+
+            long t0 = System.nanoTime();
+            for( int i = 0; i < reps; i++ ) {
+                rec.applyComplex( x, 0, false, out, 0 );
+            }
+            long t1 = System.nanoTime();
+            for( int i = 0; i < reps; i++ ) {
+                tab.applyComplex( x, 0, false, out, 0 );
+            }
+            long t2 = System.nanoTime();
+
+            System.out.println( String.format( "Twiddle dim=2^%-2d  recurrence: %8.1f ns/transform  table: %8.1f ns/transform",
+                                               bits,
+                                               ( t1 - t0 ) / (double)reps,
+                                               ( t2 - t1 ) / (double)reps ) );
+        }
+    }
+
+
+    @Test
+    public void testKernels() {
+        Random rand = new Random( 2 );
+
+        for( FastFourierTransform.Kernel kernel: FastFourierTransform.Kernel.values() ) {
+            for( int bits = 1; bits <= 12; bits++ ) {
+                final int dim = 1 << bits;
+                final int off = 5;
+                double[] x = new double[dim * 2 + off];
+                double[] a = new double[dim * 2 + off];
+                double[] b = new double[dim * 2 + off];
+                double[] c = new double[dim * 2 + off];
+
+                for( int i = 0; i < x.length; i++ ) {
+                    x[i] = rand.nextDouble() * 2.0 - 1.0;
+                }
+
+                FastFourierTransform ref = new FastFourierTransform( dim );
+                FastFourierTransform trans = new FastFourierTransform( dim, kernel );
+                ref.applyComplex( x, off, false, a, off );
+                trans.applyComplex( x, off, false, b, off );
+                TestUtil.assertNear( a, off, b, off, dim * 2 );
+
+                trans.applyComplex( b, off, true, c, off );
+                TestUtil.assertNear( x, off, c, off, dim * 2 );
+
+                ref.applyReal( x, off, false, a, off );
+                trans.applyReal( x, off, false, b, off );
+                TestUtil.assertNear( a, off, b, off, dim * 2 );
+            }
+        }
+    }
+
+
+    @Test
+    public void testKernelSpeed() {
+        final int work = 1 << 22;
+        Random rand = new Random( 0 );
+
+        for( int bits = 6; bits <= 20; bits += 2 ) {
+            final int dim  = 1 << bits;
+            final int reps = Math.max( 1, work / dim );
+
+            double[] x = new double[dim * 2];
+            double[] out = new double[dim * 2];
+            for( int i = 0; i < x.length; i++ ) {
+                x[i] = rand.nextDouble() * 2.0 - 1.0;
+            }
+
+            StringBuilder s = new StringBuilder( String.format( "Kernel dim=2^%-2d", bits ) );
+
+            for( FastFourierTransform.Kernel kernel: FastFourierTransform.Kernel.values() ) {
+                if( kernel == FastFourierTransform.Kernel.AUTO ) {
+                    continue;
+                }
+
+                FastFourierTransform trans = new FastFourierTransform( dim, kernel );
+                for( int i = 0; i < 3; i++ ) {
+                    trans.applyComplex( x, 0, false, out, 0 );
+                }
+
+                long t0 = System.nanoTime();
+                for( int i = 0; i < reps; i++ ) {
+                    trans.applyComplex( x, 0, false, out, 0 );
+                }
+                long t1 = System.nanoTime();
+
+                s.append( String.format( "  %s: %10.1f ns", kernel, ( t1 - t0 ) / (double)reps ) );
+            }
+
+            System.out.println( s );
+        }
+    }
+
+
+    @Test
+    public void testRealToComplex() {
+        final int off = 7;
+        double[] b = new double[DIM_1 + 2 + off];
+
+        FastFourierTransform trans = new FastFourierTransform( DIM_1 );
+        trans.applyRealToComplex( INPUT_1, OFFSET_1, b, off );
+        TestUtil.assertNear( OUTPUT_1, 0, b, off, DIM_1 + 2 );
+
+        Random rand = new Random( 3 );
+
+        for( FastFourierTransform.Kernel kernel: FastFourierTransform.Kernel.values() ) {
+            for( int bits = 1; bits <= 12; bits++ ) {
+                final int dim = 1 << bits;
+                double[] x = new double[dim + off];
+                double[] full = new double[dim * 2 + off];
+                double[] half = new double[dim + 2 + off];
+
+                for( int i = 0; i < x.length; i++ ) {
+                    x[i] = rand.nextDouble() * 2.0 - 1.0;
+                }
+
+                new FastFourierTransform( dim ).applyReal( x, off, false, full, off );
+                new FastFourierTransform( dim, kernel ).applyRealToComplex( x, off, half, off );
+                TestUtil.assertNear( full, off, half, off, dim + 2 );
+            }
+        }
+    }
+
+
+    @Test
+    public void testRealToComplexSpeed() {
+        final int dim = 4096;
+
+        double[] x = new double[dim];
+        double[] out = new double[dim * 2];
+        Random rand = new Random( 0 );
+
+        for( int i = 0; i < dim; i++ ) {
+            x[i] = rand.nextDouble() * 2.0 - 1.0;
+        }
+
+        FastFourierTransform trans = new FastFourierTransform( dim, FastFourierTransform.Kernel.AUTO );
+
+        for( int i = 0; i < 1000; i++ ) {
+            trans.applyReal( x, 0, false, out, 0 );
+            trans.applyRealToComplex( x, 0, out, 0 );
+        }
+
+        Timer.start();
+        for( int i = 0; i < 5000; i++ ) {
+            trans.applyReal( x, 0, false, out, 0 );
+        }
+        Timer.printSeconds( "FastFourierTransform applyReal time: " );
+
+        Timer.start();
+        for( int i = 0; i < 5000; i++ ) {
+            trans.applyRealToComplex( x, 0, out, 0 );
+        }
+        Timer.printSeconds( "FastFourierTransform applyRealToComplex time: " );
+    }
+
+
+    @Test
+    public void testComplexToReal() {
+        final int off = 7;
+        double[] c = new double[DIM_1 + off];
+
+        FastFourierTransform trans = new FastFourierTransform( DIM_1 );
+        trans.applyComplexToReal( OUTPUT_1, 0, c, off );
+        TestUtil.assertNear( INPUT_1, OFFSET_1, c, off, DIM_1 );
+
+        Random rand = new Random( 5 );
+
+        for( FastFourierTransform.Kernel kernel: FastFourierTransform.Kernel.values() ) {
+            for( int bits = 1; bits <= 12; bits++ ) {
+                final int dim = 1 << bits;
+                double[] x = new double[dim + off];
+                double[] half = new double[dim + 2 + off];
+                double[] y = new double[dim + off];
+
+                for( int i = 0; i < x.length; i++ ) {
+                    x[i] = rand.nextDouble() * 2.0 - 1.0;
+                }
+
+                trans = new FastFourierTransform( dim, kernel );
+                trans.applyRealToComplex( x, off, half, off );
+                trans.applyComplexToReal( half, off, y, off );
+                TestUtil.assertNear( x, off, y, off, dim );
+            }
+        }
+    }
+
+
+    @Test
+    public void testParallel() {
+        final int off = 3;
+        Random rand = new Random( 6 );
+        ForkJoinPool[] pools = { new ForkJoinPool( 2 ), new ForkJoinPool( 3 ), new ForkJoinPool( 8 ) };
+
+        try {
+            for( int bits = 15; bits <= 18; bits++ ) {
+                final int dim = 1 << bits;
+                double[] x = new double[dim * 2 + off];
+                for( int i = 0; i < x.length; i++ ) {
+                    x[i] = rand.nextDouble() * 2.0 - 1.0;
+                }
+
+                double[] a = new double[dim * 2 + off];
+                double[] b = new double[dim * 2 + off];
+
+                for( FastFourierTransform.Kernel kernel: FastFourierTransform.Kernel.values() ) {
+                    for( FastFourierTransform.Twiddle twiddle: FastFourierTransform.Twiddle.values() ) {
+                        FastFourierTransform trans = new FastFourierTransform( dim, kernel, twiddle );
+
+                        for( ForkJoinPool pool: pools ) {
+                            for( int k = 0; k < 2; k++ ) {
+                                trans.applyComplex( x, off, k == 1, a, off );
+                                trans.applyComplex( x, off, k == 1, b, off, pool );
+                                assertTrue( Arrays.equals( a, b ) );
+
+                                trans.applyReal( x, off, k == 1, a, off );
+                                trans.applyReal( x, off, k == 1, b, off, pool );
+                                assertTrue( Arrays.equals( a, b ) );
+                            }
+                        }
+                    }
+                }
+            }
+        } finally {
+            for( ForkJoinPool pool: pools ) {
+                pool.shutdown();
+            }
+        }
+    }
+
+
+    @Test
+    public void testParallelSpeed() {
+        final int dim = 1 << 22;
+        Random rand = new Random( 0 );
+        double[] x = new double[dim * 2];
+        double[] out = new double[dim * 2];
+        for( int i = 0; i < x.length; i++ ) {
+            x[i] = rand.nextDouble() * 2.0 - 1.0;
+        }
+
+        FastFourierTransform trans = new FastFourierTransform( dim, FastFourierTransform.Kernel.AUTO );
+        ForkJoinPool pool = new ForkJoinPool();
+
+        try {
+            for( int i = 0; i < 3; i++ ) {
+                trans.applyComplex( x, 0, false, out, 0 );
+                trans.applyComplex( x, 0, false, out, 0, pool );
+            }
+
+            Timer.start();
+            for( int i = 0; i < 10; i++ ) {
+                trans.applyComplex( x, 0, false, out, 0 );
+            }
+            Timer.printSeconds( "FastFourierTransform dim=2^22 serial time: " );
+
+            Timer.start();
+            for( int i = 0; i < 10; i++ ) {
+                trans.applyComplex( x, 0, false, out, 0, pool );
+            }
+            Timer.printSeconds( "FastFourierTransform dim=2^22 parallel (" + pool.getParallelism() + " threads) time: " );
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+
+    @Test
+    public void testBatch() {
+        Random rand = new Random( 7 );
+        final int[] counts = { 1, 5, 16, 37 };
+        final Workspace ws = new Workspace();
+
+        for( int bits = 1; bits <= 12; bits++ ) {
+            final int dim = 1 << bits;
+            final FastFourierTransform trans = new FastFourierTransform( dim, FastFourierTransform.Kernel.RADIX4 );
+
+            for( int count: counts ) {
+                final int xStride = dim * 2 + 3;
+                final int outStride = dim * 2 + 5;
+                double[] x = new double[xStride * count + 1];
+                for( int i = 0; i < x.length; i++ ) {
+                    x[i] = rand.nextDouble() * 2.0 - 1.0;
+                }
+
+                double[] a = new double[outStride * count + 2];
+                double[] b = new double[outStride * count + 2];
+
+                for( int k = 0; k < 2; k++ ) {
+                    for( int v = 0; v < count; v++ ) {
+                        trans.applyComplex( x, 1 + v * xStride, k == 1, a, 2 + v * outStride );
+                    }
+                    trans.applyComplexBatch( x, 1, xStride, k == 1, b, 2, outStride, count );
+                    assertTrue( Arrays.equals( a, b ) );
+                    trans.applyComplexBatch( x, 1, xStride, k == 1, b, 2, outStride, count, ws );
+                    assertTrue( Arrays.equals( a, b ) );
+
+                    for( int v = 0; v < count; v++ ) {
+                        trans.applyReal( x, 1 + v * xStride, k == 1, a, 2 + v * outStride );
+                    }
+                    trans.applyRealBatch( x, 1, xStride, k == 1, b, 2, outStride, count );
+                    assertTrue( Arrays.equals( a, b ) );
+                    trans.applyRealBatch( x, 1, xStride, k == 1, b, 2, outStride, count, ws );
+                    assertTrue( Arrays.equals( a, b ) );
+                }
+            }
+        }
+    }
+
+
+    @Test
+    public void testSplit() {
+        Random rand = new Random( 8 );
+
+        for( int bits = 1; bits <= 14; bits++ ) {
+            final int dim = 1 << bits;
+            final FastFourierTransform trans = new FastFourierTransform( dim, FastFourierTransform.Kernel.RADIX4 );
+            double[] x  = new double[dim * 2];
+            double[] re = new double[dim + 1];
+            double[] im = new double[dim + 2];
+            for( int i = 0; i < dim; i++ ) {
+                x[i * 2    ] = re[i + 1] = rand.nextDouble() * 2.0 - 1.0;
+                x[i * 2 + 1] = im[i + 2] = rand.nextDouble() * 2.0 - 1.0;
+            }
+
+            double[] a = new double[dim * 2];
+            double[] outRe = new double[dim + 3];
+            double[] outIm = new double[dim + 4];
+
+            for( int k = 0; k < 2; k++ ) {
+                trans.applyComplex( x, 0, k == 1, a, 0 );
+                trans.applyComplexSplit( re, 1, im, 2, k == 1, outRe, 3, outIm, 4 );
+                for( int i = 0; i < dim; i++ ) {
+                    assertEquals( a[i * 2    ], outRe[i + 3], 0.0 );
+                    assertEquals( a[i * 2 + 1], outIm[i + 4], 0.0 );
+                }
+            }
+        }
+    }
+
+
+    @Test
+    public void testSplitSpeed() {
+        final int dim   = 1024;
+        final int count = 10000;
+        Random rand = new Random( 0 );
+        double[] re = new double[dim];
+        double[] im = new double[dim];
+        double[] x  = new double[dim * 2];
+        double[] out = new double[dim * 2];
+        for( int i = 0; i < dim; i++ ) {
+            re[i] = rand.nextDouble() * 2.0 - 1.0;
+            im[i] = rand.nextDouble() * 2.0 - 1.0;
+        }
+
+        FastFourierTransform trans = new FastFourierTransform( dim, FastFourierTransform.Kernel.RADIX4 );
+        for( int k = 0; k < 2; k++ ) {
+            Timer.start();
+            for( int v = 0; v < count; v++ ) {
+                for( int i = 0; i < dim; i++ ) {
+                    x[i * 2    ] = re[i];
+                    x[i * 2 + 1] = im[i];
+                }
+                trans.applyComplex( x, 0, false, out, 0 );
+                for( int i = 0; i < dim; i++ ) {
+                    re[i] = out[i * 2    ] * 1e-3;
+                    im[i] = out[i * 2 + 1] * 1e-3;
+                }
+            }
+            Timer.printSeconds( "FastFourierTransform 10000 x 1024 interleaved copy time: " );
+
+            Timer.start();
+            for( int v = 0; v < count; v++ ) {
+                trans.applyComplexSplit( re, 0, im, 0, false, out, 0, out, dim );
+                for( int i = 0; i < dim; i++ ) {
+                    re[i] = out[i      ] * 1e-3;
+                    im[i] = out[i + dim] * 1e-3;
+                }
+            }
+            Timer.printSeconds( "FastFourierTransform 10000 x 1024 split time: " );
+        }
+    }
+
+
+    @Test
+    public void testBatchSpeed() {
+        final int dim   = 1024;
+        final int count = 10000;
+        Random rand = new Random( 0 );
+        double[] x = new double[dim * 2 * count];
+        double[] out = new double[x.length];
+        for( int i = 0; i < x.length; i++ ) {
+            x[i] = rand.nextDouble() * 2.0 - 1.0;
+        }
+
+        FastFourierTransform trans = new FastFourierTransform( dim, FastFourierTransform.Kernel.AUTO );
+        for( int i = 0; i < 3; i++ ) {
+            for( int v = 0; v < count; v++ ) {
+                trans.applyComplex( x, v * dim * 2, false, out, v * dim * 2 );
+            }
+            trans.applyComplexBatch( x, 0, dim * 2, false, out, 0, dim * 2, count );
+        }
+
+        Timer.start();
+        for( int i = 0; i < 5; i++ ) {
+            for( int v = 0; v < count; v++ ) {
+                trans.applyComplex( x, v * dim * 2, false, out, v * dim * 2 );
+            }
+        }
+        Timer.printSeconds( "FastFourierTransform 5 x 10000 x 1024 single time: " );
+
+        Timer.start();
+        for( int i = 0; i < 5; i++ ) {
+            trans.applyComplexBatch( x, 0, dim * 2, false, out, 0, dim * 2, count );
+        }
+        Timer.printSeconds( "FastFourierTransform 5 x 10000 x 1024 batch time: " );
+    }
+
+
+    @Test
+    public void testStrided() {
+        Random rand = new Random( 9 );
+        final int xStride = 5;
+        final int outStride = 3;
+
+        for( int bits = 1; bits <= 12; bits++ ) {
+            final int dim = 1 << bits;
+            final FastFourierTransform trans = new FastFourierTransform( dim );
+            double[] x = new double[dim * xStride + 1];
+            for( int i = 0; i < x.length; i++ ) {
+                x[i] = rand.nextDouble() * 2.0 - 1.0;
+            }
+
+            double[] packed = new double[dim * 2];
+            double[] a = new double[dim * 2];
+            double[] b = new double[dim * outStride + 2];
+
+            for( int k = 0; k < 2; k++ ) {
+                for( int i = 0; i < dim; i++ ) {
+                    packed[i * 2    ] = x[1 + i * xStride];
+                    packed[i * 2 + 1] = x[2 + i * xStride];
+                }
+                trans.applyComplex( packed, 0, k == 1, a, 0 );
+                trans.applyComplex( x, 1, xStride, k == 1, b, 2, outStride );
+                for( int i = 0; i < dim; i++ ) {
+                    assertEquals( a[i * 2    ], b[2 + i * outStride    ], 0.0 );
+                    assertEquals( a[i * 2 + 1], b[2 + i * outStride + 1], 0.0 );
+                }
+
+                // Same with a workspace, which holds the only work buffer.
+                Workspace ws = new Workspace();
+                double[] c = new double[b.length];
+                trans.applyComplex( x, 1, xStride, k == 1, c, 2, outStride, ws );
+                for( int i = 0; i < dim; i++ ) {
+                    assertEquals( a[i * 2    ], c[2 + i * outStride    ], 0.0 );
+                    assertEquals( a[i * 2 + 1], c[2 + i * outStride + 1], 0.0 );
+                }
+                assertEquals( dim * 2 * 8L, ws.sizeInBytes() );
+
+                // Packed output runs in place.
+                trans.applyComplex( x, 1, xStride, k == 1, b, 2, 2 );
+                for( int i = 0; i < dim * 2; i++ ) {
+                    assertEquals( a[i], b[2 + i], 0.0 );
+                }
+
+                for( int i = 0; i < dim; i++ ) {
+                    packed[i] = x[1 + i * xStride];
+                }
+                trans.applyReal( packed, 0, k == 1, a, 0 );
+                trans.applyReal( x, 1, xStride, k == 1, b, 2, outStride );
+                trans.applyReal( x, 1, xStride, k == 1, c, 2, outStride, ws );
+                for( int i = 0; i < dim; i++ ) {
+                    assertEquals( a[i * 2    ], b[2 + i * outStride    ], 0.0 );
+                    assertEquals( a[i * 2 + 1], b[2 + i * outStride + 1], 0.0 );
+                    assertEquals( a[i * 2    ], c[2 + i * outStride    ], 0.0 );
+                    assertEquals( a[i * 2 + 1], c[2 + i * outStride + 1], 0.0 );
+                }
+            }
+        }
+    }
+
+
+    @Test
+    public void testBuffer() {
+        Random rand = new Random( 10 );
+        final int xStride = 3;
+        final int outStride = 4;
+
+        for( int bits = 1; bits <= 12; bits++ ) {
+            final int dim = 1 << bits;
+            final FastFourierTransform trans = new FastFourierTransform( dim );
+            double[] x = new double[dim * xStride + 1];
+            for( int i = 0; i < x.length; i++ ) {
+                x[i] = rand.nextDouble() * 2.0 - 1.0;
+            }
+
+            DoubleBuffer xb = ByteBuffer.allocateDirect( x.length * 8 ).order( ByteOrder.LITTLE_ENDIAN ).asDoubleBuffer();
+            xb.put( x ).flip();
+            DoubleBuffer outb = ByteBuffer.allocateDirect( ( dim * outStride + 2 ) * 8 ).order( ByteOrder.LITTLE_ENDIAN ).asDoubleBuffer();
+
+            double[] a = new double[dim * 2 + 2];
+            double[] b = new double[dim * 2 + 2];
+            Workspace ws = new Workspace();
+
+            // Heap view with nonzero array offset, for the in-place path.
+            DoubleBuffer heap = DoubleBuffer.wrap( new double[dim * 2 + 3] );
+            heap.position( 1 );
+            heap = heap.slice();
+
+            for( int k = 0; k < 2; k++ ) {
+                trans.applyComplex( x, 1, xStride, k == 1, a, 2, 2 );
+                trans.applyComplex( xb, 1, xStride, k == 1, b, 2 );
+                assertTrue( Arrays.equals( a, b ) );
+                trans.applyComplex( xb, 1, xStride, k == 1, outb, 2, outStride );
+                for( int i = 0; i < dim; i++ ) {
+                    assertEquals( a[2 + i * 2    ], outb.get( 2 + i * outStride     ), 0.0 );
+                    assertEquals( a[2 + i * 2 + 1], outb.get( 2 + i * outStride + 1 ), 0.0 );
+                }
+                trans.applyComplex( xb, 1, xStride, k == 1, outb, 2, outStride, ws );
+                for( int i = 0; i < dim; i++ ) {
+                    assertEquals( a[2 + i * 2    ], outb.get( 2 + i * outStride     ), 0.0 );
+                    assertEquals( a[2 + i * 2 + 1], outb.get( 2 + i * outStride + 1 ), 0.0 );
+                }
+                trans.applyComplex( xb, 1, xStride, k == 1, heap, 1, 2 );
+                for( int i = 0; i < dim * 2; i++ ) {
+                    assertEquals( a[2 + i], heap.get( 1 + i ), 0.0 );
+                }
+
+                trans.applyReal( x, 1, xStride, k == 1, a, 2, 2 );
+                trans.applyReal( xb, 1, xStride, k == 1, b, 2 );
+                assertTrue( Arrays.equals( a, b ) );
+                trans.applyReal( xb, 1, xStride, k == 1, outb, 2, outStride );
+                for( int i = 0; i < dim; i++ ) {
+                    assertEquals( a[2 + i * 2    ], outb.get( 2 + i * outStride     ), 0.0 );
+                    assertEquals( a[2 + i * 2 + 1], outb.get( 2 + i * outStride + 1 ), 0.0 );
+                }
+                trans.applyReal( xb, 1, xStride, k == 1, outb, 2, outStride, ws );
+                for( int i = 0; i < dim; i++ ) {
+                    assertEquals( a[2 + i * 2    ], outb.get( 2 + i * outStride     ), 0.0 );
+                    assertEquals( a[2 + i * 2 + 1], outb.get( 2 + i * outStride + 1 ), 0.0 );
+                }
+                trans.applyReal( xb, 1, xStride, k == 1, heap, 1, 2 );
+                for( int i = 0; i < dim * 2; i++ ) {
+                    assertEquals( a[2 + i], heap.get( 1 + i ), 0.0 );
+                }
+                assertEquals( 0, xb.position() );
+                assertEquals( dim * 2 * 8L, ws.sizeInBytes() );
+            }
+        }
+    }
+
+
+    @Test
+    public void testInPlace() {
+        final int off = 3;
+        Random rand = new Random( 81 );
+
+        for( int bits = 1; bits <= 16; bits++ ) {
+            final int dim = 1 << bits;
+            double[] x = new double[dim * 2 + off];
+            for( int i = 0; i < x.length; i++ ) {
+                x[i] = rand.nextDouble() * 2.0 - 1.0;
+            }
+
+            for( FastFourierTransform.Kernel kernel: FastFourierTransform.Kernel.values() ) {
+                FastFourierTransform trans = new FastFourierTransform( dim, kernel );
+                for( int k = 0; k < 2; k++ ) {
+                    double[] a = x.clone();
+                    double[] b = x.clone();
+                    double[] c = x.clone();
+                    trans.applyComplex( x, off, k == 1, a, off );
+                    trans.applyComplex( b, off, k == 1 );
+                    trans.applyComplex( c, off, k == 1, c, off );
+                    assertTrue( Arrays.equals( a, b ) );
+                    assertTrue( Arrays.equals( a, c ) );
+                }
+            }
+        }
+    }
+
+
+    @Test
+    public void testNormalization() {
+        final int off = 3;
+        Random rand = new Random( 91 );
+
+        for( int bits = 1; bits <= 16; bits++ ) {
+            final int dim = 1 << bits;
+            final double scale = 1.0 / dim;
+            double[] x = new double[dim * 2 + off];
+            for( int i = 0; i < x.length; i++ ) {
+                x[i] = rand.nextDouble() * 2.0 - 1.0;
+            }
+
+            for( FastFourierTransform.Kernel kernel: FastFourierTransform.Kernel.values() ) {
+                for( FastFourierTransform.Twiddle twiddle: FastFourierTransform.Twiddle.values() ) {
+                    FastFourierTransform norm = new FastFourierTransform( dim, kernel, twiddle );
+                    FastFourierTransform none = new FastFourierTransform( dim, kernel, twiddle,
+                                                                          FastFourierTransform.Shuffle.AUTO,
+                                                                          FastFourierTransform.Normalization.NONE );
+                    assertSame( FastFourierTransform.Normalization.NONE, none.normalization() );
+
+                    // Scale is a power of two, so fused scaling is exact.
+                    double[] a = new double[dim * 2 + off];
+                    double[] b = new double[dim * 2 + off];
+                    norm.applyComplex( x, off, true, a, off );
+                    none.applyComplex( x, off, true, b, off );
+                    for( int i = off; i < b.length; i++ ) {
+                        b[i] *= scale;
+                    }
+                    assertTrue( Arrays.equals( a, b ) );
+
+                    norm.applyReal( x, off, true, a, off );
+                    none.applyReal( x, off, true, b, off );
+                    for( int i = off; i < b.length; i++ ) {
+                        b[i] *= scale;
+                    }
+                    assertTrue( Arrays.equals( a, b ) );
+
+                    none.applyComplex( x, off, false, a, off );
+                    norm.applyComplex( x, off, false, b, off );
+                    assertTrue( Arrays.equals( a, b ) );
+                }
+            }
+        }
+    }
+
+
+    @Test
+    public void testNormalizationSpeed() {
+        for( int bits = 10; bits <= 20; bits += 2 ) {
+            final int dim  = 1 << bits;
+            final int reps = Math.max( 4, ( 1 << 24 ) / dim );
+            double[] x = new double[dim * 2];
+            double[] a = new double[dim * 2];
+            Random rand = new Random( 0 );
+            for( int i = 0; i < x.length; i++ ) {
+                x[i] = rand.nextDouble() * 2.0 - 1.0;
+            }
+
+            FastFourierTransform norm = new FastFourierTransform( dim, FastFourierTransform.Kernel.RADIX4 );
+            FastFourierTransform none = new FastFourierTransform( dim, FastFourierTransform.Kernel.RADIX4,
+                                                                  FastFourierTransform.Twiddle.TABLE,
+                                                                  FastFourierTransform.Shuffle.AUTO,
+                                                                  FastFourierTransform.Normalization.NONE );
+            for( int i = 0; i < reps; i++ ) {
+                norm.applyComplex( x, 0, true, a, 0 );
+                none.applyComplex( x, 0, true, a, 0 );
+            }
+
+            // Separate pass, as before scaling was fused.
+            long t0 = System.nanoTime();
+            for( int i = 0; i < reps; i++ ) {
+                none.applyComplex( x, 0, true, a, 0 );
+                for( int j = 0; j < a.length; j++ ) {
+                    a[j] *= 1.0 / dim;
+                }
+            }
+            long t1 = System.nanoTime();
+            for( int i = 0; i < reps; i++ ) {
+                norm.applyComplex( x, 0, true, a, 0 );
+            }
+            long t2 = System.nanoTime();
+            for( int i = 0; i < reps; i++ ) {
+                none.applyComplex( x, 0, true, a, 0 );
+            }
+            long t3 = System.nanoTime();
+
+            System.out.println( String.format( "FastFourierTransform inverse bits=%-2d  separate: %8.1f  fused: %8.1f  none: %8.1f us",
+                                               bits,
+                                               ( t1 - t0 ) / 1e3 / reps,
+                                               ( t2 - t1 ) / 1e3 / reps,
+                                               ( t3 - t2 ) / 1e3 / reps ) );
+        }
+    }
+
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2014, Massachusetts Institute of Technology
+ * Released under the BSD 2-Clause License
+ * http://opensource.org/licenses/BSD-2-Clause
+ */
+package bits.fft;
+
+import org.junit.Test;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+
+public class FftPlannerTest {
+
+    @Test
+    public void testEstimate() {
+        FftPlanner.forgetWisdom();
+        FftPlanner.Plan plan = FftPlanner.plan( FftPlanner.Kind.COMPLEX, 1024, FftPlanner.ESTIMATE );
+        assertEquals( 1024, plan.dim() );
+        assertNotSame( FastFourierTransform.Kernel.AUTO, plan.kernel() );
+        assertSame( plan, FftPlanner.plan( FftPlanner.Kind.COMPLEX, 1024, FftPlanner.MEASURE ) );
+        assertNull( FftPlanner.plan( FftPlanner.Kind.REAL, 1024, FftPlanner.WISDOM_ONLY ) );
+    }
+
+
+    @Test
+    public void testFlags() {
+        FftPlanner.forgetWisdom();
+        final int[] bad = { FftPlanner.ESTIMATE | FftPlanner.PATIENT,
+                            FftPlanner.ESTIMATE | FftPlanner.PATIENT | FftPlanner.WISDOM_ONLY,
+                            8,
+                            -1 };
+        for( int flags: bad ) {
+            try {
+                FftPlanner.plan( FftPlanner.Kind.COMPLEX, 64, flags );
+                fail();
+            } catch( IllegalArgumentException expected ) {}
+        }
+        assertNull( FftPlanner.plan( FftPlanner.Kind.COMPLEX, 64, FftPlanner.ESTIMATE | FftPlanner.WISDOM_ONLY ) );
+        assertNotNull( FftPlanner.plan( FftPlanner.Kind.COMPLEX, 64, FftPlanner.ESTIMATE ) );
+    }
+
+
+    @Test
+    public void testMeasure() {
+        FftPlanner.forgetWisdom();
+        Random rand = new Random( 81 );
+
+        for( int bits = 1; bits <= 14; bits++ ) {
+            final int dim = 1 << bits;
+            double[] x = new double[dim * 2];
+            for( int i = 0; i < x.length; i++ ) {
+                x[i] = rand.nextDouble() * 2.0 - 1.0;
+            }
+            FastFourierTransform ref = new FastFourierTransform( dim, FastFourierTransform.Kernel.RADIX4 );
+            double[] a = new double[dim * 2];
+            double[] b = new double[dim * 2];
+
+            for( FftPlanner.Kind kind : FftPlanner.Kind.values() ) {
+                int flags = bits % 2 == 0 ? FftPlanner.MEASURE : FftPlanner.PATIENT;
+                FftPlanner.Plan plan = FftPlanner.plan( kind, dim, flags );
+                assertSame( kind, plan.kind() );
+                for( int k = 0; k < 2; k++ ) {
+                    if( kind == FftPlanner.Kind.COMPLEX ) {
+                        ref.applyComplex( x, 0, k == 1, a, 0 );
+                    } else {
+                        ref.applyReal( x, 0, k == 1, a, 0 );
+                    }
+                    plan.apply( x, 0, k == 1, b, 0 );
+                    TestUtil.assertNear( a, 0, b, 0, dim * 2, 1e-10 );
+                }
+            }
+        }
+    }
+
+
+    @Test
+    public void testShuffle() {
+        Random rand = new Random( 82 );
+        final int dim = 1 << 13;
+        double[] x = new double[dim * 2];
+        for( int i = 0; i < x.length; i++ ) {
+            x[i] = rand.nextDouble();
+        }
+        double[] a = new double[dim * 2];
+        double[] b = new double[dim * 2];
+        new FastFourierTransform( dim, FastFourierTransform.Kernel.RADIX4 ).applyComplex( x, 0, false, a, 0 );
+
+        for( FastFourierTransform.Shuffle s : FastFourierTransform.Shuffle.values() ) {
+            new FastFourierTransform( dim, FastFourierTransform.Kernel.RADIX4, FastFourierTransform.Twiddle.TABLE, s )
+                    .applyComplex( x, 0, false, b, 0 );
+            assertTrue( Arrays.equals( a, b ) );
+        }
+    }
+
+
+    @Test
+    public void testWisdom() throws IOException {
+        FftPlanner.forgetWisdom();
+        FftPlanner.Plan p0 = FftPlanner.plan( FftPlanner.Kind.COMPLEX, 4096, FftPlanner.MEASURE );
+        FftPlanner.Plan p1 = FftPlanner.plan( FftPlanner.Kind.REAL, 256, FftPlanner.MEASURE );
+
+        File file = File.createTempFile( "wisdom", ".txt" );
+        try {
+            FftPlanner.exportWisdom( file );
+            FftPlanner.forgetWisdom();
+            assertNull( FftPlanner.plan( FftPlanner.Kind.COMPLEX, 4096, FftPlanner.WISDOM_ONLY ) );
+
+            FftPlanner.importWisdom( file );
+            FftPlanner.Plan q0 = FftPlanner.plan( FftPlanner.Kind.COMPLEX, 4096, FftPlanner.WISDOM_ONLY );
+            FftPlanner.Plan q1 = FftPlanner.plan( FftPlanner.Kind.REAL, 256, FftPlanner.WISDOM_ONLY );
+            assertEquals( p0.toString(), q0.toString() );
+            assertEquals( p1.toString(), q1.toString() );
+        } finally {
+            file.delete();
+        }
+    }
+
+
+    @Test
+    public void testMalformedWisdom() throws IOException {
+        FftPlanner.forgetWisdom();
+        File file = File.createTempFile( "wisdom", ".txt" );
+        try {
+            FileWriter out = new FileWriter( file );
+            out.write( "COMPLEX 64 RADIX4 TABLE TABLE\nCOMPLEX 100 RADIX4 TABLE TABLE\n" );
+            out.close();
+
+            try {
+                FftPlanner.importWisdom( file );
+                fail();
+            } catch( IOException expected ) {}
+
+            assertNull( FftPlanner.plan( FftPlanner.Kind.COMPLEX, 64, FftPlanner.WISDOM_ONLY ) );
+        } finally {
+            file.delete();
+        }
+    }
+
+
+    @Test
+    public void testSpeed() {
+        FftPlanner.forgetWisdom();
+        for( int bits = 8; bits <= 20; bits += 2 ) {
+            final int dim = 1 << bits;
+            long t0 = System.nanoTime();
+            FftPlanner.Plan plan = FftPlanner.plan( FftPlanner.Kind.COMPLEX, dim, FftPlanner.MEASURE );
+            long t1 = System.nanoTime();
+            System.out.println( String.format( "FftPlanner bits=%-2d  planned in %7.2f ms: %s", bits, ( t1 - t0 ) / 1e6, plan ) );
+        }
+    }
+
+}
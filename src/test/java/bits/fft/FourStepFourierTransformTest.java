@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2014, Massachusetts Institute of Technology
+ * Released under the BSD 2-Clause License
+ * http://opensource.org/licenses/BSD-2-Clause
+ */
+package bits.fft;
+
+import org.junit.Test;
+import java.util.Random;
+
+
+public class FourStepFourierTransformTest {
+
+    @Test
+    public void testComplex() {
+        final int off = 3;
+        Random rand = new Random( 41 );
+
+        for( int bits = 1; bits <= 16; bits++ ) {
+            final int dim = 1 << bits;
+            double[] x = new double[dim * 2 + off];
+            for( int i = 0; i < x.length; i++ ) {
+                x[i] = rand.nextDouble() * 2.0 - 1.0;
+            }
+
+            double[] a = new double[dim * 2 + off];
+            double[] b = new double[dim * 2 + off];
+            double[] c = new double[dim * 2 + off];
+
+            FourStepFourierTransform trans = new FourStepFourierTransform( dim );
+            FastFourierTransform ref = new FastFourierTransform( dim, FastFourierTransform.Kernel.RADIX4 );
+
+            trans.applyComplex( x, off, false, b, off );
+            ref.applyComplex( x, off, false, a, off );
+            TestUtil.assertNear( a, off, b, off, dim * 2, 1e-9 );
+
+            trans.applyComplex( b, off, true, c, off );
+            TestUtil.assertNear( x, off, c, off, dim * 2, 1e-12 );
+        }
+    }
+
+
+    @Test
+    public void testReal() {
+        final int off = 3;
+        Random rand = new Random( 42 );
+
+        for( int bits = 1; bits <= 14; bits++ ) {
+            final int dim = 1 << bits;
+            double[] x = new double[dim + off];
+            for( int i = 0; i < x.length; i++ ) {
+                x[i] = rand.nextDouble() * 2.0 - 1.0;
+            }
+
+            double[] a = new double[dim * 2 + off];
+            double[] b = new double[dim * 2 + off];
+
+            FourStepFourierTransform trans = new FourStepFourierTransform( dim );
+            FastFourierTransform ref = new FastFourierTransform( dim, FastFourierTransform.Kernel.RADIX4 );
+
+            for( int k = 0; k < 2; k++ ) {
+                trans.applyReal( x, off, k == 1, b, off );
+                ref.applyReal( x, off, k == 1, a, off );
+                TestUtil.assertNear( a, off, b, off, dim * 2, 1e-10 );
+            }
+        }
+    }
+
+
+    @Test
+    public void testSpeed() {
+        final int minBits = 16;
+        final int maxBits = 24;
+
+        Random rand = new Random( 0 );
+        double[] x = new double[( 1 << maxBits ) * 2];
+        double[] out = new double[x.length];
+
+        for( int i = 0; i < x.length; i++ ) {
+            x[i] = rand.nextDouble() * 2.0 - 1.0;
+        }
+
+        for( int bits = minBits; bits <= maxBits; bits += 2 ) {
+            final int dim  = 1 << bits;
+            final int reps = Math.max( 2, ( 1 << 22 ) / dim );
+
+            FastFourierTransform rev = new FastFourierTransform( dim, FastFourierTransform.Kernel.RADIX4 );
+            FourStepFourierTransform four = new FourStepFourierTransform( dim );
+
+            rev.applyComplex( x, 0, false, out, 0 );
+            four.applyComplex( x, 0, false, out, 0 );
+
+            long t0 = System.nanoTime();
+            for( int i = 0; i < reps; i++ ) {
+                rev.applyComplex( x, 0, false, out, 0 );
+            }
+            long t1 = System.nanoTime();
+            for( int i = 0; i < reps; i++ ) {
+                four.applyComplex( x, 0, false, out, 0 );
+            }
+            long t2 = System.nanoTime();
+
+            System.out.println( String.format( "FourStep dim=2^%-2d  radix-4: %8.2f ms/transform  four-step: %8.2f ms/transform",
+                                               bits,
+                                               ( t1 - t0 ) / 1e6 / reps,
+                                               ( t2 - t1 ) / 1e6 / reps ) );
+        }
+    }
+
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2014, Massachusetts Institute of Technology
+ * Released under the BSD 2-Clause License
+ * http://opensource.org/licenses/BSD-2-Clause
+ */
+package bits.fft;
+
+import org.junit.Test;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+
+public class MixedRadixFourierTransformTest {
+
+    private static final int[] DIMS = { 1, 2, 3, 4, 5, 6, 7, 8, 9, 12, 14, 15, 21, 25, 27, 35, 45, 49, 60, 64,
+                                        100, 105, 120, 210, 243, 343, 360, 384, 480, 1000, 1080, 1920 };
+
+
+    @Test
+    public void testSupported() {
+        assertTrue( MixedRadixFourierTransform.isSupported( 1 ) );
+        assertTrue( MixedRadixFourierTransform.isSupported( 3000 ) );
+        assertTrue( MixedRadixFourierTransform.isSupported( 1920 ) );
+        assertFalse( MixedRadixFourierTransform.isSupported( 0 ) );
+        assertFalse( MixedRadixFourierTransform.isSupported( 11 ) );
+        assertFalse( MixedRadixFourierTransform.isSupported( 2 * 13 ) );
+
+        try {
+            new MixedRadixFourierTransform( 22 );
+            fail();
+        } catch( IllegalArgumentException ignored ) {}
+    }
+
+
+    @Test
+    public void testComplex() {
+        final int off = 3;
+        Random rand = new Random( 12 );
+
+        for( int dim: DIMS ) {
+            double[] x = new double[dim * 2 + off];
+            for( int i = 0; i < x.length; i++ ) {
+                x[i] = rand.nextDouble() * 2.0 - 1.0;
+            }
+
+            double[] b = new double[dim * 2 + off];
+            double[] c = new double[dim * 2 + off];
+
+            MixedRadixFourierTransform trans = new MixedRadixFourierTransform( dim );
+            trans.applyComplex( x, off, false, b, off );
+            TestUtil.assertNear( TestUtil.dft( x, off, dim, false ), 0, b, off, dim * 2, 1e-9 );
+
+            trans.applyComplex( b, off, true, c, off );
+            TestUtil.assertNear( x, off, c, off, dim * 2, 1e-12 );
+        }
+    }
+
+
+    @Test
+    public void testReal() {
+        final int off = 3;
+        Random rand = new Random( 13 );
+
+        for( int dim: DIMS ) {
+            double[] x = new double[dim + off];
+            double[] xc = new double[dim * 2];
+            for( int i = 0; i < dim; i++ ) {
+                x[i + off] = rand.nextDouble() * 2.0 - 1.0;
+                xc[i * 2] = x[i + off];
+            }
+
+            double[] b = new double[dim * 2 + off];
+            MixedRadixFourierTransform trans = new MixedRadixFourierTransform( dim );
+
+            trans.applyReal( x, off, false, b, off );
+            TestUtil.assertNear( TestUtil.dft( xc, 0, dim, false ), 0, b, off, dim * 2, 1e-9 );
+            trans.applyReal( x, off, true, b, off );
+            TestUtil.assertNear( TestUtil.dft( xc, 0, dim, true ), 0, b, off, dim * 2, 1e-12 );
+        }
+    }
+
+
+    @Test
+    public void testSpeed() {
+        final int dim = 3000;
+        final int padded = 4096;
+
+        double[] x = new double[padded * 2];
+        double[] out = new double[padded * 2];
+        Random rand = new Random( 0 );
+
+        for( int i = 0; i < dim * 2; i++ ) {
+            x[i] = rand.nextDouble() * 2.0 - 1.0;
+        }
+
+        MixedRadixFourierTransform mixed = new MixedRadixFourierTransform( dim );
+        FastFourierTransform pow2 = new FastFourierTransform( padded, FastFourierTransform.Kernel.AUTO );
+
+        for( int i = 0; i < 2000; i++ ) {
+            mixed.applyComplex( x, 0, false, out, 0 );
+            pow2.applyComplex( x, 0, false, out, 0 );
+        }
+
+        Timer.start();
+        for( int i = 0; i < 5000; i++ ) {
+            mixed.applyComplex( x, 0, false, out, 0 );
+        }
+        Timer.printSeconds( "MixedRadixFourierTransform dim=3000 time: " );
+
+        Timer.start();
+        for( int i = 0; i < 5000; i++ ) {
+            pow2.applyComplex( x, 0, false, out, 0 );
+        }
+        Timer.printSeconds( "FastFourierTransform dim=4096 time: " );
+    }
+
+}
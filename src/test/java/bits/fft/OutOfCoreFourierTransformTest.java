@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2014, Massachusetts Institute of Technology
+ * Released under the BSD 2-Clause License
+ * http://opensource.org/licenses/BSD-2-Clause
+ */
+package bits.fft;
+
+import org.junit.Test;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.util.Random;
+
+
+public class OutOfCoreFourierTransformTest {
+
+    @Test
+    public void testComplex() throws IOException {
+        final int off = 3;
+        Random rand = new Random( 61 );
+
+        for( int bits = 1; bits <= 16; bits++ ) {
+            final int dim = 1 << bits;
+            double[] x = new double[dim * 2 + off];
+            for( int i = 0; i < x.length; i++ ) {
+                x[i] = rand.nextDouble() * 2.0 - 1.0;
+            }
+
+            double[] a = new double[dim * 2 + off];
+            new FastFourierTransform( dim, FastFourierTransform.Kernel.RADIX4 ).applyComplex( x, off, false, a, off );
+
+            // Small budget and windows, so panels are many and runs straddle windows.
+            OutOfCoreFourierTransform trans = new OutOfCoreFourierTransform( dim, 64 << ( bits / 2 ), ByteOrder.LITTLE_ENDIAN, 10 );
+
+            File fx = File.createTempFile( "fft", ".bin" );
+            File fb = File.createTempFile( "fft", ".bin" );
+            File fc = File.createTempFile( "fft", ".bin" );
+            try {
+                write( fx, x, ByteOrder.LITTLE_ENDIAN );
+                FileChannel cx = new RandomAccessFile( fx, "r" ).getChannel();
+                FileChannel cb = new RandomAccessFile( fb, "rw" ).getChannel();
+                FileChannel cc = new RandomAccessFile( fc, "rw" ).getChannel();
+                trans.applyComplex( cx, off * 8, false, cb, 5 );
+                trans.applyComplex( cb, 5, true, cc, 0 );
+                cx.close();
+                cb.close();
+                cc.close();
+
+                double[] b = read( fb, 5, dim * 2, ByteOrder.LITTLE_ENDIAN );
+                double[] c = read( fc, 0, dim * 2, ByteOrder.LITTLE_ENDIAN );
+                TestUtil.assertNear( a, off, b, 0, dim * 2, 1e-9 );
+                TestUtil.assertNear( x, off, c, 0, dim * 2, 1e-12 );
+            } finally {
+                fx.delete();
+                fb.delete();
+                fc.delete();
+            }
+        }
+    }
+
+
+    @Test
+    public void testReal() throws IOException {
+        Random rand = new Random( 62 );
+
+        for( int bits = 1; bits <= 14; bits++ ) {
+            final int dim = 1 << bits;
+            double[] x = new double[dim];
+            for( int i = 0; i < x.length; i++ ) {
+                x[i] = rand.nextDouble() * 2.0 - 1.0;
+            }
+
+            double[] a = new double[dim * 2];
+            FastFourierTransform ref = new FastFourierTransform( dim, FastFourierTransform.Kernel.RADIX4 );
+            OutOfCoreFourierTransform trans = new OutOfCoreFourierTransform( dim, 64 << ( bits / 2 ), ByteOrder.BIG_ENDIAN, 10 );
+
+            File fx = File.createTempFile( "fft", ".bin" );
+            File fb = File.createTempFile( "fft", ".bin" );
+            try {
+                write( fx, x, ByteOrder.BIG_ENDIAN );
+                for( int k = 0; k < 2; k++ ) {
+                    FileChannel cx = new RandomAccessFile( fx, "r" ).getChannel();
+                    FileChannel cb = new RandomAccessFile( fb, "rw" ).getChannel();
+                    trans.applyReal( cx, 0, k == 1, cb, 0 );
+                    cx.close();
+                    cb.close();
+
+                    ref.applyReal( x, 0, k == 1, a, 0 );
+                    double[] b = read( fb, 0, dim * 2, ByteOrder.BIG_ENDIAN );
+                    TestUtil.assertNear( a, 0, b, 0, dim * 2, 1e-10 );
+                }
+            } finally {
+                fx.delete();
+                fb.delete();
+            }
+        }
+    }
+
+
+    @Test( expected = IllegalArgumentException.class )
+    public void testBudget() {
+        new OutOfCoreFourierTransform( 1L << 40, 1 << 20, ByteOrder.LITTLE_ENDIAN );
+    }
+
+
+    @Test
+    public void testSpeed() throws IOException {
+        final int bits = 22;
+        final int dim  = 1 << bits;
+
+        Random rand = new Random( 0 );
+        double[] x = new double[dim * 2];
+        for( int i = 0; i < x.length; i++ ) {
+            x[i] = rand.nextDouble() * 2.0 - 1.0;
+        }
+
+        File fx = File.createTempFile( "fft", ".bin" );
+        File fb = File.createTempFile( "fft", ".bin" );
+        try {
+            write( fx, x, ByteOrder.nativeOrder() );
+            FileChannel cx = new RandomAccessFile( fx, "r" ).getChannel();
+            FileChannel cb = new RandomAccessFile( fb, "rw" ).getChannel();
+
+            for( long budget = 1 << 20; budget <= 1 << 26; budget <<= 2 ) {
+                OutOfCoreFourierTransform trans = new OutOfCoreFourierTransform( dim, budget, ByteOrder.nativeOrder() );
+                trans.applyComplex( cx, 0, false, cb, 0 );
+
+                long t0 = System.nanoTime();
+                trans.applyComplex( cx, 0, false, cb, 0 );
+                long t1 = System.nanoTime();
+
+                System.out.println( String.format( "OutOfCore dim=2^%d  budget: %5d KiB  %8.2f ms/transform",
+                                                   bits,
+                                                   budget >> 10,
+                                                   ( t1 - t0 ) / 1e6 ) );
+            }
+
+            cx.close();
+            cb.close();
+        } finally {
+            fx.delete();
+            fb.delete();
+        }
+    }
+
+
+
+    private static void write( File file, double[] x, ByteOrder order ) throws IOException {
+        ByteBuffer buf = ByteBuffer.allocate( x.length * 8 ).order( order );
+        buf.asDoubleBuffer().put( x );
+        RandomAccessFile raf = new RandomAccessFile( file, "rw" );
+        raf.write( buf.array() );
+        raf.close();
+    }
+
+
+    private static double[] read( File file, long pos, int len, ByteOrder order ) throws IOException {
+        byte[] bytes = new byte[len * 8];
+        RandomAccessFile raf = new RandomAccessFile( file, "r" );
+        raf.seek( pos );
+        raf.readFully( bytes );
+        raf.close();
+
+        double[] ret = new double[len];
+        ByteBuffer.wrap( bytes ).order( order ).asDoubleBuffer().get( ret );
+        return ret;
+    }
+
+}
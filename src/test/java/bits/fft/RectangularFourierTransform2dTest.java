@@ -0,0 +1,208 @@
+/*
+ * Copyright (c) 2014, Massachusetts Institute of Technology
+ * Released under the BSD 2-Clause License
+ * http://opensource.org/licenses/BSD-2-Clause
+ */
+package bits.fft;
+
+import org.junit.Test;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+
+public class RectangularFourierTransform2dTest {
+
+    private static final int[][] SIZES = { { 1, 1 }, { 1, 8 }, { 8, 1 }, { 4, 16 }, { 16, 4 }, { 3, 5 },
+                                           { 6, 10 }, { 12, 9 }, { 7, 13 }, { 33, 40 }, { 64, 35 } };
+
+
+    @Test
+    public void testComplex() {
+        Random rand = new Random( 24 );
+        final int off = 3;
+
+        for( int[] size : SIZES ) {
+            final int rows = size[0];
+            final int cols = size[1];
+            final int len  = rows * cols * 2;
+            double[] x = new double[len + off];
+            for( int i = 0; i < x.length; i++ ) {
+                x[i] = rand.nextDouble() * 2.0 - 1.0;
+            }
+
+            RectangularFourierTransform2d trans = new RectangularFourierTransform2d( rows, cols );
+            double[] a = new double[len + off];
+            double[] b = new double[len + off];
+            trans.applyComplex( x, off, false, a, off );
+            dft( x, off, rows, cols, false, b, off );
+            TestUtil.assertNear( b, off, a, off, len, 1e-10 );
+
+            trans.applyComplex( a, off, true, b, off );
+            TestUtil.assertNear( x, off, b, off, len, 1e-10 );
+
+            // In place.
+            double[] c = x.clone();
+            a = x.clone();
+            trans.applyComplex( c, off, false, c, off );
+            trans.applyComplex( x, off, false, a, off );
+            assertTrue( Arrays.equals( a, c ) );
+        }
+    }
+
+
+    @Test
+    public void testReal() {
+        Random rand = new Random( 25 );
+
+        for( int[] size : SIZES ) {
+            final int rows = size[0];
+            final int cols = size[1];
+            final int len  = rows * cols;
+            double[] x = new double[len];
+            double[] xc = new double[len * 2];
+            for( int i = 0; i < len; i++ ) {
+                x[i] = rand.nextDouble() * 2.0 - 1.0;
+                xc[i * 2] = x[i];
+            }
+
+            RectangularFourierTransform2d trans = new RectangularFourierTransform2d( rows, cols );
+            double[] a = new double[len * 2];
+            double[] b = new double[len * 2];
+            trans.applyReal( x, 0, false, a, 0 );
+            trans.applyComplex( xc, 0, false, b, 0 );
+            TestUtil.assertNear( b, 0, a, 0, len * 2, 1e-10 );
+        }
+    }
+
+
+    @Test
+    public void testSquare() {
+        Random rand = new Random( 26 );
+
+        for( int bits = 1; bits <= 8; bits++ ) {
+            final int dim = 1 << bits;
+            double[] x = new double[dim * dim * 2];
+            for( int i = 0; i < x.length; i++ ) {
+                x[i] = rand.nextDouble() * 2.0 - 1.0;
+            }
+            double[] a = new double[x.length];
+            double[] b = new double[x.length];
+            new FastFourierTransform2d( dim ).applyComplex( x, 0, false, a, 0 );
+            new RectangularFourierTransform2d( dim, dim ).applyComplex( x, 0, false, b, 0 );
+            TestUtil.assertNear( a, 0, b, 0, x.length, 1e-9 );
+        }
+    }
+
+
+    @Test
+    public void testWorkspace() throws InterruptedException {
+        // Bluestein rows, Rader columns.
+        final int rows = 61;
+        final int cols = 23;
+        final RectangularFourierTransform2d ref    = new RectangularFourierTransform2d( rows, cols );
+        final RectangularFourierTransform2d shared = new RectangularFourierTransform2d( rows, cols, new WorkspacePool( 2 ) );
+
+        TestUtil.runConcurrently( 4, new Runnable() {
+            public void run() {
+                Random rand = new Random( Thread.currentThread().getId() );
+                Workspace ws = new Workspace();
+                double[] x = new double[rows * cols * 2];
+                double[] a = new double[x.length];
+                double[] b = new double[x.length];
+                double[] c = new double[x.length];
+
+                for( int i = 0; i < 50; i++ ) {
+                    for( int j = 0; j < x.length; j++ ) {
+                        x[j] = rand.nextDouble() * 2.0 - 1.0;
+                    }
+                    final boolean inverse = ( i & 1 ) != 0;
+                    synchronized( ref ) {
+                        ref.applyComplex( x, 0, inverse, a, 0 );
+                    }
+                    shared.applyComplex( x, 0, inverse, b, 0 );
+                    shared.applyComplex( x, 0, inverse, c, 0, ws );
+                    assertTrue( Arrays.equals( a, b ) );
+                    assertTrue( Arrays.equals( a, c ) );
+                }
+            }
+        } );
+    }
+
+
+    @Test
+    public void testTranspose() {
+        final int rows = 45;
+        final int cols = 70;
+        double[] a = new double[rows * cols * 2 + 1];
+        for( int i = 0; i < a.length; i++ ) {
+            a[i] = i;
+        }
+        double[] b = new double[rows * cols * 2 + 2];
+        RectangularFourierTransform2d.transpose( a, 1, rows, cols, b, 2 );
+
+        for( int r = 0; r < rows; r++ ) {
+            for( int c = 0; c < cols; c++ ) {
+                assertEquals( a[1 + ( r * cols + c ) * 2    ], b[2 + ( c * rows + r ) * 2    ], 0.0 );
+                assertEquals( a[1 + ( r * cols + c ) * 2 + 1], b[2 + ( c * rows + r ) * 2 + 1], 0.0 );
+            }
+        }
+    }
+
+
+    @Test
+    public void testSpeed() {
+        final int[][] sizes = { { 128, 8192 }, { 1080, 1920 }, { 2048, 2048 } };
+        Random rand = new Random( 27 );
+
+        for( int[] size : sizes ) {
+            final int rows = size[0];
+            final int cols = size[1];
+            double[] x = new double[rows * cols * 2];
+            for( int i = 0; i < x.length; i++ ) {
+                x[i] = rand.nextDouble() * 2.0 - 1.0;
+            }
+            double[] out = new double[x.length];
+            RectangularFourierTransform2d trans = new RectangularFourierTransform2d( rows, cols );
+            trans.applyComplex( x, 0, false, out, 0 );
+
+            long t0 = System.nanoTime();
+            for( int i = 0; i < 3; i++ ) {
+                trans.applyComplex( x, 0, false, out, 0 );
+            }
+            long t1 = System.nanoTime();
+            System.out.println( String.format( "RectangularFourierTransform2d %4d x %-4d  %8.2f ms",
+                                               rows, cols, ( t1 - t0 ) / 3e6 ) );
+        }
+    }
+
+
+    /**
+     * Direct 2D DFT, for reference.
+     */
+    private static void dft( double[] x, int xOff, int rows, int cols, boolean inverse, double[] out, int outOff ) {
+        final double sign  = inverse ? 1.0 : -1.0;
+        final double scale = inverse ? 1.0 / ( rows * cols ) : 1.0;
+
+        for( int u = 0; u < rows; u++ ) {
+            for( int v = 0; v < cols; v++ ) {
+                double re = 0.0;
+                double im = 0.0;
+                for( int r = 0; r < rows; r++ ) {
+                    for( int c = 0; c < cols; c++ ) {
+                        final double angle = sign * 2.0 * Math.PI * ( (double)u * r / rows + (double)v * c / cols );
+                        final double cos = Math.cos( angle );
+                        final double sin = Math.sin( angle );
+                        final int i = xOff + ( r * cols + c ) * 2;
+                        re += x[i] * cos - x[i + 1] * sin;
+                        im += x[i] * sin + x[i + 1] * cos;
+                    }
+                }
+                out[outOff + ( u * cols + v ) * 2    ] = re * scale;
+                out[outOff + ( u * cols + v ) * 2 + 1] = im * scale;
+            }
+        }
+    }
+
+}
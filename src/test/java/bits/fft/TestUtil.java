@@ -135,4 +135,97 @@ class TestUtil {
         }
     }
 
+
+    static void assertNear( float[] a, int offA, double[] b, int offB, int n, double tol ) {
+        for( int i = 0; i < n; i++ ) {
+            double err = Math.abs( b[offB + i] - a[offA + i] );
+            assertTrue( err < tol );
+        }
+    }
+
+
+    static float[] toFloat( double[] a ) {
+        float[] ret = new float[a.length];
+        for( int i = 0; i < a.length; i++ ) {
+            ret[i] = (float)a[i];
+        }
+        return ret;
+    }
+
+
+    /**
+     * Direct evaluation of the DFT of a complex vector, for checking results.
+     */
+    static double[] dft( double[] x, int off, int dim, boolean inverse ) {
+        final double sign = inverse ? 1.0 : -1.0;
+        double[] ret = new double[dim * 2];
+
+        for( int k = 0; k < dim; k++ ) {
+            double sr = 0.0;
+            double si = 0.0;
+
+            for( int n = 0; n < dim; n++ ) {
+                double angle = sign * 2.0 * Math.PI * ( (long)n * k % dim ) / dim;
+                double c = Math.cos( angle );
+                double s = Math.sin( angle );
+                double xr = x[off + n * 2];
+                double xi = x[off + n * 2 + 1];
+                sr += xr * c - xi * s;
+                si += xr * s + xi * c;
+            }
+
+            if( inverse ) {
+                sr /= dim;
+                si /= dim;
+            }
+
+            ret[k * 2    ] = sr;
+            ret[k * 2 + 1] = si;
+        }
+
+        return ret;
+    }
+
+
+    static void assertNear( double[] a, int offA, double[] b, int offB, int n, double tol ) {
+        for( int i = 0; i < n; i++ ) {
+            double err = Math.abs( b[offB + i] - a[offA + i] );
+            assertTrue( "index " + i + " err " + err, err < tol );
+        }
+    }
+
+
+    /**
+     * Runs <tt>task</tt> on <tt>threads</tt> threads at once, and rethrows the first failure.
+     */
+    static void runConcurrently( int threads, final Runnable task ) throws InterruptedException {
+        final Throwable[] err = { null };
+        Thread[] t = new Thread[threads];
+        for( int i = 0; i < threads; i++ ) {
+            t[i] = new Thread() {
+                public void run() {
+                    try {
+                        task.run();
+                    } catch( Throwable e ) {
+                        synchronized( err ) {
+                            if( err[0] == null ) {
+                                err[0] = e;
+                            }
+                        }
+                    }
+                }
+            };
+            t[i].start();
+        }
+        for( Thread thread : t ) {
+            thread.join();
+        }
+        if( err[0] instanceof Error ) {
+            throw (Error)err[0];
+        }
+        if( err[0] != null ) {
+            throw new RuntimeException( err[0] );
+        }
+    }
+
 }
@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2014, Massachusetts Institute of Technology
+ * Released under the BSD 2-Clause License
+ * http://opensource.org/licenses/BSD-2-Clause
+ */
+package bits.fft;
+
+import org.junit.Test;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+
+public class TransformsTest {
+
+    @Test
+    public void testCache() {
+        Transforms.clear();
+        Transforms.Stats s0 = Transforms.stats();
+
+        FastFourierTransform a = Transforms.fft( 256 );
+        assertSame( a, Transforms.fft( 256 ) );
+        assertNotSame( a, Transforms.fft( 512 ) );
+        FastCosineTransform2d b = Transforms.dct2d( 16 );
+        assertSame( b, Transforms.dct2d( 16 ) );
+        assertSame( Transforms.dct( 16 ), Transforms.dct( 16 ) );
+        assertSame( Transforms.fft2d( 16 ), Transforms.fft2d( 16 ) );
+
+        Transforms.Stats s1 = Transforms.stats();
+        assertEquals( 5, s1.misses() - s0.misses() );
+        assertEquals( 4, s1.hits() - s0.hits() );
+        assertEquals( 5, s1.entries() );
+
+        try {
+            Transforms.dct( 100 );
+            fail();
+        } catch( IllegalArgumentException expected ) {}
+        assertEquals( 5, Transforms.stats().entries() );
+    }
+
+
+    @Test
+    public void testEviction() {
+        Transforms.clear();
+        try {
+            // Entries are charged for full pools before any use.
+            final int dim = 128;
+            final int n = new WorkspacePool().maxSize();
+            Transforms.fft2d( dim );
+            Transforms.dct2d( dim );
+            long bytes = Transforms.stats().bytes();
+            assertEquals( 3L * dim * dim * 2 * 8 * n + dim * 4 * 8, bytes );
+
+            // Use does not change charges.
+            double[] x = new double[dim * dim * 2];
+            Transforms.fft2d( dim ).applyComplex( x, 0, false, x.clone(), 0 );
+            Transforms.dct2d( dim ).apply( x, 0, false, x.clone(), 0 );
+            assertEquals( bytes, Transforms.stats().bytes() );
+
+            // Touch fft2d so that dct2d is least recently used.
+            Transforms.fft2d( dim );
+            long evictions = Transforms.stats().evictions();
+            Transforms.setMaxBytes( bytes - 1 );
+            assertEquals( evictions + 1, Transforms.stats().evictions() );
+            assertEquals( 1, Transforms.stats().entries() );
+
+            Transforms.Stats s = Transforms.stats();
+            Transforms.fft2d( dim );
+            assertEquals( s.hits() + 1, Transforms.stats().hits() );
+
+            Transforms.setMaxBytes( 0 );
+            assertEquals( 0, Transforms.stats().entries() );
+        } finally {
+            Transforms.setMaxBytes( Transforms.DEFAULT_MAX_BYTES );
+        }
+    }
+
+
+    @Test
+    public void testConcurrent() throws InterruptedException {
+        Transforms.clear();
+        final int dim = 32;
+        final FastCosineTransform2d ref = new FastCosineTransform2d( dim );
+        final double[] x = new double[dim * dim];
+        Random rand = new Random( 23 );
+        for( int i = 0; i < x.length; i++ ) {
+            x[i] = rand.nextDouble();
+        }
+        final double[] expect = new double[dim * dim];
+        ref.apply( x, 0, false, expect, 0 );
+
+        TestUtil.runConcurrently( 8, new Runnable() {
+            public void run() {
+                double[] out = new double[dim * dim];
+                for( int i = 0; i < 200; i++ ) {
+                    Transforms.dct2d( dim ).apply( x, 0, false, out, 0 );
+                    assertTrue( Arrays.equals( expect, out ) );
+                }
+            }
+        } );
+
+        assertEquals( 1, Transforms.stats().entries() );
+    }
+
+
+    @Test
+    public void testSpeed() {
+        final int reps = 1 << 14;
+        final int dim = 8;
+        double[] x = new double[dim * dim];
+        double[] out = new double[dim * dim];
+
+        for( int pass = 0; pass < 2; pass++ ) {
+            long t0 = System.nanoTime();
+            for( int i = 0; i < reps; i++ ) {
+                new FastCosineTransform2d( dim ).apply( x, 0, false, out, 0 );
+            }
+            long t1 = System.nanoTime();
+            for( int i = 0; i < reps; i++ ) {
+                Transforms.dct2d( dim ).apply( x, 0, false, out, 0 );
+            }
+            long t2 = System.nanoTime();
+
+            if( pass == 1 ) {
+                System.out.println( String.format( "Transforms dct2d dim=%d  new per call: %7.1f ns  cached: %7.1f ns",
+                                                   dim, ( t1 - t0 ) / (double)reps, ( t2 - t1 ) / (double)reps ) );
+            }
+        }
+    }
+
+}
@@ -0,0 +1,193 @@
+/*
+ * Copyright (c) 2014, Massachusetts Institute of Technology
+ * Released under the BSD 2-Clause License
+ * http://opensource.org/licenses/BSD-2-Clause
+ */
+package bits.fft;
+
+import org.junit.Test;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+
+public class VectorKernelTest {
+
+    @Test
+    public void testRadix4() {
+        final int off = 2;
+        Random rand = new Random( 51 );
+
+        for( int bits = 1; bits <= 14; bits++ ) {
+            final int dim = 1 << bits;
+            final double[] table = TwiddleTable.forBits( bits );
+            double[] x = new double[dim * 2 + off];
+            for( int i = 0; i < x.length; i++ ) {
+                x[i] = rand.nextDouble() * 2.0 - 1.0;
+            }
+
+            for( int k = 0; k < 2; k++ ) {
+                double[] a = x.clone();
+                double[] b = x.clone();
+                FastFourierTransform.transformRadix4( a, off, dim, k == 1, table );
+                VectorKernel.transformRadix4( b, off, dim, k == 1, table );
+                assertTrue( Arrays.equals( a, b ) );
+            }
+        }
+    }
+
+
+    @Test
+    public void testRadix4StagesF() {
+        final int off = 2;
+        Random rand = new Random( 55 );
+
+        for( int bits = 6; bits <= 14; bits++ ) {
+            final int dim  = 1 << bits;
+            final int half = 1 << ( 4 + ( bits & 1 ) );
+            final float[] table = TwiddleTable.floatsForBits( bits );
+            float[] x = new float[dim * 2 + off];
+            for( int i = 0; i < x.length; i++ ) {
+                x[i] = rand.nextFloat() * 2.0f - 1.0f;
+            }
+
+            for( int k = 0; k < 3; k++ ) {
+                final float scale = k == 2 ? 1.0f / dim : 1.0f;
+                float[] a = x.clone();
+                float[] b = x.clone();
+                FastFourierTransformF.transformRadix4Stages( a, off, dim, half, k > 0, table, scale );
+                VectorKernel.transformRadix4Stages( b, off, dim, half, k > 0, table, scale );
+                assertTrue( Arrays.equals( a, b ) );
+            }
+        }
+    }
+
+
+    @Test
+    public void testRadix4Batch() {
+        final int off = 2;
+        Random rand = new Random( 52 );
+
+        for( int batch = 1; batch <= 16; batch++ ) {
+            for( int bits = 1; bits <= 10; bits++ ) {
+                final int dim = 1 << bits;
+                final double[] table = TwiddleTable.forBits( bits );
+                double[] x = new double[dim * batch * 2 + off];
+                for( int i = 0; i < x.length; i++ ) {
+                    x[i] = rand.nextDouble() * 2.0 - 1.0;
+                }
+
+                for( int k = 0; k < 2; k++ ) {
+                    double[] a = x.clone();
+                    double[] b = x.clone();
+                    FastFourierTransform.transformRadix4Batch( a, off, dim, batch, k == 1, table );
+                    VectorKernel.transformRadix4Batch( b, off, dim, batch, k == 1, table );
+                    assertTrue( Arrays.equals( a, b ) );
+                }
+            }
+        }
+    }
+
+
+    @Test
+    public void testRadix4Split() {
+        Random rand = new Random( 53 );
+
+        for( int bits = 1; bits <= 14; bits++ ) {
+            final int dim = 1 << bits;
+            final double[] table = TwiddleTable.forBits( bits );
+            double[] re = new double[dim + 3];
+            double[] im = new double[dim + 5];
+            for( int i = 0; i < re.length; i++ ) {
+                re[i] = rand.nextDouble() * 2.0 - 1.0;
+            }
+            for( int i = 0; i < im.length; i++ ) {
+                im[i] = rand.nextDouble() * 2.0 - 1.0;
+            }
+
+            for( int k = 0; k < 2; k++ ) {
+                double[] ar = re.clone();
+                double[] ai = im.clone();
+                double[] br = re.clone();
+                double[] bi = im.clone();
+                FastFourierTransform.transformRadix4Split( ar, 3, ai, 5, dim, k == 1, table );
+                VectorKernel.transformRadix4Split( br, 3, bi, 5, dim, k == 1, table );
+                assertTrue( Arrays.equals( ar, br ) );
+                assertTrue( Arrays.equals( ai, bi ) );
+            }
+        }
+    }
+
+
+    @Test
+    public void testRadix4SplitBatch() {
+        Random rand = new Random( 54 );
+
+        for( int batch = 1; batch <= 16; batch++ ) {
+            for( int bits = 1; bits <= 10; bits++ ) {
+                final int dim = 1 << bits;
+                final double[] table = TwiddleTable.forBits( bits );
+                double[] re = new double[dim * batch + 1];
+                double[] im = new double[dim * batch + 2];
+                for( int i = 0; i < re.length; i++ ) {
+                    re[i] = rand.nextDouble() * 2.0 - 1.0;
+                }
+                for( int i = 0; i < im.length; i++ ) {
+                    im[i] = rand.nextDouble() * 2.0 - 1.0;
+                }
+
+                for( int k = 0; k < 2; k++ ) {
+                    double[] ar = re.clone();
+                    double[] ai = im.clone();
+                    double[] br = re.clone();
+                    double[] bi = im.clone();
+                    FastFourierTransform.transformRadix4SplitBatch( ar, 1, ai, 2, dim, batch, k == 1, table );
+                    VectorKernel.transformRadix4SplitBatch( br, 1, bi, 2, dim, batch, k == 1, table );
+                    assertTrue( Arrays.equals( ar, br ) );
+                    assertTrue( Arrays.equals( ai, bi ) );
+                }
+            }
+        }
+    }
+
+
+    @Test
+    public void testSpeed() {
+        System.out.println( "VectorKernel available: " + VectorKernel.isAvailable() );
+
+        final int work = 1 << 22;
+        Random rand = new Random( 0 );
+        double[] x = new double[( 1 << 16 ) * 2];
+        for( int i = 0; i < x.length; i++ ) {
+            x[i] = rand.nextDouble() * 2.0 - 1.0;
+        }
+
+        for( int bits = 6; bits <= 16; bits += 2 ) {
+            final int dim = 1 << bits;
+            final int reps = work / dim;
+            final double[] table = TwiddleTable.forBits( bits );
+
+            for( int i = 0; i < 2000; i++ ) {
+                FastFourierTransform.transformRadix4( x, 0, dim, false, table );
+                VectorKernel.transformRadix4( x, 0, dim, false, table );
+            }
+
+            long t0 = System.nanoTime();
+            for( int i = 0; i < reps; i++ ) {
+                FastFourierTransform.transformRadix4( x, 0, dim, false, table );
+            }
+            long t1 = System.nanoTime();
+            for( int i = 0; i < reps; i++ ) {
+                VectorKernel.transformRadix4( x, 0, dim, false, table );
+            }
+            long t2 = System.nanoTime();
+
+            System.out.println( String.format( "VectorKernel radix-4 dim=2^%-2d  scalar: %10.1f ns  vector: %10.1f ns",
+                                               bits,
+                                               (double)( t1 - t0 ) / reps,
+                                               (double)( t2 - t1 ) / reps ) );
+        }
+    }
+
+}
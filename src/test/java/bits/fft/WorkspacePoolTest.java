@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2014, Massachusetts Institute of Technology
+ * Released under the BSD 2-Clause License
+ * http://opensource.org/licenses/BSD-2-Clause
+ */
+package bits.fft;
+
+import org.junit.Test;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+
+public class WorkspacePoolTest {
+
+    @Test
+    public void testReuse() {
+        WorkspacePool pool = new WorkspacePool( 2 );
+        Workspace a = pool.acquire();
+        Workspace b = pool.acquire();
+        assertNotSame( a, b );
+        pool.release( a );
+        assertSame( a, pool.acquire() );
+        pool.release( a );
+        pool.release( b );
+    }
+
+
+    @Test
+    public void testBounded() throws InterruptedException {
+        final WorkspacePool pool = new WorkspacePool( 1 );
+        final Workspace a = pool.acquire();
+        final CountDownLatch done = new CountDownLatch( 1 );
+        final Workspace[] got = { null };
+
+        Thread t = new Thread() {
+            public void run() {
+                got[0] = pool.acquire();
+                done.countDown();
+            }
+        };
+        t.start();
+
+        assertFalse( done.await( 100, TimeUnit.MILLISECONDS ) );
+        pool.release( a );
+        assertTrue( done.await( 10, TimeUnit.SECONDS ) );
+        assertSame( a, got[0] );
+        t.join();
+    }
+
+
+    @Test
+    public void testShared() throws InterruptedException {
+        final WorkspacePool pool = new WorkspacePool( 3 );
+        final FastFourierTransform2d fft = new FastFourierTransform2d( 32, pool );
+        final FastCosineTransform2d dct = new FastCosineTransform2d( 64, pool );
+
+        TestUtil.runConcurrently( 8, new Runnable() {
+            public void run() {
+                double[] x = new double[64 * 64 * 2];
+                for( int i = 0; i < 20; i++ ) {
+                    fft.applyReal( x, 0, false, x, 0 );
+                    dct.apply( x, 0, false, x, 0 );
+                }
+            }
+        } );
+
+        // Each workspace has grown to fit the larger transform.
+        assertTrue( pool.idleBytes() <= 3L * 2 * 64 * 64 * 2 * 8 );
+    }
+
+}